@@ -0,0 +1,238 @@
+package ser516.project3.client;
+
+import org.apache.log4j.Logger;
+import org.glassfish.tyrus.client.ClientManager;
+import org.glassfish.tyrus.client.ClientProperties;
+import ser516.project3.client.helper.LoadGeneratorConfiguration;
+import ser516.project3.client.helper.LoadGeneratorEndpoint;
+import ser516.project3.client.helper.LoadGeneratorStatistics;
+import ser516.project3.constants.ClientConstants;
+import ser516.project3.constants.ServerConstants;
+import ser516.project3.server.HeadlessServer;
+import ser516.project3.server.helper.HeadlessServerConfiguration;
+import ser516.project3.server.helper.MessageBroadcaster;
+import ser516.project3.server.helper.ServerContainerThread;
+import ser516.project3.utilities.LatencyHistogram;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonWriter;
+import javax.json.stream.JsonGenerator;
+import javax.websocket.ClientEndpointConfig;
+import javax.websocket.CloseReason;
+import javax.websocket.Session;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Main class of the load test, which connects a number of clients to the
+ * server end point, lets them run for a warm up period, and then measures
+ * the latency of the frames, the time spent decoding them, the throughput
+ * and the frames dropped or delivered late. The results are written to a
+ * json report, so that they can be compared from one release to the next.
+ * <p>
+ * Everything runs on the local machine: the server is started in the same
+ * JVM, or in a forked JVM with the same class path, with its time stamps
+ * taken from the wall clock. An external server can be measured as well, in
+ * which case it has to be started with the wall clock for the latencies to
+ * be meaningful.
+ *
+ * @author vsriva12
+ */
+public class LoadGenerator {
+    final static Logger logger = Logger.getLogger(LoadGenerator.class);
+
+    public static void main(String[] args) {
+        if (Arrays.asList(args).contains(ClientConstants.HELP_ARGUMENT)) {
+            System.out.println(ClientConstants.LOAD_USAGE);
+            return;
+        }
+        final LoadGeneratorConfiguration configuration;
+        try {
+            configuration = LoadGeneratorConfiguration.fromArguments(args);
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            System.err.println(ClientConstants.LOAD_USAGE);
+            System.exit(2);
+            return;
+        }
+        try {
+            run(configuration);
+        } catch (IOException | RuntimeException e) {
+            logger.error(ClientConstants.ERROR_LOAD + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Method to run a load test and write its report
+     *
+     * @param configuration configuration of the load test
+     * @return the report
+     * @throws IOException          if the server cannot be started or the
+     *                              report cannot be written
+     * @throws InterruptedException if the load test is interrupted
+     */
+    public static JsonObject run(LoadGeneratorConfiguration configuration) throws IOException,
+            InterruptedException {
+        logger.info(ClientConstants.LOAD_STARTED + configuration);
+        ServerContainerThread serverThread = null;
+        Process serverProcess = null;
+        if (ClientConstants.SERVER_IN_PROCESS.equals(configuration.getServer())) {
+            serverThread = HeadlessServer.start(
+                    HeadlessServerConfiguration.fromArguments(configuration.getServerArguments()));
+            waitForServer(configuration.getPort());
+        } else if (ClientConstants.SERVER_FORK.equals(configuration.getServer())) {
+            List<String> command = new ArrayList<>(Arrays.asList(
+                    Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-cp", System.getProperty("java.class.path"), HeadlessServer.class.getName()));
+            command.addAll(Arrays.asList(configuration.getServerArguments()));
+            serverProcess = new ProcessBuilder(command).inheritIO().start();
+            waitForServer(configuration.getPort());
+        }
+
+        LoadGeneratorStatistics statistics = new LoadGeneratorStatistics(configuration.getLateMillis());
+        List<Session> sessions = new ArrayList<>();
+        int failedConnections = 0;
+        try {
+            ClientManager client = ClientManager.createClient();
+            client.getProperties().put(ClientProperties.SHARED_CONTAINER, true);
+            ClientEndpointConfig config = ClientEndpointConfig.Builder.create()
+                    .preferredSubprotocols(Collections.singletonList(configuration.getCodec())).build();
+            URI uri = URI.create(configuration.getUrl());
+            for (int i = 0; i < configuration.getClients(); i++) {
+                try {
+                    sessions.add(client.connectToServer(new LoadGeneratorEndpoint(statistics), config, uri));
+                } catch (Exception e) {
+                    failedConnections++;
+                    logger.error(ClientConstants.ERROR_LOAD_CONNECTION + e.getMessage());
+                }
+            }
+            logger.info(ClientConstants.LOAD_CONNECTED + sessions.size());
+
+            Thread.sleep(Math.round(configuration.getWarmup() * 1000));
+            MessageBroadcaster broadcaster = serverThread != null ? MessageBroadcaster.getInstance() : null;
+            long droppedMessages = broadcaster != null ? broadcaster.getDroppedMessageCount() : 0;
+            int slowConsumers = broadcaster != null ? broadcaster.getSlowConsumerDisconnectCount() : 0;
+            long missedTicks = broadcaster != null && broadcaster.getTickScheduler() != null
+                    ? broadcaster.getTickScheduler().getMissedTickCount() : 0;
+            statistics.startRecording();
+            Thread.sleep(Math.round(configuration.getDuration() * 1000));
+            statistics.stopRecording();
+
+            JsonObjectBuilder report = Json.createObjectBuilder()
+                    .add("date", Instant.now().toString())
+                    .add("javaVersion", System.getProperty("java.version"))
+                    .add("processors", Runtime.getRuntime().availableProcessors())
+                    .add("configuration", Json.createObjectBuilder()
+                            .add("clients", configuration.getClients())
+                            .add("codec", configuration.getCodec())
+                            .add("server", configuration.getServer())
+                            .add("url", configuration.getUrl())
+                            .add("interval", configuration.getInterval())
+                            .add("profile", configuration.getProfile())
+                            .add("warmupSeconds", configuration.getWarmup())
+                            .add("durationSeconds", configuration.getDuration()))
+                    .add("connectedClients", sessions.size())
+                    .add("failedConnections", failedConnections)
+                    .add("clients", statistics.toJson());
+            if (broadcaster != null && broadcaster.getTickScheduler() != null) {
+                report.add("server", Json.createObjectBuilder()
+                        .add("droppedMessages", broadcaster.getDroppedMessageCount() - droppedMessages)
+                        .add("slowConsumerDisconnects", broadcaster.getSlowConsumerDisconnectCount() - slowConsumers)
+                        .add("missedTicks", broadcaster.getTickScheduler().getMissedTickCount() - missedTicks)
+                        .add("meanJitterMicros", broadcaster.getTickScheduler().getMeanJitterMicros()));
+            }
+            JsonObject json = report.build();
+            writeReport(json, configuration.getReport());
+            logSummary(statistics);
+            return json;
+        } finally {
+            for (Session session : sessions) {
+                try {
+                    session.close(new CloseReason(CloseReason.CloseCodes.NORMAL_CLOSURE, ""));
+                } catch (IOException e) {
+                    logger.debug(e.getMessage());
+                }
+            }
+            if (serverThread != null) {
+                serverThread.stop();
+                serverThread.getThread().join(ServerConstants.SHUTDOWN_TIMEOUT_MILLIS);
+            }
+            if (serverProcess != null) {
+                serverProcess.destroy();
+                serverProcess.waitFor();
+            }
+        }
+    }
+
+    /**
+     * Method to wait until the server started by the load test accepts
+     * connections
+     *
+     * @param port port of the server
+     * @throws IOException          if the server is not listening in time
+     * @throws InterruptedException if the wait is interrupted
+     */
+    private static void waitForServer(int port) throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + ClientConstants.SERVER_READY_TIMEOUT_MILLIS;
+        while (true) {
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress(ServerConstants.LOCALHOST, port),
+                        (int) ClientConstants.SERVER_READY_POLL_MILLIS);
+                return;
+            } catch (IOException e) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw new IOException(ClientConstants.ERROR_SERVER_NOT_READY + port);
+                }
+                Thread.sleep(ClientConstants.SERVER_READY_POLL_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Method to write the report as indented json
+     *
+     * @param report report of the load test
+     * @param file   file to write to
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeReport(JsonObject report, String file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8);
+             JsonWriter jsonWriter = Json.createWriterFactory(
+                     Collections.singletonMap(JsonGenerator.PRETTY_PRINTING, true)).createWriter(writer)) {
+            jsonWriter.writeObject(report);
+        }
+        logger.info(ClientConstants.LOAD_REPORT_WRITTEN + new File(file).getAbsolutePath());
+    }
+
+    /**
+     * Method to write the main results to the log
+     *
+     * @param statistics statistics of the load test
+     */
+    private static void logSummary(LoadGeneratorStatistics statistics) {
+        LatencyHistogram latency = statistics.getLatencyHistogram();
+        LatencyHistogram decode = statistics.getDecodeHistogram();
+        logger.info(String.format(ClientConstants.LOAD_SUMMARY, statistics.getFrameCount(),
+                latency.getValueAtPercentile(50),
+                latency.getValueAtPercentile(99), latency.getValueAtPercentile(99.9), latency.getMax(),
+                decode.getValueAtPercentile(50), decode.getValueAtPercentile(99)));
+    }
+}
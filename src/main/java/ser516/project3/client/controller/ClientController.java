@@ -13,6 +13,7 @@ import ser516.project3.client.service.ClientConnectionServiceImpl;
 import ser516.project3.client.service.ClientConnectionServiceInterface;
 import ser516.project3.client.view.ClientView;
 import ser516.project3.client.view.ConnectionPopUpView;
+import ser516.project3.client.view.EegView;
 import ser516.project3.client.view.ExpressionsView;
 import ser516.project3.client.view.FaceView;
 import ser516.project3.client.view.GraphView;
@@ -23,6 +24,7 @@ import ser516.project3.interfaces.CommonDataInterface;
 import ser516.project3.interfaces.ControllerInterface;
 import ser516.project3.interfaces.ViewInterface;
 import ser516.project3.model.ConnectionPopUpModel;
+import ser516.project3.model.EegModel;
 import ser516.project3.model.ExpressionsModel;
 import ser516.project3.model.FaceModel;
 import ser516.project3.model.GraphModel;
@@ -49,10 +51,11 @@ public class ClientController implements ControllerInterface, CommonDataInterfac
 	private ControllerInterface expressionGraphController;
 	private ControllerInterface faceController;
 	private ControllerInterface connectionPopUpController;
+	private ControllerInterface eegController;
 
 	/**
 	 * Constructor created to intialize
-	 * Header, PerformanceMetrics and Face Expressions
+	 * Header, PerformanceMetrics, Face Expressions and Raw EEG
 	 *
 	 */
 	public ClientController() {
@@ -61,6 +64,7 @@ public class ClientController implements ControllerInterface, CommonDataInterfac
 		initializeHeader(viewFactory, controllerFactory);
 		initializePerformanceMetrics(viewFactory, controllerFactory);
 		initializeExpressions(viewFactory, controllerFactory);
+		initializeEeg(viewFactory, controllerFactory);
 	}
 
 	/**
@@ -72,7 +76,8 @@ public class ClientController implements ControllerInterface, CommonDataInterfac
 		ViewInterface subViews[] = {
 				headerController.getView(),
 				performanceMetricController.getView(),
-				expressionsController.getView()};
+				expressionsController.getView(),
+				eegController.getView()};
 		clientView.initializeView(subViews);
 		clientView.addServerMenuItemListener(new ServerMenuItemListener());
 		clientView.addClientWindowListener(new WindowClosingEventListener());
@@ -97,7 +102,8 @@ public class ClientController implements ControllerInterface, CommonDataInterfac
 	@Override
 	public ControllerInterface[] getSubControllers() {
 		ControllerInterface[] subControllers = {headerController, performanceMetricController, expressionsController,
-				performanceMetricsGraphController, expressionGraphController, faceController, connectionPopUpController, serverController};
+				performanceMetricsGraphController, expressionGraphController, faceController, connectionPopUpController, serverController,
+				eegController};
 		return subControllers;
 	}
 
@@ -186,7 +192,22 @@ public class ClientController implements ControllerInterface, CommonDataInterfac
 	}
 
 	/**
-	 * Method to connect to a server end point
+	 * Raw EEG panel is created where the strip chart of the samples
+	 * received from the server is shown
+     *
+     * @param controllerFactory the factory object to create the instances of the controller classes
+     * @param viewFactory the object to create the instances of the views
+	 */
+	private void initializeEeg(ClientViewFactory viewFactory, ClientControllerFactory controllerFactory) {
+		EegModel eegModel = new EegModel();
+		EegView eegView = (EegView) viewFactory.getView(ClientConstants.EEG, eegModel);
+		eegController = controllerFactory.getController(ClientConstants.EEG, eegModel, eegView, null);
+		eegController.initializeView();
+	}
+
+	/**
+	 * Method to connect to a server end point. The subject system property
+	 * selects a simulated subject of the server instead of its main subject.
 	 * @param ipAddress - the IP address field
 	 * @param port - the port field
 	 */
@@ -197,7 +218,9 @@ public class ClientController implements ControllerInterface, CommonDataInterfac
 			// TODO: Find a way to stop the client container
 		} else {
 			clientConnectionService = new ClientConnectionServiceImpl();
-			clientConnectionService.createClientConnection(ipAddress, port, ClientConstants.ENDPOINT);
+			String subject = System.getProperty(ClientConstants.SUBJECT_PROPERTY);
+			clientConnectionService.createClientConnection(ipAddress, port,
+					subject == null ? ClientConstants.ENDPOINT : ClientConstants.ENDPOINT + "/" + subject);
 			connected = true;
 		}
 	}
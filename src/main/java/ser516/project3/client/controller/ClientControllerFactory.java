@@ -19,6 +19,7 @@ public class ClientControllerFactory {
     private FaceController faceController;
     private GraphController performanceMetricGraphController;
     private GraphController expressionsGraphController;
+    private EegController eegController;
 
     private static ClientControllerFactory instance;
 
@@ -69,6 +70,9 @@ public class ClientControllerFactory {
         } else if (controllerType.equalsIgnoreCase(ClientConstants.FACE)) {
             faceController = new FaceController((FaceModel) model, (FaceView) view);
             return faceController;
+        } else if (controllerType.equalsIgnoreCase(ClientConstants.EEG)) {
+            eegController = new EegController((EegModel) model, (EegView) view);
+            return eegController;
         } else if (controllerType.equalsIgnoreCase(ClientConstants.CONNECTION_POP_UP)) {
             return new ConnectionPopUpController((ConnectionPopUpModel) model, (ConnectionPopUpView) view);
         }
@@ -110,4 +114,11 @@ public class ClientControllerFactory {
     public GraphController getExpressionsGraphController() {
         return expressionsGraphController;
     }
+
+    /**
+     * @return returns the instance of the Eeg Controller
+     */
+    public EegController getEegController() {
+        return eegController;
+    }
 }
@@ -35,6 +35,8 @@ public class ClientViewFactory {
             return new GraphView((GraphModel) model);
         } else if (viewType.equalsIgnoreCase(ClientConstants.FACE)) {
             return new FaceView((FaceModel) model);
+        } else if (viewType.equalsIgnoreCase(ClientConstants.EEG)) {
+            return new EegView((EegModel) model);
         } else if (viewType.equalsIgnoreCase(ClientConstants.CONNECTION_POP_UP)) {
             return new ConnectionPopUpView((ConnectionPopUpModel) model);
         }
@@ -0,0 +1,82 @@
+package ser516.project3.client.controller;
+
+import ser516.project3.client.view.EegView;
+import ser516.project3.interfaces.ControllerInterface;
+import ser516.project3.model.EegModel;
+import ser516.project3.utilities.SampleRingBuffer;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+/**
+ * The controller of the raw EEG tab, which shows the latest samples received
+ * from the server in a strip chart.
+ *
+ * @author vsriva12
+ */
+public class EegController implements ControllerInterface {
+    private EegModel eegModel;
+    private EegView eegView;
+
+    /**
+     * Constructor to initialize the model and the view
+     *
+     * @param eegModel model of the raw EEG samples
+     * @param eegView  view of the raw EEG samples
+     */
+    public EegController(EegModel eegModel, EegView eegView) {
+        this.eegModel = eegModel;
+        this.eegView = eegView;
+    }
+
+    /**
+     * Method to initialize the strip chart and its display length field
+     */
+    @Override
+    public void initializeView() {
+        eegView.initializeView(null);
+        eegView.addDisplayLengthListener(new DisplayLengthListener());
+    }
+
+    /**
+     * Method to get the raw EEG view
+     *
+     * @return the raw EEG view object
+     */
+    @Override
+    public EegView getView() {
+        return eegView;
+    }
+
+    /**
+     * Returns the set of sub controllers in case any
+     *
+     * @return null as there are no sub controllers
+     */
+    @Override
+    public ControllerInterface[] getSubControllers() {
+        return null;
+    }
+
+    /**
+     * Method to show the latest samples of the passed buffer
+     *
+     * @param sampleBuffer buffer of the samples, or null to clear the chart
+     */
+    public void updateEegView(SampleRingBuffer sampleBuffer) {
+        eegModel.setSampleBuffer(sampleBuffer);
+        eegView.updateEegView();
+    }
+
+    /**
+     * Class implemented to handle the enter key on the display length field
+     */
+    class DisplayLengthListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            String displayLength = eegView.getDisplayLengthText();
+            eegModel.setDisplaySeconds(displayLength.isEmpty() ? 1 : Integer.parseInt(displayLength));
+            eegView.updateEegView();
+        }
+    }
+}
@@ -4,7 +4,11 @@ import ser516.project3.interfaces.CommonDataInterface;
 import ser516.project3.interfaces.ViewInterface;
 import ser516.project3.client.view.ExpressionsView;
 import ser516.project3.interfaces.ControllerInterface;
+import ser516.project3.model.ChannelModel;
 import ser516.project3.model.ExpressionsModel;
+import ser516.project3.utilities.MessageFormatConverter;
+
+import java.util.List;
 /**
  * The Controller class for Expressions related tasks
  * @author vsriva12
@@ -41,10 +45,14 @@ public class ExpressionsController implements ControllerInterface, CommonDataInt
    */
   @Override
   public void initializeView() {
-    String legendNames[] = {"blink", "rightWink", "leftWink", "lookingRight", "lookingLeft",
-        "smile", "clench", "leftSmirk", "rightSmirk", "laugh", "furrowBrow", "raiseBrow"};
+    List<ChannelModel> channels = MessageFormatConverter.getExpressionsChannels();
+    String legendNames[] = new String[channels.size()];
+    for (int i = 0; i < legendNames.length; i++) {
+      legendNames[i] = channels.get(i).getName();
+    }
     graphController.setLegendNames(legendNames);
-    graphController.setNoOfChannels(12);
+    graphController.setNoOfChannels(legendNames.length);
+    graphController.setScrolling(true);
     graphController.setXLength(100);
     graphController.updateGraphView();
     ViewInterface clientViewInterface[] = {graphController.getView(), faceController.getView()};
@@ -4,6 +4,7 @@ import ser516.project3.client.view.GraphView;
 import ser516.project3.interfaces.ControllerInterface;
 import ser516.project3.model.CoordinatesModel;
 import ser516.project3.model.GraphModel;
+import ser516.project3.utilities.ChannelHistory;
 
 import java.awt.*;
 import java.util.ArrayList;
@@ -116,22 +117,51 @@ public class GraphController implements ControllerInterface {
     }
 
     /**
-     * Sets the coordinate values for each channel in the <code>GraphModel</code>.
+     * Sets the time stamps and values for each channel in the
+     * <code>GraphModel</code>.
+     *
+     * @param graphData window over the values of each channel in the
+     *                  <code>GraphModel</code>
+     */
+    public void setGraphData(ChannelHistory.Window graphData) {
+        graphModel.setGraphData(graphData);
+    }
+
+    /**
+     * Sets the coordinate values for each channel in the <code>GraphModel</code>,
+     * for a fixed set of data. The coordinates are copied to a history of
+     * their own, with the x coordinate of the first channel as time stamp.
      *
      * @param graphData list of coordinate values for each channel in the
      *                  <code>GraphModel</code>
      */
     public void setGraphData(ArrayList<ArrayList<CoordinatesModel>> graphData) {
-        graphModel.setGraphData(graphData);
+        int channelCount = 0;
+        for (ArrayList<CoordinatesModel> coordinates : graphData) {
+            channelCount = Math.max(channelCount, coordinates.size());
+        }
+        ChannelHistory history = new ChannelHistory(channelCount, graphData.size());
+        double[] values = new double[channelCount];
+        for (ArrayList<CoordinatesModel> coordinates : graphData) {
+            if (coordinates.isEmpty()) {
+                continue;
+            }
+            for (int channel = 0; channel < coordinates.size(); channel++) {
+                values[channel] = coordinates.get(channel).getYCoordinate();
+            }
+            history.append(coordinates.get(0).getXCoordinate(), values);
+        }
+        graphModel.setGraphData(history.window());
     }
 
     /**
-     * Gets the coordinate values for each channel in the <code>GraphModel</code>.
+     * Gets the time stamps and values for each channel in the
+     * <code>GraphModel</code>.
      *
-     * @return list of coordinate values for each channel in the
+     * @return window over the values of each channel in the
      * <code>GraphModel</code>
      */
-    public ArrayList<ArrayList<CoordinatesModel>> getGraphData() {
+    public ChannelHistory.Window getGraphData() {
         return graphModel.getGraphData();
     }
 
@@ -159,4 +189,33 @@ public class GraphController implements ControllerInterface {
     public void updateGraphView() {
         graphView.updateGraphView(graphModel);
     }
+
+    /**
+     * Gets the time stamp of the start of the visible part of the X-axis.
+     *
+     * @param latestTimestamp the time stamp of the latest value
+     * @return the earliest visible time stamp
+     */
+    public double getVisibleFrom(double latestTimestamp) {
+        return graphModel.getVisibleFrom(latestTimestamp);
+    }
+
+    /**
+     * Gets the time stamp of the end of the visible part of the X-axis.
+     *
+     * @param latestTimestamp the time stamp of the latest value
+     * @return the latest visible time stamp
+     */
+    public double getVisibleTo(double latestTimestamp) {
+        return graphModel.getVisibleTo(latestTimestamp);
+    }
+
+    /**
+     * Sets whether the X-axis of the graph scrolls to follow the time stamps.
+     *
+     * @param scrolling true if the X-axis scrolls with the time stamps
+     */
+    public void setScrolling(boolean scrolling) {
+        graphModel.setScrolling(scrolling);
+    }
 }
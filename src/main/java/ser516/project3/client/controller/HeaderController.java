@@ -127,4 +127,21 @@ public class HeaderController implements ControllerInterface, CommonDataInterfac
         headerModel.setTimeStamp(timeStamp);
         headerView.updateTimeStamp();
     }
+
+    /**
+     * Method to set the statistics of the frames received from the server
+     *
+     * @param latencyMillis    median latency of the frames in milliseconds
+     * @param latencyP99Millis 99th percentile of the latency in milliseconds
+     * @param jitterMillis     99th percentile of the jitter in milliseconds
+     * @param lostFrames       number of frames lost since connected
+     */
+    public void setFrameStatistics(double latencyMillis, double latencyP99Millis, double jitterMillis,
+                                   long lostFrames) {
+        headerModel.setLatencyMillis(latencyMillis);
+        headerModel.setLatencyP99Millis(latencyP99Millis);
+        headerModel.setJitterMillis(jitterMillis);
+        headerModel.setLostFrames(lostFrames);
+        headerView.updateFrameStatistics();
+    }
 }
@@ -5,6 +5,7 @@ import ser516.project3.constants.ClientConstants;
 import ser516.project3.interfaces.ControllerInterface;
 import ser516.project3.interfaces.ViewInterface;
 import ser516.project3.model.PerformanceMetricModel;
+import ser516.project3.utilities.MessageFormatConverter;
 
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
@@ -49,7 +50,7 @@ public class PerformanceMetricController implements ControllerInterface {
      */
     @Override
     public void initializeView() {
-        graphController.setNoOfChannels(6);
+        graphController.setNoOfChannels(MessageFormatConverter.getPerformanceMetricChannels().size());
         graphController.setXLength(performanceMetricModel.getDisplayLength());
         Color channelColors[] = {performanceMetricModel.getInterestColor(),
                 performanceMetricModel.getEngagementColor(), performanceMetricModel.getStressColor(),
@@ -3,30 +3,55 @@ package ser516.project3.client.helper;
 import org.apache.log4j.Logger;
 import ser516.project3.client.controller.ClientControllerFactory;
 import ser516.project3.constants.ClientConstants;
+import ser516.project3.constants.ServerConstants;
+import ser516.project3.interfaces.FrameInterface;
 import ser516.project3.model.*;
+import ser516.project3.utilities.ChannelSchemaDecoder;
+import ser516.project3.utilities.FrameStatistics;
+import ser516.project3.utilities.MessageBatchDecoder;
+import ser516.project3.utilities.MessageBinaryBatchDecoder;
+import ser516.project3.utilities.MessageBinaryDecoder;
 import ser516.project3.utilities.MessageDecoder;
-import ser516.project3.utilities.MessageFormatConverter;
+import ser516.project3.utilities.MessageDeltaDecoder;
+import ser516.project3.utilities.SampleBlockDecoder;
 import ser516.project3.utilities.ServerCommonData;
+import ser516.project3.utilities.WallClock;
 
 import javax.swing.*;
 import javax.websocket.*;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class acts as an end point of the connection and provides the message
  * bean that is further used to instantiate singleton data objects for
- * performance metrics and expressions.
+ * performance metrics and expressions. It keeps the latency, jitter and lost
+ * frames of the connection, shows them in the header and reports them to the
+ * server periodically.
  *
  * @author Varun Srivastava, Manish Tandon
  */
-@ClientEndpoint(decoders = {MessageDecoder.class})
+@ClientEndpoint(decoders = {ChannelSchemaDecoder.class, MessageBatchDecoder.class, MessageDecoder.class, MessageBinaryDecoder.class,
+        MessageBinaryBatchDecoder.class, MessageDeltaDecoder.class, SampleBlockDecoder.class}, configurator = CodecRequestConfigurator.class)
 public class ClientConnectionEndpoint {
 
     final static Logger logger = Logger.getLogger(ClientConnectionEndpoint.class);
 
+    private final FrameStatistics frameStatistics = new FrameStatistics();
+    private final ClientFrameConsumer frameConsumer = new ClientFrameConsumer(ClientConstants.FRAME_RING_CAPACITY);
+    private long lastHeaderStatisticsNanos;
+    private long lastStatisticsReportNanos;
+
     @OnOpen
     public void onOpen(Session session) {
         logger.info("Connected to endpoint: " + session.getBasicRemote());
+        EegDataObservable.getInstance().clear();
+        frameStatistics.reset();
+        lastHeaderStatisticsNanos = System.nanoTime();
+        lastStatisticsReportNanos = lastHeaderStatisticsNanos;
+        HeaderObservable.getInstance().setFrameStatistics(0, 0, 0, 0);
+        frameConsumer.start();
+        RenderScheduler.getInstance().requestRender();
         try {
             session.getBasicRemote().sendText(ServerCommonData.getInstance().getMessage().toString());
         } catch (IOException ex) {
@@ -34,18 +59,64 @@ public class ClientConnectionEndpoint {
         }
     }
 
+    /**
+     * Records the arrival of the messages of a frame and hands the frame over
+     * to the {@link ClientFrameConsumer}, which applies it to the observables
+     * on its own thread, so that this web socket thread only decodes.
+     *
+     * @param frame   message, batch, schema or block of samples received from
+     *                the server
+     * @param session web socket session
+     */
     @OnMessage
-    public void processMessage(MessageModel messageModelBean, Session session) {
-        logger.info("Received data:::: " + messageModelBean);
-        PerformanceMetricDataObservable.getInstance().addToListValues(MessageFormatConverter.convertMessageToPeformanceMetrics(messageModelBean));
-        ExpressionsDataObservable.getInstance().addToListValues(MessageFormatConverter.convertMessageToExpressionsData(messageModelBean));
-        FaceExpressionsObservable.getInstance().setMessageBean(messageModelBean);
-        HeaderObservable.getInstance().setHeaderData(messageModelBean.getTimeStamp(), messageModelBean.getInterval());
+    public void processMessage(FrameInterface frame, Session session) {
+        if (!(frame instanceof ChannelSchemaModel) && !(frame instanceof SampleBlockModel)) {
+            long arrivalMicros = WallClock.currentTimeMicros();
+            for (MessageModel messageModelBean : frame.getMessages()) {
+                frameStatistics.record(messageModelBean, arrivalMicros);
+            }
+        }
+        frameConsumer.publish(frame);
+        updateFrameStatistics(session);
     }
 
-    @OnError
-    public void processError(Throwable t) {
+    /**
+     * Shows the statistics of the frames in the header, and reports them to
+     * the server, each at its own period. The latency and jitter shown are
+     * those of the frames received since the last report.
+     *
+     * @param session web socket session
+     */
+    private void updateFrameStatistics(Session session) {
+        long now = System.nanoTime();
+        if (now - lastHeaderStatisticsNanos >= TimeUnit.MILLISECONDS.toNanos(
+                ClientConstants.HEADER_STATISTICS_PERIOD_MILLIS)) {
+            lastHeaderStatisticsNanos = now;
+            HeaderObservable.getInstance().setFrameStatistics(
+                    frameStatistics.getLatencyHistogram().getValueAtPercentile(50) / 1000.0,
+                    frameStatistics.getLatencyHistogram().getValueAtPercentile(99) / 1000.0,
+                    frameStatistics.getJitterHistogram().getValueAtPercentile(99) / 1000.0,
+                    frameStatistics.getLostFrameCount());
+        }
+        if (now - lastStatisticsReportNanos >= TimeUnit.MILLISECONDS.toNanos(
+                ClientConstants.STATISTICS_REPORT_PERIOD_MILLIS)) {
+            lastStatisticsReportNanos = now;
+            if (session.isOpen()) {
+                session.getAsyncRemote().sendText(frameStatistics.toReport());
+            }
+            frameStatistics.restartWindow();
+        }
+    }
 
+    @OnError
+    public void processError(Session session, Throwable t) {
+        if (t instanceof DecodeException) {
+            logger.debug(t.getMessage());
+            if (ServerConstants.RESYNC_REQUEST.equals(t.getMessage()) && session.isOpen()) {
+                session.getAsyncRemote().sendText(ServerConstants.RESYNC_REQUEST);
+            }
+            return;
+        }
         logger.error("Error occurred in Client End Point");
         t.printStackTrace();
     }
@@ -53,6 +124,7 @@ public class ClientConnectionEndpoint {
     @OnClose
     public void processClose(Session userSession, CloseReason reason) {
         logger.error("On Close called");
+        frameConsumer.stop();
         if (reason.getReasonPhrase().length() > 0) {
             final JDialog dialog = new JDialog();
             dialog.setAlwaysOnTop(true);
@@ -0,0 +1,171 @@
+package ser516.project3.client.helper;
+
+import org.apache.log4j.Logger;
+import ser516.project3.constants.ClientConstants;
+import ser516.project3.interfaces.FrameInterface;
+import ser516.project3.model.ChannelSchemaModel;
+import ser516.project3.model.EegDataObservable;
+import ser516.project3.model.ExpressionsDataObservable;
+import ser516.project3.model.FaceExpressionsObservable;
+import ser516.project3.model.HeaderObservable;
+import ser516.project3.model.MessageModel;
+import ser516.project3.model.PerformanceMetricDataObservable;
+import ser516.project3.model.SampleBlockModel;
+import ser516.project3.utilities.ChannelSchemaRegistry;
+import ser516.project3.utilities.EventBus;
+import ser516.project3.utilities.EventTopic;
+import ser516.project3.utilities.SpscRingBuffer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The ClientFrameConsumer class takes the frames decoded on the web socket
+ * thread through a single producer single consumer ring buffer, and applies
+ * them in order on its own thread to the observables of the client. The
+ * graphs get every message, the face and the header the latest one. The user
+ * interface is then rendered by the {@link RenderScheduler}, at most once per
+ * display frame, so a slow repaint never stalls the reading of the socket.
+ * Every message is also published on {@link #MESSAGE_TOPIC}, for the
+ * listeners which need all of them rather than the latest.
+ * <p>
+ * When the buffer is full the web socket thread waits for the consumer, so
+ * that no frame is lost, which pushes back on the server through the socket.
+ *
+ * @author vsriva12
+ */
+public class ClientFrameConsumer implements Runnable {
+    final static Logger logger = Logger.getLogger(ClientFrameConsumer.class);
+
+    public final static EventTopic<MessageModel> MESSAGE_TOPIC = EventTopic.immediate("message");
+
+    private final SpscRingBuffer<FrameInterface> frames;
+    private volatile boolean running;
+    private volatile boolean parked;
+    private volatile Thread thread;
+    private volatile long bufferFullCount;
+
+    /**
+     * Creates the consumer of the frames of one connection
+     *
+     * @param capacity number of frames the buffer holds
+     */
+    public ClientFrameConsumer(int capacity) {
+        frames = new SpscRingBuffer<>(capacity);
+    }
+
+    /**
+     * Method to start the thread of the consumer
+     */
+    public void start() {
+        running = true;
+        thread = new Thread(this, ClientConstants.FRAME_CONSUMER_THREAD);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Method to stop the thread of the consumer. The frames not yet applied
+     * are dropped.
+     */
+    public void stop() {
+        running = false;
+        Thread consumerThread = thread;
+        if (consumerThread != null) {
+            LockSupport.unpark(consumerThread);
+        }
+    }
+
+    /**
+     * Method to hand a frame over to the consumer, called by the web socket
+     * thread only. Waits while the buffer is full.
+     *
+     * @param frame frame decoded from a message of the server
+     */
+    public void publish(FrameInterface frame) {
+        while (!frames.offer(frame)) {
+            if (!running) {
+                return;
+            }
+            bufferFullCount++;
+            LockSupport.parkNanos(ClientConstants.PRODUCER_WAIT_NANOS);
+        }
+        if (parked) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Method to apply the frames as they arrive until the consumer is stopped.
+     * The park is bounded, as a frame published while the consumer is about
+     * to park may not wake it up.
+     */
+    @Override
+    public void run() {
+        while (running) {
+            FrameInterface frame = frames.poll();
+            if (frame == null) {
+                parked = true;
+                if (frames.isEmpty() && running) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(ClientConstants.CONSUMER_PARK_MILLIS));
+                }
+                parked = false;
+                continue;
+            }
+            try {
+                apply(frame);
+            } catch (RuntimeException e) {
+                logger.error(ClientConstants.ERROR_APPLY_FRAME + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Feeds the messages of a frame, which is either a single message or a
+     * batch, to the observables. The channel schema announced by the server
+     * replaces the schema of the client, and the blocks of raw samples go to
+     * the strip chart.
+     *
+     * @param frame message or batch received from the server
+     */
+    static void apply(FrameInterface frame) {
+        if (frame instanceof ChannelSchemaModel) {
+            logger.info("Received channel schema:::: " + ((ChannelSchemaModel) frame).getChannels());
+            ChannelSchemaRegistry.getInstance().setSchema((ChannelSchemaModel) frame);
+            return;
+        }
+        if (frame instanceof SampleBlockModel) {
+            EegDataObservable.getInstance().addSampleBlock((SampleBlockModel) frame);
+            return;
+        }
+        List<MessageModel> messages = frame.getMessages();
+        if (messages.isEmpty()) {
+            return;
+        }
+        EventBus eventBus = EventBus.getInstance();
+        for (MessageModel messageModelBean : messages) {
+            eventBus.publish(MESSAGE_TOPIC, messageModelBean);
+        }
+        MessageModel latestMessage = messages.get(messages.size() - 1);
+        PerformanceMetricDataObservable.getInstance().addMessages(messages);
+        ExpressionsDataObservable.getInstance().addMessages(messages);
+        FaceExpressionsObservable.getInstance().setMessageBean(latestMessage);
+        HeaderObservable.getInstance().setHeaderData(latestMessage.getTimeStamp(), latestMessage.getInterval());
+    }
+
+    /**
+     * @return the number of times the web socket thread waited for a full
+     * buffer
+     */
+    public long getBufferFullCount() {
+        return bufferFullCount;
+    }
+
+    /**
+     * @return the number of frames waiting to be applied
+     */
+    public int getPendingFrameCount() {
+        return frames.size();
+    }
+}
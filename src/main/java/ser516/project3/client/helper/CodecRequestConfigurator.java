@@ -0,0 +1,34 @@
+package ser516.project3.client.helper;
+
+import ser516.project3.constants.ClientConstants;
+import ser516.project3.constants.ServerConstants;
+
+import javax.websocket.ClientEndpointConfig;
+import javax.websocket.server.HandshakeRequest;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configurator of the {@link ClientConnectionEndpoint} which asks the server
+ * for the codec set in the client codec system property during the
+ * handshake, with json as the fallback for a server which does not know it.
+ *
+ * @author vsriva12
+ */
+public class CodecRequestConfigurator extends ClientEndpointConfig.Configurator {
+
+    /**
+     * Method to add the requested codecs to the Sec-WebSocket-Protocol header
+     * of the handshake, in order of preference
+     *
+     * @param headers headers of the handshake request
+     */
+    @Override
+    public void beforeRequest(Map<String, List<String>> headers) {
+        String codec = System.getProperty(ClientConstants.CODEC_PROPERTY, ServerConstants.CODEC_JSON);
+        String subprotocols = codec.equals(ServerConstants.CODEC_JSON) ? codec
+                : codec + ServerConstants.SUBPROTOCOL_SEPARATOR + ServerConstants.CODEC_JSON;
+        headers.put(HandshakeRequest.SEC_WEBSOCKET_PROTOCOL, Collections.singletonList(subprotocols));
+    }
+}
@@ -0,0 +1,234 @@
+package ser516.project3.client.helper;
+
+import ser516.project3.constants.ClientConstants;
+import ser516.project3.constants.ServerConstants;
+
+import java.net.URI;
+
+/**
+ * The LoadGeneratorConfiguration class holds the settings of a load test:
+ * the number of clients, how long to warm up and to measure, the codec the
+ * clients ask for, where the server runs and where to write the report.
+ * The server is either started in process, started in a forked JVM, or an
+ * external server reached by its url. The servers started by the load test
+ * listen on localhost and stamp their frames with the wall clock.
+ *
+ * @author vsriva12
+ */
+public class LoadGeneratorConfiguration {
+
+    private int clients = ClientConstants.DEFAULT_CLIENTS;
+    private double duration = ClientConstants.DEFAULT_DURATION;
+    private double warmup = ClientConstants.DEFAULT_WARMUP;
+    private String codec = ServerConstants.CODEC_JSON;
+    private double interval = ClientConstants.DEFAULT_LOAD_INTERVAL;
+    private String server = ClientConstants.SERVER_IN_PROCESS;
+    private String url;
+    private int port = ClientConstants.DEFAULT_LOAD_PORT;
+    private String profile = ServerConstants.PROFILE_STATIC;
+    private String report = ClientConstants.DEFAULT_REPORT;
+    private int lateMillis = ClientConstants.DEFAULT_LATE_MILLIS;
+
+    /**
+     * Method to read the configuration from the command line arguments, each
+     * given either as {@code --name value} or as {@code --name=value}
+     *
+     * @param args command line arguments
+     * @return the configuration
+     * @throws IllegalArgumentException if an argument is unknown or invalid
+     */
+    public static LoadGeneratorConfiguration fromArguments(String[] args) {
+        LoadGeneratorConfiguration configuration = new LoadGeneratorConfiguration();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            String value;
+            int separator = name.indexOf(ServerConstants.ARGUMENT_VALUE_SEPARATOR);
+            if (separator >= 0) {
+                value = name.substring(separator + 1);
+                name = name.substring(0, separator);
+            } else if (i + 1 < args.length) {
+                value = args[++i];
+            } else {
+                throw new IllegalArgumentException(ClientConstants.ERROR_LOAD_ARGUMENT + name);
+            }
+            try {
+                configuration.apply(name, value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(ClientConstants.ERROR_LOAD_ARGUMENT + name + "=" + value);
+            }
+        }
+        if (ClientConstants.SERVER_EXTERNAL.equals(configuration.server) && configuration.url == null) {
+            throw new IllegalArgumentException(ClientConstants.ERROR_LOAD_ARGUMENT + ClientConstants.URL_ARGUMENT);
+        }
+        return configuration;
+    }
+
+    /**
+     * Method to apply one argument over the current settings
+     *
+     * @param name  name of the argument
+     * @param value value of the argument
+     */
+    private void apply(String name, String value) {
+        boolean valid = true;
+        switch (name) {
+            case ClientConstants.CLIENTS_ARGUMENT:
+                clients = Integer.parseInt(value);
+                valid = clients > 0;
+                break;
+            case ClientConstants.DURATION_ARGUMENT:
+                duration = Double.parseDouble(value);
+                valid = duration > 0;
+                break;
+            case ClientConstants.WARMUP_ARGUMENT:
+                warmup = Double.parseDouble(value);
+                valid = warmup >= 0;
+                break;
+            case ClientConstants.CODEC_ARGUMENT:
+                codec = value;
+                valid = codec.equals(ServerConstants.CODEC_JSON) || codec.equals(ServerConstants.CODEC_BINARY)
+                        || codec.equals(ServerConstants.CODEC_DELTA);
+                break;
+            case ClientConstants.INTERVAL_ARGUMENT:
+                interval = Double.parseDouble(value);
+                valid = interval > 0;
+                break;
+            case ClientConstants.SERVER_ARGUMENT:
+                server = value;
+                valid = server.equals(ClientConstants.SERVER_IN_PROCESS) || server.equals(ClientConstants.SERVER_FORK)
+                        || server.equals(ClientConstants.SERVER_EXTERNAL);
+                break;
+            case ClientConstants.URL_ARGUMENT:
+                url = value;
+                valid = URI.create(url).getHost() != null;
+                break;
+            case ClientConstants.PORT_ARGUMENT:
+                port = Integer.parseInt(value);
+                valid = port > 0 && port <= 65535;
+                break;
+            case ClientConstants.PROFILE_ARGUMENT:
+                profile = value;
+                valid = profile.equals(ServerConstants.PROFILE_STATIC) || profile.equals(ServerConstants.PROFILE_EEG)
+                        || profile.equals(ServerConstants.PROFILE_PROCEDURAL);
+                break;
+            case ClientConstants.REPORT_ARGUMENT:
+                report = value;
+                break;
+            case ClientConstants.LATE_ARGUMENT:
+                lateMillis = Integer.parseInt(value);
+                valid = lateMillis > 0;
+                break;
+            default:
+                valid = false;
+        }
+        if (!valid) {
+            throw new IllegalArgumentException(ClientConstants.ERROR_LOAD_ARGUMENT + name + "=" + value);
+        }
+    }
+
+    /**
+     * Method to get the arguments of the headless server started by the load
+     * test
+     *
+     * @return the command line arguments of the server
+     */
+    public String[] getServerArguments() {
+        return new String[]{ServerConstants.HOST_ARGUMENT, ServerConstants.LOCALHOST,
+                ServerConstants.PORT_ARGUMENT, String.valueOf(port),
+                ServerConstants.INTERVAL_ARGUMENT, String.valueOf(interval),
+                ServerConstants.PROFILE_ARGUMENT, profile,
+                ServerConstants.CLOCK_ARGUMENT, ServerConstants.CLOCK_WALL};
+    }
+
+    /**
+     * @return the number of clients
+     */
+    public int getClients() {
+        return clients;
+    }
+
+    /**
+     * @return the time to measure, in seconds
+     */
+    public double getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return the time to run before measuring, in seconds
+     */
+    public double getWarmup() {
+        return warmup;
+    }
+
+    /**
+     * @return the codec the clients ask for
+     */
+    public String getCodec() {
+        return codec;
+    }
+
+    /**
+     * @return the interval of the frames of a server started by the load test,
+     * in seconds
+     */
+    public double getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return where the server runs, either in-process, fork or external
+     */
+    public String getServer() {
+        return server;
+    }
+
+    /**
+     * @return the url the clients connect to
+     */
+    public String getUrl() {
+        return url != null ? url
+                : "ws://" + ServerConstants.LOCALHOST + ":" + port + "/" + ClientConstants.ENDPOINT;
+    }
+
+    /**
+     * @return the port of a server started by the load test
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * @return the generator profile of a server started by the load test
+     */
+    public String getProfile() {
+        return profile;
+    }
+
+    /**
+     * @return the file the report is written to
+     */
+    public String getReport() {
+        return report;
+    }
+
+    /**
+     * @return the latency above which a frame is counted as late, in
+     * milliseconds
+     */
+    public int getLateMillis() {
+        return lateMillis;
+    }
+
+    /**
+     * Overridden method to convert the configuration into string
+     *
+     * @return returns the string conversion of the class
+     */
+    @Override
+    public String toString() {
+        return "LoadGeneratorConfiguration [clients=" + clients + ", duration=" + duration + ", warmup=" + warmup
+                + ", codec=" + codec + ", interval=" + interval + ", server=" + server + ", url=" + getUrl()
+                + ", profile=" + profile + ", report=" + report + ", lateMillis=" + lateMillis + "]";
+    }
+}
@@ -0,0 +1,169 @@
+package ser516.project3.client.helper;
+
+import org.apache.log4j.Logger;
+import ser516.project3.constants.ServerConstants;
+import ser516.project3.interfaces.FrameInterface;
+import ser516.project3.model.MessageModel;
+import ser516.project3.model.SampleBlockModel;
+import ser516.project3.utilities.ChannelSchemaDecoder;
+import ser516.project3.utilities.MessageBatchDecoder;
+import ser516.project3.utilities.MessageBinaryBatchDecoder;
+import ser516.project3.utilities.MessageBinaryDecoder;
+import ser516.project3.utilities.MessageDecoder;
+import ser516.project3.utilities.MessageDeltaDecoder;
+import ser516.project3.utilities.SampleBlockDecoder;
+import ser516.project3.utilities.WallClock;
+
+import javax.websocket.*;
+import java.nio.ByteBuffer;
+
+/**
+ * The end point of one client of a load test. It decodes the messages with
+ * the decoders of the client application, in the same order, and records
+ * into the shared {@link LoadGeneratorStatistics} the time spent decoding,
+ * the latency of every frame, taken as its time of arrival minus its send
+ * time, and the frames missing from the sequence numbers. The JSON frames of
+ * an older server, which carry neither, are measured from their time stamps;
+ * the binary layouts always carry both.
+ * Nothing is shown, so the measure only covers the network and the decoding.
+ *
+ * @author vsriva12
+ */
+public class LoadGeneratorEndpoint extends Endpoint {
+    final static Logger logger = Logger.getLogger(LoadGeneratorEndpoint.class);
+
+    private final LoadGeneratorStatistics statistics;
+    private final Decoder.Text<?>[] textDecoders = {new ChannelSchemaDecoder(), new MessageBatchDecoder(),
+            new MessageDecoder()};
+    private final Decoder.Binary<?>[] binaryDecoders = {new MessageBinaryDecoder(), new MessageBinaryBatchDecoder(),
+            new MessageDeltaDecoder(), new SampleBlockDecoder()};
+    private long lastTimeStampMicros = Long.MIN_VALUE;
+    private long lastSequence;
+
+    /**
+     * Creates the end point of one client
+     *
+     * @param statistics statistics shared by all the clients
+     */
+    public LoadGeneratorEndpoint(LoadGeneratorStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Method to register the handlers of the text and binary messages
+     *
+     * @param session web socket session
+     * @param config  configuration of the end point
+     */
+    @Override
+    public void onOpen(final Session session, EndpointConfig config) {
+        session.addMessageHandler(new MessageHandler.Whole<String>() {
+            @Override
+            public void onMessage(String message) {
+                long arrivalMicros = WallClock.currentTimeMicros();
+                long start = System.nanoTime();
+                Object frame = null;
+                try {
+                    for (Decoder.Text<?> decoder : textDecoders) {
+                        if (decoder.willDecode(message)) {
+                            frame = decoder.decode(message);
+                            break;
+                        }
+                    }
+                } catch (DecodeException e) {
+                    handleDecodeException(session, e);
+                }
+                statistics.recordMessage(message.length(), System.nanoTime() - start);
+                recordFrame(frame, arrivalMicros);
+            }
+        });
+        session.addMessageHandler(new MessageHandler.Whole<ByteBuffer>() {
+            @Override
+            public void onMessage(ByteBuffer message) {
+                long arrivalMicros = WallClock.currentTimeMicros();
+                int bytes = message.remaining();
+                long start = System.nanoTime();
+                Object frame = null;
+                try {
+                    for (Decoder.Binary<?> decoder : binaryDecoders) {
+                        if (decoder.willDecode(message)) {
+                            frame = decoder.decode(message);
+                            break;
+                        }
+                    }
+                } catch (DecodeException e) {
+                    handleDecodeException(session, e);
+                }
+                statistics.recordMessage(bytes, System.nanoTime() - start);
+                recordFrame(frame, arrivalMicros);
+            }
+        });
+    }
+
+    /**
+     * Method to count the sessions closed by the server while measuring
+     *
+     * @param session     web socket session
+     * @param closeReason web socket close reason
+     */
+    @Override
+    public void onClose(Session session, CloseReason closeReason) {
+        if (closeReason.getCloseCode() != CloseReason.CloseCodes.NORMAL_CLOSURE) {
+            logger.debug(ServerConstants.ON_CLOSE + closeReason);
+            statistics.countClosedSession();
+        }
+    }
+
+    /**
+     * Method to record the frames of a decoded message
+     *
+     * @param frame         decoded message, or null if it could not be decoded
+     * @param arrivalMicros time of arrival of the message, in microseconds
+     *                      since the epoch
+     */
+    private void recordFrame(Object frame, long arrivalMicros) {
+        if (frame instanceof SampleBlockModel) {
+            statistics.recordSampleBlock();
+            return;
+        }
+        if (!(frame instanceof FrameInterface)) {
+            return;
+        }
+        for (MessageModel message : ((FrameInterface) frame).getMessages()) {
+            long timeStampMicros = message.getTimeStampMicros();
+            long intervalMicros = message.getIntervalMicros();
+            long sequence = message.getSequence();
+            if (sequence > 0) {
+                if (lastSequence > 0 && sequence > lastSequence + 1) {
+                    statistics.countDroppedFrames(sequence - lastSequence - 1);
+                }
+                lastSequence = Math.max(lastSequence, sequence);
+            } else if (lastTimeStampMicros != Long.MIN_VALUE && intervalMicros > 0
+                    && timeStampMicros - lastTimeStampMicros > intervalMicros * 3 / 2) {
+                statistics.countDroppedFrames(Math.round(
+                        (double) (timeStampMicros - lastTimeStampMicros) / intervalMicros) - 1);
+            }
+            lastTimeStampMicros = timeStampMicros;
+            long sendTimeMicros = message.getSendTimeMicros();
+            statistics.recordFrame(arrivalMicros - (sendTimeMicros > 0 ? sendTimeMicros : timeStampMicros));
+        }
+    }
+
+    /**
+     * Method to handle a message which could not be decoded. A delta client
+     * which has missed a frame asks the server for a keyframe.
+     *
+     * @param session web socket session
+     * @param e       exception of the decoder
+     */
+    private void handleDecodeException(Session session, DecodeException e) {
+        if (ServerConstants.RESYNC_REQUEST.equals(e.getMessage())) {
+            statistics.countResync();
+            if (session.isOpen()) {
+                session.getAsyncRemote().sendText(ServerConstants.RESYNC_REQUEST);
+            }
+        } else {
+            statistics.countDecodeError();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package ser516.project3.client.helper;
+
+import ser516.project3.utilities.LatencyHistogram;
+
+import javax.json.Json;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The LoadGeneratorStatistics class collects what the clients of a load test
+ * observe while it is measuring: the latency of every frame from the tick of
+ * the server to its arrival, the time spent decoding every message, the
+ * throughput, and the frames which were dropped or arrived late. It is shared
+ * by all the clients, and recording is lock free.
+ *
+ * @author vsriva12
+ */
+public class LoadGeneratorStatistics {
+
+    public final static String LATENCY = "latencyMicros";
+    public final static String DECODE = "decodeNanos";
+    private final static double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private static final JsonBuilderFactory factory = Json.createBuilderFactory(new HashMap<String, Object>());
+
+    private final long lateMicros;
+    private volatile boolean recording;
+    private volatile long startNanos;
+    private volatile long stopNanos;
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+    private final LatencyHistogram decodeHistogram = new LatencyHistogram();
+    private final AtomicLong frameCount = new AtomicLong();
+    private final AtomicLong messageCount = new AtomicLong();
+    private final AtomicLong payloadBytes = new AtomicLong();
+    private final AtomicLong sampleBlockCount = new AtomicLong();
+    private final AtomicLong droppedFrameCount = new AtomicLong();
+    private final AtomicLong lateFrameCount = new AtomicLong();
+    private final AtomicLong resyncCount = new AtomicLong();
+    private final AtomicLong decodeErrorCount = new AtomicLong();
+    private final AtomicLong closedSessionCount = new AtomicLong();
+
+    /**
+     * Creates the statistics of a load test
+     *
+     * @param lateMillis latency above which a frame is counted as late, in
+     *                   milliseconds
+     */
+    public LoadGeneratorStatistics(int lateMillis) {
+        lateMicros = TimeUnit.MILLISECONDS.toMicros(lateMillis);
+    }
+
+    /**
+     * Method to forget what has been observed during the warm up, and to start
+     * measuring
+     */
+    public void startRecording() {
+        latencyHistogram.reset();
+        decodeHistogram.reset();
+        for (AtomicLong counter : new AtomicLong[]{frameCount, messageCount, payloadBytes, sampleBlockCount,
+                droppedFrameCount, lateFrameCount, resyncCount, decodeErrorCount, closedSessionCount}) {
+            counter.set(0);
+        }
+        startNanos = System.nanoTime();
+        recording = true;
+    }
+
+    /**
+     * Method to stop measuring
+     */
+    public void stopRecording() {
+        recording = false;
+        stopNanos = System.nanoTime();
+    }
+
+    /**
+     * @return true while the load test is measuring
+     */
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Method to record a message received from the server
+     *
+     * @param bytes       size of the payload of the message
+     * @param decodeNanos time spent decoding the message, in nanoseconds
+     */
+    public void recordMessage(int bytes, long decodeNanos) {
+        if (recording) {
+            messageCount.incrementAndGet();
+            payloadBytes.addAndGet(bytes);
+            decodeHistogram.record(decodeNanos);
+        }
+    }
+
+    /**
+     * Method to record a frame received from the server
+     *
+     * @param latencyMicros time from the tick which built the frame to its
+     *                      arrival, in microseconds
+     */
+    public void recordFrame(long latencyMicros) {
+        if (recording) {
+            frameCount.incrementAndGet();
+            latencyHistogram.record(latencyMicros);
+            if (latencyMicros > lateMicros) {
+                lateFrameCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Method to record a block of raw samples received from the server
+     */
+    public void recordSampleBlock() {
+        if (recording) {
+            sampleBlockCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Method to count the frames missing between two received frames
+     *
+     * @param frames number of missing frames
+     */
+    public void countDroppedFrames(long frames) {
+        if (recording) {
+            droppedFrameCount.addAndGet(frames);
+        }
+    }
+
+    /**
+     * Method to count a keyframe asked for by a delta client
+     */
+    public void countResync() {
+        if (recording) {
+            resyncCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Method to count a message which could not be decoded
+     */
+    public void countDecodeError() {
+        if (recording) {
+            decodeErrorCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Method to count a session closed by the server
+     */
+    public void countClosedSession() {
+        if (recording) {
+            closedSessionCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the number of frames received while measuring
+     */
+    public long getFrameCount() {
+        return frameCount.get();
+    }
+
+    /**
+     * @return the latencies of the frames, in microseconds
+     */
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    /**
+     * @return the time spent decoding the messages, in nanoseconds
+     */
+    public LatencyHistogram getDecodeHistogram() {
+        return decodeHistogram;
+    }
+
+    /**
+     * Method to write the statistics as json
+     *
+     * @return the json object of the statistics
+     */
+    public JsonObject toJson() {
+        double seconds = Math.max(1, stopNanos - startNanos) / 1e9;
+        return factory.createObjectBuilder()
+                .add("seconds", seconds)
+                .add("frames", frameCount.get())
+                .add("messages", messageCount.get())
+                .add("payloadBytes", payloadBytes.get())
+                .add("sampleBlocks", sampleBlockCount.get())
+                .add("framesPerSecond", frameCount.get() / seconds)
+                .add("bytesPerSecond", payloadBytes.get() / seconds)
+                .add("droppedFrames", droppedFrameCount.get())
+                .add("lateFrames", lateFrameCount.get())
+                .add("lateMicros", lateMicros)
+                .add("resyncs", resyncCount.get())
+                .add("decodeErrors", decodeErrorCount.get())
+                .add("closedSessions", closedSessionCount.get())
+                .add(LATENCY, toJson(latencyHistogram))
+                .add(DECODE, toJson(decodeHistogram))
+                .build();
+    }
+
+    /**
+     * Method to write the distribution of a histogram as json
+     *
+     * @param histogram histogram to write
+     * @return the json object of the distribution
+     */
+    private static JsonObjectBuilder toJson(LatencyHistogram histogram) {
+        JsonObjectBuilder builder = factory.createObjectBuilder()
+                .add("count", histogram.getCount())
+                .add("min", histogram.getMin())
+                .add("mean", histogram.getMean());
+        for (double percentile : PERCENTILES) {
+            builder.add("p" + (percentile == Math.floor(percentile) ? String.valueOf((int) percentile)
+                    : String.valueOf(percentile)), histogram.getValueAtPercentile(percentile));
+        }
+        return builder.add("max", histogram.getMax());
+    }
+}
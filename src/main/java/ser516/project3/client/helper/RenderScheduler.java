@@ -0,0 +1,152 @@
+package ser516.project3.client.helper;
+
+import org.apache.log4j.Logger;
+import ser516.project3.constants.ClientConstants;
+import ser516.project3.utilities.EventBus;
+
+import javax.swing.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * The RenderScheduler class coalesces the changes of the models of the
+ * client into at most one render per display frame. A render flushes the
+ * {@link EventBus}, delivering the latest event of every coalescing topic
+ * published since the previous render on the Swing event dispatch thread,
+ * so the views always show the latest data
+ * however fast it is received. A render requested while one is pending is
+ * folded into it, and a render requested less than a display frame after
+ * the previous one is delayed until the next display frame. The time is read
+ * from a clock, and the renders are handed over to the event dispatch thread
+ * by a dispatcher, both of which are System.nanoTime and Swing unless others
+ * are passed.
+ *
+ * @author vsriva12
+ */
+public class RenderScheduler {
+    final static Logger logger = Logger.getLogger(RenderScheduler.class);
+
+    private static RenderScheduler instance;
+
+    private final EventBus eventBus;
+    private final long frameNanos;
+    private final LongSupplier nanoClock;
+    private final RenderDispatcher dispatcher;
+    private final AtomicBoolean renderPending = new AtomicBoolean();
+    private final AtomicLong renderCount = new AtomicLong();
+    private final Runnable render = this::render;
+    private volatile long lastRenderNanos;
+
+    /**
+     * Creates a scheduler flushing the passed event bus
+     *
+     * @param frameRate number of display frames per second
+     * @param eventBus  event bus flushed by a render
+     */
+    RenderScheduler(int frameRate, EventBus eventBus) {
+        this(frameRate, eventBus, System::nanoTime, createSwingDispatcher());
+    }
+
+    /**
+     * Creates a scheduler flushing the passed event bus, reading the time
+     * from the passed clock and handing the renders over to the passed
+     * dispatcher
+     *
+     * @param frameRate  number of display frames per second
+     * @param eventBus   event bus flushed by a render
+     * @param nanoClock  clock in nanoseconds, as System.nanoTime
+     * @param dispatcher dispatcher running the renders
+     */
+    RenderScheduler(int frameRate, EventBus eventBus, LongSupplier nanoClock, RenderDispatcher dispatcher) {
+        this.eventBus = eventBus;
+        this.nanoClock = nanoClock;
+        this.dispatcher = dispatcher;
+        frameNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, frameRate);
+        lastRenderNanos = nanoClock.getAsLong() - frameNanos;
+    }
+
+    /**
+     * Creates the dispatcher running the renders on the event dispatch
+     * thread, the delayed ones through a timer thread
+     *
+     * @return the dispatcher
+     */
+    private static RenderDispatcher createSwingDispatcher() {
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, ClientConstants.RENDER_TIMER_THREAD);
+            thread.setDaemon(true);
+            return thread;
+        });
+        return (render, delayNanos) -> {
+            if (delayNanos <= 0) {
+                SwingUtilities.invokeLater(render);
+            } else {
+                timer.schedule(() -> SwingUtilities.invokeLater(render), delayNanos, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    /**
+     * Creates a singleton instance rendering the events of the client, which
+     * asks for a render whenever a coalescing event is published. If exists,
+     * returns it, else creates it.
+     *
+     * @return instance of the RenderScheduler
+     */
+    public static synchronized RenderScheduler getInstance() {
+        if (instance == null) {
+            instance = new RenderScheduler(ClientConstants.DISPLAY_FRAME_RATE, EventBus.getInstance());
+            EventBus.getInstance().setFlushRequest(instance::requestRender);
+        }
+        return instance;
+    }
+
+    /**
+     * Method to ask for a render of the events published. May be
+     * called from any thread, as often as needed.
+     */
+    public void requestRender() {
+        if (renderPending.compareAndSet(false, true)) {
+            dispatcher.dispatch(render, lastRenderNanos + frameNanos - nanoClock.getAsLong());
+        }
+    }
+
+    /**
+     * Method to deliver the events waiting for a flush, on the event dispatch
+     * thread. The pending flag is cleared first, so that the events published
+     * while rendering ask for the next display frame.
+     */
+    private void render() {
+        lastRenderNanos = nanoClock.getAsLong();
+        renderPending.set(false);
+        renderCount.incrementAndGet();
+        try {
+            eventBus.flush();
+        } catch (RuntimeException e) {
+            logger.error(ClientConstants.ERROR_RENDER + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the number of renders since the scheduler was created
+     */
+    public long getRenderCount() {
+        return renderCount.get();
+    }
+
+    /**
+     * Hands a render over to the thread which runs it
+     */
+    interface RenderDispatcher {
+        /**
+         * @param render     render to be run
+         * @param delayNanos time to wait before running it, 0 or less to run
+         *                   it as soon as possible
+         */
+        void dispatch(Runnable render, long delayNanos);
+    }
+}
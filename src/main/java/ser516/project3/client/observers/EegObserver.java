@@ -0,0 +1,35 @@
+package ser516.project3.client.observers;
+
+import ser516.project3.client.controller.EegController;
+import ser516.project3.interfaces.EventListenerInterface;
+import ser516.project3.model.EegDataObservable;
+
+/**
+ * This class observes the raw EEG samples and asks the strip chart to be
+ * repainted with the latest samples.
+ *
+ * @author vsriva12
+ */
+public class EegObserver implements EventListenerInterface<EegDataObservable> {
+
+    private final EegController eegController;
+
+    /**
+     * Creates the listener updating the passed strip chart
+     *
+     * @param eegController controller of the strip chart
+     */
+    public EegObserver(EegController eegController) {
+        this.eegController = eegController;
+    }
+
+    /**
+     * Update the strip chart
+     *
+     * @param eegDataObservable samples received from the server
+     */
+    @Override
+    public void onEvent(EegDataObservable eegDataObservable) {
+        eegController.updateEegView(eegDataObservable.getSampleBuffer());
+    }
+}
@@ -1,34 +1,38 @@
 package ser516.project3.client.observers;
 
-import ser516.project3.client.controller.ClientControllerFactory;
 import ser516.project3.client.controller.GraphController;
+import ser516.project3.interfaces.EventListenerInterface;
 import ser516.project3.model.ExpressionsDataObservable;
-
-import java.util.Observable;
-import java.util.Observer;
+import ser516.project3.utilities.MessageFormatConverter;
 
 /**
- * On receiving new data in ExpressionsDataObservable object update function of
+ * On receiving new data in ExpressionsDataObservable object onEvent method of
  * this class can be used to update corresponding UI elements
  *
  * @author Manish Tandon
  */
-public class ExpressionsGraphObserver implements Observer {
+public class ExpressionsGraphObserver implements EventListenerInterface<ExpressionsDataObservable> {
+
+    private final GraphController graphController;
+
+    /**
+     * Creates the listener updating the passed graph
+     *
+     * @param graphController controller of the expressions graph
+     */
+    public ExpressionsGraphObserver(GraphController graphController) {
+        this.graphController = graphController;
+    }
 
     /**
      * Update for expressions
      *
-     * @param observable observable for expression
-     * @param observerObj observer obj for expression
+     * @param expressionsDataObservable data of the expressions
      */
     @Override
-    public void update(Observable observable, Object observerObj) {
-        ExpressionsDataObservable expressionsDataObservable = (ExpressionsDataObservable) observable;
-
-        GraphController graphController = ClientControllerFactory.getInstance().getExpressionsGraphController();
-
+    public void onEvent(ExpressionsDataObservable expressionsDataObservable) {
         graphController.setGraphData(expressionsDataObservable.getExpressionsData());
-        graphController.setNoOfChannels(12);
+        graphController.setNoOfChannels(MessageFormatConverter.getExpressionsChannels().size());
         graphController.updateGraphView();
     }
 
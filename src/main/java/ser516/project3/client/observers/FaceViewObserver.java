@@ -1,31 +1,36 @@
 package ser516.project3.client.observers;
 
-import ser516.project3.client.controller.ClientControllerFactory;
 import ser516.project3.client.controller.FaceController;
-import ser516.project3.model.FaceExpressionsObservable;
-
-import java.util.Observable;
-import java.util.Observer;
+import ser516.project3.interfaces.EventListenerInterface;
+import ser516.project3.model.MessageModel;
 
 /**
- * On receiving new data in ExpressionsDataObservable object update function of
- * this class can be used to update corresponding UI elements
+ * On receiving the latest message from FaceExpressionsObservable, the onEvent
+ * method of this class can be used to update corresponding UI elements
  *
  * @author Manish Tandon
  */
-public class FaceViewObserver implements Observer {
+public class FaceViewObserver implements EventListenerInterface<MessageModel> {
+
+    private final FaceController faceController;
+
+    /**
+     * Creates the listener updating the passed face
+     *
+     * @param faceController controller of the face
+     */
+    public FaceViewObserver(FaceController faceController) {
+        this.faceController = faceController;
+    }
+
     /**
      * Update for face
      *
-     * @param dataObject observable for face
-     * @param observerObj observer obj for face
+     * @param messageBean latest message received from the server
      */
     @Override
-    public void update(Observable dataObject, Object observerObj) {
-        FaceExpressionsObservable faceExpressionObject = (FaceExpressionsObservable) dataObject;
-
-        FaceController faceController = ClientControllerFactory.getInstance().getFaceController();
-        faceController.updateFaceElements(faceExpressionObject.getMessageBean());
+    public void onEvent(MessageModel messageBean) {
+        faceController.updateFaceElements(messageBean);
     }
 
 }
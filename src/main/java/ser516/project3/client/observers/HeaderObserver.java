@@ -1,35 +1,44 @@
 package ser516.project3.client.observers;
 
-import ser516.project3.client.controller.ClientControllerFactory;
 import ser516.project3.client.controller.HeaderController;
+import ser516.project3.interfaces.EventListenerInterface;
 import ser516.project3.model.HeaderObservable;
 
-import java.util.Observable;
-import java.util.Observer;
-
 /**
- * The HeaderOvserver class implements the Observer interface to update the
- * header time stamp value.
+ * The HeaderOvserver class listens to the header topic of the event bus to
+ * update the header time stamp value and the statistics of the received
+ * frames.
  *
  * @author vsriva12
  */
-public class HeaderObserver implements Observer {
+public class HeaderObserver implements EventListenerInterface<HeaderObservable> {
+
+    private final HeaderController headerController;
+
+    /**
+     * Creates the listener updating the passed header
+     *
+     * @param headerController controller of the header
+     */
+    public HeaderObserver(HeaderController headerController) {
+        this.headerController = headerController;
+    }
 
     /**
-     * Overridden method to intialize the observer with the observable object to be observed
+     * Overridden method to update the header with the latest values
      *
-     * @param observable  the object of the observable class to be observed
-     * @param observerObj Object updated
+     * @param headerObservable latest values of the header
      */
     @Override
-    public void update(Observable observable, Object observerObj) {
-        HeaderObservable headerObservable = (HeaderObservable) observable;
-        HeaderController headerController = ClientControllerFactory.getInstance().getHeaderController();
+    public void onEvent(HeaderObservable headerObservable) {
         double currentTimeStampFromServer = headerObservable.getHeaderTimeStamp();
         if (currentTimeStampFromServer == 0) {
             headerController.setHeaderTimeStamp(currentTimeStampFromServer);
         } else {
             headerController.setHeaderTimeStamp(currentTimeStampFromServer - headerObservable.getInterval());
         }
+        headerController.setFrameStatistics(headerObservable.getLatencyMillis(),
+                headerObservable.getLatencyP99Millis(), headerObservable.getJitterMillis(),
+                headerObservable.getLostFrames());
     }
 }
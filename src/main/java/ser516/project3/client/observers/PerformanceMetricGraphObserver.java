@@ -1,12 +1,10 @@
 package ser516.project3.client.observers;
 
 import org.apache.log4j.Logger;
-import ser516.project3.client.controller.ClientControllerFactory;
 import ser516.project3.client.controller.GraphController;
+import ser516.project3.interfaces.EventListenerInterface;
 import ser516.project3.model.PerformanceMetricDataObservable;
-
-import java.util.Observable;
-import java.util.Observer;
+import ser516.project3.utilities.ChannelHistory;
 
 /**
  * This class observes data changes in performance metrics data set and informs
@@ -15,24 +13,38 @@ import java.util.Observer;
  *
  * @author Manish Tandon
  */
-public class PerformanceMetricGraphObserver implements Observer {
+public class PerformanceMetricGraphObserver implements EventListenerInterface<PerformanceMetricDataObservable> {
 
     final static Logger logger = Logger.getLogger(PerformanceMetricGraphObserver.class);
 
+    private final GraphController graphController;
+
     /**
-     * Update the graph
+     * Creates the listener updating the passed graph
      *
-     * @param observable observable for graph
-     * @param observerObj observer obj for graph
+     * @param graphController controller of the performance metrics graph
      */
-    @Override
-    public void update(Observable observable, Object observerObj) {
-
-        PerformanceMetricDataObservable performanceMetricDataObservable = (PerformanceMetricDataObservable) observable;
-
-        GraphController graphController = ClientControllerFactory.getInstance().getPerformanceMetricGraphController();
+    public PerformanceMetricGraphObserver(GraphController graphController) {
+        this.graphController = graphController;
+    }
 
-        graphController.setGraphData(performanceMetricDataObservable.getPerformanceMetricData());
+    /**
+     * Update the graph with the data of its visible part, which is paged in
+     * from the store of the session when it reaches further back than the
+     * data retained. The number of channels of the graph follows the data,
+     * whose channels change with the schema announced by the server.
+     *
+     * @param performanceMetricDataObservable data of the performance metrics
+     */
+    @Override
+    public void onEvent(PerformanceMetricDataObservable performanceMetricDataObservable) {
+        ChannelHistory.Window latestData = performanceMetricDataObservable.getPerformanceMetricData();
+        double latestTimestamp = latestData == null ? 0 : latestData.getLatestTimestamp();
+        if (latestData != null && latestData.getChannelCount() != graphController.getNoOfChannels()) {
+            graphController.setNoOfChannels(latestData.getChannelCount());
+        }
+        graphController.setGraphData(performanceMetricDataObservable.getPerformanceMetricData(
+                graphController.getVisibleFrom(latestTimestamp), graphController.getVisibleTo(latestTimestamp)));
         graphController.updateGraphView();
     }
 
@@ -3,19 +3,24 @@ package ser516.project3.client.service;
 import org.apache.log4j.Logger;
 import ser516.project3.client.controller.ClientControllerFactory;
 import ser516.project3.client.helper.ClientConnectionThread;
+import ser516.project3.client.helper.RenderScheduler;
+import ser516.project3.client.observers.EegObserver;
 import ser516.project3.client.observers.ExpressionsGraphObserver;
 import ser516.project3.client.observers.FaceViewObserver;
 import ser516.project3.client.observers.HeaderObserver;
 import ser516.project3.client.observers.PerformanceMetricGraphObserver;
+import ser516.project3.model.EegDataObservable;
 import ser516.project3.model.ExpressionsDataObservable;
 import ser516.project3.model.FaceExpressionsObservable;
 import ser516.project3.model.HeaderObservable;
 import ser516.project3.model.PerformanceMetricDataObservable;
+import ser516.project3.utilities.EventBus;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Class to register the client and connect it to the server. Also, updates the observers whenever
+ * Class to register the client and connect it to the server. Also, subscribes the listeners updating the views whenever
  * the data is received from server
  *
  * @author Adhiraj Tikku
@@ -24,6 +29,7 @@ public class ClientConnectionServiceImpl implements ClientConnectionServiceInter
     final static Logger logger = Logger.getLogger(ClientConnectionServiceImpl.class);
     Thread clientConnectionThread;
     ClientConnectionThread threadInstance;
+    private static final AtomicBoolean listenersSubscribed = new AtomicBoolean();
 
     /**
      * Creates a client server connection
@@ -35,24 +41,34 @@ public class ClientConnectionServiceImpl implements ClientConnectionServiceInter
     @Override
     public void createClientConnection(final String ipAddress, final int port, final String endpoint) {
 
-        // Registering the observers on client start
-        HeaderObserver headerObserver = new HeaderObserver();
-        HeaderObservable.getInstance().addObserver(headerObserver);
-
-        PerformanceMetricGraphObserver performanceMetricObserver = new PerformanceMetricGraphObserver();
-        PerformanceMetricDataObservable.getInstance().addObserver(performanceMetricObserver);
-
-        ExpressionsGraphObserver expressionsGraphObserver = new ExpressionsGraphObserver();
-        ExpressionsDataObservable.getInstance().addObserver(expressionsGraphObserver);
-
-        FaceViewObserver faceViewObserver = new FaceViewObserver();
-        FaceExpressionsObservable.getInstance().addObserver(faceViewObserver);
-
+        subscribeListeners();
         threadInstance = new ClientConnectionThread(ipAddress, port, endpoint);
         clientConnectionThread = new Thread(threadInstance);
         clientConnectionThread.start();
     }
 
+    /**
+     * Subscribes the listeners updating the views to the topics of the event
+     * bus, once for all the connections of the client, although a service
+     * is created for every connection. The topics are coalescing, so the
+     * views are rendered once per display frame.
+     */
+    private static void subscribeListeners() {
+        if (!listenersSubscribed.compareAndSet(false, true)) {
+            return;
+        }
+        RenderScheduler.getInstance();
+        ClientControllerFactory controllerFactory = ClientControllerFactory.getInstance();
+        EventBus eventBus = EventBus.getInstance();
+        eventBus.subscribe(HeaderObservable.TOPIC, new HeaderObserver(controllerFactory.getHeaderController()));
+        eventBus.subscribe(PerformanceMetricDataObservable.TOPIC,
+                new PerformanceMetricGraphObserver(controllerFactory.getPerformanceMetricGraphController()));
+        eventBus.subscribe(ExpressionsDataObservable.TOPIC,
+                new ExpressionsGraphObserver(controllerFactory.getExpressionsGraphController()));
+        eventBus.subscribe(FaceExpressionsObservable.TOPIC, new FaceViewObserver(controllerFactory.getFaceController()));
+        eventBus.subscribe(EegDataObservable.TOPIC, new EegObserver(controllerFactory.getEegController()));
+    }
+
     /**
      * Stops the client server connection.
      */
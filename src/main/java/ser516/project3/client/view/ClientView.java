@@ -30,6 +30,7 @@ public class ClientView extends JFrame implements ViewInterface {
     private HeaderView headerView;
     private PerformanceMetricView performanceMetricView;
     private ExpressionsView expressionsView;
+    private EegView eegView;
 
     private final static int FONT_SIZE = 15;
     private final static int FRAME_WIDTH = 1400;
@@ -58,6 +59,7 @@ public class ClientView extends JFrame implements ViewInterface {
         headerView = (HeaderView) subviews[0];
         performanceMetricView = (PerformanceMetricView) subviews[1];
         expressionsView = (ExpressionsView) subviews[2];
+        eegView = (EegView) subviews[3];
 
         createMenuBar();
         createTabs();
@@ -91,6 +93,7 @@ public class ClientView extends JFrame implements ViewInterface {
         expressionsEmotionsCombinedTab = new JTabbedPane();
         expressionsEmotionsCombinedTab.addTab(ClientConstants.PERFORMANCE_METRICS, performanceMetricView);
         expressionsEmotionsCombinedTab.addTab(ClientConstants.EXPRESSIONS, expressionsView);
+        expressionsEmotionsCombinedTab.addTab(ClientConstants.EEG, eegView);
         expressionsEmotionsCombinedTab.setFont(new Font(ClientConstants.FONT_NAME, Font.BOLD, FONT_SIZE));
     }
 
@@ -0,0 +1,226 @@
+package ser516.project3.client.view;
+
+import ser516.project3.constants.ClientConstants;
+import ser516.project3.interfaces.ViewInterface;
+import ser516.project3.model.ChannelModel;
+import ser516.project3.model.ChannelSchemaModel;
+import ser516.project3.model.EegModel;
+import ser516.project3.utilities.ChannelSchemaRegistry;
+import ser516.project3.utilities.NumberTextField;
+import ser516.project3.utilities.SampleRingBuffer;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionListener;
+
+/**
+ * This class contains the raw EEG view, a scrolling strip chart with one
+ * trace per electrode, stacked from top to bottom, and the display length
+ * of the chart below it. Every trace is scaled to its own range over the
+ * displayed samples. The chart is painted directly from the ring buffer, so
+ * the arrays used for painting are only allocated again when the number of
+ * displayed samples or the size of the chart changes.
+ *
+ * @author vsriva12
+ */
+public class EegView extends JPanel implements ViewInterface {
+    private static final long serialVersionUID = 1L;
+    private EegModel eegModel;
+
+    private StripChartPanel stripChartPanel;
+    private NumberTextField displayLengthField;
+    private JLabel missingSamplesLabel;
+
+    private static final int FONT_SIZE = 17;
+    private static final int LABEL_FONT_SIZE = 12;
+    private static final int LABEL_WIDTH = 50;
+
+    /**
+     * This constructor initializes the model of the raw EEG view
+     *
+     * @param eegModel model of the raw EEG samples
+     */
+    public EegView(EegModel eegModel) {
+        this.eegModel = eegModel;
+    }
+
+    /**
+     * This method creates the strip chart and the display length field, and
+     * configures their positions on the layout.
+     *
+     * @param subViews not used, the view has no sub views
+     */
+    @Override
+    public void initializeView(ViewInterface[] subViews) {
+        setLayout(new BorderLayout());
+        setBackground(Color.decode(ClientConstants.PANEL_COLOR_HEX));
+        stripChartPanel = new StripChartPanel();
+        add(stripChartPanel, BorderLayout.CENTER);
+        add(createControlPanel(), BorderLayout.SOUTH);
+        setVisible(true);
+    }
+
+    /**
+     * This method creates the panel with the display length field and the
+     * count of missing samples.
+     *
+     * @return the created panel
+     */
+    private JPanel createControlPanel() {
+        JPanel controlPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+        controlPanel.setBackground(Color.decode(ClientConstants.PANEL_COLOR_HEX));
+        Font font = new Font(ClientConstants.FONT_NAME, Font.BOLD, FONT_SIZE);
+
+        JLabel displayLengthLabel = new JLabel(ClientConstants.DISPLAY_LENGTH);
+        displayLengthLabel.setForeground(Color.WHITE);
+        displayLengthLabel.setFont(font);
+        controlPanel.add(displayLengthLabel);
+
+        displayLengthField = new NumberTextField("" + eegModel.getDisplaySeconds(), false);
+        displayLengthField.setColumns(3);
+        displayLengthField.setBackground(Color.decode(ClientConstants.TEXT_FIELD_COLOR_HEX));
+        displayLengthField.setForeground(Color.WHITE);
+        displayLengthField.setHorizontalAlignment(SwingConstants.CENTER);
+        displayLengthField.setFont(font);
+        displayLengthField.setBorder(null);
+        controlPanel.add(displayLengthField);
+
+        JLabel secondsLabel = new JLabel(ClientConstants.SECONDS);
+        secondsLabel.setForeground(Color.WHITE);
+        secondsLabel.setFont(font);
+        controlPanel.add(secondsLabel);
+
+        missingSamplesLabel = new JLabel(ClientConstants.MISSING_SAMPLES + 0);
+        missingSamplesLabel.setForeground(Color.WHITE);
+        missingSamplesLabel.setFont(font);
+        controlPanel.add(missingSamplesLabel);
+        return controlPanel;
+    }
+
+    /**
+     * This method handles the enter key on the display length field.
+     *
+     * @param actionListener listener of the field
+     */
+    public void addDisplayLengthListener(ActionListener actionListener) {
+        displayLengthField.addActionListener(actionListener);
+    }
+
+    /**
+     * @return the text of the display length field
+     */
+    public String getDisplayLengthText() {
+        return displayLengthField.getText();
+    }
+
+    /**
+     * This method repaints the chart with the latest samples of the model.
+     * It may be called from any thread.
+     */
+    public void updateEegView() {
+        SwingUtilities.invokeLater(() -> {
+            SampleRingBuffer sampleBuffer = eegModel.getSampleBuffer();
+            missingSamplesLabel.setText(ClientConstants.MISSING_SAMPLES
+                    + (sampleBuffer == null ? 0 : sampleBuffer.getMissingSampleCount()));
+            displayLengthField.setText("" + eegModel.getDisplaySeconds());
+            stripChartPanel.repaint();
+        });
+    }
+
+    /**
+     * Panel painting the stacked traces of the strip chart
+     */
+    private class StripChartPanel extends JPanel {
+        private static final long serialVersionUID = 1L;
+        private float[] samples = new float[0];
+        private int[] xPoints = new int[0];
+        private int[] yPoints = new int[0];
+
+        StripChartPanel() {
+            setBackground(Color.decode(ClientConstants.GRAPH_COLOR_HEX));
+        }
+
+        @Override
+        protected void paintComponent(Graphics graphics) {
+            super.paintComponent(graphics);
+            SampleRingBuffer sampleBuffer = eegModel.getSampleBuffer();
+            if (sampleBuffer == null || sampleBuffer.getChannelCount() == 0) {
+                return;
+            }
+            int count = Math.min(eegModel.getDisplaySeconds() * sampleBuffer.getSampleRate(),
+                    sampleBuffer.getCapacity());
+            int plotWidth = Math.max(1, getWidth() - LABEL_WIDTH);
+            if (samples.length != count) {
+                samples = new float[count];
+            }
+            if (xPoints.length != plotWidth * 2) {
+                xPoints = new int[plotWidth * 2];
+                yPoints = new int[plotWidth * 2];
+            }
+            Graphics2D graphics2D = (Graphics2D) graphics;
+            graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics2D.setFont(new Font(ClientConstants.FONT_NAME, Font.BOLD, LABEL_FONT_SIZE));
+            ChannelSchemaModel schema = ChannelSchemaRegistry.getInstance().getSchema();
+            int[] channelIds = sampleBuffer.getChannelIds();
+            double traceHeight = (double) getHeight() / channelIds.length;
+            for (int channel = 0; channel < channelIds.length; channel++) {
+                int top = (int) (channel * traceHeight);
+                ChannelModel channelModel = schema.getChannel(channelIds[channel]);
+                graphics2D.setColor(Color.WHITE);
+                graphics2D.drawString(channelModel == null ? "" + channelIds[channel] : channelModel.getName(),
+                        5, top + (int) (traceHeight / 2) + LABEL_FONT_SIZE / 2);
+                sampleBuffer.copyLatest(channel, samples, count);
+                graphics2D.setColor(eegModel.getTraceColor());
+                paintTrace(graphics2D, top, (int) traceHeight, count, plotWidth);
+            }
+        }
+
+        /**
+         * Paints the samples of one channel as the minimum and the maximum of
+         * the samples falling on every column, so that the cost of painting
+         * depends on the width of the chart rather than on the sample rate
+         */
+        private void paintTrace(Graphics2D graphics2D, int top, int height, int count, int plotWidth) {
+            float min = Float.POSITIVE_INFINITY;
+            float max = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                if (!Float.isNaN(samples[i])) {
+                    min = Math.min(min, samples[i]);
+                    max = Math.max(max, samples[i]);
+                }
+            }
+            if (min > max) {
+                return;
+            }
+            double scale = max > min ? (height - 4) / (max - min) : 0;
+            int bottom = top + height - 2;
+            int points = 0;
+            for (int column = 0; column < plotWidth; column++) {
+                int from = (int) ((long) column * count / plotWidth);
+                int to = Math.max(from + 1, (int) ((long) (column + 1) * count / plotWidth));
+                float columnMin = Float.POSITIVE_INFINITY;
+                float columnMax = Float.NEGATIVE_INFINITY;
+                for (int i = from; i < to && i < count; i++) {
+                    if (!Float.isNaN(samples[i])) {
+                        columnMin = Math.min(columnMin, samples[i]);
+                        columnMax = Math.max(columnMax, samples[i]);
+                    }
+                }
+                if (columnMin > columnMax) {
+                    if (points > 1) {
+                        graphics2D.drawPolyline(xPoints, yPoints, points);
+                    }
+                    points = 0;
+                    continue;
+                }
+                xPoints[points] = LABEL_WIDTH + column;
+                yPoints[points++] = bottom - (int) ((columnMin - min) * scale);
+                xPoints[points] = LABEL_WIDTH + column;
+                yPoints[points++] = bottom - (int) ((columnMax - min) * scale);
+            }
+            if (points > 1) {
+                graphics2D.drawPolyline(xPoints, yPoints, points);
+            }
+        }
+    }
+}
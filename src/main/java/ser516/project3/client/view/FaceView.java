@@ -87,18 +87,21 @@ public class FaceView extends JPanel implements ViewInterface {
      */
     public void updateFaceElements(MessageModel messageBean) {
         if (isSelected) {
-            LeftEyeBrow.getInstance().moveElement("raiseBrow", messageBean.getAbstractExpression("raiseBrow"));
-            RightEyeBrow.getInstance().moveElement("raiseBrow", messageBean.getAbstractExpression("raiseBrow"));
-            LeftEyeBrow.getInstance().moveElement("furrowBrow", messageBean.getAbstractExpression("furrowBrow"));
-            RightEyeBrow.getInstance().moveElement("furrowBrow", messageBean.getAbstractExpression("furrowBrow"));
-            String lowerFaceExpression = messageBean.getSelectionFlag("lowerFace");
+            double raiseBrow = messageBean.getAbstractExpression(MessageModel.AbstractExpression.raiseBrow);
+            double furrowBrow = messageBean.getAbstractExpression(MessageModel.AbstractExpression.furrowBrow);
+            LeftEyeBrow.getInstance().moveElement("raiseBrow", raiseBrow);
+            RightEyeBrow.getInstance().moveElement("raiseBrow", raiseBrow);
+            LeftEyeBrow.getInstance().moveElement("furrowBrow", furrowBrow);
+            RightEyeBrow.getInstance().moveElement("furrowBrow", furrowBrow);
+            String lowerFaceExpression = messageBean.getSelectionFlag(MessageModel.SelectedCriteria.lowerFace);
             mouthView.moveElement(lowerFaceExpression, messageBean.getAbstractExpression(lowerFaceExpression));
 
-            String eyeExpression = messageBean.getSelectionFlag("eye");
-            leftEye.moveElement(eyeExpression, messageBean.getConcreteExpression(eyeExpression));
-            rightEye.moveElement(eyeExpression, messageBean.getConcreteExpression(eyeExpression));
-            leftEyeBall.moveElement(eyeExpression, messageBean.getConcreteExpression(eyeExpression));
-            rightEyeBall.moveElement(eyeExpression, messageBean.getConcreteExpression(eyeExpression));
+            String eyeExpression = messageBean.getSelectionFlag(MessageModel.SelectedCriteria.eye);
+            boolean eyeExpressionValue = messageBean.getConcreteExpression(eyeExpression);
+            leftEye.moveElement(eyeExpression, eyeExpressionValue);
+            rightEye.moveElement(eyeExpression, eyeExpressionValue);
+            leftEyeBall.moveElement(eyeExpression, eyeExpressionValue);
+            rightEyeBall.moveElement(eyeExpression, eyeExpressionValue);
 
             Graphics2D graphics2d = (Graphics2D) getGraphics();
             paintComponent(graphics2d);
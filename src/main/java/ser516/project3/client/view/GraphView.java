@@ -8,17 +8,16 @@ import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
 import org.jfree.data.xy.XYDataset;
-import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 import ser516.project3.constants.ClientConstants;
 import ser516.project3.interfaces.ViewInterface;
-import ser516.project3.model.CoordinatesModel;
 import ser516.project3.model.GraphModel;
+import ser516.project3.utilities.ChannelHistory;
+import ser516.project3.utilities.MinMaxDownsampler;
 
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
 import java.awt.*;
-import java.util.ArrayList;
 
 /**
  * GraphView is a class to represent the basic view template of a graph. A graph can
@@ -35,6 +34,7 @@ public class GraphView extends JPanel implements ViewInterface {
     private GraphModel graphModel;
     private boolean legendDisplay;
     private double currentXCoordinate;
+    private final MinMaxDownsampler downsampler = new MinMaxDownsampler();
 
     private static final int TITLE_FONT_SIZE = 17;
     private static final int GRAPH_AXIS_FONT_SIZE = 14;
@@ -73,9 +73,7 @@ public class GraphView extends JPanel implements ViewInterface {
      */
     public void updateGraphView(GraphModel graphModel) {
         this.graphModel = graphModel;
-        legendDisplay = true;
-        if (graphModel.getNoOfChannels() == 6)
-            legendDisplay = false;
+        legendDisplay = graphModel.getLegendNames() != null;
         remove(chartPanel);
         XYDataset dataSet = createDataSet();
         chart = createChart(dataSet);
@@ -85,40 +83,29 @@ public class GraphView extends JPanel implements ViewInterface {
     }
 
     /**
-     * this method creates data set to plot graph
+     * this method creates data set to plot graph, which reads the values of
+     * the visible part of the window of the model reduced to at most two
+     * points per pixel
      *
      * @return dataset an object of XYDataset
      */
     private XYDataset createDataSet() {
-        XYSeries series[] = new XYSeries[graphModel.getNoOfChannels()];
-        XYSeriesCollection dataSet = new XYSeriesCollection();
-
+        Comparable<?> seriesKeys[] = new Comparable<?>[graphModel.getNoOfChannels()];
         for (int i = 0; i < graphModel.getNoOfChannels(); i++) {
-            if (legendDisplay)
-                series[i] = new XYSeries(graphModel.getLegendNames()[i]);
+            if (legendDisplay && i < graphModel.getLegendNames().length)
+                seriesKeys[i] = graphModel.getLegendNames()[i];
             else
-                series[i] = new XYSeries(i);
-        }
-
-        if (graphModel.getGraphData() != null) {
-            for (ArrayList<CoordinatesModel> data : graphModel.getGraphData()) {
-                for (int i = 0; i < graphModel.getNoOfChannels(); i++) {
-                    double xCoordinate = data.get(i).getXCoordinate();
-                    double yCoordinate = data.get(i).getYCoordinate();
-                    if (graphModel.getNoOfChannels() == 6)
-                        series[i].add(graphModel.getXLength() - xCoordinate, yCoordinate);
-                    else
-                        series[i].add(xCoordinate, yCoordinate);
-                    currentXCoordinate = xCoordinate;
-                }
-            }
+                seriesKeys[i] = i;
         }
 
-        for (int i = 0; i < graphModel.getNoOfChannels(); i++) {
-            dataSet.addSeries(series[i]);
+        ChannelHistory.Window graphData = graphModel.getGraphData();
+        if (graphData != null && graphData.size() > 0) {
+            currentXCoordinate = graphData.getLatestTimestamp();
         }
-
-        return dataSet;
+        int pixels = getWidth() > 0 ? getWidth() : ClientConstants.DEFAULT_GRAPH_WIDTH;
+        downsampler.update(graphData, graphModel.getVisibleFrom(currentXCoordinate),
+                graphModel.getVisibleTo(currentXCoordinate), pixels);
+        return new HistoryDataset(downsampler, seriesKeys, graphModel.isScrolling(), graphModel.getXLength());
     }
 
     /**
@@ -136,7 +123,7 @@ public class GraphView extends JPanel implements ViewInterface {
         XYPlot plot = chart.getXYPlot();
 
         ValueAxis range = plot.getRangeAxis();
-        if (graphModel.getNoOfChannels() == 6) {
+        if (!graphModel.isScrolling()) {
             range.setTickLabelPaint(Color.WHITE);
             range.setTickLabelFont(new Font(ClientConstants.FONT_NAME, Font.BOLD, GRAPH_AXIS_FONT_SIZE));
         } else {
@@ -146,7 +133,7 @@ public class GraphView extends JPanel implements ViewInterface {
         }
 
         range = plot.getDomainAxis();
-        if (graphModel.getNoOfChannels() == 12 && currentXCoordinate > graphModel.getXLength()) {
+        if (graphModel.isScrolling() && currentXCoordinate > graphModel.getXLength()) {
             int diff = (int) currentXCoordinate - graphModel.getXLength();
             graphModel.setXStartPoint(graphModel.getXStartPoint() + diff);
             graphModel.setXLength(graphModel.getXLength() + diff);
@@ -163,7 +150,7 @@ public class GraphView extends JPanel implements ViewInterface {
         XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer();
 
         for (int i = 0; i < graphModel.getNoOfChannels(); i++) {
-            if (graphModel.getChannelColors() != null)
+            if (graphModel.getChannelColors() != null && i < graphModel.getChannelColors().length)
                 renderer.setSeriesPaint(i, graphModel.getChannelColors()[i]);
             renderer.setSeriesShapesVisible(i, false);
         }
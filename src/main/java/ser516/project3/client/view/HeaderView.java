@@ -22,6 +22,8 @@ public class HeaderView extends JPanel implements ViewInterface {
     private JLabel timeStampLabel;
     private JLabel connectionTextLabel;
     private JLabel timestampTextLabel;
+    private JLabel latencyTextLabel;
+    private JLabel latencyLabel;
     private WebButton connectButton;
     private WebButton serverOpenButton;
     private HeaderModel headerModel;
@@ -101,6 +103,24 @@ public class HeaderView extends JPanel implements ViewInterface {
         gridbagConstraints.gridy = 1;
         gridbagConstraints.insets = new Insets(0, 0, 0, 10);
         add(timeStampLabel, gridbagConstraints);
+
+        latencyTextLabel = new JLabel(ClientConstants.LATENCY);
+        latencyTextLabel.setHorizontalAlignment(JLabel.RIGHT);
+        latencyTextLabel.setVerticalTextPosition(JLabel.CENTER);
+        latencyTextLabel.setFont(new Font(ClientConstants.FONT_NAME, Font.BOLD, FONT_SIZE));
+        gridbagConstraints.gridx = 0;
+        gridbagConstraints.gridy = 2;
+        gridbagConstraints.insets = new Insets(10, 0, 0, 10);
+        add(latencyTextLabel, gridbagConstraints);
+
+        latencyLabel = new JLabel(String.format(ClientConstants.FRAME_STATISTICS, 0.0, 0.0, 0.0, 0));
+        latencyLabel.setHorizontalTextPosition(JLabel.LEFT);
+        latencyLabel.setVerticalTextPosition(JLabel.CENTER);
+        latencyLabel.setFont(new Font(ClientConstants.FONT_NAME, Font.BOLD, FONT_SIZE));
+        gridbagConstraints.gridx = 1;
+        gridbagConstraints.gridy = 2;
+        gridbagConstraints.insets = new Insets(10, 0, 0, 10);
+        add(latencyLabel, gridbagConstraints);
     }
 
     /**
@@ -187,4 +207,12 @@ public class HeaderView extends JPanel implements ViewInterface {
     public void updateTimeStamp() {
         timeStampLabel.setText(String.valueOf(headerModel.getTimeStamp()));
     }
+
+    /**
+     * This method updates the latency, jitter and lost frames on the panel.
+     */
+    public void updateFrameStatistics() {
+        latencyLabel.setText(String.format(ClientConstants.FRAME_STATISTICS, headerModel.getLatencyMillis(),
+                headerModel.getLatencyP99Millis(), headerModel.getJitterMillis(), headerModel.getLostFrames()));
+    }
 }
@@ -0,0 +1,106 @@
+package ser516.project3.client.view;
+
+import org.jfree.data.xy.AbstractXYDataset;
+import ser516.project3.utilities.MinMaxDownsampler;
+
+/**
+ * HistoryDataset is a dataset reading the series of a graph straight from the
+ * points a {@link MinMaxDownsampler} keeps for the visible part of a history,
+ * one series per channel, so that a render neither copies the values nor
+ * creates an item per value, and draws at most two points per pixel.
+ *
+ * @author vsriva12
+ */
+class HistoryDataset extends AbstractXYDataset {
+
+    private static final long serialVersionUID = 1L;
+    private final MinMaxDownsampler downsampler;
+    private final Comparable<?>[] seriesKeys;
+    private final boolean scrolling;
+    private final double xLength;
+
+    /**
+     * Creates a dataset over the points of the passed downsampler
+     *
+     * @param downsampler points of each channel
+     * @param seriesKeys  key of each series, shown in the legend
+     * @param scrolling   true if the time stamps are plotted as they are,
+     *                    false if they are plotted back from the X-axis length
+     * @param xLength     length of the X-axis
+     */
+    HistoryDataset(MinMaxDownsampler downsampler, Comparable<?>[] seriesKeys, boolean scrolling, double xLength) {
+        this.downsampler = downsampler;
+        this.seriesKeys = seriesKeys;
+        this.scrolling = scrolling;
+        this.xLength = xLength;
+    }
+
+    /**
+     * @return the number of channels of the graph
+     */
+    @Override
+    public int getSeriesCount() {
+        return seriesKeys.length;
+    }
+
+    /**
+     * @param series index of the series
+     * @return the key of the series, shown in the legend
+     */
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Comparable getSeriesKey(int series) {
+        return seriesKeys[series];
+    }
+
+    /**
+     * @param series index of the series
+     * @return the number of points kept for the channel, or 0 if the
+     * downsampler has no such channel yet
+     */
+    @Override
+    public int getItemCount(int series) {
+        return series >= downsampler.getChannelCount() ? 0 : downsampler.getPointCount();
+    }
+
+    /**
+     * @param series index of the series
+     * @param item   index of the point
+     * @return the position of the point on the X-axis
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        double timestamp = downsampler.getTimestamp(series, item);
+        return scrolling ? timestamp : xLength - timestamp;
+    }
+
+    /**
+     * @param series index of the series
+     * @param item   index of the point
+     * @return the value of the point
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        return downsampler.getValue(series, item);
+    }
+
+    /**
+     * @param series index of the series
+     * @param item   index of the point
+     * @return the position of the point on the X-axis, boxed
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return getXValue(series, item);
+    }
+
+    /**
+     * @param series index of the series
+     * @param item   index of the point
+     * @return the value of the point, boxed
+     */
+    @Override
+    public Number getY(int series, int item) {
+        return getYValue(series, item);
+    }
+}
@@ -9,6 +9,32 @@ public class ClientConstants {
 
     public final static String ENDPOINT = "server";
     public final static String CLIENT = "Client";
+    public final static String CODEC_PROPERTY = "ser516.client.codec";
+    public final static String SUBJECT_PROPERTY = "ser516.client.subject";
+    public final static String HISTORY_SAMPLES_PROPERTY = "ser516.client.history.samples";
+    public final static String HISTORY_SECONDS_PROPERTY = "ser516.client.history.seconds";
+    public final static int DEFAULT_HISTORY_SAMPLES = 16384;
+    public final static int DEFAULT_HISTORY_SECONDS = 600;
+    public final static String STORE_DIRECTORY_PROPERTY = "ser516.client.store.dir";
+    public final static int STORE_SEGMENT_SAMPLES = 65536;
+    public final static long STORE_FORCE_PERIOD_MILLIS = 1000;
+    public final static String STORE_FLUSHER_THREAD = "client-store-flusher";
+    public final static String PERFORMANCE_METRICS_STORE = "performance-metrics";
+    public final static int PAGE_BUCKETS = 4096;
+    public final static double PAGE_LENGTH_TOLERANCE = 1e-6;
+    public final static long HEADER_STATISTICS_PERIOD_MILLIS = 1000;
+    public final static long STATISTICS_REPORT_PERIOD_MILLIS = 5000;
+    public final static int FRAME_RING_CAPACITY = 1024;
+    public final static int DISPLAY_FRAME_RATE = 60;
+    public final static long PRODUCER_WAIT_NANOS = 100000;
+    public final static long CONSUMER_PARK_MILLIS = 10;
+    public final static String FRAME_CONSUMER_THREAD = "client-frame-consumer";
+    public final static String RENDER_TIMER_THREAD = "client-render-timer";
+    public final static String ERROR_APPLY_FRAME = "Error while applying a frame: ";
+    public final static String ERROR_RENDER = "Error while rendering a display frame: ";
+    public final static String ERROR_EVENT_LISTENER = "Error in a listener of ";
+    public final static String ERROR_STORE = "Error in the history store, which is no longer written: ";
+    public final static String ERROR_STORE_READ = "Error while reading the history store: ";
 
     // Client View Constants
     public final static String HEADER = "Header";
@@ -19,6 +45,7 @@ public class ClientConstants {
     public final static String PANEL_COLOR_HEX = "#AFAFAF";
     public final static String TEXT_FIELD_COLOR_HEX = "#565c61";
     public final static String GRAPH_COLOR_HEX = "#676165";
+    public final static int DEFAULT_GRAPH_WIDTH = 800;
     public final static String CONNECTION_POP_UP = "CONNECTION_POP_UP";
     public final static String FACE = "FACE";
 
@@ -45,6 +72,13 @@ public class ClientConstants {
     // Expression Constants
     public final static String EXPRESSIONS = "Expressions";
 
+    // Raw EEG Constants
+    public final static String EEG = "Raw EEG";
+    public final static String EEG_TRACE_COLOR_HEX = "#02ADFF";
+    public final static int DEFAULT_EEG_DISPLAY_SECONDS = 5;
+    public final static int EEG_BUFFER_SECONDS = 16;
+    public final static String MISSING_SAMPLES = "Missing samples: ";
+
     // Connection Pop Up Constants
     public final static String CONNECTION_POP_UP_TITLE = "Connect to Server";
     public final static String IP_ADDRESS = "IP Address: ";
@@ -60,6 +94,8 @@ public class ClientConstants {
     public final static String CONNECTED = "Connected";
     public final static String DISCONNECTED = "Disconnected";
     public final static String TIME_STAMP = "Time Stamp: ";
+    public final static String LATENCY = "Latency: ";
+    public final static String FRAME_STATISTICS = "%.1f / %.1f ms, jitter %.1f ms, lost %d";
     public final static String DISCONNECT = "Disconnect";
 
     //Error message Constants
@@ -69,4 +105,43 @@ public class ClientConstants {
     public final static String NO_CONNECTION_MESSAGE = "Could not connect to server.";
     public final static String SERVER_STOPPED_MESSAGE = "Sever got disconnected";
     public final static String CLIENT_START_ERROR = "Could not start the client";
+
+    // Load generator constants
+    public final static String CLIENTS_ARGUMENT = "--clients";
+    public final static String DURATION_ARGUMENT = "--duration";
+    public final static String WARMUP_ARGUMENT = "--warmup";
+    public final static String CODEC_ARGUMENT = "--codec";
+    public final static String INTERVAL_ARGUMENT = "--interval";
+    public final static String SERVER_ARGUMENT = "--server";
+    public final static String URL_ARGUMENT = "--url";
+    public final static String PORT_ARGUMENT = "--port";
+    public final static String PROFILE_ARGUMENT = "--profile";
+    public final static String REPORT_ARGUMENT = "--report";
+    public final static String LATE_ARGUMENT = "--late-millis";
+    public final static String HELP_ARGUMENT = "--help";
+    public final static String SERVER_IN_PROCESS = "in-process";
+    public final static String SERVER_FORK = "fork";
+    public final static String SERVER_EXTERNAL = "external";
+    public final static int DEFAULT_CLIENTS = 10;
+    public final static double DEFAULT_DURATION = 10;
+    public final static double DEFAULT_WARMUP = 2;
+    public final static double DEFAULT_LOAD_INTERVAL = 0.1;
+    public final static int DEFAULT_LOAD_PORT = 1517;
+    public final static String DEFAULT_REPORT = "load-report.json";
+    public final static int DEFAULT_LATE_MILLIS = 100;
+    public final static long SERVER_READY_TIMEOUT_MILLIS = 10000;
+    public final static long SERVER_READY_POLL_MILLIS = 100;
+    public final static String LOAD_USAGE = "Usage: LoadGenerator [--clients count] [--duration seconds]"
+            + " [--warmup seconds] [--codec json-v1|bin-v2|bin-delta-v2] [--interval seconds]"
+            + " [--server in-process|fork|external] [--url ws://host:port/server] [--port port]"
+            + " [--profile static|eeg|procedural] [--report file] [--late-millis milliseconds]";
+    public final static String ERROR_LOAD_ARGUMENT = "Invalid argument ";
+    public final static String ERROR_LOAD = "Error occurred while running the load test ";
+    public final static String ERROR_LOAD_CONNECTION = "Error occurred while connecting load client ";
+    public final static String ERROR_SERVER_NOT_READY = "Server is not listening on port ";
+    public final static String LOAD_STARTED = "Load test started with ";
+    public final static String LOAD_CONNECTED = "Connected load clients: ";
+    public final static String LOAD_REPORT_WRITTEN = "Load test report written to ";
+    public final static String LOAD_SUMMARY = "Frames: %d  Latency us: p50 %d  p99 %d  p99.9 %d  max %d"
+            + "  Decode ns: p50 %d  p99 %d";
 }
@@ -68,6 +68,162 @@ public class ServerConstants {
     public final static String ERROR_SERVER_START = "Error occurred while trying to start the server ";
     public final static String SERVER_STARTED = "Server Started";
     public final static String SERVER_STOPPED = "Server Stopped";
+    public final static String CLIENT_DISCONNECTED = "Client Disconnected ";
+    public final static String ERROR_BROADCAST = "Error occurred while broadcasting to clients ";
+    public final static String ERROR_ENCODING_SESSION = "Error occurred while encoding a frame for session ";
+    public final static int DEFAULT_PORT = 1516;
+    public final static String SERVER_LISTENING = "Server listening on ";
+    public final static String MAX_SESSIONS_PROPERTY = "ser516.server.maxSessions";
+    public final static int DEFAULT_MAX_SESSIONS = 0;
+    public final static String SESSION_REFUSED = "Refused client, maximum number of sessions reached ";
+    public final static String MAX_SESSIONS_REASON = "Too many clients";
+    public final static String SUBJECTS_PROPERTY = "ser516.server.subjects";
+    public final static int DEFAULT_SUBJECTS = 1;
+    public final static String SUBJECT_PATH_PARAMETER = "subjectId";
+    public final static String SUBJECT_PARAMETER = "subject";
+    public final static String SESSION_UNKNOWN_SUBJECT = "Refused client, unknown subject ";
+    public final static String UNKNOWN_SUBJECT_REASON = "Unknown subject";
+    public final static String USING_SUBJECT = " for subject ";
+
+    // Headless server constants
+    public final static String HOST_PROPERTY = "ser516.server.host";
+    public final static String PORT_PROPERTY = "ser516.server.port";
+    public final static String INTERVAL_PROPERTY = "ser516.server.interval";
+    public final static String PROFILE_PROPERTY = "ser516.server.profile";
+    public final static String PROPERTY_PREFIX = "ser516.";
+    public final static double DEFAULT_INTERVAL = 1;
+    public final static String PROFILE_STATIC = "static";
+    public final static String PROFILE_EEG = "eeg";
+    public final static String PROFILE_PROCEDURAL = "procedural";
+    public final static String DEFAULT_PROFILE = PROFILE_EEG;
+    public final static String HOST_ARGUMENT = "--host";
+    public final static String PORT_ARGUMENT = "--port";
+    public final static String INTERVAL_ARGUMENT = "--interval";
+    public final static String PROFILE_ARGUMENT = "--profile";
+    public final static String MAX_SESSIONS_ARGUMENT = "--max-sessions";
+    public final static String SUBJECTS_ARGUMENT = "--subjects";
+    public final static String CLOCK_ARGUMENT = "--clock";
+    public final static String CLOCK_PROPERTY = "ser516.server.clock";
+    public final static String CLOCK_WALL = "wall";
+    public final static String CLOCK_SIMULATED = "simulated";
+    public final static String CONFIG_ARGUMENT = "--config";
+    public final static String HELP_ARGUMENT = "--help";
+    public final static String ARGUMENT_VALUE_SEPARATOR = "=";
+    public final static String HEADLESS_PROPERTY = "java.awt.headless";
+    public final static String SHUTDOWN_THREAD_NAME = "headless-shutdown";
+    public final static long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+    public final static String HEADLESS_USAGE = "Usage: HeadlessServer [--config file.properties] [--host address]"
+            + " [--port port] [--interval seconds] [--profile static|eeg|procedural] [--max-sessions count]"
+            + " [--timeline file] [--subjects count] [--clock simulated|wall]";
+    public final static String ERROR_ARGUMENT = "Invalid argument ";
+    public final static String ERROR_CONFIG = "Error occurred while reading the configuration ";
+    public final static String HEADLESS_STARTED = "Headless server started with ";
+    public final static String HEADLESS_STOPPING = "Stopping headless server";
+
+    // Broadcaster constants
+    public final static String SENDER_THREADS_PROPERTY = "ser516.server.senderThreads";
+    public final static int DEFAULT_SENDER_THREADS = Runtime.getRuntime().availableProcessors();
+    public final static String TICK_THREAD_NAME = "broadcast-tick";
+    public final static String STATISTICS_THREAD_NAME = "broadcast-statistics";
+    public final static long TICK_SPIN_NANOS = 100000;
+    public final static long MIN_TICK_PERIOD_NANOS = 100000;
+    public final static long TICK_STOP_TIMEOUT_MILLIS = 1000;
+    public final static String TICK_STOP_TIMEOUT = "Tick still running after stop on ";
+    public final static String ERROR_TICK = "Error occurred in the tick of the broadcaster ";
+    public final static String TICK_STATISTICS = "Ticks: %d  Missed: %d  Jitter: mean %.1f us, sd %.1f us, max %.1f us";
+    public final static String SENDER_THREAD_NAME = "broadcast-sender-";
+
+    // Codec constants
+    public final static String CODEC_PARAMETER = "codec";
+    public final static String CODEC_JSON = "json-v1";
+    public final static String CODEC_BINARY = "bin-v2";
+    public final static String CODEC_DELTA = "bin-delta-v2";
+    public final static String SUBPROTOCOL_SEPARATOR = ",";
+    public final static String USING_CODEC = " using codec ";
+
+    // Delta mode constants
+    public final static String KEYFRAME_INTERVAL_PROPERTY = "ser516.server.keyframeInterval";
+    public final static int DEFAULT_KEYFRAME_INTERVAL = 50;
+    public final static String NEEDS_KEYFRAME = "needsKeyframe";
+    public final static String RESYNC_REQUEST = "resync";
+    public final static String RESYNC_REQUESTED = "Keyframe requested by client ";
+    public final static String DELTA_FRAME_SKIPPED = "Delta frame skipped until next keyframe: ";
+
+    // Client statistics constants
+    public final static String CLIENT_STATISTICS = "Client %s: latency p50 %.1f ms, p99 %.1f ms, max %.1f ms,"
+            + " jitter p50 %.1f ms, p99 %.1f ms, frames %d, lost %d, duplicated %d, reordered %d";
+
+    // Batch constants
+    public final static String BATCH_SIZE_PROPERTY = "ser516.server.batchSize";
+    public final static int DEFAULT_BATCH_SIZE = 1;
+    public final static String BATCH_LATENCY_PROPERTY = "ser516.server.batchLatencyMillis";
+    public final static int DEFAULT_BATCH_LATENCY_MILLIS = 20;
+
+    // Channel schema constants
+    public final static String CHANNELS_PROPERTY = "ser516.server.channels";
+    public final static String CHANNEL_SEPARATOR = ",";
+    public final static String CHANNEL_GROUP_SEPARATOR = ":";
+    public final static String EMOTION_GROUP = "emotion";
+    public final static String ABSTRACT_EXPRESSION_GROUP = "abstractExpression";
+    public final static String CONCRETE_EXPRESSION_GROUP = "concreteExpression";
+    public final static String DEVICE_GROUP = "device";
+
+    // Raw EEG stream constants
+    public final static String EEG_GROUP = "eeg";
+    public final static String[] EEG_CHANNEL_NAMES = {"AF3", "F7", "F3", "FC5", "T7", "P7", "O1", "O2", "P8", "T8",
+            "FC6", "F4", "F8", "AF4"};
+    public final static String EEG_SAMPLE_RATE_PROPERTY = "ser516.server.eeg.sampleRate";
+    public final static int DEFAULT_EEG_SAMPLE_RATE = 128;
+    public final static String EEG_SAMPLES_PER_FRAME_PROPERTY = "ser516.server.eeg.samplesPerFrame";
+    public final static int DEFAULT_EEG_SAMPLES_PER_FRAME = 16;
+    public final static String EEG_SEED_PROPERTY = "ser516.server.eeg.seed";
+    public final static long DEFAULT_EEG_SEED = 516;
+    public final static String EEG_THREAD_NAME = "eeg-stream";
+    public final static String ERROR_EEG_STREAM = "Error occurred while streaming the raw EEG samples ";
+
+    // Signal generator constants
+    public final static String GENERATORS_PROPERTY = "ser516.server.generators";
+    public final static String GENERATOR_SEED_PROPERTY = "ser516.server.generators.seed";
+    public final static long DEFAULT_GENERATOR_SEED = 516;
+    public final static String GENERATOR_SEPARATOR = ";";
+    public final static String GENERATOR_CHANNEL_SEPARATOR = "=";
+    public final static String[] GENERATOR_PRESETS = {"manual", "sine", "walk", "pink", "steps", "markov"};
+    public final static String PROCEDURAL_GENERATORS = "interest=sine:frequency=0.05;engagement=walk;"
+            + "stress=markov;relaxation=pink;excitement=steps:levels=0.2/0.6/0.9,duration=4;"
+            + "focus=sine:frequency=0.02,phase=1.5";
+    public final static String ERROR_GENERATOR = "Invalid generator ";
+    public final static String GENERATOR_SELECTED = "Generator of ";
+
+    // Expression pulse constants
+    public final static String PULSE_FRAMES_PROPERTY = "ser516.server.pulseFrames";
+    public final static int DEFAULT_PULSE_FRAMES = 1;
+
+    // Expression timeline constants
+    public final static String TIMELINE_PROPERTY = "ser516.server.timeline";
+    public final static String TIMELINE_ARGUMENT = "--timeline";
+    public final static String TIMELINE_LOADED = "Playing timeline ";
+    public final static String TIMELINE_STOPPED = "Stopped timeline";
+    public final static String ERROR_TIMELINE = "Error occurred while loading the timeline ";
+    public final static String LOAD_TIMELINE = "Load";
+    public final static String STOP_TIMELINE = "Stop";
+    public final static String TIMELINE = "Timeline";
+    public final static String NO_TIMELINE = "None";
+
+    // Outbound queue constants
+    public final static String OUTBOUND_QUEUE_PARAMETER = "outboundQueue";
+    public final static String QUEUE_CAPACITY_PROPERTY = "ser516.server.queue.capacity";
+    public final static int DEFAULT_QUEUE_CAPACITY = 64;
+    public final static String OVERFLOW_POLICY_PROPERTY = "ser516.server.queue.overflowPolicy";
+    public final static String DEFAULT_OVERFLOW_POLICY = "drop-oldest";
+    public final static String MAX_OVERFLOWS_PROPERTY = "ser516.server.queue.maxOverflows";
+    public final static int DEFAULT_MAX_OVERFLOWS = 100;
+    public final static String OVERFLOW_WINDOW_PROPERTY = "ser516.server.queue.overflowWindowMillis";
+    public final static long DEFAULT_OVERFLOW_WINDOW_MILLIS = 10000;
+    public final static long STATISTICS_PERIOD_MILLIS = 1000;
+    public final static String SLOW_CONSUMER = "Disconnected slow client ";
+    public final static String SLOW_CONSUMER_REASON = "Client too slow";
+    public final static String ERROR_OUTBOUND_SEND = "Error occurred while sending to client ";
+    public final static String QUEUE_STATISTICS = "Sessions: %d  Queued: %d (max %d)  Dropped: %d  Slow disconnects: %d";
 
     // View constants on server display
     public final static String FONT_NAME = "Courier New";
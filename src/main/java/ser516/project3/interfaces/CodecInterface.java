@@ -0,0 +1,58 @@
+package ser516.project3.interfaces;
+
+import ser516.project3.utilities.EncodedBatch;
+
+import javax.websocket.EncodeException;
+import javax.websocket.Session;
+
+/**
+ * Interface for the wire formats the server can send its messages in. Every
+ * codec is registered in the MessageCodecRegistry under the name the client
+ * asks for in the Sec-WebSocket-Protocol header of the handshake.
+ *
+ * @author vsriva12
+ */
+public interface CodecInterface {
+
+    /**
+     * Returns the name of the codec, which is also its web socket subprotocol
+     *
+     * @return name of the codec
+     */
+    String getName();
+
+    /**
+     * Prepares the state the codec keeps for a newly opened session
+     *
+     * @param session web socket session
+     */
+    void open(Session session);
+
+    /**
+     * Returns the batch in the format of the codec, as the message to be
+     * queued for the session
+     *
+     * @param session web socket session
+     * @param batch   batch to be sent
+     * @return a String for a text message, or a ByteBuffer for a binary one
+     * @throws EncodeException if a message cannot be encoded
+     */
+    Object encode(Session session, EncodedBatch batch) throws EncodeException;
+
+    /**
+     * Handles the request of the session to be resynchronized, after it has
+     * missed a frame
+     *
+     * @param session web socket session
+     */
+    void resync(Session session);
+
+    /**
+     * Tells whether the frames of the codec depend on the frames sent before
+     * them, in which case the frames queued after a dropped one cannot be
+     * decoded and have to be dropped as well
+     *
+     * @return true if a frame can only be decoded with the previous frames
+     */
+    boolean isStateful();
+}
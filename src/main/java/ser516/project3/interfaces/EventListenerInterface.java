@@ -0,0 +1,22 @@
+package ser516.project3.interfaces;
+
+import ser516.project3.utilities.EventBus;
+
+/**
+ * Interface for the listeners of a topic of the {@link EventBus}. A listener
+ * receives the events of its topic with their own type, so it neither casts
+ * nor looks up the object which published them.
+ *
+ * @param <T> type of the events of the topic
+ * @author vsriva12
+ */
+public interface EventListenerInterface<T> {
+
+    /**
+     * Method called with every event of the topic, or with the latest one
+     * when the topic is coalescing
+     *
+     * @param event event published on the topic
+     */
+    void onEvent(T event);
+}
@@ -0,0 +1,21 @@
+package ser516.project3.interfaces;
+
+import ser516.project3.model.MessageModel;
+
+import java.util.List;
+
+/**
+ * Interface for everything the client can receive in one web socket message,
+ * either a single message or a batch of consecutive messages.
+ *
+ * @author vsriva12
+ */
+public interface FrameInterface {
+
+    /**
+     * Returns the messages carried by the frame, oldest first
+     *
+     * @return list of messages
+     */
+    List<MessageModel> getMessages();
+}
@@ -0,0 +1,57 @@
+package ser516.project3.interfaces;
+
+/**
+ * The interface between the server's connection classes and whatever hosts
+ * them, which is either the server UI or the headless server. It tells the
+ * broadcaster whether to send data, and shows it what happens on the server.
+ *
+ * @author vsriva12
+ */
+public interface ServerHostInterface {
+    /**
+     * Checks if the frames should be sent to the clients
+     *
+     * @return true if the frames should be sent
+     */
+    boolean isSendingData();
+
+    /**
+     * Checks if the frames should be sent on every tick, rather than once
+     *
+     * @return true if the frames should be sent repeatedly
+     */
+    boolean isAutoRepeat();
+
+    /**
+     * Stops sending frames after a single frame has been sent
+     */
+    void stopSendingData();
+
+    /**
+     * Shows the time stamp of the last frame sent
+     *
+     * @param timeStamp time stamp in seconds
+     */
+    void updateTimeStamp(double timeStamp);
+
+    /**
+     * Shows a message on the server console
+     *
+     * @param message message to be shown
+     */
+    void logMessage(String message);
+
+    /**
+     * Shows the statistics of the broadcaster
+     *
+     * @param statistics lines of statistics
+     */
+    void showStatistics(String... statistics);
+
+    /**
+     * Records whether the server is started
+     *
+     * @param serverStarted true if the server is started
+     */
+    void setServerStarted(boolean serverStarted);
+}
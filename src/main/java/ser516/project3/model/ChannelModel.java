@@ -0,0 +1,59 @@
+package ser516.project3.model;
+
+/**
+ * ChannelModel class to represent one channel of the stream, such as an
+ * emotion or the battery level, with the compact id its values are carried
+ * by in the frames.
+ *
+ * @author vsriva12
+ */
+public class ChannelModel {
+
+    private final int id;
+    private final String name;
+    private final String group;
+
+    /**
+     * Initializes a channel with its id, name and group
+     *
+     * @param id    id of the channel
+     * @param name  name of the channel
+     * @param group name of the group the channel belongs to
+     */
+    public ChannelModel(int id, String name, String group) {
+        this.id = id;
+        this.name = name;
+        this.group = group;
+    }
+
+    /**
+     * @return the id of the channel
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return the name of the channel
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the name of the group the channel belongs to
+     */
+    public String getGroup() {
+        return group;
+    }
+
+    /**
+     * Overridden method to convert the model into string
+     *
+     * @return returns the string conversion of the class
+     */
+    @Override
+    public String toString() {
+        return "ChannelModel [id=" + id + ", name=" + name + ", group=" + group + "]";
+    }
+}
@@ -0,0 +1,103 @@
+package ser516.project3.model;
+
+import ser516.project3.interfaces.FrameInterface;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ChannelSchemaModel is an immutable data model class for the set of channels
+ * streamed by the server. The server announces it once when a client
+ * connects, before the first frame, so it is received like a frame without
+ * messages.
+ *
+ * @author vsriva12
+ */
+public class ChannelSchemaModel implements FrameInterface {
+
+    private final List<ChannelModel> channels;
+    private final Map<Integer, ChannelModel> channelsById = new HashMap<Integer, ChannelModel>();
+    private final Map<String, ChannelModel> channelsByName = new HashMap<String, ChannelModel>();
+    private final Map<String, List<ChannelModel>> channelsByGroup = new LinkedHashMap<String, List<ChannelModel>>();
+
+    /**
+     * Creates a schema of the passed channels
+     *
+     * @param channels channels of the schema, in id order
+     */
+    public ChannelSchemaModel(List<ChannelModel> channels) {
+        this.channels = Collections.unmodifiableList(new ArrayList<ChannelModel>(channels));
+        for (ChannelModel channel : this.channels) {
+            channelsById.put(channel.getId(), channel);
+            channelsByName.put(channel.getName(), channel);
+            List<ChannelModel> group = channelsByGroup.get(channel.getGroup());
+            if (group == null) {
+                group = new ArrayList<ChannelModel>();
+                channelsByGroup.put(channel.getGroup(), group);
+            }
+            group.add(channel);
+        }
+        for (Map.Entry<String, List<ChannelModel>> group : channelsByGroup.entrySet()) {
+            group.setValue(Collections.unmodifiableList(group.getValue()));
+        }
+    }
+
+    /**
+     * @return all the channels of the schema, in id order
+     */
+    public List<ChannelModel> getChannels() {
+        return channels;
+    }
+
+    /**
+     * Returns the channels of the passed group
+     *
+     * @param group name of the group
+     * @return channels of the group in id order, empty if there is no such group
+     */
+    public List<ChannelModel> getChannels(String group) {
+        List<ChannelModel> groupChannels = channelsByGroup.get(group);
+        return groupChannels == null ? Collections.<ChannelModel>emptyList() : groupChannels;
+    }
+
+    /**
+     * @return names of the groups, in the order of their first channel
+     */
+    public List<String> getGroups() {
+        return new ArrayList<String>(channelsByGroup.keySet());
+    }
+
+    /**
+     * Returns the channel with the passed id
+     *
+     * @param id id of the channel
+     * @return the channel, or null if there is no such channel
+     */
+    public ChannelModel getChannel(int id) {
+        return channelsById.get(id);
+    }
+
+    /**
+     * Returns the channel with the passed name
+     *
+     * @param name name of the channel
+     * @return the channel, or null if there is no such channel
+     */
+    public ChannelModel getChannel(String name) {
+        return channelsByName.get(name);
+    }
+
+    /**
+     * The schema carries no messages
+     *
+     * @return empty list
+     */
+    @Override
+    public List<MessageModel> getMessages() {
+        return Collections.emptyList();
+    }
+}
@@ -12,6 +12,7 @@ import java.util.ArrayList;
 public class ConsoleModel extends java.util.Observable implements ModelInterface {
 
     private ArrayList<String> logArray;
+    private String[] broadcastStatistics;
 
     /**
      * Method which receives the message to be displayed on console and adds
@@ -37,4 +38,27 @@ public class ConsoleModel extends java.util.Observable implements ModelInterface
         return logArray;
     }
 
+    /**
+     * Method which receives the statistics of the broadcast, the outbound
+     * queues of the clients and the jitter of the ticks, and notifies the
+     * observers with them, so that they are shown in place rather than
+     * appended to the console
+     *
+     * @param broadcastStatistics the lines of statistics to be displayed
+     */
+    public void setBroadcastStatistics(String... broadcastStatistics) {
+        this.broadcastStatistics = broadcastStatistics;
+        setChanged();
+        this.notifyObservers(broadcastStatistics);
+    }
+
+    /**
+     * returns the latest statistics of the broadcast
+     *
+     * @return the lines of statistics, or null if none have been reported
+     */
+    public String[] getBroadcastStatistics() {
+        return broadcastStatistics;
+    }
+
 }
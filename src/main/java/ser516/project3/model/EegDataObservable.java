@@ -0,0 +1,72 @@
+package ser516.project3.model;
+
+import ser516.project3.constants.ClientConstants;
+import ser516.project3.utilities.EventBus;
+import ser516.project3.utilities.EventTopic;
+import ser516.project3.utilities.SampleRingBuffer;
+
+import java.util.Arrays;
+
+/**
+ * This class holds the raw EEG samples received from the server in a ring
+ * buffer and publishes them to the listener that shows the strip chart of the
+ * samples
+ *
+ * @author vsriva12
+ */
+public class EegDataObservable {
+    public final static EventTopic<EegDataObservable> TOPIC = EventTopic.coalescing("eeg");
+
+    private static EegDataObservable instance;
+    private volatile SampleRingBuffer sampleBuffer;
+
+    private EegDataObservable() {
+    }
+
+    /**
+     * Creates a singleton instance . If exists, returns it, else creates it.
+     *
+     * @return instance of the EegDataObservable
+     */
+    public static synchronized EegDataObservable getInstance() {
+        if (instance == null) {
+            instance = new EegDataObservable();
+        }
+        return instance;
+    }
+
+    /**
+     * On receiving a block of samples from the server, this method writes it
+     * to the ring buffer and publishes the change on {@link #TOPIC}, which is
+     * delivered once per display frame. The buffer is created
+     * again whenever the channels or the sample rate of the stream change.
+     *
+     * @param sampleBlock the block received from the server
+     */
+    public void addSampleBlock(SampleBlockModel sampleBlock) {
+        SampleRingBuffer buffer = sampleBuffer;
+        if (buffer == null || buffer.getSampleRate() != sampleBlock.getSampleRate()
+                || !Arrays.equals(buffer.getChannelIds(), sampleBlock.getChannelIds())) {
+            buffer = new SampleRingBuffer(sampleBlock.getChannelIds(), sampleBlock.getSampleRate(),
+                    ClientConstants.EEG_BUFFER_SECONDS);
+            sampleBuffer = buffer;
+        }
+        buffer.write(sampleBlock);
+        EventBus.getInstance().publish(TOPIC, this);
+    }
+
+    /**
+     * Forgets the samples of the previous connection
+     */
+    public void clear() {
+        sampleBuffer = null;
+        EventBus.getInstance().publish(TOPIC, this);
+    }
+
+    /**
+     * @return the buffer of the samples, or null if none has been received
+     */
+    public SampleRingBuffer getSampleBuffer() {
+        return sampleBuffer;
+    }
+}
@@ -0,0 +1,65 @@
+package ser516.project3.model;
+
+import ser516.project3.constants.ClientConstants;
+import ser516.project3.interfaces.ModelInterface;
+import ser516.project3.utilities.SampleRingBuffer;
+
+import java.awt.*;
+
+/**
+ * EegModel is a class to represent the raw EEG samples shown in the strip
+ * chart, along with the number of seconds the chart displays.
+ *
+ * @author vsriva12
+ */
+public class EegModel implements ModelInterface {
+    private int displaySeconds;
+    private Color traceColor;
+    private volatile SampleRingBuffer sampleBuffer;
+
+    /**
+     * Creates a model for the raw EEG samples.
+     */
+    public EegModel() {
+        displaySeconds = ClientConstants.DEFAULT_EEG_DISPLAY_SECONDS;
+        traceColor = Color.decode(ClientConstants.EEG_TRACE_COLOR_HEX);
+    }
+
+    /**
+     * @return the number of seconds shown in the chart
+     */
+    public int getDisplaySeconds() {
+        return displaySeconds;
+    }
+
+    /**
+     * Sets the number of seconds shown in the chart, at most the seconds kept
+     * in the buffer
+     *
+     * @param displaySeconds the number of seconds to set
+     */
+    public void setDisplaySeconds(int displaySeconds) {
+        this.displaySeconds = Math.max(1, Math.min(displaySeconds, ClientConstants.EEG_BUFFER_SECONDS));
+    }
+
+    /**
+     * @return the color of the traces
+     */
+    public Color getTraceColor() {
+        return traceColor;
+    }
+
+    /**
+     * @return the buffer of the samples, or null if none has been received
+     */
+    public SampleRingBuffer getSampleBuffer() {
+        return sampleBuffer;
+    }
+
+    /**
+     * @param sampleBuffer the buffer of the samples to set
+     */
+    public void setSampleBuffer(SampleRingBuffer sampleBuffer) {
+        this.sampleBuffer = sampleBuffer;
+    }
+}
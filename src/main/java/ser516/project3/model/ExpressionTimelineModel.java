@@ -0,0 +1,373 @@
+package ser516.project3.model;
+
+import ser516.project3.model.MessageModel.AbstractExpression;
+import ser516.project3.model.MessageModel.SelectedCriteria;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * ExpressionTimelineModel is an immutable data model class for a looping
+ * script of expression keyframes, compiled into a schedule sorted by time so
+ * that playing it only ever looks at the next keyframe. A timeline is written
+ * one statement per line, with # starting a comment:
+ * <pre>
+ * loop 20                          length of the loop in seconds
+ * seed 516                         seed of the jitter of the repeated keyframes
+ * at 1 smile ramp 1 2              ramp smile to 1 over 2 seconds, 1 second in
+ * at 6 lookingLeft pulse 0.5       set lookingLeft for half a second
+ * at 8 smile set 0                 set smile to 0
+ * every 3..5 blink pulse 0.15      blink for 0.15 seconds every 3 to 5 seconds
+ * </pre>
+ * A pulse sets the channel to 1, or to the value following its duration, and
+ * back to 0 when it ends. The repeated keyframes are spread over the loop
+ * with seeded random gaps, so a timeline always plays the same way. Without
+ * a loop statement, the loop ends with the last keyframe. A loop is never
+ * shorter than a tenth of a second, so that a tick never replays it more
+ * than a few times.
+ *
+ * @author vsriva12
+ */
+public class ExpressionTimelineModel {
+
+    private static final double MICROS_PER_SECOND = 1_000_000.0;
+    private static final long MIN_LOOP_MICROS = 100_000;
+    private static final long DEFAULT_SEED = 516;
+    private static final String COMMENT = "#";
+    private static final String RANGE_SEPARATOR = "..";
+
+    private final String name;
+    private final long loopMicros;
+    private final long[] times;
+    private final int[] channelIds;
+    private final double[] values;
+    private final long[] rampMicros;
+
+    /**
+     * Creates a timeline out of its sorted keyframes
+     *
+     * @param name       name of the timeline, such as the name of its file
+     * @param loopMicros length of the loop in microseconds
+     * @param keyframes  keyframes sorted by time
+     */
+    private ExpressionTimelineModel(String name, long loopMicros, List<Keyframe> keyframes) {
+        this.name = name;
+        this.loopMicros = loopMicros;
+        int count = keyframes.size();
+        times = new long[count];
+        channelIds = new int[count];
+        values = new double[count];
+        rampMicros = new long[count];
+        for (int i = 0; i < count; i++) {
+            Keyframe keyframe = keyframes.get(i);
+            times[i] = keyframe.time;
+            channelIds[i] = keyframe.channelId;
+            values[i] = keyframe.value;
+            rampMicros[i] = keyframe.ramp;
+        }
+    }
+
+    /**
+     * Method to load a timeline from a file
+     *
+     * @param file       file of the timeline
+     * @param channelIds function giving the id of a channel from its name, or
+     *                  -1 if there is no such channel
+     * @return the timeline
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if a statement is invalid
+     */
+    public static ExpressionTimelineModel load(Path file, ToIntFunction<String> channelIds) throws IOException {
+        return parse(file.getFileName().toString(), Files.readAllLines(file, StandardCharsets.UTF_8), channelIds);
+    }
+
+    /**
+     * Method to compile the statements of a timeline
+     *
+     * @param name       name of the timeline
+     * @param lines      statements of the timeline
+     * @param channelIds function giving the id of a channel from its name, or
+     *                   -1 if there is no such channel
+     * @return the timeline
+     * @throws IllegalArgumentException if a statement is invalid
+     */
+    public static ExpressionTimelineModel parse(String name, List<String> lines, ToIntFunction<String> channelIds) {
+        long loopMicros = 0;
+        long seed = DEFAULT_SEED;
+        List<String[]> statements = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            int comment = line.indexOf(COMMENT);
+            String[] words = (comment >= 0 ? line.substring(0, comment) : line).trim().split("\\s+");
+            if (words[0].isEmpty()) {
+                continue;
+            }
+            try {
+                if (words[0].equals("loop") && words.length == 2) {
+                    loopMicros = toMicros(words[1]);
+                    if (loopMicros < MIN_LOOP_MICROS) {
+                        throw new IllegalArgumentException("Loop shorter than " + MIN_LOOP_MICROS / MICROS_PER_SECOND
+                                + " seconds on line " + (i + 1) + ": " + line);
+                    }
+                } else if (words[0].equals("seed") && words.length == 2) {
+                    seed = Long.parseLong(words[1]);
+                } else if ((words[0].equals("at") || words[0].equals("every")) && words.length >= 4) {
+                    statements.add(words);
+                } else {
+                    throw new IllegalArgumentException(line);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": " + line);
+            }
+        }
+
+        List<Keyframe> keyframes = new ArrayList<>();
+        for (String[] words : statements) {
+            if (words[0].equals("at")) {
+                addKeyframes(keyframes, toMicros(words[1]), words, channelIds);
+            }
+        }
+        if (loopMicros <= 0) {
+            for (Keyframe keyframe : keyframes) {
+                loopMicros = Math.max(loopMicros, Math.max(keyframe.time + keyframe.ramp + 1, MIN_LOOP_MICROS));
+            }
+        }
+        Random random = new Random(seed);
+        for (String[] words : statements) {
+            if (words[0].equals("every")) {
+                if (loopMicros <= 0) {
+                    throw new IllegalArgumentException("A loop is needed to repeat " + String.join(" ", words));
+                }
+                String[] range = words[1].split(Pattern.quote(RANGE_SEPARATOR), 2);
+                long minGap = toMicros(range[0]);
+                long maxGap = range.length > 1 ? toMicros(range[1]) : minGap;
+                if (minGap <= 0 || maxGap < minGap) {
+                    throw new IllegalArgumentException("Invalid range " + words[1]);
+                }
+                for (long time = nextGap(random, minGap, maxGap); time < loopMicros;
+                     time += nextGap(random, minGap, maxGap)) {
+                    addKeyframes(keyframes, time, words, channelIds);
+                }
+            }
+        }
+        if (loopMicros <= 0) {
+            loopMicros = MIN_LOOP_MICROS;
+        }
+        for (Keyframe keyframe : keyframes) {
+            keyframe.time %= loopMicros;
+        }
+        keyframes.sort(Comparator.comparingLong(keyframe -> keyframe.time));
+        return new ExpressionTimelineModel(name, loopMicros, keyframes);
+    }
+
+    /**
+     * Method to add the keyframes of one statement, written as the time,
+     * the channel, the action and its arguments
+     *
+     * @param keyframes  keyframes to add to
+     * @param time       time of the statement in microseconds
+     * @param words      words of the statement
+     * @param channelIds function giving the id of a channel from its name
+     */
+    private static void addKeyframes(List<Keyframe> keyframes, long time, String[] words,
+                                     ToIntFunction<String> channelIds) {
+        int channelId = channelIds.applyAsInt(words[2]);
+        String statement = String.join(" ", words);
+        if (channelId < 0) {
+            throw new IllegalArgumentException("Unknown channel in " + statement);
+        }
+        try {
+            switch (words.length > 3 ? words[3] : "") {
+                case "set":
+                    if (words.length == 5) {
+                        keyframes.add(new Keyframe(time, channelId, Double.parseDouble(words[4]), 0));
+                        return;
+                    }
+                    break;
+                case "ramp":
+                    if (words.length == 6) {
+                        keyframes.add(new Keyframe(time, channelId, Double.parseDouble(words[4]),
+                                toMicros(words[5])));
+                        return;
+                    }
+                    break;
+                case "pulse":
+                    if (words.length == 5 || words.length == 6) {
+                        double value = words.length == 6 ? Double.parseDouble(words[5]) : 1;
+                        keyframes.add(new Keyframe(time, channelId, value, 0));
+                        keyframes.add(new Keyframe(time + toMicros(words[4]), channelId, 0, 0));
+                        return;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in " + statement);
+        }
+        throw new IllegalArgumentException("Invalid statement " + statement);
+    }
+
+    /**
+     * Method to draw the gap before the next repeated keyframe
+     *
+     * @param random random number generator of the timeline
+     * @param minGap shortest gap in microseconds
+     * @param maxGap longest gap in microseconds
+     * @return the gap in microseconds
+     */
+    private static long nextGap(Random random, long minGap, long maxGap) {
+        return minGap + (long) (random.nextDouble() * (maxGap - minGap));
+    }
+
+    /**
+     * Method to convert a number of seconds into whole microseconds
+     *
+     * @param seconds written number of seconds
+     * @return the number of microseconds
+     */
+    private static long toMicros(String seconds) {
+        double value = Double.parseDouble(seconds);
+        if (value < 0 || Double.isNaN(value)) {
+            throw new IllegalArgumentException("Invalid time " + seconds);
+        }
+        return Math.round(value * MICROS_PER_SECOND);
+    }
+
+    /**
+     * Returns the part of the face whose selection shows a channel, so that
+     * the clients draw the expressions the timeline plays
+     *
+     * @param channelId id of the channel
+     * @return the part of the face, or null if the channel is not an
+     * expression
+     */
+    public static SelectedCriteria getSelectedCriteria(int channelId) {
+        if (channelId < MessageModel.ABSTRACT_EXPRESSION_CHANNEL_ID) {
+            return null;
+        } else if (channelId < MessageModel.CONCRETE_EXPRESSION_CHANNEL_ID) {
+            AbstractExpression expression = AbstractExpression.values()[
+                    channelId - MessageModel.ABSTRACT_EXPRESSION_CHANNEL_ID];
+            return expression == AbstractExpression.raiseBrow || expression == AbstractExpression.furrowBrow
+                    ? SelectedCriteria.upperFace : SelectedCriteria.lowerFace;
+        } else if (channelId < MessageModel.FIRST_EXTRA_CHANNEL_ID) {
+            return SelectedCriteria.eye;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name the selection of a channel is written with
+     *
+     * @param channelId id of an expression channel
+     * @return the name of the expression
+     */
+    public static String getSelectionValue(int channelId) {
+        if (channelId < MessageModel.CONCRETE_EXPRESSION_CHANNEL_ID) {
+            return AbstractExpression.values()[channelId - MessageModel.ABSTRACT_EXPRESSION_CHANNEL_ID].name();
+        }
+        return MessageModel.ConcreteExpression.values()[channelId - MessageModel.CONCRETE_EXPRESSION_CHANNEL_ID]
+                .name();
+    }
+
+    /**
+     * @return the name of the timeline
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the length of the loop in microseconds
+     */
+    public long getLoopMicros() {
+        return loopMicros;
+    }
+
+    /**
+     * @return the number of keyframes in one loop
+     */
+    public int getKeyframeCount() {
+        return times.length;
+    }
+
+    /**
+     * @param index index of the keyframe
+     * @return the time of the keyframe within the loop, in microseconds
+     */
+    public long getTime(int index) {
+        return times[index];
+    }
+
+    /**
+     * @param index index of the keyframe
+     * @return the id of the channel of the keyframe
+     */
+    public int getChannelId(int index) {
+        return channelIds[index];
+    }
+
+    /**
+     * @param index index of the keyframe
+     * @return the value the keyframe sets or ramps to
+     */
+    public double getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * @param index index of the keyframe
+     * @return the duration of the ramp of the keyframe in microseconds, 0 to
+     * set the value at once
+     */
+    public long getRampMicros(int index) {
+        return rampMicros[index];
+    }
+
+    /**
+     * @return the highest channel id of the keyframes, or -1 if there is none
+     */
+    public int getMaxChannelId() {
+        int maxChannelId = -1;
+        for (int channelId : channelIds) {
+            maxChannelId = Math.max(maxChannelId, channelId);
+        }
+        return maxChannelId;
+    }
+
+    /**
+     * Overridden method to convert the model into string
+     *
+     * @return returns the string conversion of the class
+     */
+    @Override
+    public String toString() {
+        return "ExpressionTimelineModel [name=" + name + ", loopMicros=" + loopMicros + ", keyframes="
+                + times.length + "]";
+    }
+
+    /**
+     * One keyframe while the timeline is compiled
+     */
+    private static class Keyframe {
+        private long time;
+        private final int channelId;
+        private final double value;
+        private final long ramp;
+
+        Keyframe(long time, int channelId, double value, long ramp) {
+            this.time = time;
+            this.channelId = channelId;
+            this.value = value;
+            this.ramp = ramp;
+        }
+    }
+}
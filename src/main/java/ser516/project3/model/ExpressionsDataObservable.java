@@ -1,24 +1,39 @@
 package ser516.project3.model;
 
-import java.util.ArrayList;
-import java.util.Observable;
+import ser516.project3.utilities.ChannelHistory;
+import ser516.project3.utilities.EventBus;
+import ser516.project3.utilities.EventTopic;
+import ser516.project3.utilities.MessageFormatConverter;
+
+import java.util.List;
 
 /**
- * This class holds the data for expressions and notifies the observer
- * that shows expressions
+ * This class holds the data for expressions and publishes it to the listener
+ * that shows expressions. The data is kept in a bounded {@link ChannelHistory},
+ * so it does not grow with the length of the session.
  *
  * @author Manish Tandon
  */
-public class ExpressionsDataObservable extends Observable {
+public class ExpressionsDataObservable {
+    public final static EventTopic<ExpressionsDataObservable> TOPIC = EventTopic.coalescing("expressions");
+
     private static ExpressionsDataObservable instance;
-    private ArrayList<ArrayList<CoordinatesModel>> expressionsData;
+    private volatile ChannelHistory expressionsData;
+    private double[] values = new double[0];
 
     private ExpressionsDataObservable() {
-        expressionsData = new ArrayList<ArrayList<CoordinatesModel>>();
     }
 
-    public ArrayList<ArrayList<CoordinatesModel>> getExpressionsData() {
-        return expressionsData;
+    /**
+     * Returns a view of the data retained, which the user interface can read
+     * without copying it while new data is received
+     *
+     * @return window over the data received from the server, oldest first,
+     * or null if no data was received
+     */
+    public ChannelHistory.Window getExpressionsData() {
+        ChannelHistory history = expressionsData;
+        return history == null ? null : history.window();
     }
 
     /**
@@ -34,14 +49,26 @@ public class ExpressionsDataObservable extends Observable {
     }
 
     /**
-     * On receiving of new data from server, this method inserts them to the common
-     * list and notifies the observers
+     * On receiving of a batch of messages from server, this method appends
+     * their values to the history and publishes the change on {@link #TOPIC},
+     * which is delivered once per display frame, whatever the number of
+     * values added in between. The history is created again when the number
+     * of channels of the schema changes.
      *
-     * @param valueToBeAdded - the new value received from server.
+     * @param messages - the new messages received from server, oldest first.
      */
-    public void addToListValues(ArrayList<CoordinatesModel> valueToBeAdded) {
-        this.expressionsData.add(valueToBeAdded);
-        setChanged();
-        this.notifyObservers();
+    public synchronized void addMessages(List<MessageModel> messages) {
+        int channelCount = MessageFormatConverter.getExpressionsChannels().size();
+        ChannelHistory history = expressionsData;
+        if (history == null || history.getChannelCount() != channelCount) {
+            history = ChannelHistory.createGraphHistory(channelCount);
+            values = new double[channelCount];
+            expressionsData = history;
+        }
+        for (MessageModel message : messages) {
+            MessageFormatConverter.convertMessageToExpressionsData(message, values);
+            history.append(message.getTimeStamp(), values);
+        }
+        EventBus.getInstance().publish(TOPIC, this);
     }
 }
@@ -1,16 +1,18 @@
 package ser516.project3.model;
 
-import java.util.Observable;
+import ser516.project3.utilities.EventBus;
+import ser516.project3.utilities.EventTopic;
 
 /**
- * Observable class to notify the observers if any changes for the face
- * expressions are received from the server
+ * Observable class to publish to the listeners the latest message received
+ * from the server, which the face expressions show
  *
  * @author Manish Tandon
  */
-public class FaceExpressionsObservable extends Observable {
+public class FaceExpressionsObservable {
+    public final static EventTopic<MessageModel> TOPIC = EventTopic.coalescing("faceExpressions");
 
-    private MessageModel messageBean;
+    private volatile MessageModel messageBean;
 
     private static FaceExpressionsObservable instance;
 
@@ -43,15 +45,15 @@ public class FaceExpressionsObservable extends Observable {
     }
 
     /**
-     * Updates the message model with the new values and notifies the
-     * obsever of the changes
+     * Updates the message model with the new values and publishes it on
+     * {@link #TOPIC}. The listeners receive the latest model once per display
+     * frame.
      *
      * @param messageBean the new model to be updated
      */
     public void setMessageBean(MessageModel messageBean) {
         this.messageBean = messageBean;
-        setChanged();
-        notifyObservers();
+        EventBus.getInstance().publish(TOPIC, messageBean);
     }
 
 
@@ -1,9 +1,9 @@
 package ser516.project3.model;
 
 import ser516.project3.interfaces.ModelInterface;
+import ser516.project3.utilities.ChannelHistory;
 
 import java.awt.*;
-import java.util.ArrayList;
 
 /**
  * GraphModel is a class to represent the model for a graph. The model
@@ -12,7 +12,8 @@ import java.util.ArrayList;
  * <li>No of channels to display</li>
  * <li>Length of the X-axis</li>
  * <li>Colors for each channel</li>
- * <li>List of Coordinate values for each channel</li>
+ * <li>Window over the values of each channel</li>
+ * <li>Whether the X-axis scrolls with the time stamps</li>
  * </ul>
  *
  * @author Adhiraj Tikku
@@ -23,9 +24,10 @@ public class GraphModel implements ModelInterface {
     private int XLength;
     private int noOfChannels;
     private Color channelColors[];
-    private ArrayList<ArrayList<CoordinatesModel>> graphData;
+    private ChannelHistory.Window graphData;
     private String[] legendNames;
     private int xStartPoint;
+    private boolean scrolling;
 
     public GraphModel() {
         XLength = 1;
@@ -88,20 +90,20 @@ public class GraphModel implements ModelInterface {
     }
 
     /**
-     * Sets the coordinate values for each channel in the graph.
+     * Sets the time stamps and values for each channel in the graph.
      *
-     * @param graphData list of coordinate values for each channel in the graph
+     * @param graphData window over the values of each channel in the graph
      */
-    public void setGraphData(ArrayList<ArrayList<CoordinatesModel>> graphData) {
+    public void setGraphData(ChannelHistory.Window graphData) {
         this.graphData = graphData;
     }
 
     /**
-     * Gets the coordinate values for each channel in the graph.
+     * Gets the time stamps and values for each channel in the graph.
      *
-     * @return list of coordinate values for each channel in the graph
+     * @return window over the values of each channel in the graph
      */
-    public ArrayList<ArrayList<CoordinatesModel>> getGraphData() {
+    public ChannelHistory.Window getGraphData() {
         return graphData;
     }
 
@@ -140,4 +142,50 @@ public class GraphModel implements ModelInterface {
     public int getXStartPoint() {
         return xStartPoint;
     }
+
+    /**
+     * Sets whether the X-axis scrolls to follow the time stamps, as in the
+     * expressions graph, or the time stamps are plotted back from the
+     * X-axis length, as in the performance metrics graph.
+     *
+     * @param scrolling true if the X-axis scrolls with the time stamps
+     */
+    public void setScrolling(boolean scrolling) {
+        this.scrolling = scrolling;
+    }
+
+    /**
+     * Gets whether the X-axis scrolls to follow the time stamps.
+     *
+     * @return true if the X-axis scrolls with the time stamps
+     */
+    public boolean isScrolling() {
+        return scrolling;
+    }
+
+    /**
+     * Gets the time stamp of the start of the visible part of the X-axis. A
+     * scrolling X-axis keeps its length and ends at the latest time stamp
+     * once past its end, the other one shows the time stamps up to its
+     * length, plotted back from it.
+     *
+     * @param latestTimestamp the time stamp of the latest value
+     * @return the earliest visible time stamp
+     */
+    public double getVisibleFrom(double latestTimestamp) {
+        if (!scrolling) {
+            return 0;
+        }
+        return getVisibleTo(latestTimestamp) - (XLength - xStartPoint);
+    }
+
+    /**
+     * Gets the time stamp of the end of the visible part of the X-axis.
+     *
+     * @param latestTimestamp the time stamp of the latest value
+     * @return the latest visible time stamp
+     */
+    public double getVisibleTo(double latestTimestamp) {
+        return scrolling ? Math.max(XLength, latestTimestamp) : XLength;
+    }
 }
@@ -11,6 +11,10 @@ public class HeaderModel implements ModelInterface {
 
     private boolean connectionStatus;
     private double timeStamp;
+    private double latencyMillis;
+    private double latencyP99Millis;
+    private double jitterMillis;
+    private long lostFrames;
 
     /**
      * @return the connectionStatus
@@ -40,5 +44,63 @@ public class HeaderModel implements ModelInterface {
         this.timeStamp = timeStamp;
     }
 
+    /**
+     * @return the median latency of the frames in milliseconds
+     */
+    public double getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    /**
+     * @param latencyMillis the median latency to set in milliseconds
+     */
+    public void setLatencyMillis(double latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * @return the 99th percentile of the latency in milliseconds
+     */
+    public double getLatencyP99Millis() {
+        return latencyP99Millis;
+    }
+
+    /**
+     * @param latencyP99Millis the 99th percentile of the latency to set in
+     *                         milliseconds
+     */
+    public void setLatencyP99Millis(double latencyP99Millis) {
+        this.latencyP99Millis = latencyP99Millis;
+    }
+
+    /**
+     * @return the 99th percentile of the jitter in milliseconds
+     */
+    public double getJitterMillis() {
+        return jitterMillis;
+    }
+
+    /**
+     * @param jitterMillis the 99th percentile of the jitter to set in
+     *                     milliseconds
+     */
+    public void setJitterMillis(double jitterMillis) {
+        this.jitterMillis = jitterMillis;
+    }
+
+    /**
+     * @return the number of frames lost
+     */
+    public long getLostFrames() {
+        return lostFrames;
+    }
+
+    /**
+     * @param lostFrames the number of frames lost to set
+     */
+    public void setLostFrames(long lostFrames) {
+        this.lostFrames = lostFrames;
+    }
+
 
 }
@@ -1,20 +1,26 @@
 package ser516.project3.model;
 
 import org.apache.log4j.Logger;
-
-import java.util.Observable;
+import ser516.project3.utilities.EventBus;
+import ser516.project3.utilities.EventTopic;
 
 /**
- * Class which notifies the observers if any changes take place which needs to
+ * Class which notifies the listeners if any changes take place which needs to
  * be updated in the header view
  *
  * @author Adhiraj Tikku
  */
-public class HeaderObservable extends Observable {
+public class HeaderObservable {
+    public final static EventTopic<HeaderObservable> TOPIC = EventTopic.coalescing("header");
+
     final static Logger logger = Logger.getLogger(HeaderObservable.class);
     private static HeaderObservable instance;
-    private double headerTimeStamp;
-    private double interval;
+    private volatile double headerTimeStamp;
+    private volatile double interval;
+    private volatile double latencyMillis;
+    private volatile double latencyP99Millis;
+    private volatile double jitterMillis;
+    private volatile long lostFrames;
 
     /**
      * Constructor to initialize the private members
@@ -43,15 +49,33 @@ public class HeaderObservable extends Observable {
     }
 
     /**
-     * Sets the time stamp value for the header view.
+     * Sets the time stamp value for the header view. The listeners of
+     * {@link #TOPIC} receive the latest values once per display frame.
      *
      * @param headerTimeStamp time stamp value for the header view.
      */
     public void setHeaderData(double headerTimeStamp, double interval) {
         this.headerTimeStamp = headerTimeStamp;
         this.interval = interval;
-        setChanged();
-        notifyObservers();
+        EventBus.getInstance().publish(TOPIC, this);
+    }
+
+    /**
+     * Sets the statistics of the frames received from the server for the
+     * header view.
+     *
+     * @param latencyMillis    median latency of the frames in milliseconds
+     * @param latencyP99Millis 99th percentile of the latency in milliseconds
+     * @param jitterMillis     99th percentile of the jitter in milliseconds
+     * @param lostFrames       number of frames lost since connected
+     */
+    public void setFrameStatistics(double latencyMillis, double latencyP99Millis, double jitterMillis,
+                                   long lostFrames) {
+        this.latencyMillis = latencyMillis;
+        this.latencyP99Millis = latencyP99Millis;
+        this.jitterMillis = jitterMillis;
+        this.lostFrames = lostFrames;
+        EventBus.getInstance().publish(TOPIC, this);
     }
 
     /**
@@ -67,4 +91,32 @@ public class HeaderObservable extends Observable {
     public double getInterval() {
         return interval;
     }
+
+    /**
+     * @return the median latency in milliseconds
+     */
+    public double getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    /**
+     * @return the 99th percentile of the latency in milliseconds
+     */
+    public double getLatencyP99Millis() {
+        return latencyP99Millis;
+    }
+
+    /**
+     * @return the 99th percentile of the jitter in milliseconds
+     */
+    public double getJitterMillis() {
+        return jitterMillis;
+    }
+
+    /**
+     * @return the number of frames lost
+     */
+    public long getLostFrames() {
+        return lostFrames;
+    }
 }
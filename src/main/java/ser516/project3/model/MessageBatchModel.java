@@ -0,0 +1,43 @@
+package ser516.project3.model;
+
+import ser516.project3.interfaces.FrameInterface;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MessageBatchModel is a data model class for a batch of consecutive messages
+ * sent by the server in a single web socket message.
+ *
+ * @author vsriva12
+ */
+public class MessageBatchModel implements FrameInterface {
+
+    private final List<MessageModel> messages;
+
+    /**
+     * Creates an empty batch with room for the passed number of messages
+     *
+     * @param size expected number of messages
+     */
+    public MessageBatchModel(int size) {
+        messages = new ArrayList<MessageModel>(size);
+    }
+
+    /**
+     * Adds a message at the end of the batch
+     *
+     * @param messageModel message to be added
+     */
+    public void addMessage(MessageModel messageModel) {
+        messages.add(messageModel);
+    }
+
+    /**
+     * @return the messages of the batch, oldest first
+     */
+    @Override
+    public List<MessageModel> getMessages() {
+        return messages;
+    }
+}
@@ -1,25 +1,111 @@
 package ser516.project3.model;
 
+import ser516.project3.interfaces.FrameInterface;
 import ser516.project3.utilities.MessageDecoder;
 import ser516.project3.utilities.MessageEncoder;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * MessageModel is a data model class that encapsulates the data messages sent
  * between the client and the server. The {@link MessageEncoder} and
  * {@link MessageDecoder} marshal and unmarshal instances of this class,
- * respectively.
+ * respectively. The values are kept in primitive arrays and a bitset indexed
+ * by the ordinals of the enums below. The String keyed accessors map the key
+ * to the enum constant and are kept for compatibility.
+ * <p>
+ * Every value can also be reached by the id of its channel in the channel
+ * schema. The channels of the enums come first, emotions, abstract and then
+ * concrete expressions, in enum order. The channels added to the schema at
+ * runtime follow them, and their values are kept in a separate array which
+ * grows as they are set.
  */
-public class MessageModel {
+public class MessageModel implements FrameInterface {
+
+    private static final Map<String, Emotion> emotionLookup = createLookup(Emotion.values());
+    private static final Map<String, AbstractExpression> abstractExpressionLookup =
+            createLookup(AbstractExpression.values());
+    private static final Map<String, ConcreteExpression> concreteExpressionLookup =
+            createLookup(ConcreteExpression.values());
+    private static final Map<String, SelectedCriteria> selectionLookup = createLookup(SelectedCriteria.values());
+
+    public static final int EMOTION_CHANNEL_ID = 0;
+    public static final int ABSTRACT_EXPRESSION_CHANNEL_ID = EMOTION_CHANNEL_ID + Emotion.values().length;
+    public static final int CONCRETE_EXPRESSION_CHANNEL_ID =
+            ABSTRACT_EXPRESSION_CHANNEL_ID + AbstractExpression.values().length;
+    public static final int FIRST_EXTRA_CHANNEL_ID =
+            CONCRETE_EXPRESSION_CHANNEL_ID + ConcreteExpression.values().length;
+    private static final double[] NO_CHANNELS = new double[0];
+    private static final double MICROS_PER_SECOND = 1000000.0;
 
     private double interval;
-    private double timeStamp;
-    private HashMap<String, String> selectionFlagMap = new HashMap<String, String>();
-    private HashMap<String, Double> emotionMap = new HashMap<String, Double>();
-    private HashMap<String, Double> abstractExpressionMap = new HashMap<String, Double>();
-    private HashMap<String, Boolean> concreteExpressionMap = new HashMap<String, Boolean>();
+    private long timeStampMicros;
+    private long sequence;
+    private long sendTimeMicros;
+    private final String[] selectionFlags = new String[SelectedCriteria.values().length];
+    private final double[] emotions = new double[Emotion.values().length];
+    private final double[] abstractExpressions = new double[AbstractExpression.values().length];
+    private long concreteExpressions;
+    private double[] extraChannels = NO_CHANNELS;
+    private boolean frozen;
+
+    /**
+     * Creates an empty message
+     */
+    public MessageModel() {
+    }
+
+    /**
+     * Creates a copy of the passed message, so that the copy can be handed
+     * over to other threads while the original keeps changing
+     *
+     * @param messageModel message to be copied
+     */
+    public MessageModel(MessageModel messageModel) {
+        this.interval = messageModel.interval;
+        this.timeStampMicros = messageModel.timeStampMicros;
+        this.sequence = messageModel.sequence;
+        this.sendTimeMicros = messageModel.sendTimeMicros;
+        System.arraycopy(messageModel.selectionFlags, 0, this.selectionFlags, 0, selectionFlags.length);
+        System.arraycopy(messageModel.emotions, 0, this.emotions, 0, emotions.length);
+        System.arraycopy(messageModel.abstractExpressions, 0, this.abstractExpressions, 0,
+                abstractExpressions.length);
+        this.concreteExpressions = messageModel.concreteExpressions;
+        this.extraChannels = messageModel.extraChannels.length == 0 ? NO_CHANNELS
+                : messageModel.extraChannels.clone();
+    }
+
+    /**
+     * Method to make the message read only, before it is published to other
+     * threads. Any setter called afterwards throws an IllegalStateException.
+     * A copy of a frozen message is not frozen.
+     *
+     * @return this message
+     */
+    public MessageModel freeze() {
+        frozen = true;
+        return this;
+    }
 
+    /**
+     * @return true if the message is read only
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Throws if the message has been frozen
+     */
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("The message has been published and is read only");
+        }
+    }
 
     /**
      * @return the interval
@@ -32,31 +118,123 @@ public class MessageModel {
      * @param interval the interval to set
      */
     public void setInterval(double interval) {
+        checkNotFrozen();
         this.interval = interval;
     }
 
     /**
-     * @return the timeStamp
+     * @return the interval in whole microseconds
+     */
+    public long getIntervalMicros() {
+        return Math.round(interval * MICROS_PER_SECOND);
+    }
+
+    /**
+     * @return the timeStamp in seconds
      */
     public double getTimeStamp() {
-        return timeStamp;
+        return timeStampMicros / MICROS_PER_SECOND;
     }
 
     /**
-     * @param timeStamp the timeStamp to set
+     * @param timeStamp the timeStamp to set in seconds, rounded to the
+     *                  microsecond
      */
     public void setTimeStamp(double timeStamp) {
-        this.timeStamp = timeStamp;
+        checkNotFrozen();
+        this.timeStampMicros = Math.round(timeStamp * MICROS_PER_SECOND);
     }
 
     /**
-     * Adds the passed double value to the corresponding string in the hashmap
+     * The time stamp is kept in whole microseconds, so that advancing it by
+     * the interval tick after tick does not accumulate rounding errors
      *
-     * @param emotionKey key for the emotion type
+     * @return the timeStamp in microseconds
+     */
+    public long getTimeStampMicros() {
+        return timeStampMicros;
+    }
+
+    /**
+     * @param timeStampMicros the timeStamp to set in microseconds
+     */
+    public void setTimeStampMicros(long timeStampMicros) {
+        checkNotFrozen();
+        this.timeStampMicros = timeStampMicros;
+    }
+
+    /**
+     * The sequence number is given by the server to every frame it sends,
+     * starting from 1 and increasing by one per frame, so that the client can
+     * count the frames lost, repeated or received out of order
+     *
+     * @return the sequence number, 0 if the server did not number the frame
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @param sequence the sequence number to set
+     */
+    public void setSequence(long sequence) {
+        checkNotFrozen();
+        this.sequence = sequence;
+    }
+
+    /**
+     * The send time is read from the wall clock of the server when the frame
+     * is built, so that the client can measure the latency of the frame from
+     * the server to the screen
+     *
+     * @return the send time in microseconds since the epoch, 0 if unknown
+     */
+    public long getSendTimeMicros() {
+        return sendTimeMicros;
+    }
+
+    /**
+     * @param sendTimeMicros the send time to set in microseconds since the
+     *                       epoch
+     */
+    public void setSendTimeMicros(long sendTimeMicros) {
+        checkNotFrozen();
+        this.sendTimeMicros = sendTimeMicros;
+    }
+
+    /**
+     * Sets the value of the passed emotion
+     *
+     * @param emotion emotion to be set
+     * @param val     value for the emotion
+     */
+    public void setEmotion(Emotion emotion, double val) {
+        checkNotFrozen();
+        this.emotions[emotion.ordinal()] = val;
+    }
+
+    /**
+     * Returns the value of the passed emotion
+     *
+     * @param emotion emotion for which the value has to be received
+     * @return returns the value for the emotion
+     */
+    public double getEmotion(Emotion emotion) {
+        return this.emotions[emotion.ordinal()];
+    }
+
+    /**
+     * Adds the passed double value to the corresponding emotion. Unknown keys
+     * are ignored.
+     *
+     * @param emotionKey key for the emotion type, case insensitive
      * @param val        value for the emotion key
      */
     public void setEmotion(String emotionKey, Double val) {
-        this.emotionMap.put(emotionKey.toLowerCase(), val);
+        Emotion emotion = lookupEmotion(emotionKey);
+        if (emotion != null) {
+            setEmotion(emotion, val == null ? 0.0 : val);
+        }
     }
 
     /**
@@ -66,20 +244,43 @@ public class MessageModel {
      * @return returns the value for the respective emotion key
      */
     public double getEmotion(String emotionKey) {
-        if (emotionKey == null || this.emotionMap.get(emotionKey.toLowerCase()) == null) {
-            return 0.0;
-        }
-        return this.emotionMap.get(emotionKey.toLowerCase());
+        Emotion emotion = lookupEmotion(emotionKey);
+        return emotion == null ? 0.0 : getEmotion(emotion);
+    }
+
+    /**
+     * Sets the value of the passed abstract expression
+     *
+     * @param abstractExpression abstract expression to be set
+     * @param val                value for the abstract expression
+     */
+    public void setAbstractExpression(AbstractExpression abstractExpression, double val) {
+        checkNotFrozen();
+        this.abstractExpressions[abstractExpression.ordinal()] = val;
+    }
+
+    /**
+     * Returns the value of the passed abstract expression
+     *
+     * @param abstractExpression abstract expression for which the value has to be received
+     * @return returns the value for the abstract expression
+     */
+    public double getAbstractExpression(AbstractExpression abstractExpression) {
+        return this.abstractExpressions[abstractExpression.ordinal()];
     }
 
     /**
-     * Adds the passed double value to the corresponding string in the hashmap
+     * Adds the passed double value to the corresponding abstract expression.
+     * Unknown keys are ignored.
      *
      * @param abstractExpression key for the abstract expression type
      * @param val value for the abstract expression key
      */
     public void setAbstractExpression(String abstractExpression, Double val) {
-        this.abstractExpressionMap.put(abstractExpression, val);
+        AbstractExpression expression = lookup(abstractExpressionLookup, abstractExpression);
+        if (expression != null) {
+            setAbstractExpression(expression, val == null ? 0.0 : val);
+        }
     }
 
     /**
@@ -89,20 +290,47 @@ public class MessageModel {
      * @return returns the value for the respective abstract expression key
      */
     public double getAbstractExpression(String abstractExpression) {
-        if (abstractExpression == null || this.abstractExpressionMap.get(abstractExpression) == null) {
-            return 0.0;
+        AbstractExpression expression = lookup(abstractExpressionLookup, abstractExpression);
+        return expression == null ? 0.0 : getAbstractExpression(expression);
+    }
+
+    /**
+     * Sets the value of the passed concrete expression
+     *
+     * @param concreteExpression concrete expression to be set
+     * @param val                value for the concrete expression
+     */
+    public void setConcreteExpression(ConcreteExpression concreteExpression, boolean val) {
+        checkNotFrozen();
+        if (val) {
+            this.concreteExpressions |= 1L << concreteExpression.ordinal();
+        } else {
+            this.concreteExpressions &= ~(1L << concreteExpression.ordinal());
         }
-        return this.abstractExpressionMap.get(abstractExpression);
     }
 
     /**
-     * Adds the passed double value to the corresponding string in the hashmap
+     * Returns the value of the passed concrete expression
+     *
+     * @param concreteExpression concrete expression for which the value has to be received
+     * @return returns the value for the concrete expression
+     */
+    public boolean getConcreteExpression(ConcreteExpression concreteExpression) {
+        return (this.concreteExpressions & (1L << concreteExpression.ordinal())) != 0;
+    }
+
+    /**
+     * Adds the passed boolean value to the corresponding concrete expression.
+     * Unknown keys are ignored.
      *
      * @param concreteExpression key for the concrete expression type
      * @param val                value for the concrete expression key
      */
     public void setConcreteExpression(String concreteExpression, Boolean val) {
-        this.concreteExpressionMap.put(concreteExpression, val);
+        ConcreteExpression expression = lookup(concreteExpressionLookup, concreteExpression);
+        if (expression != null) {
+            setConcreteExpression(expression, val != null && val);
+        }
     }
 
     /**
@@ -112,10 +340,51 @@ public class MessageModel {
      * @return returns the value for the respective concrete expression key
      */
     public Boolean getConcreteExpression(String concreteExpression) {
-        if (concreteExpression == null || this.concreteExpressionMap.get(concreteExpression) == null) {
-            return false;
-        }
-        return this.concreteExpressionMap.get(concreteExpression);
+        ConcreteExpression expression = lookup(concreteExpressionLookup, concreteExpression);
+        return expression != null && getConcreteExpression(expression);
+    }
+
+    /**
+     * Returns all the concrete expressions as a bitset, bit i being the
+     * concrete expression with ordinal i
+     *
+     * @return the concrete expressions bitset
+     */
+    public long getConcreteExpressionBits() {
+        return concreteExpressions;
+    }
+
+    /**
+     * Sets all the concrete expressions from a bitset, bit i being the
+     * concrete expression with ordinal i
+     *
+     * @param concreteExpressionBits the concrete expressions bitset to set
+     */
+    public void setConcreteExpressionBits(long concreteExpressionBits) {
+        checkNotFrozen();
+        this.concreteExpressions = concreteExpressionBits;
+    }
+
+    /**
+     * Returns the value of the passed selection flag
+     *
+     * @param selectedCriteria selection flag for which the value has to be received
+     * @return returns the value, or an empty string if it is not set
+     */
+    public String getSelectionFlag(SelectedCriteria selectedCriteria) {
+        String selectionValue = this.selectionFlags[selectedCriteria.ordinal()];
+        return selectionValue == null ? "" : selectionValue;
+    }
+
+    /**
+     * Sets the value of the passed selection flag
+     *
+     * @param selectedCriteria selection flag to be set
+     * @param selectionValue   value of the selection flag
+     */
+    public void setSelectionFlag(SelectedCriteria selectedCriteria, String selectionValue) {
+        checkNotFrozen();
+        this.selectionFlags[selectedCriteria.ordinal()] = selectionValue;
     }
 
     /**
@@ -125,22 +394,91 @@ public class MessageModel {
      * @return returns the value for the respective concrete expression key
      */
     public String getSelectionFlag(String selectionFlag) {
-        if (selectionFlag == null || this.selectionFlagMap.get(selectionFlag) == null) {
-            return "";
-        }
-        return this.selectionFlagMap.get(selectionFlag);
+        SelectedCriteria selectedCriteria = lookup(selectionLookup, selectionFlag);
+        return selectedCriteria == null ? "" : getSelectionFlag(selectedCriteria);
     }
 
     /**
      * Maps the value for the respective key for which the upper, lower and eye
-     * has been currently selected
+     * has been currently selected. Unknown keys are ignored.
      *
      * @param selectionKey   key for which the value has to be set
      * @param selectionValue Value of the corresponding key
      */
     public void setSelectionFlag(String selectionKey, String selectionValue) {
-        selectionValue = selectionValue.replaceAll("\"", "");
-        this.selectionFlagMap.put(selectionKey, selectionValue);
+        SelectedCriteria selectedCriteria = lookup(selectionLookup, selectionKey);
+        if (selectedCriteria == null) {
+            return;
+        }
+        int length = selectionValue.length();
+        if (length >= 2 && selectionValue.charAt(0) == '"' && selectionValue.charAt(length - 1) == '"') {
+            selectionValue = selectionValue.substring(1, length - 1);
+        }
+        setSelectionFlag(selectedCriteria, selectionValue);
+    }
+
+    /**
+     * Returns the value of the channel with the passed id. A concrete
+     * expression is 1 when set and 0 otherwise.
+     *
+     * @param channelId id of the channel in the schema
+     * @return the value of the channel, 0 if it has not been set
+     */
+    public double getChannelValue(int channelId) {
+        if (channelId < ABSTRACT_EXPRESSION_CHANNEL_ID) {
+            return emotions[channelId - EMOTION_CHANNEL_ID];
+        } else if (channelId < CONCRETE_EXPRESSION_CHANNEL_ID) {
+            return abstractExpressions[channelId - ABSTRACT_EXPRESSION_CHANNEL_ID];
+        } else if (channelId < FIRST_EXTRA_CHANNEL_ID) {
+            return (concreteExpressions >>> (channelId - CONCRETE_EXPRESSION_CHANNEL_ID) & 1L) == 0 ? 0.0 : 1.0;
+        }
+        int index = channelId - FIRST_EXTRA_CHANNEL_ID;
+        return index < extraChannels.length ? extraChannels[index] : 0.0;
+    }
+
+    /**
+     * Sets the value of the channel with the passed id. A concrete expression
+     * is set by any value other than 0.
+     *
+     * @param channelId id of the channel in the schema
+     * @param val       value of the channel
+     */
+    public void setChannelValue(int channelId, double val) {
+        checkNotFrozen();
+        if (channelId < ABSTRACT_EXPRESSION_CHANNEL_ID) {
+            emotions[channelId - EMOTION_CHANNEL_ID] = val;
+        } else if (channelId < CONCRETE_EXPRESSION_CHANNEL_ID) {
+            abstractExpressions[channelId - ABSTRACT_EXPRESSION_CHANNEL_ID] = val;
+        } else if (channelId < FIRST_EXTRA_CHANNEL_ID) {
+            setConcreteExpression(ConcreteExpression.values()[channelId - CONCRETE_EXPRESSION_CHANNEL_ID], val != 0);
+        } else {
+            int index = channelId - FIRST_EXTRA_CHANNEL_ID;
+            if (index >= extraChannels.length) {
+                extraChannels = Arrays.copyOf(extraChannels, index + 1);
+            }
+            extraChannels[index] = val;
+        }
+    }
+
+    /**
+     * Returns the number of channels following the channels of the enums
+     * which are carried by this message, so that the channels with ids
+     * {@link #FIRST_EXTRA_CHANNEL_ID} up to this count are sent
+     *
+     * @return number of extra channels
+     */
+    public int getExtraChannelCount() {
+        return extraChannels.length;
+    }
+
+    /**
+     * Returns this message as the only message of the frame
+     *
+     * @return list containing this message
+     */
+    @Override
+    public List<MessageModel> getMessages() {
+        return Collections.singletonList(this);
     }
 
     /**
@@ -151,23 +489,68 @@ public class MessageModel {
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
-        builder.append("MessageModel [timeStamp=").append(timeStamp);
+        builder.append("MessageModel [timeStamp=").append(getTimeStamp());
         builder.append(", interval=").append(interval);
+        builder.append(", sequence=").append(sequence);
+        builder.append(", sendTime=").append(sendTimeMicros);
         for (SelectedCriteria selectionflag : SelectedCriteria.values()) {
-            builder.append(", " + selectionflag.name() + "=").append(this.selectionFlagMap.get(selectionflag.name()));
+            builder.append(", ").append(selectionflag.name()).append("=").append(getSelectionFlag(selectionflag));
         }
         for (Emotion em : Emotion.values()) {
-            builder.append(", " + em.name() + "=").append(this.emotionMap.get(em.name()));
+            builder.append(", ").append(em.name()).append("=").append(getEmotion(em));
         }
         for (AbstractExpression exp : AbstractExpression.values()) {
-            builder.append(", " + exp.name() + "=").append(this.abstractExpressionMap.get(exp.name()));
+            builder.append(", ").append(exp.name()).append("=").append(getAbstractExpression(exp));
         }
         for (ConcreteExpression exp : ConcreteExpression.values()) {
-            builder.append(", " + exp.name() + "=").append(this.concreteExpressionMap.get(exp.name()));
+            builder.append(", ").append(exp.name()).append("=").append(getConcreteExpression(exp));
+        }
+        for (int i = 0; i < extraChannels.length; i++) {
+            builder.append(", channel").append(FIRST_EXTRA_CHANNEL_ID + i).append("=").append(extraChannels[i]);
         }
         return builder.toString();
     }
 
+    /**
+     * Returns the emotion for the passed key, trying the key as it is first,
+     * and lower cased if it does not match
+     *
+     * @param emotionKey key for the emotion type
+     * @return the emotion, or null if there is no such emotion
+     */
+    public static Emotion lookupEmotion(String emotionKey) {
+        if (emotionKey == null) {
+            return null;
+        }
+        Emotion emotion = emotionLookup.get(emotionKey);
+        return emotion != null ? emotion : emotionLookup.get(emotionKey.toLowerCase());
+    }
+
+    /**
+     * Returns the enum constant mapped to the passed key
+     *
+     * @param lookup map from the names to the constants of an enum
+     * @param key    name of the constant
+     * @return the constant, or null if there is no such constant
+     */
+    private static <E extends Enum<E>> E lookup(Map<String, E> lookup, String key) {
+        return key == null ? null : lookup.get(key);
+    }
+
+    /**
+     * Creates a map from the names to the constants of an enum
+     *
+     * @param values constants of the enum
+     * @return the map
+     */
+    private static <E extends Enum<E>> Map<String, E> createLookup(E[] values) {
+        Map<String, E> lookup = new HashMap<String, E>();
+        for (E value : values) {
+            lookup.put(value.name(), value);
+        }
+        return lookup;
+    }
+
     /**
      * Enum to standardize the kind of emotion
      */
@@ -1,24 +1,66 @@
 package ser516.project3.model;
 
-import java.util.ArrayList;
-import java.util.Observable;
+import org.apache.log4j.Logger;
+import ser516.project3.constants.ClientConstants;
+import ser516.project3.utilities.ChannelHistory;
+import ser516.project3.utilities.EventBus;
+import ser516.project3.utilities.EventTopic;
+import ser516.project3.utilities.HistoryPager;
+import ser516.project3.utilities.MessageFormatConverter;
+import ser516.project3.utilities.SegmentStore;
+
+import java.io.IOException;
+import java.util.List;
 
 /**
- * This class holds the data for performance metrics and notifies the observer
- * that shows emotions (performance metrics)
+ * This class holds the data for performance metrics and publishes it to the listener
+ * that shows emotions (performance metrics). The data is kept in a bounded
+ * {@link ChannelHistory}, so it does not grow with the length of the session.
+ * When the store of the client is enabled, the whole session is also written
+ * to a {@link SegmentStore}, from which the windows longer than the history
+ * are paged in.
  *
  * @author Manish Tandon
  */
-public class PerformanceMetricDataObservable extends Observable {
+public class PerformanceMetricDataObservable {
+    public final static EventTopic<PerformanceMetricDataObservable> TOPIC = EventTopic.coalescing("performanceMetrics");
+
+    final static Logger logger = Logger.getLogger(PerformanceMetricDataObservable.class);
+
     private static PerformanceMetricDataObservable instance;
-    private ArrayList<ArrayList<CoordinatesModel>> performanceMetricData;
+    private volatile ChannelHistory performanceMetricData;
+    private SegmentStore store;
+    private volatile HistoryPager pager;
+    private double[] values = new double[0];
 
     private PerformanceMetricDataObservable() {
-        performanceMetricData = new ArrayList<ArrayList<CoordinatesModel>>();
     }
 
-    public ArrayList<ArrayList<CoordinatesModel>> getPerformanceMetricData() {
-        return performanceMetricData;
+    /**
+     * Returns a view of the data retained, which the user interface can read
+     * without copying it while new data is received
+     *
+     * @return window over the data received from the server, oldest first,
+     * or null if no data was received
+     */
+    public ChannelHistory.Window getPerformanceMetricData() {
+        ChannelHistory history = performanceMetricData;
+        return history == null ? null : history.window();
+    }
+
+    /**
+     * Returns a view of the data of a window of time, paged in from the store
+     * when it reaches further back than the data retained. To be called by the
+     * user interface only.
+     *
+     * @param from time stamp of the start of the window
+     * @param to   time stamp of the end of the window
+     * @return window over the data received from the server, oldest first,
+     * or null if no data was received
+     */
+    public ChannelHistory.Window getPerformanceMetricData(double from, double to) {
+        HistoryPager historyPager = pager;
+        return historyPager == null ? null : historyPager.window(from, to);
     }
 
     /**
@@ -42,15 +84,43 @@ public class PerformanceMetricDataObservable extends Observable {
     }
 
     /**
-     * On receiving of new data from server, this method inserts them to the common
-     * list and notifies the observers
+     * On receiving of a batch of messages from server, this method appends
+     * their values to the history and publishes the change on {@link #TOPIC},
+     * which is delivered once per display frame, whatever the number of
+     * values added in between. The values of a batch are committed to the
+     * store together. The history and the store are created again when the
+     * number of channels of the schema changes.
      *
-     * @param valueToBeAdded - the new value received from server.
+     * @param messages - the new messages received from server, oldest first.
      */
-    public void addToListValues(ArrayList<CoordinatesModel> valueToBeAdded) {
-        this.performanceMetricData.add(valueToBeAdded);
-        setChanged();
-        this.notifyObservers();
+    public synchronized void addMessages(List<MessageModel> messages) {
+        int channelCount = MessageFormatConverter.getPerformanceMetricChannels().size();
+        ChannelHistory history = performanceMetricData;
+        if (history == null || history.getChannelCount() != channelCount) {
+            history = ChannelHistory.createGraphHistory(channelCount);
+            if (store != null) {
+                store.close();
+            }
+            store = SegmentStore.createGraphStore(ClientConstants.PERFORMANCE_METRICS_STORE, channelCount);
+            values = new double[channelCount];
+            pager = new HistoryPager(history, store);
+            performanceMetricData = history;
+        }
+        for (MessageModel message : messages) {
+            MessageFormatConverter.convertMessageToPeformanceMetrics(message, values);
+            history.append(message.getTimeStamp(), values);
+            if (store != null) {
+                try {
+                    store.append(message.getTimeStamp(), values);
+                } catch (IOException e) {
+                    logger.error(ClientConstants.ERROR_STORE + e.getMessage());
+                    store = null;
+                }
+            }
+        }
+        if (store != null) {
+            store.commit();
+        }
+        EventBus.getInstance().publish(TOPIC, this);
     }
-
 }
@@ -0,0 +1,84 @@
+package ser516.project3.model;
+
+import ser516.project3.interfaces.FrameInterface;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SampleBlockModel is a data model class for a block of consecutive raw
+ * samples of several channels, such as the electrodes of the EEG headset.
+ * The samples are kept interleaved, all the channels of the first sample
+ * followed by all the channels of the second sample and so on. Every sample
+ * carries its index since the start of the stream, so that the client can
+ * find out about missing blocks.
+ *
+ * @author vsriva12
+ */
+public class SampleBlockModel implements FrameInterface {
+
+    private final long firstSampleIndex;
+    private final int sampleRate;
+    private final int[] channelIds;
+    private final float[] samples;
+
+    /**
+     * Creates a block of samples
+     *
+     * @param firstSampleIndex index of the first sample of the block in the stream
+     * @param sampleRate       number of samples per second
+     * @param channelIds       ids of the channels in the channel schema
+     * @param samples          interleaved samples, a multiple of the number of channels
+     */
+    public SampleBlockModel(long firstSampleIndex, int sampleRate, int[] channelIds, float[] samples) {
+        this.firstSampleIndex = firstSampleIndex;
+        this.sampleRate = sampleRate;
+        this.channelIds = channelIds;
+        this.samples = samples;
+    }
+
+    /**
+     * @return index of the first sample of the block in the stream
+     */
+    public long getFirstSampleIndex() {
+        return firstSampleIndex;
+    }
+
+    /**
+     * @return number of samples per second
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * @return ids of the channels in the channel schema
+     */
+    public int[] getChannelIds() {
+        return channelIds;
+    }
+
+    /**
+     * @return interleaved samples of all the channels
+     */
+    public float[] getSamples() {
+        return samples;
+    }
+
+    /**
+     * @return number of samples of every channel in the block
+     */
+    public int getSampleCount() {
+        return channelIds.length == 0 ? 0 : samples.length / channelIds.length;
+    }
+
+    /**
+     * The raw samples are not summary messages
+     *
+     * @return empty list
+     */
+    @Override
+    public List<MessageModel> getMessages() {
+        return Collections.emptyList();
+    }
+}
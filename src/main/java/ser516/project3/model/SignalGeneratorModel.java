@@ -0,0 +1,323 @@
+package ser516.project3.model;
+
+/**
+ * SignalGeneratorModel is an immutable data model class for the function
+ * which computes the value of a channel on every tick. It is written as the
+ * name of the generator, optionally followed by a colon and a comma separated
+ * list of parameters, for example {@code sine:frequency=0.5,amplitude=0.3}.
+ * The levels of the steps and markov generators are separated by slashes, for
+ * example {@code steps:levels=0.2/0.8,duration=5}. The parameters which are
+ * not given keep their default values.
+ *
+ * @author vsriva12
+ */
+public class SignalGeneratorModel {
+
+    /**
+     * Enum of the generators, each with the name it is written with
+     */
+    public enum Type {
+        MANUAL("manual"), SINE("sine"), RANDOM_WALK("walk"), PINK_NOISE("pink"), STEPS("steps"),
+        MARKOV("markov");
+
+        private final String specName;
+
+        Type(String specName) {
+            this.specName = specName;
+        }
+
+        /**
+         * @return the name the generator is written with
+         */
+        public String getSpecName() {
+            return specName;
+        }
+
+        /**
+         * Returns the generator written with the passed name
+         *
+         * @param specName name of the generator
+         * @return the generator
+         * @throws IllegalArgumentException if there is no such generator
+         */
+        public static Type fromSpecName(String specName) {
+            for (Type type : values()) {
+                if (type.specName.equalsIgnoreCase(specName)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown generator " + specName);
+        }
+    }
+
+    public static final SignalGeneratorModel MANUAL = new SignalGeneratorModel(Type.MANUAL);
+
+    private static final String TYPE_SEPARATOR = ":";
+    private static final String PARAMETER_SEPARATOR = ",";
+    private static final String VALUE_SEPARATOR = "=";
+    private static final String LEVEL_SEPARATOR = "/";
+
+    private final Type type;
+    private double offset = 0.5;
+    private double amplitude = 0.4;
+    private double frequency = 0.1;
+    private double phase = 0;
+    private double step = 0.1;
+    private double duration = 5;
+    private double rate = 0.2;
+    private double noise = 0.02;
+    private double smoothing = 1;
+    private double[] levels;
+
+    /**
+     * Creates a generator with the default parameters
+     *
+     * @param type the generator
+     */
+    public SignalGeneratorModel(Type type) {
+        this.type = type;
+        levels = type == Type.STEPS ? new double[]{0.2, 0.8} : new double[]{0.2, 0.5, 0.8};
+    }
+
+    /**
+     * Method to read a generator from the way it is written
+     *
+     * @param spec the generator, such as {@code walk:step=0.05}
+     * @return the generator
+     * @throws IllegalArgumentException if the generator or one of its
+     *                                  parameters is unknown or invalid
+     */
+    public static SignalGeneratorModel parse(String spec) {
+        String[] typeAndParameters = spec.trim().split(TYPE_SEPARATOR, 2);
+        SignalGeneratorModel generator = new SignalGeneratorModel(Type.fromSpecName(typeAndParameters[0].trim()));
+        if (typeAndParameters.length > 1 && !typeAndParameters[1].trim().isEmpty()) {
+            for (String parameter : typeAndParameters[1].split(PARAMETER_SEPARATOR)) {
+                String[] nameAndValue = parameter.split(VALUE_SEPARATOR, 2);
+                if (nameAndValue.length != 2) {
+                    throw new IllegalArgumentException("Invalid parameter " + parameter);
+                }
+                generator.setParameter(nameAndValue[0].trim(), nameAndValue[1].trim());
+            }
+        }
+        return generator;
+    }
+
+    /**
+     * Method to set one parameter from its written value
+     *
+     * @param name  name of the parameter
+     * @param value value of the parameter
+     */
+    private void setParameter(String name, String value) {
+        try {
+            switch (name) {
+                case "offset":
+                    offset = Double.parseDouble(value);
+                    break;
+                case "amplitude":
+                    amplitude = Double.parseDouble(value);
+                    break;
+                case "frequency":
+                    frequency = Double.parseDouble(value);
+                    break;
+                case "phase":
+                    phase = Double.parseDouble(value);
+                    break;
+                case "step":
+                    step = Double.parseDouble(value);
+                    break;
+                case "duration":
+                    duration = Double.parseDouble(value);
+                    if (!(duration > 0)) {
+                        throw new IllegalArgumentException("Invalid duration " + value);
+                    }
+                    break;
+                case "rate":
+                    rate = Double.parseDouble(value);
+                    break;
+                case "noise":
+                    noise = Double.parseDouble(value);
+                    break;
+                case "smoothing":
+                    smoothing = Double.parseDouble(value);
+                    break;
+                case "levels":
+                    String[] levelValues = value.split(LEVEL_SEPARATOR);
+                    levels = new double[levelValues.length];
+                    for (int i = 0; i < levelValues.length; i++) {
+                        levels[i] = Double.parseDouble(levelValues[i].trim());
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown parameter " + name);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value of " + name + ": " + value);
+        }
+    }
+
+    /**
+     * @return the generator
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the value the sine, pink noise and random walk start from or
+     * oscillate around
+     */
+    public double getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the amplitude of the sine and the pink noise
+     */
+    public double getAmplitude() {
+        return amplitude;
+    }
+
+    /**
+     * @return the frequency of the sine in hertz
+     */
+    public double getFrequency() {
+        return frequency;
+    }
+
+    /**
+     * @return the phase of the sine in radians
+     */
+    public double getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return the largest change of the random walk over one second
+     */
+    public double getStep() {
+        return step;
+    }
+
+    /**
+     * @return the number of seconds each level of the steps is held
+     */
+    public double getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return the number of mood changes per second of the markov model
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    /**
+     * @return the amplitude of the noise around the level of the markov model
+     */
+    public double getNoise() {
+        return noise;
+    }
+
+    /**
+     * @return the number of seconds the markov model takes to reach a new
+     * level
+     */
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    /**
+     * @return a copy of the levels of the steps and the markov model
+     */
+    public double[] getLevels() {
+        return levels.clone();
+    }
+
+    /**
+     * @return the number of levels of the steps and the markov model
+     */
+    public int getLevelCount() {
+        return levels.length;
+    }
+
+    /**
+     * Returns one level of the steps or the markov model
+     *
+     * @param index index of the level
+     * @return the level
+     */
+    public double getLevel(int index) {
+        return levels[index];
+    }
+
+    /**
+     * Overridden method to write the generator the way it is parsed
+     *
+     * @return returns the string conversion of the class
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(type.specName);
+        switch (type) {
+            case SINE:
+                builder.append(TYPE_SEPARATOR).append("offset=").append(offset).append(",amplitude=")
+                        .append(amplitude).append(",frequency=").append(frequency).append(",phase=").append(phase);
+                break;
+            case RANDOM_WALK:
+                builder.append(TYPE_SEPARATOR).append("offset=").append(offset).append(",step=").append(step);
+                break;
+            case PINK_NOISE:
+                builder.append(TYPE_SEPARATOR).append("offset=").append(offset).append(",amplitude=")
+                        .append(amplitude);
+                break;
+            case STEPS:
+                builder.append(TYPE_SEPARATOR).append("levels=").append(formatLevels()).append(",duration=")
+                        .append(duration);
+                break;
+            case MARKOV:
+                builder.append(TYPE_SEPARATOR).append("levels=").append(formatLevels()).append(",rate=").append(rate)
+                        .append(",noise=").append(noise).append(",smoothing=").append(smoothing);
+                break;
+            default:
+                break;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Method to write the levels separated by slashes
+     *
+     * @return the written levels
+     */
+    private String formatLevels() {
+        StringBuilder builder = new StringBuilder();
+        for (double level : levels) {
+            if (builder.length() > 0) {
+                builder.append(LEVEL_SEPARATOR);
+            }
+            builder.append(level);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Two generators are equal when they are written the same way
+     *
+     * @param o object to compare with
+     * @return true if the generators are equal
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SignalGeneratorModel && toString().equals(o.toString());
+    }
+
+    /**
+     * @return hash code of the written generator
+     */
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+}
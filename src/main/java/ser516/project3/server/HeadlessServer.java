@@ -0,0 +1,90 @@
+package ser516.project3.server;
+
+import org.apache.log4j.Logger;
+import ser516.project3.constants.ServerConstants;
+import ser516.project3.server.helper.HeadlessServerConfiguration;
+import ser516.project3.server.helper.HeadlessServerHost;
+import ser516.project3.server.helper.MessageBroadcaster;
+import ser516.project3.server.helper.ServerContainerThread;
+import ser516.project3.utilities.ServerCommonData;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Main class to run the server without its UI, for example to drive it from
+ * soak tests on a machine without a display. No Swing component is created:
+ * the frames are sent on every tick from the start, and the console messages
+ * and statistics are written to the log. The static profile sends the
+ * message as it is, the eeg profile adds the raw EEG stream, and the
+ * procedural profile computes the emotions as well, for every simulated
+ * subject when more than one is set. The server runs until the JVM is
+ * stopped.
+ *
+ * @author vsriva12
+ */
+public class HeadlessServer {
+    final static Logger logger = Logger.getLogger(HeadlessServer.class);
+
+    public static void main(String[] args) {
+        if (System.getProperty(ServerConstants.HEADLESS_PROPERTY) == null) {
+            System.setProperty(ServerConstants.HEADLESS_PROPERTY, Boolean.TRUE.toString());
+        }
+        if (Arrays.asList(args).contains(ServerConstants.HELP_ARGUMENT)) {
+            System.out.println(ServerConstants.HEADLESS_USAGE);
+            return;
+        }
+        final HeadlessServerConfiguration configuration;
+        try {
+            configuration = HeadlessServerConfiguration.fromArguments(args);
+        } catch (IllegalArgumentException | IOException e) {
+            logger.error(ServerConstants.ERROR_CONFIG + e.getMessage());
+            System.err.println(ServerConstants.HEADLESS_USAGE);
+            System.exit(2);
+            return;
+        }
+        final ServerContainerThread containerThread = start(configuration);
+        final Thread thread = containerThread.getThread();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            logger.info(ServerConstants.HEADLESS_STOPPING);
+            containerThread.stop();
+            try {
+                thread.join(ServerConstants.SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, ServerConstants.SHUTDOWN_THREAD_NAME));
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            containerThread.stop();
+        }
+    }
+
+    /**
+     * Method to start the headless server in its own thread, from the main
+     * method or from a tool running the server in process, such as the
+     * load generator
+     *
+     * @param configuration configuration of the server
+     * @return the thread of the server container, which is already started
+     */
+    public static ServerContainerThread start(final HeadlessServerConfiguration configuration) {
+        configuration.applySystemProperties();
+
+        MessageBroadcaster broadcaster = MessageBroadcaster.getInstance();
+        broadcaster.setMaxSessions(configuration.getMaxSessions());
+        ServerCommonData.getInstance().updateMessage(message -> message.setInterval(configuration.getInterval()));
+        boolean procedural = ServerConstants.PROFILE_PROCEDURAL.equals(configuration.getProfile());
+        if (procedural && System.getProperty(ServerConstants.GENERATORS_PROPERTY) == null) {
+            broadcaster.configureGenerators(ServerConstants.PROCEDURAL_GENERATORS);
+        }
+
+        ServerContainerThread containerThread = new ServerContainerThread(new HeadlessServerHost(),
+                configuration.getBindAddress(), configuration.getPort(),
+                procedural || ServerConstants.PROFILE_EEG.equals(configuration.getProfile()));
+        logger.info(ServerConstants.HEADLESS_STARTED + configuration);
+        containerThread.start();
+        return containerThread;
+    }
+}
@@ -3,17 +3,26 @@ package ser516.project3.server.controller;
 import ser516.project3.constants.ServerConstants;
 import ser516.project3.interfaces.ControllerInterface;
 import ser516.project3.model.EmotionsModel;
+import ser516.project3.model.MessageModel;
+import ser516.project3.model.MessageModel.Emotion;
+import ser516.project3.model.SignalGeneratorModel;
+import ser516.project3.server.helper.MessageBroadcaster;
+import ser516.project3.server.helper.SignalGeneratorEngine;
 import ser516.project3.server.view.EmotionsView;
 import ser516.project3.utilities.ServerCommonData;
 
 import javax.swing.*;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 
 /**
  * Class that helps communicate between EmotionsView and EmotionsModel.
  * The controller can receive and update data from the EmotionsView,
- * and use this data to update the EmotionsModel.
+ * and use this data to update the EmotionsModel. The emotions which have a
+ * generator selected are computed by the {@link MessageBroadcaster} on every
+ * tick instead of taking the value of their spinner.
  *
  * @author Adhiraj Tikku
  */
@@ -42,6 +51,7 @@ public class EmotionsController implements ControllerInterface {
         for (int i = 0; i < 6; i++) {
             emotionsView.addSpinnerListener(new SpinnerChangeListener());
         }
+        emotionsView.addGeneratorListener(new GeneratorActionListener());
     }
 
     /**
@@ -92,8 +102,46 @@ public class EmotionsController implements ControllerInterface {
                     emotionsModel.setFocus((double) source.getValue());
                     break;
             }
-            ServerCommonData.getInstance().getMessage().setEmotion(source.getName(),
-                    (Double) source.getValue());
+            final Double value = (Double) source.getValue();
+            ServerCommonData.getInstance().updateMessage(message -> message.setEmotion(source.getName(), value));
+        }
+    }
+
+    /**
+     * Inner class to add action listeners to the generator components
+     * in the emotions panel. An invalid generator is reported on the console
+     * and the previous one is shown again.
+     */
+    class GeneratorActionListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            JComboBox<?> source = (JComboBox<?>) e.getSource();
+            Emotion emotion = MessageModel.lookupEmotion(source.getName());
+            Object selectedItem = source.getSelectedItem();
+            if (emotion == null || selectedItem == null) {
+                return;
+            }
+            SignalGeneratorEngine generators = MessageBroadcaster.getInstance().getEmotionGenerators();
+            SignalGeneratorModel previousGenerator = generators.getGenerator(emotion.ordinal());
+            SignalGeneratorModel generator;
+            try {
+                generator = SignalGeneratorModel.parse(selectedItem.toString());
+            } catch (IllegalArgumentException exception) {
+                ServerController.getInstance().getConsoleController().getConsoleModel().
+                        logMessage(ServerConstants.ERROR_GENERATOR + exception.getMessage());
+                emotionsView.setGenerator(source.getName(), previousGenerator.toString());
+                return;
+            }
+            if (generator.equals(previousGenerator)) {
+                return;
+            }
+            generators.configure(emotion.ordinal(), generator);
+            if (generator.getType() == SignalGeneratorModel.Type.MANUAL) {
+                final double value = emotionsView.getSpinnerValue(source.getName());
+                ServerCommonData.getInstance().updateMessage(message -> message.setEmotion(emotion, value));
+            }
+            ServerController.getInstance().getConsoleController().getConsoleModel().
+                    logMessage(ServerConstants.GENERATOR_SELECTED + source.getName() + ": " + generator);
         }
     }
 }
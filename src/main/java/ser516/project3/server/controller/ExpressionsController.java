@@ -2,9 +2,12 @@ package ser516.project3.server.controller;
 
 import ser516.project3.constants.ServerConstants;
 import ser516.project3.interfaces.ControllerInterface;
+import ser516.project3.model.ExpressionTimelineModel;
 import ser516.project3.model.ExpressionsModel;
 import ser516.project3.model.MessageModel;
+import ser516.project3.server.helper.MessageBroadcaster;
 import ser516.project3.server.view.ExpressionsView;
+import ser516.project3.utilities.ChannelSchemaRegistry;
 import ser516.project3.utilities.ServerCommonData;
 
 import javax.swing.*;
@@ -14,13 +17,14 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.ItemEvent;
 import java.awt.event.ItemListener;
-
-import static java.lang.Thread.sleep;
+import java.io.IOException;
 
 /**
  * Class that helps communicate between ExpressionsView and ExpressionsModel.
  * The controller can receive and update data from the ExpressionsView,
- * and use this data to update the ExpressionsModel.
+ * and use this data to update the ExpressionsModel. A timeline of
+ * expressions can also be loaded from a file, to be played in a loop by the
+ * {@link MessageBroadcaster}.
  *
  * @author Adhiraj Tikku
  */
@@ -54,6 +58,9 @@ public class ExpressionsController implements ControllerInterface {
         expressionsView.addActivateToggleButtonItemListener(new ActivateToggleButtonItemListener());
         expressionsView.addActivateButtonListener(new ActivateButtonChangeListener());
         expressionsView.addEyeCheckBoxListener(new EyeCheckBoxListener());
+        expressionsView.addTimelineButtonListener(new TimelineButtonListener());
+        ExpressionTimelineModel timeline = MessageBroadcaster.getInstance().getTimeline();
+        expressionsView.updateTimeline(timeline == null ? null : timeline.getName());
     }
 
     /**
@@ -155,7 +162,9 @@ public class ExpressionsController implements ControllerInterface {
     }
 
     /**
-     * Listener for activate button.
+     * Listener for activate button. Pressing it pulses the eye expression
+     * for the configured number of frames, after which the broadcaster resets
+     * it on its own.
      */
     private class ActivateButtonChangeListener implements ChangeListener {
         private boolean pressed = false;
@@ -163,19 +172,16 @@ public class ExpressionsController implements ControllerInterface {
         @Override
         public void stateChanged(ChangeEvent e) {
             ButtonModel model = (ButtonModel) e.getSource();
-            if (model.isPressed() != pressed) {
-                expressionsModel.setEyeValue(true);
-                try {
-                    sleep((long) ServerController.getInstance().getTopController().getTopModel().getInterval() * 1000);
-                } catch (InterruptedException ex) {
-                    ex.printStackTrace();
-                }
-                updateEye(expressionsModel.getEyeItem(), expressionsModel.isEyeValue());
-                pressed = model.isPressed();
-            } else {
+            if (model.isPressed() && !pressed) {
                 expressionsModel.setEyeValue(false);
                 updateEye(expressionsModel.getEyeItem(), expressionsModel.isEyeValue());
+                MessageModel.ConcreteExpression expression = getConcreteExpression(expressionsModel.getEyeItem());
+                if (expression != null) {
+                    MessageBroadcaster.getInstance().getPulseScheduler().pulse(expression, Integer.getInteger(
+                            ServerConstants.PULSE_FRAMES_PROPERTY, ServerConstants.DEFAULT_PULSE_FRAMES));
+                }
             }
+            pressed = model.isPressed();
         }
     }
 
@@ -192,6 +198,40 @@ public class ExpressionsController implements ControllerInterface {
         }
     }
 
+    /**
+     * Inner class to add action listener to the timeline button in the
+     * expressions panel, which stops the timeline being played, or else
+     * loads a timeline chosen from a file
+     */
+    class TimelineButtonListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            MessageBroadcaster broadcaster = MessageBroadcaster.getInstance();
+            if (broadcaster.getTimeline() != null) {
+                broadcaster.setTimeline(null);
+                expressionsView.updateTimeline(null);
+                ServerController.getInstance().getConsoleController().getConsoleModel().
+                        logMessage(ServerConstants.TIMELINE_STOPPED);
+                return;
+            }
+            JFileChooser fileChooser = new JFileChooser();
+            if (fileChooser.showOpenDialog(expressionsView) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            try {
+                ExpressionTimelineModel timeline = ExpressionTimelineModel.load(
+                        fileChooser.getSelectedFile().toPath(), ChannelSchemaRegistry.getInstance()::getChannelId);
+                broadcaster.setTimeline(timeline);
+                expressionsView.updateTimeline(timeline.getName());
+                ServerController.getInstance().getConsoleController().getConsoleModel().
+                        logMessage(ServerConstants.TIMELINE_LOADED + timeline.getName());
+            } catch (IOException | IllegalArgumentException exception) {
+                ServerController.getInstance().getConsoleController().getConsoleModel().
+                        logMessage(ServerConstants.ERROR_TIMELINE + exception.getMessage());
+            }
+        }
+    }
+
     /**
      * Method to update the lower face attributes based on the values
      * set for each lower face expression in the expression panel
@@ -200,39 +240,40 @@ public class ExpressionsController implements ControllerInterface {
      * @param lowerFaceVal       value set for a particular expression
      */
     private static void updateLowerFace(String lowerFaceAttribute, Double lowerFaceVal) {
-        ServerCommonData.getInstance().getMessage().setAbstractExpression(
-                MessageModel.AbstractExpression.smile.name(),
-                lowerFaceAttribute.equals(ServerConstants.SMILE) ? lowerFaceVal : 0.0);
-        ServerCommonData.getInstance().getMessage().setAbstractExpression(
-                MessageModel.AbstractExpression.clench.name(),
-                lowerFaceAttribute.equals(ServerConstants.CLENCH) ? lowerFaceVal : 0.0);
-        ServerCommonData.getInstance().getMessage().setAbstractExpression(
-                MessageModel.AbstractExpression.leftSmirk.name(),
-                lowerFaceAttribute.equals(ServerConstants.SMIRK_LEFT) ? lowerFaceVal : 0.0);
-        ServerCommonData.getInstance().getMessage().setAbstractExpression(
-                MessageModel.AbstractExpression.rightSmirk.name(),
-                lowerFaceAttribute.equals(ServerConstants.SMIRK_RIGHT) ? lowerFaceVal : 0.0);
-        ServerCommonData.getInstance().getMessage().setAbstractExpression(
-                MessageModel.AbstractExpression.laugh.name(),
-                lowerFaceAttribute.equals(ServerConstants.LAUGH) ? lowerFaceVal : 0.0);
-
-        if (lowerFaceAttribute.equals(ServerConstants.LAUGH)) {
-            ServerCommonData.getInstance().getMessage().setSelectionFlag(
-                    ServerConstants.LOWER_FACE, MessageModel.AbstractExpression.laugh.name());
-        } else if (lowerFaceAttribute.equals(ServerConstants.CLENCH)) {
-            ServerCommonData.getInstance().getMessage().setSelectionFlag
-                    (ServerConstants.LOWER_FACE, MessageModel.AbstractExpression.clench.name());
-        } else if (lowerFaceAttribute.equals(ServerConstants.SMIRK_LEFT)) {
-            ServerCommonData.getInstance().getMessage().setSelectionFlag
-                    (ServerConstants.LOWER_FACE, MessageModel.AbstractExpression.leftSmirk.name());
-        } else if (lowerFaceAttribute.equals(ServerConstants.SMIRK_RIGHT)) {
-            ServerCommonData.getInstance().getMessage().setSelectionFlag
-                    (ServerConstants.LOWER_FACE, MessageModel.AbstractExpression.rightSmirk.name());
-        } else {
-            ServerCommonData.getInstance().getMessage().setSelectionFlag
-                    (ServerConstants.LOWER_FACE, MessageModel.AbstractExpression.smile.name());
-        }
+        ServerCommonData.getInstance().updateMessage(message -> {
+            message.setAbstractExpression(
+                    MessageModel.AbstractExpression.smile.name(),
+                    lowerFaceAttribute.equals(ServerConstants.SMILE) ? lowerFaceVal : 0.0);
+            message.setAbstractExpression(
+                    MessageModel.AbstractExpression.clench.name(),
+                    lowerFaceAttribute.equals(ServerConstants.CLENCH) ? lowerFaceVal : 0.0);
+            message.setAbstractExpression(
+                    MessageModel.AbstractExpression.leftSmirk.name(),
+                    lowerFaceAttribute.equals(ServerConstants.SMIRK_LEFT) ? lowerFaceVal : 0.0);
+            message.setAbstractExpression(
+                    MessageModel.AbstractExpression.rightSmirk.name(),
+                    lowerFaceAttribute.equals(ServerConstants.SMIRK_RIGHT) ? lowerFaceVal : 0.0);
+            message.setAbstractExpression(
+                    MessageModel.AbstractExpression.laugh.name(),
+                    lowerFaceAttribute.equals(ServerConstants.LAUGH) ? lowerFaceVal : 0.0);
 
+            if (lowerFaceAttribute.equals(ServerConstants.LAUGH)) {
+                message.setSelectionFlag(
+                        ServerConstants.LOWER_FACE, MessageModel.AbstractExpression.laugh.name());
+            } else if (lowerFaceAttribute.equals(ServerConstants.CLENCH)) {
+                message.setSelectionFlag
+                        (ServerConstants.LOWER_FACE, MessageModel.AbstractExpression.clench.name());
+            } else if (lowerFaceAttribute.equals(ServerConstants.SMIRK_LEFT)) {
+                message.setSelectionFlag
+                        (ServerConstants.LOWER_FACE, MessageModel.AbstractExpression.leftSmirk.name());
+            } else if (lowerFaceAttribute.equals(ServerConstants.SMIRK_RIGHT)) {
+                message.setSelectionFlag
+                        (ServerConstants.LOWER_FACE, MessageModel.AbstractExpression.rightSmirk.name());
+            } else {
+                message.setSelectionFlag
+                        (ServerConstants.LOWER_FACE, MessageModel.AbstractExpression.smile.name());
+            }
+        });
     }
 
     /**
@@ -243,14 +284,45 @@ public class ExpressionsController implements ControllerInterface {
      * @param upperFaceVal       value set for a particular expression
      */
     private static void updateUpperFace(String upperFaceAttribute, Double upperFaceVal) {
-        ServerCommonData.getInstance().getMessage().setSelectionFlag(ServerConstants.UPPER_FACE,
-                upperFaceAttribute);
-        ServerCommonData.getInstance().getMessage().setAbstractExpression(
-                MessageModel.AbstractExpression.raiseBrow.name(),
-                upperFaceAttribute.equals(ServerConstants.RAISE_BROW) ? upperFaceVal : 0.0);
-        ServerCommonData.getInstance().getMessage().setAbstractExpression(
-                MessageModel.AbstractExpression.furrowBrow.name(),
-                upperFaceAttribute.equals(ServerConstants.FURROW_BROW) ? upperFaceVal : 0.0);
+        ServerCommonData.getInstance().updateMessage(message -> {
+            message.setAbstractExpression(
+                    MessageModel.AbstractExpression.raiseBrow.name(),
+                    upperFaceAttribute.equals(ServerConstants.RAISE_BROW) ? upperFaceVal : 0.0);
+            message.setAbstractExpression(
+                    MessageModel.AbstractExpression.furrowBrow.name(),
+                    upperFaceAttribute.equals(ServerConstants.FURROW_BROW) ? upperFaceVal : 0.0);
+
+            if (upperFaceAttribute.equals(ServerConstants.FURROW_BROW)) {
+                message.setSelectionFlag
+                        (ServerConstants.UPPER_FACE, MessageModel.AbstractExpression.furrowBrow.name());
+            } else {
+                message.setSelectionFlag
+                        (ServerConstants.UPPER_FACE, MessageModel.AbstractExpression.raiseBrow.name());
+            }
+        });
+    }
+
+    /**
+     * Method to get the concrete expression of an item of the eye combo box
+     *
+     * @param eyeAttribute item of the eye combo box
+     * @return the expression, or null if there is no such expression
+     */
+    private static MessageModel.ConcreteExpression getConcreteExpression(String eyeAttribute) {
+        switch (eyeAttribute) {
+            case ServerConstants.BLINK:
+                return MessageModel.ConcreteExpression.blink;
+            case ServerConstants.WINK_LEFT:
+                return MessageModel.ConcreteExpression.leftWink;
+            case ServerConstants.WINK_RIGHT:
+                return MessageModel.ConcreteExpression.rightWink;
+            case ServerConstants.LOOK_LEFT:
+                return MessageModel.ConcreteExpression.lookingLeft;
+            case ServerConstants.LOOK_RIGHT:
+                return MessageModel.ConcreteExpression.lookingRight;
+            default:
+                return null;
+        }
     }
 
     /**
@@ -261,38 +333,40 @@ public class ExpressionsController implements ControllerInterface {
      * @param eyeVal       value set for a particular eye expression
      */
     private static void updateEye(String eyeAttribute, Boolean eyeVal) {
-        ServerCommonData.getInstance().getMessage().setSelectionFlag(ServerConstants.EYE, eyeAttribute);
-        ServerCommonData.getInstance().getMessage().setConcreteExpression(
-                MessageModel.ConcreteExpression.blink.name(),
-                eyeAttribute.equals(ServerConstants.BLINK) ? eyeVal : false);
-        ServerCommonData.getInstance().getMessage().setConcreteExpression(
-                MessageModel.ConcreteExpression.leftWink.name(),
-                eyeAttribute.equals(ServerConstants.WINK_LEFT) ? eyeVal : false);
-        ServerCommonData.getInstance().getMessage().setConcreteExpression(
-                MessageModel.ConcreteExpression.rightWink.name(),
-                eyeAttribute.equals(ServerConstants.WINK_RIGHT) ? eyeVal : false);
-        ServerCommonData.getInstance().getMessage().setConcreteExpression(
-                MessageModel.ConcreteExpression.lookingLeft.name(),
-                eyeAttribute.equals(ServerConstants.LOOK_LEFT) ? eyeVal : false);
-        ServerCommonData.getInstance().getMessage().setConcreteExpression(
-                MessageModel.ConcreteExpression.lookingRight.name(),
-                eyeAttribute.equals(ServerConstants.LOOK_RIGHT) ? eyeVal : false);
+        ServerCommonData.getInstance().updateMessage(message -> {
+            message.setSelectionFlag(ServerConstants.EYE, eyeAttribute);
+            message.setConcreteExpression(
+                    MessageModel.ConcreteExpression.blink.name(),
+                    eyeAttribute.equals(ServerConstants.BLINK) ? eyeVal : false);
+            message.setConcreteExpression(
+                    MessageModel.ConcreteExpression.leftWink.name(),
+                    eyeAttribute.equals(ServerConstants.WINK_LEFT) ? eyeVal : false);
+            message.setConcreteExpression(
+                    MessageModel.ConcreteExpression.rightWink.name(),
+                    eyeAttribute.equals(ServerConstants.WINK_RIGHT) ? eyeVal : false);
+            message.setConcreteExpression(
+                    MessageModel.ConcreteExpression.lookingLeft.name(),
+                    eyeAttribute.equals(ServerConstants.LOOK_LEFT) ? eyeVal : false);
+            message.setConcreteExpression(
+                    MessageModel.ConcreteExpression.lookingRight.name(),
+                    eyeAttribute.equals(ServerConstants.LOOK_RIGHT) ? eyeVal : false);
 
-        if (eyeAttribute.equals(ServerConstants.BLINK)) {
-            ServerCommonData.getInstance().getMessage().setSelectionFlag(
-                    ServerConstants.EYE, MessageModel.ConcreteExpression.blink.name());
-        } else if (eyeAttribute.equals(ServerConstants.WINK_LEFT)) {
-            ServerCommonData.getInstance().getMessage().setSelectionFlag
-                    (ServerConstants.EYE, MessageModel.ConcreteExpression.leftWink.name());
-        } else if (eyeAttribute.equals(ServerConstants.WINK_RIGHT)) {
-            ServerCommonData.getInstance().getMessage().setSelectionFlag
-                    (ServerConstants.EYE, MessageModel.ConcreteExpression.rightWink.name());
-        } else if (eyeAttribute.equals(ServerConstants.LOOK_LEFT)) {
-            ServerCommonData.getInstance().getMessage().setSelectionFlag
-                    (ServerConstants.EYE, MessageModel.ConcreteExpression.lookingLeft.name());
-        } else if (eyeAttribute.equals(ServerConstants.LOOK_RIGHT)) {
-            ServerCommonData.getInstance().getMessage().setSelectionFlag
-                    (ServerConstants.EYE, MessageModel.ConcreteExpression.lookingRight.name());
-        }
+            if (eyeAttribute.equals(ServerConstants.BLINK)) {
+                message.setSelectionFlag(
+                        ServerConstants.EYE, MessageModel.ConcreteExpression.blink.name());
+            } else if (eyeAttribute.equals(ServerConstants.WINK_LEFT)) {
+                message.setSelectionFlag
+                        (ServerConstants.EYE, MessageModel.ConcreteExpression.leftWink.name());
+            } else if (eyeAttribute.equals(ServerConstants.WINK_RIGHT)) {
+                message.setSelectionFlag
+                        (ServerConstants.EYE, MessageModel.ConcreteExpression.rightWink.name());
+            } else if (eyeAttribute.equals(ServerConstants.LOOK_LEFT)) {
+                message.setSelectionFlag
+                        (ServerConstants.EYE, MessageModel.ConcreteExpression.lookingLeft.name());
+            } else if (eyeAttribute.equals(ServerConstants.LOOK_RIGHT)) {
+                message.setSelectionFlag
+                        (ServerConstants.EYE, MessageModel.ConcreteExpression.lookingRight.name());
+            }
+        });
     }
 }
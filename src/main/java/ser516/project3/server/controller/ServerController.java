@@ -3,6 +3,7 @@ package ser516.project3.server.controller;
 import org.apache.log4j.Logger;
 import ser516.project3.constants.ServerConstants;
 import ser516.project3.interfaces.ControllerInterface;
+import ser516.project3.interfaces.ServerHostInterface;
 import ser516.project3.interfaces.ViewInterface;
 import ser516.project3.model.*;
 import ser516.project3.server.service.ServerConnectionServiceImpl;
@@ -15,11 +16,13 @@ import java.awt.event.WindowEvent;
 /**
  * The ServerController class is the main controller class for the server
  * application. This class handles all the requests from the server UI and
- * interacts with the Server Service classes to perform the requested tasks
+ * interacts with the Server Service classes to perform the requested tasks.
+ * It hosts the server's connection classes, which read the send settings
+ * from the top panel and show their progress on the timer and console panels.
  *
  * @author vsriva12
  */
-public class ServerController implements ControllerInterface {
+public class ServerController implements ControllerInterface, ServerHostInterface {
     final static Logger logger = Logger.getLogger(ServerView.class);
     private ServerViewFactory viewFactory;
     private ServerControllerFactory serverControllerFactory;
@@ -194,4 +197,72 @@ public class ServerController implements ControllerInterface {
     public ConsoleController getConsoleController() {
         return consoleController;
     }
+
+    /**
+     * Method to check if the send button has been pressed
+     *
+     * @return true if the frames should be sent
+     */
+    @Override
+    public boolean isSendingData() {
+        return topController.getTopModel().isShouldSendData();
+    }
+
+    /**
+     * Method to check if the auto repeat check box is checked
+     *
+     * @return true if the frames should be sent repeatedly
+     */
+    @Override
+    public boolean isAutoRepeat() {
+        return topController.getTopModel().isAutoRepeatCheckBoxChecked();
+    }
+
+    /**
+     * Method to stop sending frames until the send button is pressed again
+     */
+    @Override
+    public void stopSendingData() {
+        topController.getTopModel().setShouldSendData(false);
+    }
+
+    /**
+     * Method to show the time stamp of the last frame on the timer panel
+     *
+     * @param timeStamp time stamp in seconds
+     */
+    @Override
+    public void updateTimeStamp(double timeStamp) {
+        timerController.updateTimeStamp(timeStamp);
+    }
+
+    /**
+     * Method to show a message on the console panel
+     *
+     * @param message message to be shown
+     */
+    @Override
+    public void logMessage(String message) {
+        consoleController.getConsoleModel().logMessage(message);
+    }
+
+    /**
+     * Method to show the statistics of the broadcaster on the console panel
+     *
+     * @param statistics lines of statistics
+     */
+    @Override
+    public void showStatistics(String... statistics) {
+        consoleController.getConsoleModel().setBroadcastStatistics(statistics);
+    }
+
+    /**
+     * Method to record on the top panel whether the server is started
+     *
+     * @param serverStarted true if the server is started
+     */
+    @Override
+    public void setServerStarted(boolean serverStarted) {
+        topController.getTopModel().setServerStarted(serverStarted);
+    }
 }
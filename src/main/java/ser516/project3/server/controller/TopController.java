@@ -55,7 +55,7 @@ public class TopController implements ControllerInterface {
         topView.addAutoRepeatCheckBoxListener(new AutoRepeatCheckBoxListener());
         topView.addServerStartStopButtonListener(new ServerStartStopButtonListener());
         topView.addSendButtonListener(new SendButtonListener());
-        ServerCommonData.getInstance().getMessage().setInterval(topModel.getInterval());
+        ServerCommonData.getInstance().updateMessage(message -> message.setInterval(topModel.getInterval()));
     }
 
     /**
@@ -97,7 +97,7 @@ public class TopController implements ControllerInterface {
                             e.getDocument().getLength())));
                 }
                 topModel.setIntervalError(false);
-                ServerCommonData.getInstance().getMessage().setInterval(topModel.getInterval());
+                ServerCommonData.getInstance().updateMessage(message -> message.setInterval(topModel.getInterval()));
                 logger.info(ServerConstants.REMOVED_VALUE_INTERVAL);
             } catch (NumberFormatException ex) {
                 topModel.setIntervalError(true);
@@ -115,7 +115,7 @@ public class TopController implements ControllerInterface {
             try {
                 topModel.setInterval(Double.parseDouble(e.getDocument().getText(0,
                         e.getDocument().getLength())));
-                ServerCommonData.getInstance().getMessage().setInterval(topModel.getInterval());
+                ServerCommonData.getInstance().updateMessage(message -> message.setInterval(topModel.getInterval()));
                 topModel.setIntervalError(false);
                 logger.info(ServerConstants.INSERT_INTERVAL_VALUE);
             } catch (NumberFormatException ex) {
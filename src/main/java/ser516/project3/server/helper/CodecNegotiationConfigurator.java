@@ -0,0 +1,28 @@
+package ser516.project3.server.helper;
+
+import ser516.project3.utilities.MessageCodecRegistry;
+
+import javax.websocket.server.ServerEndpointConfig;
+import java.util.List;
+
+/**
+ * Configurator of the {@link ServerConnectionEndpoint} which negotiates the
+ * codec of a session with the {@link MessageCodecRegistry}, so that codecs
+ * registered at runtime are offered to the clients as well.
+ *
+ * @author vsriva12
+ */
+public class CodecNegotiationConfigurator extends ServerEndpointConfig.Configurator {
+
+    /**
+     * Method to pick the subprotocol of the session
+     *
+     * @param supported subprotocols listed on the endpoint, not used
+     * @param requested subprotocols requested by the client
+     * @return name of the negotiated codec, or an empty string for none
+     */
+    @Override
+    public String getNegotiatedSubprotocol(List<String> supported, List<String> requested) {
+        return MessageCodecRegistry.getInstance().negotiate(requested);
+    }
+}
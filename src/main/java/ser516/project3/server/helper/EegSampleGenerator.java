@@ -0,0 +1,89 @@
+package ser516.project3.server.helper;
+
+import java.util.Random;
+
+/**
+ * The EegSampleGenerator class synthesizes raw electrode samples in micro
+ * volts. Every channel carries an alpha and a beta rhythm with its own phase
+ * and amplitude, plus noise, on top of the baseline the headset reports. The
+ * signal only depends on the index of the sample and the seed, so a stream
+ * can be reproduced from any point.
+ *
+ * @author vsriva12
+ */
+public class EegSampleGenerator {
+
+    private final static double BASELINE_MICRO_VOLTS = 4200;
+    private final static double ALPHA_FREQUENCY = 10;
+    private final static double BETA_FREQUENCY = 20;
+    private final static double ALPHA_AMPLITUDE = 30;
+    private final static double BETA_AMPLITUDE = 10;
+    private final static double NOISE_AMPLITUDE = 5;
+
+    private final int channelCount;
+    private final int sampleRate;
+    private final long seed;
+    private final double[] alphaPhases;
+    private final double[] betaPhases;
+    private final double[] alphaAmplitudes;
+
+    /**
+     * Creates a generator for the passed number of channels
+     *
+     * @param channelCount number of channels
+     * @param sampleRate   number of samples per second
+     * @param seed         seed of the phases and of the noise
+     */
+    public EegSampleGenerator(int channelCount, int sampleRate, long seed) {
+        this.channelCount = channelCount;
+        this.sampleRate = sampleRate;
+        this.seed = seed;
+        alphaPhases = new double[channelCount];
+        betaPhases = new double[channelCount];
+        alphaAmplitudes = new double[channelCount];
+        Random random = new Random(seed);
+        for (int channel = 0; channel < channelCount; channel++) {
+            alphaPhases[channel] = random.nextDouble() * 2 * Math.PI;
+            betaPhases[channel] = random.nextDouble() * 2 * Math.PI;
+            alphaAmplitudes[channel] = ALPHA_AMPLITUDE * (0.5 + random.nextDouble());
+        }
+    }
+
+    /**
+     * Method to fill the passed array with consecutive samples of all the
+     * channels, interleaved sample after sample
+     *
+     * @param firstSampleIndex index of the first sample in the stream
+     * @param sampleCount      number of samples per channel
+     * @param samples          array of at least sampleCount times the number of channels
+     */
+    public void generate(long firstSampleIndex, int sampleCount, float[] samples) {
+        Random noise = new Random(seed ^ firstSampleIndex * 0x9E3779B97F4A7C15L);
+        int offset = 0;
+        for (int sample = 0; sample < sampleCount; sample++) {
+            double time = (double) (firstSampleIndex + sample) / sampleRate;
+            double alpha = 2 * Math.PI * ALPHA_FREQUENCY * time;
+            double beta = 2 * Math.PI * BETA_FREQUENCY * time;
+            for (int channel = 0; channel < channelCount; channel++) {
+                samples[offset++] = (float) (BASELINE_MICRO_VOLTS
+                        + alphaAmplitudes[channel] * Math.sin(alpha + alphaPhases[channel])
+                        + BETA_AMPLITUDE * Math.sin(beta + betaPhases[channel])
+                        + NOISE_AMPLITUDE * noise.nextGaussian());
+            }
+        }
+    }
+
+    /**
+     * @return the number of channels
+     */
+    public int getChannelCount() {
+        return channelCount;
+    }
+
+    /**
+     * @return the number of samples per second
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+}
@@ -0,0 +1,148 @@
+package ser516.project3.server.helper;
+
+import org.apache.log4j.Logger;
+import ser516.project3.constants.ServerConstants;
+import ser516.project3.interfaces.ServerHostInterface;
+import ser516.project3.model.SampleBlockModel;
+import ser516.project3.utilities.ChannelSchemaRegistry;
+import ser516.project3.utilities.SampleBlockEncoder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The EegStreamer is a singleton class which streams synthetic raw EEG
+ * samples of the channels of the eeg group, independently of the interval of
+ * the summary messages. The samples are sent in blocks of a fixed number of
+ * samples, each encoded once and handed to the {@link MessageBroadcaster}.
+ * The number of due samples is derived from the time elapsed since the start,
+ * so a late run of the stream thread catches up instead of slowing the rate
+ * down.
+ *
+ * @author vsriva12
+ */
+public class EegStreamer {
+    final static Logger logger = Logger.getLogger(EegStreamer.class);
+
+    private static EegStreamer instance;
+
+    private final int sampleRate;
+    private final int samplesPerFrame;
+    private final int[] channelIds;
+    private final EegSampleGenerator generator;
+    private ScheduledExecutorService streamExecutor;
+    private long startNanos;
+    private long nextSampleIndex;
+
+    /**
+     * Constructor to read the sample rate, the block size and the seed from
+     * the system properties, and to register the channels of the eeg group.
+     * The sample rate and the block size are kept within the range the
+     * {@link SampleBlockEncoder} can carry.
+     */
+    protected EegStreamer() {
+        sampleRate = Math.max(1, Math.min(SampleBlockEncoder.MAX_FIELD_VALUE, Integer.getInteger(
+                ServerConstants.EEG_SAMPLE_RATE_PROPERTY, ServerConstants.DEFAULT_EEG_SAMPLE_RATE)));
+        samplesPerFrame = Math.max(1, Math.min(SampleBlockEncoder.MAX_FIELD_VALUE, Integer.getInteger(
+                ServerConstants.EEG_SAMPLES_PER_FRAME_PROPERTY, ServerConstants.DEFAULT_EEG_SAMPLES_PER_FRAME)));
+        channelIds = new int[ServerConstants.EEG_CHANNEL_NAMES.length];
+        for (int i = 0; i < channelIds.length; i++) {
+            channelIds[i] = ChannelSchemaRegistry.getInstance().register(ServerConstants.EEG_CHANNEL_NAMES[i],
+                    ServerConstants.EEG_GROUP);
+        }
+        generator = new EegSampleGenerator(channelIds.length, sampleRate, Long.getLong(
+                ServerConstants.EEG_SEED_PROPERTY, ServerConstants.DEFAULT_EEG_SEED));
+    }
+
+    /**
+     * The static function to get the instance of this class
+     *
+     * @return the instance of this class
+     */
+    public static synchronized EegStreamer getInstance() {
+        if (instance == null) {
+            instance = new EegStreamer();
+        }
+        return instance;
+    }
+
+    /**
+     * Starts the stream thread. Calling it on an already started streamer
+     * has no effect.
+     */
+    public synchronized void start() {
+        if (streamExecutor != null) {
+            return;
+        }
+        streamExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, ServerConstants.EEG_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        startNanos = System.nanoTime();
+        nextSampleIndex = 0;
+        long periodMicros = TimeUnit.SECONDS.toMicros(samplesPerFrame) / sampleRate;
+        streamExecutor.scheduleAtFixedRate(this::stream, periodMicros, periodMicros, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * Stops the stream thread
+     */
+    public synchronized void stop() {
+        if (streamExecutor == null) {
+            return;
+        }
+        streamExecutor.shutdownNow();
+        streamExecutor = null;
+    }
+
+    /**
+     * Sends every block which is due by now. Without connected sessions, or
+     * while the server is not sending data, the due samples are skipped, so
+     * that a client starts with the current samples once they are sent.
+     */
+    private void stream() {
+        try {
+            long dueSampleIndex = (System.nanoTime() - startNanos) * sampleRate / TimeUnit.SECONDS.toNanos(1);
+            MessageBroadcaster broadcaster = MessageBroadcaster.getInstance();
+            ServerHostInterface host = broadcaster.getServerHost();
+            if (broadcaster.getSessionCount() == 0 || host == null || !host.isSendingData()) {
+                nextSampleIndex = dueSampleIndex - dueSampleIndex % samplesPerFrame;
+                return;
+            }
+            while (nextSampleIndex + samplesPerFrame <= dueSampleIndex) {
+                float[] samples = new float[samplesPerFrame * channelIds.length];
+                generator.generate(nextSampleIndex, samplesPerFrame, samples);
+                ByteBuffer block = SampleBlockEncoder.encodeBlock(new SampleBlockModel(nextSampleIndex, sampleRate,
+                        channelIds, samples));
+                broadcaster.broadcastSamples(block);
+                nextSampleIndex += samplesPerFrame;
+            }
+        } catch (RuntimeException e) {
+            logger.error(ServerConstants.ERROR_EEG_STREAM + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the number of samples per second
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * @return the number of samples of every channel in one block
+     */
+    public int getSamplesPerFrame() {
+        return samplesPerFrame;
+    }
+
+    /**
+     * @return the ids of the eeg channels in the channel schema
+     */
+    public int[] getChannelIds() {
+        return channelIds;
+    }
+}
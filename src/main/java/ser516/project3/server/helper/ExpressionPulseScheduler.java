@@ -0,0 +1,97 @@
+package ser516.project3.server.helper;
+
+import ser516.project3.model.MessageModel;
+import ser516.project3.model.MessageModel.ConcreteExpression;
+
+/**
+ * The ExpressionPulseScheduler class sets concrete expressions for an exact
+ * number of frames, and resets them afterwards, on the tick thread of the
+ * {@link MessageBroadcaster}. A pulse requested from the server UI therefore
+ * starts with the next frame, and is in exactly the requested number of
+ * frames, whatever the interval, without ever blocking the UI.
+ * <p>
+ * Like the {@link ExpressionTimelinePlayer}, a tick first works out the
+ * expressions to set and reset in {@link #advance}, and they are then written
+ * to the message in {@link #applyTo}, which may be called more than once for
+ * the same tick.
+ *
+ * @author vsriva12
+ */
+public class ExpressionPulseScheduler {
+
+    private static final ConcreteExpression[] EXPRESSIONS = ConcreteExpression.values();
+
+    private final int[] requestedFrames = new int[EXPRESSIONS.length];
+    private final int[] remainingFrames = new int[EXPRESSIONS.length];
+    private long activeExpressions;
+    private long setExpressions;
+    private long resetExpressions;
+
+    /**
+     * Method to set an expression for the passed number of frames, starting
+     * with the next frame. A pulse of an expression which is already set
+     * starts over.
+     *
+     * @param expression expression to be set
+     * @param frames     number of frames which carry the expression
+     */
+    public synchronized void pulse(ConcreteExpression expression, int frames) {
+        requestedFrames[expression.ordinal()] = Math.max(1, frames);
+    }
+
+    /**
+     * Checks if any pulse is requested or in progress
+     *
+     * @return true if the next tick has expressions to set or reset
+     */
+    public synchronized boolean isActive() {
+        if (activeExpressions != 0) {
+            return true;
+        }
+        for (int frames : requestedFrames) {
+            if (frames > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method to work out the expressions to set and reset in the next frame
+     */
+    public synchronized void advance() {
+        setExpressions = 0;
+        resetExpressions = 0;
+        for (int i = 0; i < EXPRESSIONS.length; i++) {
+            long bit = 1L << i;
+            if (requestedFrames[i] > 0) {
+                remainingFrames[i] = requestedFrames[i];
+                requestedFrames[i] = 0;
+            }
+            if (remainingFrames[i] > 0) {
+                remainingFrames[i]--;
+                activeExpressions |= bit;
+                setExpressions |= bit;
+            } else if ((activeExpressions & bit) != 0) {
+                activeExpressions &= ~bit;
+                resetExpressions |= bit;
+            }
+        }
+    }
+
+    /**
+     * Method to write the expressions of the next frame to the message
+     *
+     * @param message message to be written
+     */
+    public synchronized void applyTo(MessageModel message) {
+        for (int i = 0; i < EXPRESSIONS.length; i++) {
+            long bit = 1L << i;
+            if ((setExpressions & bit) != 0) {
+                message.setConcreteExpression(EXPRESSIONS[i], true);
+            } else if ((resetExpressions & bit) != 0) {
+                message.setConcreteExpression(EXPRESSIONS[i], false);
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package ser516.project3.server.helper;
+
+import ser516.project3.model.ExpressionTimelineModel;
+import ser516.project3.model.MessageModel;
+import ser516.project3.model.MessageModel.SelectedCriteria;
+
+import java.util.Arrays;
+
+/**
+ * The ExpressionTimelinePlayer class plays an {@link ExpressionTimelineModel}
+ * in a loop, driven by the ticks of the {@link MessageBroadcaster}. Every
+ * tick only looks at the keyframes which have become due and at the ramps in
+ * progress, whatever the length of the timeline.
+ * <p>
+ * A tick first works out the values to write in {@link #advance}, and they
+ * are then written to the message in {@link #applyTo}, which may be called
+ * more than once for the same tick when the message is updated concurrently.
+ * A tick longer than the loop wraps it only once: the whole loops it has
+ * skipped are not replayed.
+ *
+ * @author vsriva12
+ */
+public class ExpressionTimelinePlayer {
+
+    private final ExpressionTimelineModel timeline;
+    private int cursor;
+    private long elapsedMicros;
+    private long loopStartMicros;
+    private final double[] channelValues;
+    private final double[] rampFromValues;
+    private final double[] rampToValues;
+    private final long[] rampStartMicros;
+    private final long[] rampEndMicros;
+    private final int[] activeRamps;
+    private int activeRampCount;
+    private int[] writeChannelIds = new int[16];
+    private double[] writeValues = new double[16];
+    private int writeCount;
+
+    /**
+     * Creates a player at the start of the timeline
+     *
+     * @param timeline timeline to be played
+     */
+    public ExpressionTimelinePlayer(ExpressionTimelineModel timeline) {
+        this.timeline = timeline;
+        int channelCount = timeline.getMaxChannelId() + 1;
+        channelValues = new double[channelCount];
+        Arrays.fill(channelValues, Double.NaN);
+        rampFromValues = new double[channelCount];
+        rampToValues = new double[channelCount];
+        rampStartMicros = new long[channelCount];
+        rampEndMicros = new long[channelCount];
+        activeRamps = new int[channelCount];
+    }
+
+    /**
+     * @return the timeline being played
+     */
+    public ExpressionTimelineModel getTimeline() {
+        return timeline;
+    }
+
+    /**
+     * Method to play the timeline up to the end of the next tick. The values
+     * of the channels which have not been written by the timeline yet are
+     * read from the passed message.
+     *
+     * @param intervalMicros time since the previous tick, in microseconds
+     * @param message        the current message
+     */
+    public synchronized void advance(long intervalMicros, MessageModel message) {
+        writeCount = 0;
+        elapsedMicros += intervalMicros;
+        playDueKeyframes(message);
+        long loopMicros = timeline.getLoopMicros();
+        if (loopStartMicros + loopMicros <= elapsedMicros) {
+            loopStartMicros = elapsedMicros - (elapsedMicros - loopStartMicros) % loopMicros;
+            cursor = 0;
+            playDueKeyframes(message);
+        }
+        for (int i = activeRampCount - 1; i >= 0; i--) {
+            int channelId = activeRamps[i];
+            if (elapsedMicros >= rampEndMicros[channelId]) {
+                write(channelId, rampToValues[channelId]);
+                activeRamps[i] = activeRamps[--activeRampCount];
+            } else {
+                double progress = (double) (elapsedMicros - rampStartMicros[channelId])
+                        / (rampEndMicros[channelId] - rampStartMicros[channelId]);
+                write(channelId, rampFromValues[channelId]
+                        + (rampToValues[channelId] - rampFromValues[channelId]) * progress);
+            }
+        }
+    }
+
+    /**
+     * Method to write the values of the last tick to the message. An
+     * expression which is set is also selected, so that the clients draw it.
+     *
+     * @param message message to be written
+     */
+    public synchronized void applyTo(MessageModel message) {
+        for (int i = 0; i < writeCount; i++) {
+            int channelId = writeChannelIds[i];
+            double value = writeValues[i];
+            message.setChannelValue(channelId, value);
+            SelectedCriteria selectedCriteria = ExpressionTimelineModel.getSelectedCriteria(channelId);
+            if (selectedCriteria != null && value != 0) {
+                message.setSelectionFlag(selectedCriteria, ExpressionTimelineModel.getSelectionValue(channelId));
+            }
+        }
+    }
+
+    /**
+     * Method to play the keyframes of the current loop which have become due
+     *
+     * @param message the current message
+     */
+    private void playDueKeyframes(MessageModel message) {
+        int keyframeCount = timeline.getKeyframeCount();
+        while (cursor < keyframeCount && loopStartMicros + timeline.getTime(cursor) <= elapsedMicros) {
+            playKeyframe(cursor++, message);
+        }
+    }
+
+    /**
+     * Method to play one keyframe, which either sets its channel at once or
+     * starts a ramp from the current value of the channel
+     *
+     * @param index   index of the keyframe
+     * @param message the current message
+     */
+    private void playKeyframe(int index, MessageModel message) {
+        int channelId = timeline.getChannelId(index);
+        long rampMicros = timeline.getRampMicros(index);
+        stopRamp(channelId);
+        if (rampMicros == 0) {
+            write(channelId, timeline.getValue(index));
+            return;
+        }
+        double value = Double.isNaN(channelValues[channelId]) ? message.getChannelValue(channelId)
+                : channelValues[channelId];
+        rampFromValues[channelId] = value;
+        rampToValues[channelId] = timeline.getValue(index);
+        rampStartMicros[channelId] = loopStartMicros + timeline.getTime(index);
+        rampEndMicros[channelId] = rampStartMicros[channelId] + rampMicros;
+        activeRamps[activeRampCount++] = channelId;
+    }
+
+    /**
+     * Method to stop the ramp of a channel, if it has one
+     *
+     * @param channelId id of the channel
+     */
+    private void stopRamp(int channelId) {
+        for (int i = 0; i < activeRampCount; i++) {
+            if (activeRamps[i] == channelId) {
+                activeRamps[i] = activeRamps[--activeRampCount];
+                return;
+            }
+        }
+    }
+
+    /**
+     * Method to record a value to be written to the message
+     *
+     * @param channelId id of the channel
+     * @param value     value of the channel
+     */
+    private void write(int channelId, double value) {
+        if (writeCount == writeChannelIds.length) {
+            writeChannelIds = Arrays.copyOf(writeChannelIds, writeCount * 2);
+            writeValues = Arrays.copyOf(writeValues, writeCount * 2);
+        }
+        writeChannelIds[writeCount] = channelId;
+        writeValues[writeCount] = value;
+        writeCount++;
+        channelValues[channelId] = value;
+    }
+}
@@ -0,0 +1,213 @@
+package ser516.project3.server.helper;
+
+import ser516.project3.constants.ServerConstants;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * The HeadlessServerConfiguration class holds the settings of the headless
+ * server: the address and port it listens on, the interval of the frames,
+ * the generator profile and the maximum number of sessions. The settings are
+ * read from an optional properties file, and the command line arguments take
+ * precedence over it. The other ser516 properties of the file, such as the
+ * capacity of the outbound queues, the timeline of the expressions or the
+ * number of simulated subjects, are applied as system properties.
+ *
+ * @author vsriva12
+ */
+public class HeadlessServerConfiguration {
+
+    private String bindAddress = ServerConstants.LOCALHOST;
+    private int port = ServerConstants.DEFAULT_PORT;
+    private double interval = ServerConstants.DEFAULT_INTERVAL;
+    private String profile = ServerConstants.DEFAULT_PROFILE;
+    private int maxSessions = ServerConstants.DEFAULT_MAX_SESSIONS;
+    private final Properties systemProperties = new Properties();
+
+    /**
+     * Method to read the configuration from the command line arguments, each
+     * given either as {@code --name value} or as {@code --name=value}
+     *
+     * @param args command line arguments
+     * @return the configuration
+     * @throws IOException              if the properties file cannot be read
+     * @throws IllegalArgumentException if an argument is unknown or invalid
+     */
+    public static HeadlessServerConfiguration fromArguments(String[] args) throws IOException {
+        Properties arguments = new Properties();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            String value;
+            int separator = name.indexOf(ServerConstants.ARGUMENT_VALUE_SEPARATOR);
+            if (separator >= 0) {
+                value = name.substring(separator + 1);
+                name = name.substring(0, separator);
+            } else if (i + 1 < args.length) {
+                value = args[++i];
+            } else {
+                throw new IllegalArgumentException(ServerConstants.ERROR_ARGUMENT + name);
+            }
+            arguments.setProperty(toPropertyName(name), value);
+        }
+        HeadlessServerConfiguration configuration = new HeadlessServerConfiguration();
+        String configFile = arguments.getProperty(ServerConstants.CONFIG_ARGUMENT);
+        if (configFile != null) {
+            arguments.remove(ServerConstants.CONFIG_ARGUMENT);
+            Properties fileProperties = new Properties();
+            try (InputStream input = Files.newInputStream(Paths.get(configFile))) {
+                fileProperties.load(input);
+            }
+            configuration.apply(fileProperties);
+        }
+        configuration.apply(arguments);
+        return configuration;
+    }
+
+    /**
+     * Method to get the property name of a command line argument
+     *
+     * @param argument name of the argument, such as --port
+     * @return name of the property, such as ser516.server.port
+     */
+    private static String toPropertyName(String argument) {
+        switch (argument) {
+            case ServerConstants.HOST_ARGUMENT:
+                return ServerConstants.HOST_PROPERTY;
+            case ServerConstants.PORT_ARGUMENT:
+                return ServerConstants.PORT_PROPERTY;
+            case ServerConstants.INTERVAL_ARGUMENT:
+                return ServerConstants.INTERVAL_PROPERTY;
+            case ServerConstants.PROFILE_ARGUMENT:
+                return ServerConstants.PROFILE_PROPERTY;
+            case ServerConstants.MAX_SESSIONS_ARGUMENT:
+                return ServerConstants.MAX_SESSIONS_PROPERTY;
+            case ServerConstants.TIMELINE_ARGUMENT:
+                return ServerConstants.TIMELINE_PROPERTY;
+            case ServerConstants.SUBJECTS_ARGUMENT:
+                return ServerConstants.SUBJECTS_PROPERTY;
+            case ServerConstants.CLOCK_ARGUMENT:
+                return ServerConstants.CLOCK_PROPERTY;
+            case ServerConstants.CONFIG_ARGUMENT:
+                return ServerConstants.CONFIG_ARGUMENT;
+            default:
+                throw new IllegalArgumentException(ServerConstants.ERROR_ARGUMENT + argument);
+        }
+    }
+
+    /**
+     * Method to apply a set of properties over the current settings
+     *
+     * @param properties properties to apply
+     */
+    private void apply(Properties properties) {
+        for (String name : properties.stringPropertyNames()) {
+            String value = properties.getProperty(name).trim();
+            try {
+                switch (name) {
+                    case ServerConstants.HOST_PROPERTY:
+                        bindAddress = value;
+                        break;
+                    case ServerConstants.PORT_PROPERTY:
+                        port = Integer.parseInt(value);
+                        if (port < 1 || port > 65535) {
+                            throw new IllegalArgumentException(ServerConstants.ERROR_ARGUMENT + name + "=" + value);
+                        }
+                        break;
+                    case ServerConstants.INTERVAL_PROPERTY:
+                        interval = Double.parseDouble(value);
+                        if (!(interval > 0)) {
+                            throw new IllegalArgumentException(ServerConstants.ERROR_ARGUMENT + name + "=" + value);
+                        }
+                        break;
+                    case ServerConstants.PROFILE_PROPERTY:
+                        if (!value.equals(ServerConstants.PROFILE_STATIC) && !value.equals(ServerConstants.PROFILE_EEG)
+                                && !value.equals(ServerConstants.PROFILE_PROCEDURAL)) {
+                            throw new IllegalArgumentException(ServerConstants.ERROR_ARGUMENT + name + "=" + value);
+                        }
+                        profile = value;
+                        break;
+                    case ServerConstants.MAX_SESSIONS_PROPERTY:
+                        maxSessions = Math.max(0, Integer.parseInt(value));
+                        break;
+                    default:
+                        if (name.startsWith(ServerConstants.PROPERTY_PREFIX)) {
+                            systemProperties.setProperty(name, value);
+                        }
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(ServerConstants.ERROR_ARGUMENT + name + "=" + value);
+            }
+        }
+    }
+
+    /**
+     * Method to set the other ser516 properties of the file as system
+     * properties, unless they are already set on the command line of the JVM.
+     * It has to be called before the broadcaster is first used.
+     */
+    public void applySystemProperties() {
+        for (String name : systemProperties.stringPropertyNames()) {
+            if (System.getProperty(name) == null) {
+                System.setProperty(name, systemProperties.getProperty(name));
+            }
+        }
+    }
+
+    /**
+     * @return the address the server listens on
+     */
+    public String getBindAddress() {
+        return bindAddress;
+    }
+
+    /**
+     * @return the port the server listens on
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * @return the interval of the frames in seconds
+     */
+    public double getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return the generator profile, either static, eeg or procedural
+     */
+    public String getProfile() {
+        return profile;
+    }
+
+    /**
+     * @return the maximum number of sessions, or 0 if there is no limit
+     */
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * @return the ser516 properties of the file which are not settings of
+     * the headless server
+     */
+    public Properties getSystemProperties() {
+        return systemProperties;
+    }
+
+    /**
+     * Overridden method to convert the configuration into string
+     *
+     * @return returns the string conversion of the class
+     */
+    @Override
+    public String toString() {
+        return "HeadlessServerConfiguration [bindAddress=" + bindAddress + ", port=" + port + ", interval="
+                + interval + ", profile=" + profile + ", maxSessions=" + maxSessions + "]";
+    }
+}
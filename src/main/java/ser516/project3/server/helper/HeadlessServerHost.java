@@ -0,0 +1,97 @@
+package ser516.project3.server.helper;
+
+import org.apache.log4j.Logger;
+import ser516.project3.interfaces.ServerHostInterface;
+
+/**
+ * The HeadlessServerHost class hosts the server's connection classes when
+ * there is no server UI. The frames are sent on every tick from the moment
+ * the server starts, and everything the UI would show is written to the log.
+ *
+ * @author vsriva12
+ */
+public class HeadlessServerHost implements ServerHostInterface {
+    final static Logger logger = Logger.getLogger(HeadlessServerHost.class);
+
+    private volatile double timeStamp;
+    private volatile boolean serverStarted;
+
+    /**
+     * The headless server always sends the frames
+     *
+     * @return true
+     */
+    @Override
+    public boolean isSendingData() {
+        return true;
+    }
+
+    /**
+     * The headless server always sends the frames on every tick
+     *
+     * @return true
+     */
+    @Override
+    public boolean isAutoRepeat() {
+        return true;
+    }
+
+    /**
+     * The headless server never stops sending the frames
+     */
+    @Override
+    public void stopSendingData() {
+    }
+
+    /**
+     * Method to record the time stamp of the last frame sent
+     *
+     * @param timeStamp time stamp in seconds
+     */
+    @Override
+    public void updateTimeStamp(double timeStamp) {
+        this.timeStamp = timeStamp;
+    }
+
+    /**
+     * Method to write a message to the log
+     *
+     * @param message message to be written
+     */
+    @Override
+    public void logMessage(String message) {
+        logger.info(message);
+    }
+
+    /**
+     * Method to write the statistics of the broadcaster to the log
+     *
+     * @param statistics lines of statistics
+     */
+    @Override
+    public void showStatistics(String... statistics) {
+        logger.info(String.join("  ", statistics));
+    }
+
+    /**
+     * @param serverStarted true if the server is started
+     */
+    @Override
+    public void setServerStarted(boolean serverStarted) {
+        this.serverStarted = serverStarted;
+    }
+
+    /**
+     * @return the time stamp of the last frame sent, in seconds
+     */
+    public double getTimeStamp() {
+        return timeStamp;
+    }
+
+    /**
+     * @return true if the server is started
+     */
+    public boolean isServerStarted() {
+        return serverStarted;
+    }
+}
@@ -0,0 +1,829 @@
+package ser516.project3.server.helper;
+
+import org.apache.log4j.Logger;
+import ser516.project3.constants.ServerConstants;
+import ser516.project3.interfaces.CodecInterface;
+import ser516.project3.interfaces.ServerHostInterface;
+import ser516.project3.model.ExpressionTimelineModel;
+import ser516.project3.model.MessageModel;
+import ser516.project3.model.MessageModel.Emotion;
+import ser516.project3.model.SignalGeneratorModel;
+import ser516.project3.utilities.ChannelSchemaEncoder;
+import ser516.project3.utilities.ChannelSchemaRegistry;
+import ser516.project3.utilities.EncodedBatch;
+import ser516.project3.utilities.EncodedFrame;
+import ser516.project3.utilities.ServerCommonData;
+import ser516.project3.utilities.WallClock;
+
+import javax.websocket.EncodeException;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The MessageBroadcaster is a singleton class which sends the frames of the
+ * server to all the open sessions. It ticks once per interval for the whole
+ * server, at a fixed rate kept by a {@link TickScheduler}. The time stamp
+ * advances by the interval in whole microseconds, or follows the
+ * {@link WallClock} for the load tests.
+ * <p>
+ * On every tick the emotions can be computed by a
+ * {@link SignalGeneratorEngine}, the expressions played in a loop from an
+ * {@link ExpressionTimelineModel}, and the concrete expressions pulsed by an
+ * {@link ExpressionPulseScheduler}. The message is published in
+ * {@link ServerCommonData} and built into a single numbered
+ * {@link EncodedFrame}, encoded once per wire format and shared by all the
+ * sessions. Consecutive frames are sent in batches, bounded by a number of
+ * frames and by the latency they may add.
+ * <p>
+ * The sessions are spread across a fixed number of sender threads, so the
+ * container's worker threads never run the send loop. A sender thread puts
+ * the frames of its sessions, in the codec each has negotiated, into their
+ * bounded {@link SessionOutboundQueue}, so a slow client only delays itself.
+ * The blocks of raw samples go through the same queues, so they never
+ * overtake the frames. The number of sessions can be limited.
+ * <p>
+ * Besides the subject of the server UI, the server can simulate other
+ * subjects, each a {@link SimulatedSubject} reached on /server/{subjectId}.
+ * Their generators are computed in one pass by the tick thread, and each
+ * subject is then owned by one sender thread, which builds, batches and
+ * sends its frames.
+ * <p>
+ * Whether to send frames is decided by the {@link ServerHostInterface} set
+ * by the server container, which is the server UI or a headless host. The
+ * statistics of the queues and the ticks are reported to it once per second.
+ *
+ * @author vsriva12
+ */
+public class MessageBroadcaster {
+    final static Logger logger = Logger.getLogger(MessageBroadcaster.class);
+
+    private static MessageBroadcaster instance;
+
+    private int senderThreadCount;
+    private int keyframeInterval;
+    private long frameSequence;
+    private MessageModel previousFrameMessage;
+    private int batchSize;
+    private long batchLatencyNanos;
+    private List<EncodedFrame> pendingFrames;
+    private long firstPendingNanos;
+    private List<List<Session>> sessionShards;
+    private volatile ExecutorService[] senderExecutors;
+    private TickScheduler tickScheduler;
+    private ScheduledExecutorService statisticsExecutor;
+    private int queueCapacity;
+    private SessionOutboundQueue.OverflowPolicy overflowPolicy;
+    private int maxOverflows;
+    private long overflowWindowNanos;
+    private int maxSessions;
+    private volatile ServerHostInterface serverHost;
+    private final SignalGeneratorEngine emotionGenerators;
+    private final double[] generatedEmotions = new double[EMOTIONS.length];
+    private volatile ExpressionTimelinePlayer timelinePlayer;
+    private final ExpressionPulseScheduler pulseScheduler = new ExpressionPulseScheduler();
+    private final int subjectCount;
+    private final boolean wallClock;
+    private double[] subjectEmotions;
+    private volatile SimulatedSubject[] simulatedSubjects;
+
+    private static final Emotion[] EMOTIONS = Emotion.values();
+    private final AtomicLong droppedMessageCount = new AtomicLong();
+    private final AtomicInteger slowConsumerDisconnectCount = new AtomicInteger();
+
+    /**
+     * Constructor to read the configuration from the system properties, or
+     * the defaults of {@link ServerConstants}: the sender threads, the
+     * batches and keyframes, the outbound queues, the sessions and subjects,
+     * the clock of the time stamp, and the generators and timeline of the
+     * channels
+     */
+    protected MessageBroadcaster() {
+        senderThreadCount = Math.max(1, Integer.getInteger(ServerConstants.SENDER_THREADS_PROPERTY,
+                ServerConstants.DEFAULT_SENDER_THREADS));
+        keyframeInterval = Math.max(1, Integer.getInteger(ServerConstants.KEYFRAME_INTERVAL_PROPERTY,
+                ServerConstants.DEFAULT_KEYFRAME_INTERVAL));
+        batchSize = Math.max(1, Integer.getInteger(ServerConstants.BATCH_SIZE_PROPERTY,
+                ServerConstants.DEFAULT_BATCH_SIZE));
+        batchLatencyNanos = TimeUnit.MILLISECONDS.toNanos(Integer.getInteger(
+                ServerConstants.BATCH_LATENCY_PROPERTY, ServerConstants.DEFAULT_BATCH_LATENCY_MILLIS));
+        pendingFrames = new ArrayList<>(batchSize);
+        queueCapacity = Math.max(1, Integer.getInteger(ServerConstants.QUEUE_CAPACITY_PROPERTY,
+                ServerConstants.DEFAULT_QUEUE_CAPACITY));
+        overflowPolicy = SessionOutboundQueue.OverflowPolicy.fromName(System.getProperty(
+                ServerConstants.OVERFLOW_POLICY_PROPERTY, ServerConstants.DEFAULT_OVERFLOW_POLICY));
+        maxOverflows = Math.max(1, Integer.getInteger(ServerConstants.MAX_OVERFLOWS_PROPERTY,
+                ServerConstants.DEFAULT_MAX_OVERFLOWS));
+        overflowWindowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, Long.getLong(
+                ServerConstants.OVERFLOW_WINDOW_PROPERTY, ServerConstants.DEFAULT_OVERFLOW_WINDOW_MILLIS)));
+        maxSessions = Math.max(0, Integer.getInteger(ServerConstants.MAX_SESSIONS_PROPERTY,
+                ServerConstants.DEFAULT_MAX_SESSIONS));
+        subjectCount = Math.max(1, Integer.getInteger(ServerConstants.SUBJECTS_PROPERTY,
+                ServerConstants.DEFAULT_SUBJECTS));
+        wallClock = ServerConstants.CLOCK_WALL.equals(System.getProperty(ServerConstants.CLOCK_PROPERTY));
+        emotionGenerators = new SignalGeneratorEngine(subjectCount, EMOTIONS.length, Long.getLong(
+                ServerConstants.GENERATOR_SEED_PROPERTY, ServerConstants.DEFAULT_GENERATOR_SEED));
+        String generators = System.getProperty(ServerConstants.GENERATORS_PROPERTY);
+        if (generators != null) {
+            configureGenerators(generators);
+        }
+        String timeline = System.getProperty(ServerConstants.TIMELINE_PROPERTY);
+        if (timeline != null) {
+            try {
+                setTimeline(ExpressionTimelineModel.load(Paths.get(timeline),
+                        ChannelSchemaRegistry.getInstance()::getChannelId));
+            } catch (IOException | IllegalArgumentException e) {
+                logger.error(ServerConstants.ERROR_TIMELINE + e.getMessage());
+            }
+        }
+        createSessionShards();
+    }
+
+    /**
+     * The static function to get the instance of this class
+     *
+     * @return the instance of this class
+     */
+    public static synchronized MessageBroadcaster getInstance() {
+        if (instance == null) {
+            instance = new MessageBroadcaster();
+        }
+        return instance;
+    }
+
+    /**
+     * Starts the tick thread and the sender threads. Calling it on an already
+     * started broadcaster has no effect.
+     */
+    public synchronized void start() {
+        if (tickScheduler != null) {
+            return;
+        }
+        senderExecutors = new ExecutorService[senderThreadCount];
+        for (int i = 0; i < senderThreadCount; i++) {
+            final String threadName = ServerConstants.SENDER_THREAD_NAME + i;
+            senderExecutors[i] = Executors.newSingleThreadExecutor(runnable -> createThread(runnable, threadName));
+        }
+        if (subjectCount > 1) {
+            SimulatedSubject[] subjects = new SimulatedSubject[subjectCount];
+            MessageModel message = ServerCommonData.getInstance().getMessage();
+            for (int i = 1; i < subjectCount; i++) {
+                subjects[i] = new SimulatedSubject(i, subjectCount, message);
+            }
+            simulatedSubjects = subjects;
+        }
+        tickScheduler = new TickScheduler(ServerConstants.TICK_THREAD_NAME, MessageBroadcaster::getIntervalNanos,
+                this::tick);
+        tickScheduler.start();
+        statisticsExecutor = Executors.newSingleThreadScheduledExecutor(
+                runnable -> createThread(runnable, ServerConstants.STATISTICS_THREAD_NAME));
+        statisticsExecutor.scheduleAtFixedRate(this::reportStatistics, ServerConstants.STATISTICS_PERIOD_MILLIS,
+                ServerConstants.STATISTICS_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the tick thread and the sender threads and forgets all sessions
+     */
+    public synchronized void stop() {
+        if (tickScheduler == null) {
+            return;
+        }
+        tickScheduler.stop();
+        statisticsExecutor.shutdownNow();
+        for (ExecutorService senderExecutor : senderExecutors) {
+            senderExecutor.shutdownNow();
+        }
+        tickScheduler = null;
+        statisticsExecutor = null;
+        senderExecutors = null;
+        simulatedSubjects = null;
+        previousFrameMessage = null;
+        pendingFrames = new ArrayList<>(batchSize);
+        createSessionShards();
+    }
+
+    /**
+     * Registers a session to receive the frames. The session gets its own
+     * outbound queue, which starts with the channel schema so that the
+     * schema is written before any frame without blocking the calling
+     * thread. The session is then assigned to the sender thread which
+     * currently serves the least number of sessions, or to the sender thread
+     * which owns the simulated subject of the session.
+     *
+     * @param session web socket session
+     * @return false if the session has been refused, because the maximum
+     * number of sessions is reached
+     */
+    public synchronized boolean addSession(Session session) {
+        if (maxSessions > 0 && getSessionCount() >= maxSessions) {
+            return false;
+        }
+        SessionOutboundQueue queue = new SessionOutboundQueue(session, queueCapacity, overflowPolicy, maxOverflows,
+                overflowWindowNanos, System::nanoTime);
+        queue.offerLossless(ChannelSchemaEncoder.encodeSchema(ChannelSchemaRegistry.getInstance().getSchema()));
+        session.getUserProperties().put(ServerConstants.OUTBOUND_QUEUE_PARAMETER, queue);
+        int subject = getSubject(session);
+        if (subject > 0) {
+            sessionShards.get(subject % senderThreadCount).add(session);
+            return true;
+        }
+        List<Session> leastLoadedShard = sessionShards.get(0);
+        for (List<Session> shard : sessionShards) {
+            if (shard.size() < leastLoadedShard.size()) {
+                leastLoadedShard = shard;
+            }
+        }
+        leastLoadedShard.add(session);
+        return true;
+    }
+
+    /**
+     * Removes a session so that no more frames are sent to it, and drops
+     * the messages still queued for it
+     *
+     * @param session web socket session
+     */
+    public synchronized void removeSession(Session session) {
+        for (List<Session> shard : sessionShards) {
+            shard.remove(session);
+        }
+        SessionOutboundQueue queue = getOutboundQueue(session);
+        if (queue != null) {
+            queue.close();
+        }
+    }
+
+    /**
+     * Returns the number of sessions currently receiving frames
+     *
+     * @return number of registered sessions
+     */
+    public int getSessionCount() {
+        int sessionCount = 0;
+        for (List<Session> shard : sessionShards) {
+            sessionCount += shard.size();
+        }
+        return sessionCount;
+    }
+
+    /**
+     * @return the number of subjects, including the subject of the server UI
+     */
+    public int getSubjectCount() {
+        return subjectCount;
+    }
+
+    /**
+     * Returns the simulated subjects while the broadcaster is started
+     *
+     * @return the subjects indexed by their id, with null for the subject of
+     * the server UI, or null if there are none
+     */
+    public SimulatedSubject[] getSimulatedSubjects() {
+        return simulatedSubjects;
+    }
+
+    /**
+     * Returns the number of messages waiting in the outbound queues of all
+     * the sessions
+     *
+     * @return number of queued messages
+     */
+    public int getQueuedMessageCount() {
+        int queuedMessageCount = 0;
+        for (List<Session> shard : sessionShards) {
+            for (Session session : shard) {
+                SessionOutboundQueue queue = getOutboundQueue(session);
+                queuedMessageCount += queue == null ? 0 : queue.getDepth();
+            }
+        }
+        return queuedMessageCount;
+    }
+
+    /**
+     * Returns the depth of the fullest outbound queue
+     *
+     * @return maximum number of messages queued for one session
+     */
+    public int getMaxQueueDepth() {
+        int maxQueueDepth = 0;
+        for (List<Session> shard : sessionShards) {
+            for (Session session : shard) {
+                SessionOutboundQueue queue = getOutboundQueue(session);
+                maxQueueDepth = Math.max(maxQueueDepth, queue == null ? 0 : queue.getDepth());
+            }
+        }
+        return maxQueueDepth;
+    }
+
+    /**
+     * @return the number of messages dropped by full outbound queues since
+     * the server was started
+     */
+    public long getDroppedMessageCount() {
+        return droppedMessageCount.get();
+    }
+
+    /**
+     * @return the number of sessions closed for overflowing their outbound
+     * queue since the server was started
+     */
+    public int getSlowConsumerDisconnectCount() {
+        return slowConsumerDisconnectCount.get();
+    }
+
+    /**
+     * Counts the messages dropped by a full outbound queue
+     *
+     * @param dropped number of dropped messages
+     */
+    void countDroppedMessages(int dropped) {
+        droppedMessageCount.addAndGet(dropped);
+    }
+
+    /**
+     * Counts a session closed for overflowing its outbound queue
+     */
+    void countSlowConsumerDisconnect() {
+        slowConsumerDisconnectCount.incrementAndGet();
+    }
+
+    /**
+     * @return the number of sender threads
+     */
+    public int getSenderThreadCount() {
+        return senderThreadCount;
+    }
+
+    /**
+     * Sets the number of sender threads. Takes effect with the next start of
+     * the broadcaster and drops the currently registered sessions.
+     *
+     * @param senderThreadCount the number of sender threads to set
+     */
+    public synchronized void setSenderThreadCount(int senderThreadCount) {
+        if (tickScheduler != null) {
+            throw new IllegalStateException("Sender threads cannot be changed while broadcasting");
+        }
+        this.senderThreadCount = Math.max(1, senderThreadCount);
+        createSessionShards();
+    }
+
+    /**
+     * @return the maximum number of frames sent in one batch
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the maximum number of frames sent in one batch
+     *
+     * @param batchSize the batch size to set, 1 to send every frame on its own
+     */
+    public synchronized void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Sets the maximum time by which batching may delay a frame
+     *
+     * @param batchLatencyMillis the latency to set in milliseconds
+     */
+    public synchronized void setBatchLatencyMillis(int batchLatencyMillis) {
+        this.batchLatencyNanos = TimeUnit.MILLISECONDS.toNanos(batchLatencyMillis);
+    }
+
+    /**
+     * Method to number a frame and stamp it with the wall clock time at which
+     * it is sent, so that the clients can measure the latency of every frame
+     * and count the frames they lost
+     *
+     * @param message  snapshot of the message of the tick
+     * @param sequence sequence number of the frame
+     * @return a frozen copy of the snapshot carrying the sequence and send time
+     */
+    static MessageModel stampFrame(MessageModel message, long sequence) {
+        MessageModel frameMessage = new MessageModel(message);
+        frameMessage.setSequence(sequence);
+        frameMessage.setSendTimeMicros(WallClock.currentTimeMicros());
+        return frameMessage.freeze();
+    }
+
+    /**
+     * Builds one frame out of the current snapshot of the message, which no
+     * other thread modifies, and adds it to the pending batch, which is
+     * handed over to every sender thread once it is complete.
+     * Advances the shared time stamp once per tick, irrespective of the number
+     * of connected clients. The sender threads then build the frames of their
+     * simulated subjects.
+     */
+    private void tick() {
+        try {
+            ExecutorService[] executors = senderExecutors;
+            List<List<Session>> shards = sessionShards;
+            ServerHostInterface host = getServerHost();
+            if (executors != null && host != null && host.isSendingData() && getSessionCount() > 0) {
+                if (wallClock) {
+                    final long nowMicros = WallClock.currentTimeMicros();
+                    ServerCommonData.getInstance().updateMessage(message -> message.setTimeStampMicros(nowMicros));
+                }
+                boolean generating = emotionGenerators.isGenerating() || timelinePlayer != null
+                        || pulseScheduler.isActive();
+                final MessageModel frameMessage = stampFrame(generating ? generateChannels()
+                        : ServerCommonData.getInstance().getMessage(), ++frameSequence);
+                long sequence = frameSequence;
+                boolean keyframe = previousFrameMessage == null || sequence % keyframeInterval == 0;
+                double[] emotions = generating ? subjectEmotions : null;
+                final EncodedFrame frame = new EncodedFrame(sequence, frameMessage,
+                        keyframe ? null : previousFrameMessage);
+                previousFrameMessage = frameMessage;
+                long now = System.nanoTime();
+                if (pendingFrames.isEmpty()) {
+                    firstPendingNanos = now;
+                }
+                pendingFrames.add(frame);
+                if (!wallClock) {
+                    ServerCommonData.getInstance().updateMessage(message -> message.setTimeStampMicros(
+                            frameMessage.getTimeStampMicros() + frameMessage.getIntervalMicros()));
+                }
+                host.updateTimeStamp(frameMessage.getTimeStamp());
+                advanceSubjects(executors, frameMessage, emotions);
+                long intervalNanos = getIntervalNanos();
+                boolean autoRepeat = host.isAutoRepeat();
+                if (!autoRepeat || pendingFrames.size() >= batchSize
+                        || now - firstPendingNanos + intervalNanos > batchLatencyNanos) {
+                    flushPendingFrames(executors, shards);
+                }
+                if (!autoRepeat) {
+                    host.stopSendingData();
+                }
+            } else if (executors != null && !pendingFrames.isEmpty()) {
+                flushPendingFrames(executors, shards);
+            }
+        } catch (RuntimeException e) {
+            logger.error(ServerConstants.ERROR_BROADCAST + e.getMessage());
+        }
+    }
+
+    /**
+     * Computes the emotions, plays the timeline of the expressions and the
+     * pulses for the next tick, and publishes them with the message. The
+     * emotions set by hand are left as they are.
+     *
+     * @return the message with the computed emotions and expressions
+     */
+    private MessageModel generateChannels() {
+        MessageModel currentMessage = ServerCommonData.getInstance().getMessage();
+        long intervalMicros = currentMessage.getIntervalMicros();
+        emotionGenerators.advance(intervalMicros);
+        emotionGenerators.copyValues(0, generatedEmotions);
+        if (subjectCount > 1) {
+            subjectEmotions = new double[subjectCount * EMOTIONS.length];
+            emotionGenerators.copyValues(subjectEmotions);
+        }
+        final ExpressionTimelinePlayer player = timelinePlayer;
+        if (player != null) {
+            player.advance(intervalMicros, currentMessage);
+        }
+        pulseScheduler.advance();
+        return ServerCommonData.getInstance().updateMessage(message -> {
+            for (int i = 0; i < EMOTIONS.length; i++) {
+                if (!Double.isNaN(generatedEmotions[i])) {
+                    message.setEmotion(EMOTIONS[i], generatedEmotions[i]);
+                }
+            }
+            if (player != null) {
+                player.applyTo(message);
+            }
+            pulseScheduler.applyTo(message);
+        });
+    }
+
+    /**
+     * Hands an encoded block of raw samples over to every sender thread. The
+     * block is shared by all the sessions, each sending its own view of it.
+     *
+     * @param block encoded block of samples
+     */
+    public void broadcastSamples(final ByteBuffer block) {
+        ExecutorService[] executors = senderExecutors;
+        List<List<Session>> shards = sessionShards;
+        if (executors == null) {
+            return;
+        }
+        for (int i = 0; i < executors.length; i++) {
+            final List<Session> shard = shards.get(i);
+            if (!shard.isEmpty()) {
+                executors[i].execute(() -> sendSamplesToShard(shard, block));
+            }
+        }
+    }
+
+    /**
+     * Queues a block of raw samples for all the open sessions of a shard
+     *
+     * @param shard sessions served by the calling sender thread
+     * @param block encoded block of samples
+     */
+    private void sendSamplesToShard(List<Session> shard, ByteBuffer block) {
+        for (Session session : shard) {
+            SessionOutboundQueue queue = getOutboundQueue(session);
+            if (session.isOpen() && queue != null) {
+                queue.offerLossless(block.duplicate());
+            }
+        }
+    }
+
+    /**
+     * Hands the pending frames over to every sender thread as one batch
+     *
+     * @param executors sender threads
+     * @param shards    sessions of every sender thread
+     */
+    private void flushPendingFrames(ExecutorService[] executors, List<List<Session>> shards) {
+        final EncodedBatch batch = new EncodedBatch(pendingFrames);
+        pendingFrames = new ArrayList<>(batchSize);
+        final SimulatedSubject[] subjects = simulatedSubjects;
+        for (int i = 0; i < executors.length; i++) {
+            final int shardIndex = i;
+            final List<Session> shard = shards.get(i);
+            if (!shard.isEmpty() || (subjects != null && shardIndex < subjectCount)) {
+                executors[i].execute(() -> sendToShard(shardIndex, shard, batch, subjects));
+            }
+        }
+    }
+
+    /**
+     * Hands the next tick of the simulated subjects over to the sender
+     * threads which own them
+     *
+     * @param executors sender threads
+     * @param reference message of the subject of the server UI for the tick
+     * @param emotions  values of the emotions of all the subjects, or null if
+     *                  no emotion is computed
+     */
+    private void advanceSubjects(ExecutorService[] executors, final MessageModel reference, final double[] emotions) {
+        final SimulatedSubject[] subjects = simulatedSubjects;
+        if (subjects == null) {
+            return;
+        }
+        final ExpressionTimelineModel timeline = getTimeline();
+        final int shardCount = executors.length;
+        for (int i = 0; i < shardCount && i < subjectCount; i++) {
+            final int shardIndex = i;
+            executors[i].execute(() -> {
+                for (int subject = getFirstSubject(shardIndex, shardCount); subject < subjects.length;
+                     subject += shardCount) {
+                    subjects[subject].nextFrame(reference, emotions, timeline, keyframeInterval);
+                }
+            });
+        }
+    }
+
+    /**
+     * Queues the batch for all the open sessions of a shard, with the codec
+     * each session has negotiated. The batch is encoded once per format by
+     * whichever sender thread needs it first, and the result is shared by all
+     * the sessions. The sessions of the simulated subjects owned by the
+     * calling sender thread get the pending frames of their subject instead.
+     * A session whose codec has not been opened yet is skipped, and a
+     * session whose codec fails to encode the batch misses it without holding
+     * up the other sessions of the shard.
+     *
+     * @param shardIndex index of the calling sender thread
+     * @param shard      sessions served by the calling sender thread
+     * @param frame      batch to be sent
+     * @param subjects   simulated subjects, or null if there are none
+     */
+    private void sendToShard(int shardIndex, List<Session> shard, EncodedBatch frame, SimulatedSubject[] subjects) {
+        if (subjects != null) {
+            for (int subject = getFirstSubject(shardIndex, senderThreadCount); subject < subjects.length;
+                 subject += senderThreadCount) {
+                subjects[subject].flush();
+            }
+        }
+        for (Session session : shard) {
+            SessionOutboundQueue queue = getOutboundQueue(session);
+            Object codec = session.getUserProperties().get(ServerConstants.CODEC_PARAMETER);
+            int subject = getSubject(session);
+            EncodedBatch batch = subject == 0 ? frame : subjects == null ? null : subjects[subject].getBatch();
+            if (!session.isOpen() || queue == null || codec == null || batch == null) {
+                continue;
+            }
+            try {
+                queue.offer(((CodecInterface) codec).encode(session, batch));
+            } catch (EncodeException e) {
+                logger.error(ServerConstants.ERROR_ENCODING_SESSION + session.getId() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the host of the server, set by the server container
+     *
+     * @return the host of the server, or null if no server has been started
+     */
+    public ServerHostInterface getServerHost() {
+        return serverHost;
+    }
+
+    /**
+     * Sets the host of the server, such as the server UI or the
+     * {@link HeadlessServerHost}
+     *
+     * @param serverHost the host to set
+     */
+    public void setServerHost(ServerHostInterface serverHost) {
+        this.serverHost = serverHost;
+    }
+
+    /**
+     * @return the engine computing the emotions, indexed by the ordinal of
+     * the emotion
+     */
+    public SignalGeneratorEngine getEmotionGenerators() {
+        return emotionGenerators;
+    }
+
+    /**
+     * Configures the generators of the emotions from a semicolon separated
+     * list of emotions, each followed by an equals sign and its generator.
+     * The invalid entries are logged and skipped.
+     *
+     * @param generators list of generators, such as {@code interest=sine}
+     */
+    public void configureGenerators(String generators) {
+        for (String entry : generators.split(ServerConstants.GENERATOR_SEPARATOR)) {
+            if (entry.trim().isEmpty()) {
+                continue;
+            }
+            String[] emotionAndGenerator = entry.split(ServerConstants.GENERATOR_CHANNEL_SEPARATOR, 2);
+            Emotion emotion = MessageModel.lookupEmotion(emotionAndGenerator[0].trim());
+            try {
+                if (emotion == null || emotionAndGenerator.length < 2) {
+                    throw new IllegalArgumentException(entry);
+                }
+                emotionGenerators.configure(emotion.ordinal(), SignalGeneratorModel.parse(emotionAndGenerator[1]));
+            } catch (IllegalArgumentException e) {
+                logger.error(ServerConstants.ERROR_GENERATOR + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return the scheduler of the timed pulses of the concrete expressions
+     */
+    public ExpressionPulseScheduler getPulseScheduler() {
+        return pulseScheduler;
+    }
+
+    /**
+     * Plays a timeline of the expressions in a loop from its start, in place
+     * of the timeline being played
+     *
+     * @param timeline the timeline to play, or null to stop playing
+     */
+    public void setTimeline(ExpressionTimelineModel timeline) {
+        timelinePlayer = timeline == null ? null : new ExpressionTimelinePlayer(timeline);
+        if (timeline != null) {
+            logger.info(ServerConstants.TIMELINE_LOADED + timeline);
+        }
+    }
+
+    /**
+     * @return the timeline being played, or null if there is none
+     */
+    public ExpressionTimelineModel getTimeline() {
+        ExpressionTimelinePlayer player = timelinePlayer;
+        return player == null ? null : player.getTimeline();
+    }
+
+    /**
+     * @return the maximum number of sessions, or 0 if there is no limit
+     */
+    public synchronized int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * Sets the maximum number of sessions. The sessions already open are
+     * kept.
+     *
+     * @param maxSessions the maximum to set, or 0 for no limit
+     */
+    public synchronized void setMaxSessions(int maxSessions) {
+        this.maxSessions = Math.max(0, maxSessions);
+    }
+
+    /**
+     * @return the scheduler of the ticks, or null if the broadcaster is not
+     * started
+     */
+    public TickScheduler getTickScheduler() {
+        return tickScheduler;
+    }
+
+    /**
+     * Shows the depth of the outbound queues, the number of dropped messages
+     * and the jitter of the ticks on the server console
+     */
+    private void reportStatistics() {
+        try {
+            TickScheduler scheduler = tickScheduler;
+            if (scheduler == null) {
+                return;
+            }
+            String queueStatistics = String.format(ServerConstants.QUEUE_STATISTICS, getSessionCount(),
+                    getQueuedMessageCount(), getMaxQueueDepth(), getDroppedMessageCount(),
+                    getSlowConsumerDisconnectCount());
+            String tickStatistics = String.format(ServerConstants.TICK_STATISTICS, scheduler.getTickCount(),
+                    scheduler.getMissedTickCount(), scheduler.getMeanJitterMicros(),
+                    scheduler.getJitterDeviationMicros(), scheduler.getMaxJitterMicros());
+            logger.debug(queueStatistics + "  " + tickStatistics);
+            ServerHostInterface host = serverHost;
+            if (host != null) {
+                host.showStatistics(queueStatistics, tickStatistics);
+            }
+        } catch (RuntimeException e) {
+            logger.error(ServerConstants.ERROR_BROADCAST + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the outbound queue of a session
+     *
+     * @param session web socket session
+     * @return the queue, or null if the session has not been added
+     */
+    private static SessionOutboundQueue getOutboundQueue(Session session) {
+        return (SessionOutboundQueue) session.getUserProperties().get(ServerConstants.OUTBOUND_QUEUE_PARAMETER);
+    }
+
+    /**
+     * Returns the subject whose frames a session receives
+     *
+     * @param session web socket session
+     * @return the id of the subject, 0 for the subject of the server UI
+     */
+    private static int getSubject(Session session) {
+        Object subject = session.getUserProperties().get(ServerConstants.SUBJECT_PARAMETER);
+        return subject == null ? 0 : (Integer) subject;
+    }
+
+    /**
+     * Returns the first simulated subject owned by a sender thread. The
+     * subject of the server UI is never owned, its frames are built by the
+     * tick thread.
+     *
+     * @param shardIndex index of the sender thread
+     * @param shardCount number of sender threads
+     * @return the id of the subject, followed by every shard count subjects
+     */
+    private static int getFirstSubject(int shardIndex, int shardCount) {
+        return shardIndex == 0 ? shardCount : shardIndex;
+    }
+
+    /**
+     * Returns the interval currently set on the server
+     *
+     * @return the interval in nanoseconds
+     */
+    private static long getIntervalNanos() {
+        return TimeUnit.MICROSECONDS.toNanos(ServerCommonData.getInstance().getMessage().getIntervalMicros());
+    }
+
+    /**
+     * Creates one empty list of sessions for every sender thread
+     */
+    private void createSessionShards() {
+        sessionShards = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < senderThreadCount; i++) {
+            sessionShards.add(new CopyOnWriteArrayList<>());
+        }
+    }
+
+    /**
+     * Creates a daemon thread, so that the broadcaster never keeps the
+     * application alive
+     *
+     * @param runnable   task of the thread
+     * @param threadName name of the thread
+     * @return the created thread
+     */
+    private static Thread createThread(Runnable runnable, String threadName) {
+        Thread thread = new Thread(runnable, threadName);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
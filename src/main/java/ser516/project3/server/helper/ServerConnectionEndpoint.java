@@ -2,10 +2,13 @@ package ser516.project3.server.helper;
 
 import org.apache.log4j.Logger;
 import ser516.project3.constants.ServerConstants;
-import ser516.project3.server.controller.ServerController;
-import ser516.project3.utilities.MessageEncoder;
-import ser516.project3.utilities.ServerCommonData;
+import ser516.project3.interfaces.CodecInterface;
+import ser516.project3.interfaces.ServerHostInterface;
+import ser516.project3.utilities.FrameStatistics;
+import ser516.project3.utilities.MessageCodecRegistry;
 
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
 import javax.websocket.*;
 import javax.websocket.server.ServerEndpoint;
 import java.io.IOException;
@@ -15,60 +18,130 @@ import java.io.IOException;
  *
  * @author User
  */
-@ServerEndpoint(value = "/server", encoders = {MessageEncoder.class})
+@ServerEndpoint(value = "/server", configurator = CodecNegotiationConfigurator.class,
+        subprotocols = {ServerConstants.CODEC_JSON, ServerConstants.CODEC_BINARY, ServerConstants.CODEC_DELTA})
 public class ServerConnectionEndpoint {
     final static Logger logger = Logger.getLogger(ServerConnectionEndpoint.class);
 
     /**
-     * Method containing logic to start sending the message json based on the value
-     * of auto send flag. If the flag is false, just send the json once,
-     * else keep sending based on the interval
+     * Method containing logic to register the newly opened session with the
+     * {@link MessageBroadcaster}, which sends the message to it based on the
+     * value of auto send flag and the interval. The message is sent with the
+     * codec negotiated during the handshake, or as json if the client has not
+     * asked for any registered codec. When the maximum number of sessions is
+     * reached, the session is closed before any codec is opened for it.
+     * Otherwise the channel schema is queued for the session ahead of its
+     * first frame, and the codec of the session is shown on the server
+     * console. The session receives the frames of the subject of the server
+     * UI.
      *
      * @param session web socket session
      */
     @OnOpen
-    public void onOpen(final Session session) throws IOException {
-        try {
-            logger.info(ServerConstants.CLIENT_CONNECTED + session.getBasicRemote());
-            ServerController.getInstance().getConsoleController().getConsoleModel().
-                    logMessage(ServerConstants.CLIENT_CONNECTED);
-            ServerCommonData serverCommonDataObject = ServerCommonData.getInstance();
-            while (true) {
-                boolean isShouldSend = ServerController.getInstance().getTopController().
-                        getTopModel().isShouldSendData();
-                boolean isAutoRepeat = ServerController.getInstance().getTopController().
-                        getTopModel().isAutoRepeatCheckBoxChecked();
-                if (isShouldSend) {
-                    session.getBasicRemote().sendObject(serverCommonDataObject.getMessage());
-                    double timeElapsed = ServerCommonData.getInstance().getMessage().
-                            getTimeStamp();
-                    double dataInterval = ServerCommonData.getInstance().getMessage().
-                            getInterval();
-                    ServerCommonData.getInstance().getMessage().setTimeStamp(
-                            timeElapsed + dataInterval);
-                    ServerController.getInstance().getTimerController().updateTimeStamp(timeElapsed);
-                    if (!isAutoRepeat)
-                        ServerController.getInstance().getTopController().getTopModel().setShouldSendData(false);
-                }
-                Thread.sleep((long) (serverCommonDataObject.getMessage().getInterval() * 1000));
-            }
+    public void onOpen(final Session session) {
+        open(session, 0);
+    }
 
-        } catch (IOException | EncodeException | InterruptedException e) {
-            logger.error(ServerConstants.ERROR_CLIENT_CONNECTION + e.getMessage());
-            ServerController.getInstance().getConsoleController().getConsoleModel().
-                    logMessage(ServerConstants.ERROR_CLIENT_CONNECTION);
+    /**
+     * Method to register the newly opened session for the frames of a
+     * subject, as in {@link #onOpen(Session)}. A session asking for a subject
+     * which the server does not simulate is closed.
+     *
+     * @param session   web socket session
+     * @param subjectId id of the subject, 0 for the subject of the server UI
+     */
+    public void open(final Session session, int subjectId) {
+        if (subjectId < 0 || subjectId >= MessageBroadcaster.getInstance().getSubjectCount()) {
+            logger.info(ServerConstants.SESSION_UNKNOWN_SUBJECT + session.getId());
+            try {
+                session.close(new CloseReason(CloseReason.CloseCodes.CANNOT_ACCEPT,
+                        ServerConstants.UNKNOWN_SUBJECT_REASON));
+            } catch (IOException e) {
+                logger.error(ServerConstants.ERROR_SENDING_TEXT + e.getMessage());
+            }
+            return;
+        }
+        session.getUserProperties().put(ServerConstants.SUBJECT_PARAMETER, subjectId);
+        if (!MessageBroadcaster.getInstance().addSession(session)) {
+            logger.info(ServerConstants.SESSION_REFUSED + session.getId());
+            try {
+                session.close(new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER,
+                        ServerConstants.MAX_SESSIONS_REASON));
+            } catch (IOException e) {
+                logger.error(ServerConstants.ERROR_SENDING_TEXT + e.getMessage());
+            }
+            return;
+        }
+        CodecInterface codec = MessageCodecRegistry.getInstance().getCodec(session.getNegotiatedSubprotocol());
+        codec.open(session);
+        session.getUserProperties().put(ServerConstants.CODEC_PARAMETER, codec);
+        String connected = ServerConstants.CLIENT_CONNECTED + session.getId() + ServerConstants.USING_CODEC
+                + codec.getName() + (subjectId == 0 ? "" : ServerConstants.USING_SUBJECT + subjectId);
+        logger.info(connected);
+        ServerHostInterface host = MessageBroadcaster.getInstance().getServerHost();
+        if (host != null) {
+            host.logMessage(connected);
         }
     }
 
 
     /**
-     * Method containing logic on what to do when message from client is received
+     * Method containing logic on what to do when message from client is received.
+     * A client which has missed a frame asks its codec to resynchronize it,
+     * and the frames already queued for it which it could not decode are
+     * dropped.
+     * The statistics reported by a client are shown on the console.
      *
+     * @param message message from the client
      * @param session web socket session
      */
     @OnMessage
     public void onMessage(String message, Session session) {
+        Object codec = session.getUserProperties().get(ServerConstants.CODEC_PARAMETER);
+        if (ServerConstants.RESYNC_REQUEST.equals(message) && codec != null) {
+            logger.info(ServerConstants.RESYNC_REQUESTED + session.getId());
+            Object queue = session.getUserProperties().get(ServerConstants.OUTBOUND_QUEUE_PARAMETER);
+            if (queue != null) {
+                ((SessionOutboundQueue) queue).resync();
+            } else {
+                ((CodecInterface) codec).resync(session);
+            }
+            return;
+        }
+        JsonObject statistics = FrameStatistics.readReport(message);
+        if (statistics != null) {
+            String report = String.format(ServerConstants.CLIENT_STATISTICS, session.getId(),
+                    millis(statistics, FrameStatistics.LATENCY_P50), millis(statistics, FrameStatistics.LATENCY_P99),
+                    millis(statistics, FrameStatistics.LATENCY_MAX), millis(statistics, FrameStatistics.JITTER_P50),
+                    millis(statistics, FrameStatistics.JITTER_P99), count(statistics, FrameStatistics.FRAMES),
+                    count(statistics, FrameStatistics.LOST), count(statistics, FrameStatistics.DUPLICATED),
+                    count(statistics, FrameStatistics.REORDERED));
+            logger.info(report);
+            MessageBroadcaster.getInstance().getServerHost().logMessage(report);
+        }
+    }
 
+    /**
+     * Method to read a count of the statistics reported by a client
+     *
+     * @param statistics statistics reported by the client
+     * @param key        name of the count
+     * @return the count, 0 if it is missing
+     */
+    private static long count(JsonObject statistics, String key) {
+        JsonNumber number = statistics.get(key) instanceof JsonNumber ? statistics.getJsonNumber(key) : null;
+        return number == null ? 0 : number.longValue();
+    }
+
+    /**
+     * Method to read a time of the statistics reported by a client
+     *
+     * @param statistics statistics reported by the client
+     * @param key        name of the time, given in microseconds
+     * @return the time in milliseconds, 0 if it is missing
+     */
+    private static double millis(JsonObject statistics, String key) {
+        return count(statistics, key) / 1000.0;
     }
 
     /**
@@ -80,6 +153,7 @@ public class ServerConnectionEndpoint {
     @OnClose
     public void onClose(Session session, CloseReason closeReason) {
         logger.info(ServerConstants.ON_CLOSE + closeReason);
+        MessageBroadcaster.getInstance().removeSession(session);
         try {
             session.getBasicRemote().sendText(ServerConstants.CONNECTION_CLOSED);
         } catch (IOException e) {
@@ -96,5 +170,7 @@ public class ServerConnectionEndpoint {
     @OnError
     public void onError(Session session, Throwable throwable) {
         logger.error(ServerConstants.ERROR_SERVER_ENDPOINT);
+        MessageBroadcaster.getInstance().removeSession(session);
+        logger.info(ServerConstants.CLIENT_DISCONNECTED + session.getId());
     }
 }
\ No newline at end of file
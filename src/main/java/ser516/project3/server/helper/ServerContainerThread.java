@@ -3,41 +3,108 @@ package ser516.project3.server.helper;
 import org.apache.log4j.Logger;
 import org.glassfish.tyrus.server.Server;
 import ser516.project3.constants.ServerConstants;
-import ser516.project3.server.controller.ServerController;
+import ser516.project3.interfaces.ServerHostInterface;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.util.concurrent.CountDownLatch;
 
 /**
  * The thread class for Server Container which initializes the glass fish
  * container to provide environment for the server's web socket to receive
- * connections
+ * connections. The container runs until the thread is interrupted or
+ * {@link #stop()} is called.
  *
  * @author vsriva12
  */
 public class ServerContainerThread implements Runnable {
     final static Logger logger = Logger.getLogger(ServerContainerThread.class);
-    private static final int PORT = 1516;
+    private final String bindAddress;
+    private final int port;
+    private final boolean eegStreamEnabled;
+    private final ServerHostInterface host;
+    private final CountDownLatch stopLatch = new CountDownLatch(1);
     private Server server;
+    private Thread thread;
 
+    /**
+     * Creates the container thread of the server UI, listening on localhost
+     * on the default port, with the raw EEG stream
+     *
+     * @param host host of the server, which is the server UI
+     */
+    public ServerContainerThread(ServerHostInterface host) {
+        this(host, ServerConstants.LOCALHOST, ServerConstants.DEFAULT_PORT, true);
+    }
+
+    /**
+     * Creates a container thread listening on the passed address and port
+     *
+     * @param host             host of the server, deciding whether to send
+     *                         frames and showing the messages of the server
+     * @param bindAddress      address the server listens on
+     * @param port             port the server listens on
+     * @param eegStreamEnabled true to stream the raw EEG samples as well
+     */
+    public ServerContainerThread(ServerHostInterface host, String bindAddress, int port, boolean eegStreamEnabled) {
+        this.host = host;
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.eegStreamEnabled = eegStreamEnabled;
+        server = new Server(bindAddress, port, "", null, ServerConnectionEndpoint.class,
+                SubjectConnectionEndpoint.class);
+    }
+
+    /**
+     * Method to set the host of the broadcaster, start the container and
+     * the broadcaster, and stop them once the container is asked to stop
+     */
     @Override
     public void run() {
-        server = new Server(ServerConstants.LOCALHOST, PORT, "", null, ServerConnectionEndpoint.class);
+        MessageBroadcaster.getInstance().setServerHost(host);
         try {
+            if (eegStreamEnabled) {
+                EegStreamer.getInstance().start();
+            }
             server.start();
-            ServerController.getInstance().getTopController().getTopModel().setServerStarted(true);
-            BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
-            reader.readLine();
+            MessageBroadcaster.getInstance().start();
+            host.setServerStarted(true);
+            logger.info(ServerConstants.SERVER_LISTENING + bindAddress + ":" + port);
+            stopLatch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             logger.error(ServerConstants.ERROR_SERVER_START + e.getMessage());
-            ServerController.getInstance().getConsoleController().getConsoleModel()
-                    .logMessage(ServerConstants.ERROR_SERVER_START);
+            host.logMessage(ServerConstants.ERROR_SERVER_START);
         } finally {
+            EegStreamer.getInstance().stop();
+            MessageBroadcaster.getInstance().stop();
             server.stop();
-            ServerController.getInstance().getTopController().getTopModel().setServerStarted(false);
+            host.setServerStarted(false);
         }
     }
 
+    /**
+     * Method to run the container in a new thread
+     */
+    public void start() {
+        thread = new Thread(this);
+        thread.start();
+    }
+
+    /**
+     * @return the thread started by {@link #start()}, or null if the
+     * container is run by another thread
+     */
+    public Thread getThread() {
+        return thread;
+    }
+
+    /**
+     * Method to make the thread stop the container and return
+     */
+    public void stop() {
+        stopLatch.countDown();
+    }
+
     /**
      * @return the server
      */
@@ -0,0 +1,404 @@
+package ser516.project3.server.helper;
+
+import org.apache.log4j.Logger;
+import ser516.project3.constants.ServerConstants;
+import ser516.project3.interfaces.CodecInterface;
+
+import javax.websocket.CloseReason;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * The SessionOutboundQueue class holds the messages waiting to be sent to one
+ * session. At most one message of a session is written at a time, through
+ * its asynchronous remote; the next one is taken from the queue when the
+ * write completes. Offering a message therefore never blocks the sender
+ * thread, however slow the client is, and a slow client only fills its own
+ * queue.
+ * <p>
+ * The queue holds two kinds of messages. The frames carry the state of the
+ * subject, so a later frame supersedes an earlier one and frames may be
+ * dropped. The lossless messages, such as the channel schema and the blocks
+ * of raw samples, are never dropped. When the queue is full, the overflow
+ * policy decides which frames go: the oldest one, all of them in favour of
+ * the latest messages, or the oldest one with the session closed once it has
+ * overflowed the configured number of times within the overflow window.
+ * Whenever a frame is dropped, the codec of the session is asked to
+ * resynchronize it, and if the frames of the codec depend on each other, the
+ * frames still queued are dropped as well, since the client could not decode
+ * them. A session whose queue is full of lossless messages is closed.
+ *
+ * @author vsriva12
+ */
+public class SessionOutboundQueue implements SendHandler {
+    final static Logger logger = Logger.getLogger(SessionOutboundQueue.class);
+
+    /**
+     * What to do with a message offered to a full queue
+     */
+    public enum OverflowPolicy {
+        DROP_OLDEST, CONFLATE, DISCONNECT;
+
+        /**
+         * Returns the policy with the passed name, such as drop-oldest
+         *
+         * @param name name of the policy, in lower case with dashes
+         * @return the policy, or DROP_OLDEST if there is no such policy
+         */
+        public static OverflowPolicy fromName(String name) {
+            for (OverflowPolicy policy : values()) {
+                if (policy.name().replace('_', '-').equalsIgnoreCase(name)) {
+                    return policy;
+                }
+            }
+            return DROP_OLDEST;
+        }
+    }
+
+    private final Session session;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final int maxOverflows;
+    private final long overflowWindowNanos;
+    private final LongSupplier nanoClock;
+    private final ArrayDeque<Object> messages;
+    private int frameCount;
+    private boolean sending;
+    private boolean closed;
+    private int overflowCount;
+    private int windowOverflowCount;
+    private long windowStartNanos;
+    private long droppedMessageCount;
+
+    /**
+     * Creates the queue of a session, counting the overflows of the
+     * DISCONNECT policy over the default window
+     *
+     * @param session        web socket session
+     * @param capacity       maximum number of messages waiting to be sent
+     * @param overflowPolicy what to do when the queue is full
+     * @param maxOverflows   number of overflows within the window after
+     *                       which the DISCONNECT policy closes the session
+     */
+    public SessionOutboundQueue(Session session, int capacity, OverflowPolicy overflowPolicy, int maxOverflows) {
+        this(session, capacity, overflowPolicy, maxOverflows,
+                TimeUnit.MILLISECONDS.toNanos(ServerConstants.DEFAULT_OVERFLOW_WINDOW_MILLIS), System::nanoTime);
+    }
+
+    /**
+     * Creates the queue of a session
+     *
+     * @param session             web socket session
+     * @param capacity            maximum number of messages waiting to be sent
+     * @param overflowPolicy      what to do when the queue is full
+     * @param maxOverflows        number of overflows within the window after
+     *                            which the DISCONNECT policy closes the session
+     * @param overflowWindowNanos length of the window the overflows are
+     *                            counted over, in nanoseconds
+     * @param nanoClock           clock the window is measured with, in
+     *                            nanoseconds
+     */
+    public SessionOutboundQueue(Session session, int capacity, OverflowPolicy overflowPolicy, int maxOverflows,
+                                long overflowWindowNanos, LongSupplier nanoClock) {
+        this.session = session;
+        this.capacity = Math.max(1, capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.maxOverflows = Math.max(1, maxOverflows);
+        this.overflowWindowNanos = Math.max(1, overflowWindowNanos);
+        this.nanoClock = nanoClock;
+        windowStartNanos = nanoClock.getAsLong();
+        messages = new ArrayDeque<>(this.capacity);
+    }
+
+    /**
+     * Method to queue a frame for the session, and to start writing it right
+     * away if no other message is being written. The frame may be dropped if
+     * the client does not keep up.
+     *
+     * @param message a String for a text message, or a ByteBuffer for a
+     *                binary one
+     */
+    public void offer(Object message) {
+        enqueue(message, false);
+    }
+
+    /**
+     * Method to queue a message which is never dropped, such as the channel
+     * schema or a block of raw samples, and to start writing it right away if
+     * no other message is being written
+     *
+     * @param message a String for a text message, or a ByteBuffer for a
+     *                binary one
+     */
+    public void offerLossless(Object message) {
+        enqueue(message, true);
+    }
+
+    /**
+     * Method to ask the codec of the session to resynchronize it, and to drop
+     * the queued frames which depend on the frames it has missed
+     */
+    public void resync() {
+        int dropped;
+        synchronized (this) {
+            dropped = requestResync();
+            droppedMessageCount += dropped;
+        }
+        if (dropped > 0) {
+            MessageBroadcaster.getInstance().countDroppedMessages(dropped);
+        }
+    }
+
+    /**
+     * Queues a message, applying the overflow policy if the queue is full
+     *
+     * @param message  message to be queued
+     * @param lossless true if the message must not be dropped
+     */
+    private void enqueue(Object message, boolean lossless) {
+        Object next = null;
+        int dropped = 0;
+        boolean disconnect = false;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            boolean queued = true;
+            if (messages.size() >= capacity) {
+                countOverflow();
+                if (frameCount > 0) {
+                    dropped = overflowPolicy == OverflowPolicy.CONFLATE ? dropFrames() : dropOldestFrame();
+                } else if (!lossless) {
+                    dropped = 1;
+                    queued = false;
+                } else {
+                    disconnect = true;
+                }
+                if (dropped > 0) {
+                    dropped += requestResync();
+                    if (queued && !lossless && isStateful()) {
+                        queued = false;
+                        dropped++;
+                    }
+                }
+                droppedMessageCount += dropped;
+                if (overflowPolicy == OverflowPolicy.DISCONNECT && windowOverflowCount >= maxOverflows) {
+                    disconnect = true;
+                }
+                if (disconnect) {
+                    closed = true;
+                    messages.clear();
+                    frameCount = 0;
+                }
+            }
+            if (!closed && queued) {
+                messages.add(lossless ? new LosslessMessage(message) : message);
+                if (!lossless) {
+                    frameCount++;
+                }
+                if (!sending) {
+                    sending = true;
+                    next = poll();
+                }
+            }
+        }
+        if (dropped > 0) {
+            MessageBroadcaster.getInstance().countDroppedMessages(dropped);
+        }
+        if (disconnect) {
+            disconnect();
+        }
+        if (next != null) {
+            write(next);
+        }
+    }
+
+    /**
+     * Method called when a write completes, which writes the next queued
+     * message, if any
+     *
+     * @param result result of the write
+     */
+    @Override
+    public void onResult(SendResult result) {
+        if (!result.isOK()) {
+            logger.debug(ServerConstants.ERROR_OUTBOUND_SEND + session.getId() + " "
+                    + result.getException().getMessage());
+        }
+        Object next;
+        synchronized (this) {
+            next = closed ? null : poll();
+            sending = next != null;
+        }
+        if (next != null) {
+            write(next);
+        }
+    }
+
+    /**
+     * Method to drop the queued messages and refuse any further ones
+     */
+    public synchronized void close() {
+        closed = true;
+        messages.clear();
+        frameCount = 0;
+    }
+
+    /**
+     * @return the number of messages waiting to be sent
+     */
+    public synchronized int getDepth() {
+        return messages.size();
+    }
+
+    /**
+     * @return the number of messages dropped because the queue was full
+     */
+    public synchronized long getDroppedMessageCount() {
+        return droppedMessageCount;
+    }
+
+    /**
+     * @return the number of times a message was offered to a full queue
+     */
+    public synchronized int getOverflowCount() {
+        return overflowCount;
+    }
+
+    /**
+     * Counts an overflow, in total and within the current overflow window,
+     * starting a new window once the current one has elapsed
+     */
+    private void countOverflow() {
+        long now = nanoClock.getAsLong();
+        if (now - windowStartNanos >= overflowWindowNanos) {
+            windowStartNanos = now;
+            windowOverflowCount = 0;
+        }
+        overflowCount++;
+        windowOverflowCount++;
+    }
+
+    /**
+     * Drops the oldest queued frame
+     *
+     * @return the number of dropped frames
+     */
+    private int dropOldestFrame() {
+        Iterator<Object> iterator = messages.iterator();
+        while (iterator.hasNext()) {
+            if (!(iterator.next() instanceof LosslessMessage)) {
+                iterator.remove();
+                frameCount--;
+                return 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Drops every queued frame, keeping the lossless messages in their order
+     *
+     * @return the number of dropped frames
+     */
+    private int dropFrames() {
+        int dropped = frameCount;
+        if (dropped > 0) {
+            messages.removeIf(message -> !(message instanceof LosslessMessage));
+            frameCount = 0;
+        }
+        return dropped;
+    }
+
+    /**
+     * Asks the codec of the session to resynchronize it. The frames of a
+     * stateful codec which are still queued depend on the frames the session
+     * has missed, so they are dropped.
+     *
+     * @return the number of dropped frames
+     */
+    private int requestResync() {
+        Object codec = session.getUserProperties().get(ServerConstants.CODEC_PARAMETER);
+        if (codec == null) {
+            return 0;
+        }
+        ((CodecInterface) codec).resync(session);
+        return ((CodecInterface) codec).isStateful() ? dropFrames() : 0;
+    }
+
+    /**
+     * @return true if the frames of the codec of the session depend on the
+     * frames sent before them
+     */
+    private boolean isStateful() {
+        Object codec = session.getUserProperties().get(ServerConstants.CODEC_PARAMETER);
+        return codec != null && ((CodecInterface) codec).isStateful();
+    }
+
+    /**
+     * Takes the next message off the queue
+     *
+     * @return the message to be written, or null if the queue is empty
+     */
+    private Object poll() {
+        Object message = messages.poll();
+        if (message instanceof LosslessMessage) {
+            return ((LosslessMessage) message).message;
+        }
+        if (message != null) {
+            frameCount--;
+        }
+        return message;
+    }
+
+    /**
+     * Writes one message through the asynchronous remote of the session
+     *
+     * @param message message to be written
+     */
+    private void write(Object message) {
+        try {
+            if (message instanceof ByteBuffer) {
+                session.getAsyncRemote().sendBinary((ByteBuffer) message, this);
+            } else {
+                session.getAsyncRemote().sendText((String) message, this);
+            }
+        } catch (RuntimeException e) {
+            logger.debug(ServerConstants.ERROR_OUTBOUND_SEND + session.getId() + " " + e.getMessage());
+            close();
+        }
+    }
+
+    /**
+     * Closes the session of a client which keeps overflowing its queue
+     */
+    private void disconnect() {
+        logger.info(ServerConstants.SLOW_CONSUMER + session.getId());
+        MessageBroadcaster.getInstance().removeSession(session);
+        MessageBroadcaster.getInstance().countSlowConsumerDisconnect();
+        try {
+            session.close(new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER,
+                    ServerConstants.SLOW_CONSUMER_REASON));
+        } catch (IOException e) {
+            logger.error(ServerConstants.ERROR_OUTBOUND_SEND + session.getId() + " " + e.getMessage());
+        }
+    }
+
+    /**
+     * A queued message which must not be dropped
+     */
+    private static final class LosslessMessage {
+        private final Object message;
+
+        private LosslessMessage(Object message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package ser516.project3.server.helper;
+
+import ser516.project3.model.SignalGeneratorModel;
+import ser516.project3.model.SignalGeneratorModel.Type;
+
+/**
+ * The SignalGeneratorEngine class computes the values of a set of channels
+ * for a number of simulated subjects, once per tick, each channel with the
+ * {@link SignalGeneratorModel} it is configured with. The channels configured
+ * as manual are not computed, their values are set by hand.
+ * <p>
+ * The state of every subject and channel is kept in primitive arrays, indexed
+ * by subject times channel count plus channel, and every channel has its own
+ * random number sequence derived from the seed, its subject and its index.
+ * The same seed and configuration therefore always produce the same values,
+ * whatever the number of channels and subjects. The subjects of a channel
+ * share its generator, but each has its own phase and random sequence. All
+ * values are kept between 0 and 1, the range of the emotions.
+ *
+ * @author vsriva12
+ */
+public class SignalGeneratorEngine {
+
+    private static final double MIN_VALUE = 0;
+    private static final double MAX_VALUE = 1;
+    private static final double MICROS_PER_SECOND = 1_000_000.0;
+    private static final double TWO_PI = 2 * Math.PI;
+    private static final int PINK_POLES = 3;
+    private static final double[] PINK_DECAYS = {0.99765, 0.96300, 0.57000};
+    private static final double[] PINK_GAINS = {0.0990460, 0.2965164, 1.0526913};
+    private static final double PINK_WHITE_GAIN = 0.1848;
+    private static final double PINK_SCALE = 0.25;
+
+    private final int subjectCount;
+    private final int channelCount;
+    private final long seed;
+    private final SignalGeneratorModel[] generators;
+    private final double[] values;
+    private final double[] phases;
+    private final long[] randomStates;
+    private final double[] pinkStates;
+    private final int[] moods;
+    private long elapsedMicros;
+    private int generatedChannelCount;
+
+    /**
+     * Creates an engine with all the channels configured as manual
+     *
+     * @param subjectCount number of simulated subjects
+     * @param channelCount number of channels of every subject
+     * @param seed         seed of the random number sequences
+     */
+    public SignalGeneratorEngine(int subjectCount, int channelCount, long seed) {
+        this.subjectCount = subjectCount;
+        this.channelCount = channelCount;
+        this.seed = seed;
+        int slotCount = subjectCount * channelCount;
+        generators = new SignalGeneratorModel[channelCount];
+        values = new double[slotCount];
+        phases = new double[slotCount];
+        randomStates = new long[slotCount];
+        pinkStates = new double[slotCount * PINK_POLES];
+        moods = new int[slotCount];
+        for (int channel = 0; channel < channelCount; channel++) {
+            generators[channel] = SignalGeneratorModel.MANUAL;
+            resetChannel(channel);
+        }
+    }
+
+    /**
+     * Method to configure the generator of a channel, for all the subjects.
+     * The channel starts over from the state its generator starts with.
+     *
+     * @param channel   index of the channel
+     * @param generator generator of the channel
+     */
+    public synchronized void configure(int channel, SignalGeneratorModel generator) {
+        if (generators[channel].getType() != Type.MANUAL) {
+            generatedChannelCount--;
+        }
+        generators[channel] = generator;
+        if (generator.getType() != Type.MANUAL) {
+            generatedChannelCount++;
+        }
+        resetChannel(channel);
+    }
+
+    /**
+     * Returns the generator of a channel
+     *
+     * @param channel index of the channel
+     * @return generator of the channel
+     */
+    public synchronized SignalGeneratorModel getGenerator(int channel) {
+        return generators[channel];
+    }
+
+    /**
+     * Checks if any channel is computed by the engine
+     *
+     * @return true if at least one channel is not manual
+     */
+    public synchronized boolean isGenerating() {
+        return generatedChannelCount > 0;
+    }
+
+    /**
+     * Method to start all the channels over, from the state their generators
+     * start with
+     */
+    public synchronized void reset() {
+        elapsedMicros = 0;
+        for (int channel = 0; channel < channelCount; channel++) {
+            resetChannel(channel);
+        }
+    }
+
+    /**
+     * Method to compute the values of the next tick for all the subjects
+     *
+     * @param intervalMicros time since the previous tick, in microseconds
+     */
+    public synchronized void advance(long intervalMicros) {
+        elapsedMicros += intervalMicros;
+        double seconds = elapsedMicros / MICROS_PER_SECOND;
+        double interval = intervalMicros / MICROS_PER_SECOND;
+        for (int channel = 0; channel < channelCount; channel++) {
+            SignalGeneratorModel generator = generators[channel];
+            switch (generator.getType()) {
+                case SINE:
+                    advanceSine(channel, generator, seconds);
+                    break;
+                case RANDOM_WALK:
+                    advanceRandomWalk(channel, generator, interval);
+                    break;
+                case PINK_NOISE:
+                    advancePinkNoise(channel, generator);
+                    break;
+                case STEPS:
+                    advanceSteps(channel, generator);
+                    break;
+                case MARKOV:
+                    advanceMarkov(channel, generator, interval);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Method to copy the values of the channels of one subject. The manual
+     * channels are copied as NaN.
+     *
+     * @param subject     index of the subject
+     * @param destination array receiving one value per channel
+     */
+    public synchronized void copyValues(int subject, double[] destination) {
+        int base = subject * channelCount;
+        for (int channel = 0; channel < channelCount; channel++) {
+            destination[channel] = generators[channel].getType() == Type.MANUAL ? Double.NaN
+                    : values[base + channel];
+        }
+    }
+
+    /**
+     * Method to copy the values of all the subjects, indexed by subject times
+     * channel count plus channel. The channels configured as manual are
+     * copied as NaN.
+     *
+     * @param destination array of at least subject count times channel count
+     *                    values
+     */
+    public synchronized void copyValues(double[] destination) {
+        for (int slot = 0; slot < values.length; slot++) {
+            destination[slot] = generators[slot % channelCount].getType() == Type.MANUAL ? Double.NaN
+                    : values[slot];
+        }
+    }
+
+    /**
+     * Returns the current value of one channel of one subject
+     *
+     * @param subject index of the subject
+     * @param channel index of the channel
+     * @return the value, or NaN if the channel is manual
+     */
+    public synchronized double getValue(int subject, int channel) {
+        return generators[channel].getType() == Type.MANUAL ? Double.NaN : values[subject * channelCount + channel];
+    }
+
+    /**
+     * @return the number of simulated subjects
+     */
+    public int getSubjectCount() {
+        return subjectCount;
+    }
+
+    /**
+     * @return the number of channels of every subject
+     */
+    public int getChannelCount() {
+        return channelCount;
+    }
+
+    /**
+     * Method to put the slots of a channel in the state its generator starts
+     * with, and to restart their random number sequences
+     *
+     * @param channel index of the channel
+     */
+    private void resetChannel(int channel) {
+        SignalGeneratorModel generator = generators[channel];
+        for (int subject = 0; subject < subjectCount; subject++) {
+            int slot = subject * channelCount + channel;
+            randomStates[slot] = mix(seed + mix(((long) subject << 32) + channel + 1));
+            phases[slot] = subject == 0 ? 0 : nextUniform(slot) * TWO_PI;
+            for (int pole = 0; pole < PINK_POLES; pole++) {
+                pinkStates[slot * PINK_POLES + pole] = 0;
+            }
+            moods[slot] = 0;
+            switch (generator.getType()) {
+                case STEPS:
+                case MARKOV:
+                    values[slot] = clamp(generator.getLevel(0));
+                    break;
+                case SINE:
+                    values[slot] = clamp(generator.getOffset()
+                            + generator.getAmplitude() * Math.sin(generator.getPhase() + phases[slot]));
+                    break;
+                default:
+                    values[slot] = clamp(generator.getOffset());
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Method to compute a sine around the offset
+     *
+     * @param channel   index of the channel
+     * @param generator generator of the channel
+     * @param seconds   time since the start, in seconds
+     */
+    private void advanceSine(int channel, SignalGeneratorModel generator, double seconds) {
+        double angle = TWO_PI * generator.getFrequency() * seconds + generator.getPhase();
+        double offset = generator.getOffset();
+        double amplitude = generator.getAmplitude();
+        for (int slot = channel; slot < values.length; slot += channelCount) {
+            values[slot] = clamp(offset + amplitude * Math.sin(angle + phases[slot]));
+        }
+    }
+
+    /**
+     * Method to compute a random walk, which changes by at most the step over
+     * one second and is reflected at the bounds
+     *
+     * @param channel   index of the channel
+     * @param generator generator of the channel
+     * @param interval  time since the previous tick, in seconds
+     */
+    private void advanceRandomWalk(int channel, SignalGeneratorModel generator, double interval) {
+        double step = generator.getStep() * Math.sqrt(interval);
+        for (int slot = channel; slot < values.length; slot += channelCount) {
+            double value = values[slot] + step * (2 * nextUniform(slot) - 1);
+            if (value < MIN_VALUE) {
+                value = 2 * MIN_VALUE - value;
+            } else if (value > MAX_VALUE) {
+                value = 2 * MAX_VALUE - value;
+            }
+            values[slot] = clamp(value);
+        }
+    }
+
+    /**
+     * Method to compute pink noise around the offset, by filtering white
+     * noise with three first order filters
+     *
+     * @param channel   index of the channel
+     * @param generator generator of the channel
+     */
+    private void advancePinkNoise(int channel, SignalGeneratorModel generator) {
+        double offset = generator.getOffset();
+        double amplitude = generator.getAmplitude() * PINK_SCALE;
+        for (int slot = channel; slot < values.length; slot += channelCount) {
+            double white = 2 * nextUniform(slot) - 1;
+            double pink = white * PINK_WHITE_GAIN;
+            int base = slot * PINK_POLES;
+            for (int pole = 0; pole < PINK_POLES; pole++) {
+                pinkStates[base + pole] = PINK_DECAYS[pole] * pinkStates[base + pole] + white * PINK_GAINS[pole];
+                pink += pinkStates[base + pole];
+            }
+            values[slot] = clamp(offset + amplitude * pink);
+        }
+    }
+
+    /**
+     * Method to compute the steps, each level being held for the duration
+     * before moving to the next one
+     *
+     * @param channel   index of the channel
+     * @param generator generator of the channel
+     */
+    private void advanceSteps(int channel, SignalGeneratorModel generator) {
+        long durationMicros = Math.max(1, Math.round(generator.getDuration() * MICROS_PER_SECOND));
+        double value = clamp(generator.getLevel((int) ((elapsedMicros / durationMicros)
+                % generator.getLevelCount())));
+        for (int slot = channel; slot < values.length; slot += channelCount) {
+            values[slot] = value;
+        }
+    }
+
+    /**
+     * Method to compute the markov mood model, which moves to a random other
+     * level at the rate of the generator, and approaches the level of its
+     * current mood with some noise
+     *
+     * @param channel   index of the channel
+     * @param generator generator of the channel
+     * @param interval  time since the previous tick, in seconds
+     */
+    private void advanceMarkov(int channel, SignalGeneratorModel generator, double interval) {
+        int levelCount = generator.getLevelCount();
+        double changeProbability = 1 - Math.exp(-generator.getRate() * interval);
+        double approach = generator.getSmoothing() > 0 ? Math.min(1, interval / generator.getSmoothing()) : 1;
+        double noise = generator.getNoise() * Math.sqrt(interval);
+        for (int slot = channel; slot < values.length; slot += channelCount) {
+            if (levelCount > 1 && nextUniform(slot) < changeProbability) {
+                int mood = (int) (nextUniform(slot) * (levelCount - 1));
+                moods[slot] = mood >= moods[slot] ? mood + 1 : mood;
+            }
+            double value = values[slot] + (generator.getLevel(moods[slot]) - values[slot]) * approach;
+            values[slot] = clamp(value + noise * (2 * nextUniform(slot) - 1));
+        }
+    }
+
+    /**
+     * Method to draw the next number of the random sequence of a slot, with
+     * a xorshift generator
+     *
+     * @param slot index of the subject and channel
+     * @return a number between 0 included and 1 excluded
+     */
+    private double nextUniform(int slot) {
+        long x = randomStates[slot];
+        x ^= x >>> 12;
+        x ^= x << 25;
+        x ^= x >>> 27;
+        randomStates[slot] = x;
+        return ((x * 0x2545F4914F6CDD1DL) >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Method to scramble a number into a non zero seed
+     *
+     * @param x number to scramble
+     * @return the scrambled number
+     */
+    private static long mix(long x) {
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        x ^= x >>> 31;
+        return x == 0 ? 0x9E3779B97F4A7C15L : x;
+    }
+
+    /**
+     * Method to keep a value within the range of the emotions
+     *
+     * @param value value to keep in range
+     * @return the value in range
+     */
+    private static double clamp(double value) {
+        return Math.max(MIN_VALUE, Math.min(MAX_VALUE, value));
+    }
+}
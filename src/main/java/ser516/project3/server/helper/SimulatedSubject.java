@@ -0,0 +1,140 @@
+package ser516.project3.server.helper;
+
+import ser516.project3.model.ExpressionTimelineModel;
+import ser516.project3.model.MessageModel;
+import ser516.project3.model.MessageModel.Emotion;
+import ser516.project3.utilities.EncodedBatch;
+import ser516.project3.utilities.EncodedFrame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The SimulatedSubject class holds the state of one simulated headset served
+ * by the {@link MessageBroadcaster} next to the subject set from the server
+ * UI: its own message, time stamp, frame sequence, pending frames and player
+ * of the timeline. Every subject is owned by a single sender thread, which
+ * builds its frames and sends them to its sessions, so the subjects are
+ * never locked.
+ * <p>
+ * A subject follows the interval of the server. Its emotions come from its
+ * own generators, and the emotions set by hand are copied from the subject
+ * of the server UI. The timeline is played with an offset proportional to
+ * the id of the subject, so that the subjects do not all blink at once.
+ *
+ * @author vsriva12
+ */
+public class SimulatedSubject {
+
+    private static final Emotion[] EMOTIONS = Emotion.values();
+
+    private final int id;
+    private final int subjectCount;
+    private MessageModel message;
+    private long timeStampMicros;
+    private ExpressionTimelineModel timeline;
+    private ExpressionTimelinePlayer timelinePlayer;
+    private long frameSequence;
+    private MessageModel previousFrameMessage;
+    private List<EncodedFrame> pendingFrames = new ArrayList<>();
+    private EncodedBatch batch;
+
+    /**
+     * Creates a subject starting from a copy of the passed message, with its
+     * time stamp at zero
+     *
+     * @param id           id of the subject, from 1
+     * @param subjectCount number of subjects of the server, including the
+     *                     subject of the server UI
+     * @param message      message the subject starts from
+     */
+    public SimulatedSubject(int id, int subjectCount, MessageModel message) {
+        this.id = id;
+        this.subjectCount = subjectCount;
+        this.message = new MessageModel(message).freeze();
+    }
+
+    /**
+     * @return the id of the subject
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return the message of the last frame of the subject
+     */
+    public MessageModel getMessage() {
+        return message;
+    }
+
+    /**
+     * Method to build the next frame of the subject and add it to its pending
+     * frames. The frame is numbered in the sequence of the subject, and
+     * carries the send time of the reference, taken when the tick started.
+     *
+     * @param reference        message of the subject of the server UI for the
+     *                         same tick
+     * @param emotions         values of the emotions of all the subjects,
+     *                         indexed by subject times emotion count plus
+     *                         emotion, NaN for the emotions set by hand, or
+     *                         null if no emotion is computed
+     * @param timeline         timeline of the expressions, or null if none is
+     *                         played
+     * @param keyframeInterval number of frames between two keyframes of the
+     *                         delta mode
+     * @return the frame
+     */
+    public EncodedFrame nextFrame(MessageModel reference, double[] emotions, ExpressionTimelineModel timeline,
+                                  int keyframeInterval) {
+        long intervalMicros = reference.getIntervalMicros();
+        MessageModel next = new MessageModel(message);
+        next.setInterval(reference.getInterval());
+        int base = id * EMOTIONS.length;
+        for (int i = 0; i < EMOTIONS.length; i++) {
+            double value = emotions == null ? Double.NaN : emotions[base + i];
+            next.setEmotion(EMOTIONS[i], Double.isNaN(value) ? reference.getEmotion(EMOTIONS[i]) : value);
+        }
+        if (timeline != this.timeline) {
+            this.timeline = timeline;
+            timelinePlayer = null;
+            if (timeline != null) {
+                timelinePlayer = new ExpressionTimelinePlayer(timeline);
+                timelinePlayer.advance(timeline.getLoopMicros() * id / subjectCount, message);
+                timelinePlayer.applyTo(next);
+            }
+        }
+        if (timelinePlayer != null) {
+            timelinePlayer.advance(intervalMicros, message);
+            timelinePlayer.applyTo(next);
+        }
+        next.setTimeStampMicros(timeStampMicros);
+        timeStampMicros += intervalMicros;
+        long sequence = ++frameSequence;
+        next.setSequence(sequence);
+        next.setSendTimeMicros(reference.getSendTimeMicros());
+        message = next.freeze();
+
+        boolean keyframe = previousFrameMessage == null || sequence % keyframeInterval == 0;
+        EncodedFrame frame = new EncodedFrame(sequence, message, keyframe ? null : previousFrameMessage);
+        previousFrameMessage = message;
+        pendingFrames.add(frame);
+        return frame;
+    }
+
+    /**
+     * Method to turn the pending frames into the batch to be sent next
+     */
+    public void flush() {
+        batch = pendingFrames.isEmpty() ? null : new EncodedBatch(pendingFrames);
+        pendingFrames = new ArrayList<>();
+    }
+
+    /**
+     * @return the batch made by the last flush, or null if there were no
+     * pending frames
+     */
+    public EncodedBatch getBatch() {
+        return batch;
+    }
+}
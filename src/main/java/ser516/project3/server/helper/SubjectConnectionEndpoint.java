@@ -0,0 +1,74 @@
+package ser516.project3.server.helper;
+
+import ser516.project3.constants.ServerConstants;
+
+import javax.websocket.*;
+import javax.websocket.server.PathParam;
+import javax.websocket.server.ServerEndpoint;
+
+/**
+ * The Web server socket end point class for the simulated subjects of the
+ * server, each reachable on its own path. It behaves like the
+ * {@link ServerConnectionEndpoint}, which serves the subject of the server UI
+ * both on /server and on /server/0.
+ *
+ * @author vsriva12
+ */
+@ServerEndpoint(value = "/server/{" + ServerConstants.SUBJECT_PATH_PARAMETER + "}",
+        configurator = CodecNegotiationConfigurator.class,
+        subprotocols = {ServerConstants.CODEC_JSON, ServerConstants.CODEC_BINARY, ServerConstants.CODEC_DELTA})
+public class SubjectConnectionEndpoint {
+
+    private final ServerConnectionEndpoint endpoint = new ServerConnectionEndpoint();
+
+    /**
+     * Method to register the newly opened session for the frames of the
+     * subject of its path
+     *
+     * @param session   web socket session
+     * @param subjectId id of the subject, as written in the path
+     */
+    @OnOpen
+    public void onOpen(final Session session, @PathParam(ServerConstants.SUBJECT_PATH_PARAMETER) String subjectId) {
+        int id;
+        try {
+            id = Integer.parseInt(subjectId);
+        } catch (NumberFormatException e) {
+            id = -1;
+        }
+        endpoint.open(session, id);
+    }
+
+    /**
+     * Method containing logic on what to do when message from client is received
+     *
+     * @param message message from the client
+     * @param session web socket session
+     */
+    @OnMessage
+    public void onMessage(String message, Session session) {
+        endpoint.onMessage(message, session);
+    }
+
+    /**
+     * Method containing logic on what to do when session is closed
+     *
+     * @param session     web socket session
+     * @param closeReason web socket close reason
+     */
+    @OnClose
+    public void onClose(Session session, CloseReason closeReason) {
+        endpoint.onClose(session, closeReason);
+    }
+
+    /**
+     * Method containing logic on what to do error occurs
+     *
+     * @param session   web socket session
+     * @param throwable Throwable object
+     */
+    @OnError
+    public void onError(Session session, Throwable throwable) {
+        endpoint.onError(session, throwable);
+    }
+}
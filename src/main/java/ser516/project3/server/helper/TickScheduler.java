@@ -0,0 +1,258 @@
+package ser516.project3.server.helper;
+
+import org.apache.log4j.Logger;
+import ser516.project3.constants.ServerConstants;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * The TickScheduler class runs a task at a fixed rate on a dedicated thread.
+ * The deadline of every tick is derived from the deadline of the previous one
+ * rather than from the end of the task, so the time the task takes does not
+ * add up over the ticks. The thread parks until shortly before the deadline
+ * and then yields in a loop until it is reached, which keeps the ticks
+ * accurate well below the resolution of a sleep.
+ * <p>
+ * The period is read again after every tick, and a changed period starts a
+ * new series of deadlines from the current tick. Ticks which cannot be run
+ * in time, because the task took longer than a period, are skipped and
+ * counted rather than run in a burst. The lateness of every tick is recorded
+ * as its jitter. The time is read from a clock, which is System.nanoTime
+ * unless another one is passed.
+ *
+ * @author vsriva12
+ */
+public class TickScheduler {
+    final static Logger logger = Logger.getLogger(TickScheduler.class);
+
+    private final String threadName;
+    private final LongSupplier periodNanos;
+    private final Runnable task;
+    private final LongSupplier nanoClock;
+    private volatile boolean running;
+    private Thread thread;
+    private long period;
+
+    private long tickCount;
+    private long missedTickCount;
+    private double meanJitterNanos;
+    private double jitterSquaredDeviations;
+    private long maxJitterNanos;
+
+    /**
+     * Creates a scheduler, which does not run until it is started
+     *
+     * @param threadName  name of the thread running the task
+     * @param periodNanos supplier of the period in nanoseconds
+     * @param task        task to be run once per period
+     */
+    public TickScheduler(String threadName, LongSupplier periodNanos, Runnable task) {
+        this(threadName, periodNanos, task, System::nanoTime);
+    }
+
+    /**
+     * Creates a scheduler reading the time from the passed clock, which does
+     * not run until it is started
+     *
+     * @param threadName  name of the thread running the task
+     * @param periodNanos supplier of the period in nanoseconds
+     * @param task        task to be run once per period
+     * @param nanoClock   clock in nanoseconds, as System.nanoTime
+     */
+    public TickScheduler(String threadName, LongSupplier periodNanos, Runnable task, LongSupplier nanoClock) {
+        this.threadName = threadName;
+        this.periodNanos = periodNanos;
+        this.task = task;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Starts the thread running the task. Calling it on an already started
+     * scheduler has no effect.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, threadName);
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Stops the thread running the task, and waits a bounded time for the
+     * current tick, if any, to complete, so that no tick runs once it returns
+     */
+    public synchronized void stop() {
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        thread.interrupt();
+        if (thread != Thread.currentThread()) {
+            try {
+                thread.join(ServerConstants.TICK_STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (thread.isAlive()) {
+                logger.warn(ServerConstants.TICK_STOP_TIMEOUT + threadName);
+            }
+        }
+        thread = null;
+    }
+
+    /**
+     * Runs the ticks until the scheduler is stopped
+     */
+    private void run() {
+        long deadline = startTicks();
+        while (running) {
+            if (!waitUntil(deadline)) {
+                return;
+            }
+            deadline = runTick(deadline);
+        }
+    }
+
+    /**
+     * Reads the period the first tick is run with
+     *
+     * @return the deadline of the first tick
+     */
+    long startTicks() {
+        period = getPeriod();
+        return nanoClock.getAsLong() + period;
+    }
+
+    /**
+     * Runs one tick whose deadline has been reached, and works out the
+     * deadline of the next one, skipping the ticks which are already late
+     *
+     * @param deadline deadline of the tick
+     * @return the deadline of the next tick
+     */
+    long runTick(long deadline) {
+        long now = nanoClock.getAsLong();
+        recordTick(now - deadline);
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            logger.error(ServerConstants.ERROR_TICK + e.getMessage());
+        }
+        long nextPeriod = getPeriod();
+        if (nextPeriod != period) {
+            period = nextPeriod;
+            return now + period;
+        }
+        deadline += period;
+        long overrun = nanoClock.getAsLong() - deadline;
+        if (overrun >= period) {
+            long missed = overrun / period;
+            recordMissedTicks(missed);
+            deadline += missed * period;
+        }
+        return deadline;
+    }
+
+    /**
+     * Waits for the deadline, parking while it is far away and yielding once
+     * it is close
+     *
+     * @param deadline time to wait for, in the terms of the clock
+     * @return false if the scheduler has been stopped while waiting
+     */
+    private boolean waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - nanoClock.getAsLong()) > 0) {
+            if (!running || Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            if (remaining > ServerConstants.TICK_SPIN_NANOS) {
+                LockSupport.parkNanos(remaining - ServerConstants.TICK_SPIN_NANOS);
+            } else {
+                Thread.yield();
+            }
+        }
+        return running;
+    }
+
+    /**
+     * @return the current period, at least the minimum period
+     */
+    private long getPeriod() {
+        return Math.max(ServerConstants.MIN_TICK_PERIOD_NANOS, periodNanos.getAsLong());
+    }
+
+    /**
+     * Adds the jitter of a tick to the running mean and deviation
+     *
+     * @param jitterNanos lateness of the tick
+     */
+    private synchronized void recordTick(long jitterNanos) {
+        tickCount++;
+        double delta = jitterNanos - meanJitterNanos;
+        meanJitterNanos += delta / tickCount;
+        jitterSquaredDeviations += delta * (jitterNanos - meanJitterNanos);
+        maxJitterNanos = Math.max(maxJitterNanos, jitterNanos);
+    }
+
+    /**
+     * Counts the ticks skipped after an overrun
+     *
+     * @param missed number of skipped ticks
+     */
+    private synchronized void recordMissedTicks(long missed) {
+        missedTickCount += missed;
+    }
+
+    /**
+     * Forgets the statistics of the ticks run so far
+     */
+    public synchronized void resetStatistics() {
+        tickCount = 0;
+        missedTickCount = 0;
+        meanJitterNanos = 0;
+        jitterSquaredDeviations = 0;
+        maxJitterNanos = 0;
+    }
+
+    /**
+     * @return the number of ticks run
+     */
+    public synchronized long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * @return the number of ticks skipped because of an overrun
+     */
+    public synchronized long getMissedTickCount() {
+        return missedTickCount;
+    }
+
+    /**
+     * @return the mean lateness of the ticks, in microseconds
+     */
+    public synchronized double getMeanJitterMicros() {
+        return meanJitterNanos / 1000;
+    }
+
+    /**
+     * @return the standard deviation of the lateness of the ticks, in
+     * microseconds
+     */
+    public synchronized double getJitterDeviationMicros() {
+        return tickCount < 2 ? 0 : Math.sqrt(jitterSquaredDeviations / (tickCount - 1)) / 1000;
+    }
+
+    /**
+     * @return the largest lateness of a tick, in microseconds
+     */
+    public synchronized double getMaxJitterMicros() {
+        return maxJitterNanos / 1000.0;
+    }
+}
@@ -3,6 +3,7 @@ package ser516.project3.server.service;
 import org.apache.log4j.Logger;
 import ser516.project3.constants.ServerConstants;
 import ser516.project3.server.controller.ServerController;
+import ser516.project3.server.helper.MessageBroadcaster;
 import ser516.project3.server.helper.ServerContainerThread;
 
 /**
@@ -22,7 +23,7 @@ public class ServerConnectionServiceImpl implements ServerConnectionServiceInter
      */
     @Override
     public void initServerEndpoint() {
-        threadInstance = new ServerContainerThread();
+        threadInstance = new ServerContainerThread(ServerController.getInstance());
         serverContainerThread = new Thread(threadInstance);
         serverContainerThread.start();
         ServerController.getInstance().getConsoleController().getConsoleModel().
@@ -35,6 +36,7 @@ public class ServerConnectionServiceImpl implements ServerConnectionServiceInter
     @Override
     public void stopServerEndpoint() {
         if (threadInstance != null || serverContainerThread != null) {
+            MessageBroadcaster.getInstance().stop();
             threadInstance.getServer().stop();
             ServerController.getInstance().getConsoleController().getConsoleModel().
                     logMessage(ServerConstants.SERVER_STOPPED);
@@ -28,6 +28,7 @@ public class ConsoleView extends JPanel implements Observer, ViewInterface {
     private JTextArea consoleOutput;
     private WebButton clearConsole;
     private JScrollPane consoleScroll;
+    private JLabel broadcastStatistics;
     private ConsoleModel consoleModel;
 
     private static final Font SUBFONT = new Font(ServerConstants.FONT_NAME, Font.BOLD, 14);
@@ -75,15 +76,25 @@ public class ConsoleView extends JPanel implements Observer, ViewInterface {
         clearConsole.setTopSelectedBgColor(Color.WHITE);
         clearConsole.setForeground(Color.WHITE);
         clearConsole.setFont(new Font(ClientConstants.FONT_NAME, Font.BOLD, 15));
+        broadcastStatistics = new JLabel(" ");
+        broadcastStatistics.setFont(new Font(ServerConstants.FONT_NAME, Font.PLAIN, 12));
+        broadcastStatistics.setForeground(Color.WHITE);
         add(consoleScroll);
         add(clearConsole);
+        add(broadcastStatistics);
     }
 
     /**
-     * Method to append the new messages to console
+     * Method to append the new messages to console, or to show the latest
+     * statistics of the broadcast below it, one line each
      */
     @Override
     public void update(Observable messageArrayObject, Object observerObj) {
+        if (observerObj instanceof String[]) {
+            final String statistics = "<html>" + String.join("<br>", (String[]) observerObj) + "</html>";
+            SwingUtilities.invokeLater(() -> broadcastStatistics.setText(statistics));
+            return;
+        }
         ConsoleModel model = (ConsoleModel) messageArrayObject;
         String message = model.getLogArray().get(model.getLogArray().size() - 1);
         DateFormat dateFormat = new SimpleDateFormat(ServerConstants.DATE_FORMAT);
@@ -8,15 +8,22 @@ import javax.swing.*;
 import javax.swing.border.TitledBorder;
 import javax.swing.event.ChangeListener;
 import java.awt.*;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Class to create components in emotions panel
- * and listeners for each component
+ * and listeners for each component. Next to the spinner of every emotion,
+ * an editable combo box selects the generator which computes it, or manual
+ * to send the value of the spinner.
  *
  * @author Maitreyi, Janani, Ganesh
  */
 public class EmotionsView extends JPanel implements ViewInterface {
     private JSpinner jspinner[];
+    private List<JComboBox<String>> generatorBoxes;
     private EmotionsModel emotionsModel;
     private static final Font SUBFONT = new Font(ServerConstants.FONT_NAME, Font.BOLD, 14);
 
@@ -39,12 +46,15 @@ public class EmotionsView extends JPanel implements ViewInterface {
         setBorder(new TitledBorder(null, "Emotions", TitledBorder.LEADING,
                 TitledBorder.TOP, SUBFONT, null));
         setBackground(Color.decode(ServerConstants.COLOR_CODE));
+        setLayout(new GridBagLayout());
         Dimension spinnerDimension = new Dimension(65, 30);
+        Dimension generatorDimension = new Dimension(110, 30);
         double current = 0.0;
         double min = 0.0;
         double max = 1.0;
         double step = 0.1;
         jspinner = new JSpinner[6];
+        generatorBoxes = new ArrayList<>(Collections.nCopies(6, null));
 
         for (EmotionPanel em : EmotionPanel.values()) {
             JLabel interest_label = new JLabel(em.name());
@@ -60,6 +70,15 @@ public class EmotionsView extends JPanel implements ViewInterface {
             spinnerGbc.gridx = em.spinner_x;
             spinnerGbc.gridy = em.spinner_y;
             add(jspinner[em.id], spinnerGbc);
+            JComboBox<String> generatorBox = new JComboBox<>(ServerConstants.GENERATOR_PRESETS);
+            generatorBox.setEditable(true);
+            generatorBox.setPreferredSize(generatorDimension);
+            generatorBox.setName(em.name);
+            generatorBoxes.set(em.id, generatorBox);
+            GridBagConstraints generatorGbc = new GridBagConstraints();
+            generatorGbc.gridx = em.spinner_x + 1;
+            generatorGbc.gridy = em.spinner_y;
+            add(generatorBox, generatorGbc);
         }
     }
 
@@ -67,9 +86,9 @@ public class EmotionsView extends JPanel implements ViewInterface {
      * Enumeration for setting constants for all the emotion options
      */
     public enum EmotionPanel {
-        Interest(0, 1, 0, 2, 0, ServerConstants.INTEREST), Engagement(1, 3, 0, 4, 0, ServerConstants.ENGAGEMENT),
-        Stress(2, 1, 1, 2, 1, ServerConstants.STRESS), Relaxation(3, 3, 1, 4, 1, ServerConstants.RELAXATION),
-        Excitement(4, 1, 2, 2, 2, ServerConstants.EXCITEMENT), Focus(5, 3, 2, 4, 2, ServerConstants.FOCUS);
+        Interest(0, 1, 0, 2, 0, ServerConstants.INTEREST), Engagement(1, 4, 0, 5, 0, ServerConstants.ENGAGEMENT),
+        Stress(2, 1, 1, 2, 1, ServerConstants.STRESS), Relaxation(3, 4, 1, 5, 1, ServerConstants.RELAXATION),
+        Excitement(4, 1, 2, 2, 2, ServerConstants.EXCITEMENT), Focus(5, 4, 2, 5, 2, ServerConstants.FOCUS);
         int id, gbc_x, gbc_y, spinner_x, spinner_y;
         String name;
 
@@ -93,4 +112,44 @@ public class EmotionsView extends JPanel implements ViewInterface {
 			jspinner[emotionPanel.id].addChangeListener(changeListener);
 		}
 	}
+
+	/**
+	 * Method to add a listener to the generator of every emotion
+	 *
+	 * @param actionListener object of ActionListener
+	 */
+	public void addGeneratorListener(ActionListener actionListener) {
+		for (EmotionPanel emotionPanel : EmotionPanel.values()) {
+			generatorBoxes.get(emotionPanel.id).addActionListener(actionListener);
+		}
+	}
+
+	/**
+	 * Method to get the value of the spinner of an emotion
+	 *
+	 * @param emotion name of the emotion
+	 * @return value of the spinner, or 0 if there is no such emotion
+	 */
+	public double getSpinnerValue(String emotion) {
+		for (EmotionPanel emotionPanel : EmotionPanel.values()) {
+			if (emotionPanel.name.equals(emotion)) {
+				return (double) jspinner[emotionPanel.id].getValue();
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Method to show the generator of an emotion
+	 *
+	 * @param emotion   name of the emotion
+	 * @param generator generator to show
+	 */
+	public void setGenerator(String emotion, String generator) {
+		for (EmotionPanel emotionPanel : EmotionPanel.values()) {
+			if (emotionPanel.name.equals(emotion)) {
+				generatorBoxes.get(emotionPanel.id).setSelectedItem(generator);
+			}
+		}
+	}
 }
@@ -3,6 +3,7 @@ package ser516.project3.server.view;
 import com.alee.laf.button.WebButton;
 import com.alee.laf.button.WebToggleButton;
 import ser516.project3.constants.ClientConstants;
+import ser516.project3.constants.ServerConstants;
 import ser516.project3.interfaces.ViewInterface;
 import ser516.project3.model.ExpressionsModel;
 
@@ -16,7 +17,8 @@ import java.awt.event.ItemListener;
 
 /**
  * Class to create components in expressions panel
- * and listeners for each component
+ * and listeners for each component. The last row loads a timeline of
+ * expressions to be played in a loop, and stops it.
  *
  * @author Janani, Sangeetha, Ganesh
  */
@@ -29,6 +31,8 @@ public class ExpressionsView extends JPanel implements ViewInterface {
     private WebToggleButton eyeActionToggle;
     private WebButton eyeActionButton;
     private JCheckBox eyeCheckBox;
+    private WebButton timelineButton;
+    private JLabel timelineLabel;
     private ExpressionsModel expressionsModel;
     String[] lowerFaceList = {"Smile", "Clench", "Smirk Left", "Smirk Right", "Laugh"};
     String[] upperFaceList = {"Raise Brow", "Furrow Brow"};
@@ -67,6 +71,7 @@ public class ExpressionsView extends JPanel implements ViewInterface {
         createActivateToggleButton(gridBagConstraints);
         createActivateButton(gridBagConstraints);
         createEyeCheckBox(gridBagConstraints);
+        createTimelineComponents(gridBagConstraints);
     }
 
     /**
@@ -197,6 +202,45 @@ public class ExpressionsView extends JPanel implements ViewInterface {
         add(eyeCheckBox, gridBagConstraints);
     }
 
+    /**
+     * Method to create the timeline button and label in expressions panel
+     *
+     * @param gridBagConstraints GridBagConstraints object to set the position
+     *                           for the timeline components
+     */
+    public void createTimelineComponents(GridBagConstraints gridBagConstraints) {
+        JLabel timelineTitleLabel = new JLabel(ServerConstants.TIMELINE);
+        gridBagConstraints.gridx = 1;
+        gridBagConstraints.gridy = 3;
+        add(timelineTitleLabel, gridBagConstraints);
+
+        timelineLabel = new JLabel(ServerConstants.NO_TIMELINE);
+        timelineLabel.setPreferredSize(new Dimension(120, 30));
+        gridBagConstraints.gridx = 2;
+        gridBagConstraints.gridy = 3;
+        add(timelineLabel, gridBagConstraints);
+
+        timelineButton = new WebButton(ServerConstants.LOAD_TIMELINE);
+        timelineButton.setPreferredSize(new Dimension(90, 30));
+        timelineButton.setBottomBgColor(Color.BLACK);
+        timelineButton.setTopBgColor(Color.BLACK);
+        timelineButton.setForeground(Color.WHITE);
+        timelineButton.setFont(new Font(ClientConstants.FONT_NAME, Font.BOLD, 15));
+        gridBagConstraints.gridx = 3;
+        gridBagConstraints.gridy = 3;
+        add(timelineButton, gridBagConstraints);
+    }
+
+    /**
+     * Method to show the timeline being played
+     *
+     * @param timelineName name of the timeline, or null if none is played
+     */
+    public void updateTimeline(String timelineName) {
+        timelineLabel.setText(timelineName == null ? ServerConstants.NO_TIMELINE : timelineName);
+        timelineButton.setText(timelineName == null ? ServerConstants.LOAD_TIMELINE : ServerConstants.STOP_TIMELINE);
+    }
+
     public void changeActivateButtonType() {
         GridBagConstraints gridBagConstraints = new GridBagConstraints();
         gridBagConstraints.gridx = 3;
@@ -265,4 +309,11 @@ public class ExpressionsView extends JPanel implements ViewInterface {
     public void addEyeCheckBoxListener(ActionListener actionListener) {
         eyeCheckBox.addActionListener(actionListener);
     }
+
+    /**
+     * Method to add ActionListener to the timeline button
+     */
+    public void addTimelineButtonListener(ActionListener actionListener) {
+        timelineButton.addActionListener(actionListener);
+    }
 }
\ No newline at end of file
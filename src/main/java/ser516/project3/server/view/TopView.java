@@ -35,6 +35,7 @@ public class TopView extends JPanel implements ViewInterface {
     private static final String AUTO_REPEAT_CHECKBOX_NAME = "Auto Repeat";
     private static final Font FONT = new Font("Courier New", Font.BOLD, 17);
     private static final int FONT_SIZE = 15;
+    private static final int INTERVAL_MAX_LENGTH = 5;
 
     /**
      * Method to set top model
@@ -93,7 +94,7 @@ public class TopView extends JPanel implements ViewInterface {
      *                          for each text field
      */
     private void createIntervalInputTextField(GridBagConstraints gridBagConstraint) {
-        intervalInputTextField = new NumberTextField("" + topModel.getInterval(), true);
+        intervalInputTextField = new NumberTextField("" + topModel.getInterval(), true, INTERVAL_MAX_LENGTH);
         intervalInputTextField.setBackground(Color.decode("#616266"));
         intervalInputTextField.setBorder(null);
         intervalInputTextField.setColumns(3);
@@ -0,0 +1,64 @@
+package ser516.project3.utilities;
+
+import ser516.project3.constants.ServerConstants;
+import ser516.project3.interfaces.CodecInterface;
+
+import javax.websocket.Session;
+
+/**
+ * The BinaryMessageCodec class sends the messages in the compact binary
+ * format of {@link MessageBinaryEncoder}, decoded on the client by
+ * {@link MessageBinaryDecoder} and {@link MessageBinaryBatchDecoder}.
+ *
+ * @author vsriva12
+ */
+public class BinaryMessageCodec implements CodecInterface {
+
+    /**
+     * @return the name of the binary codec
+     */
+    @Override
+    public String getName() {
+        return ServerConstants.CODEC_BINARY;
+    }
+
+    /**
+     * Keeps no state for the session, as every frame is self-contained
+     *
+     * @param session web socket session
+     */
+    @Override
+    public void open(Session session) {
+        // Intentionally empty.
+    }
+
+    /**
+     * Returns the batch in the binary format
+     *
+     * @param session web socket session
+     * @param batch   batch to be sent
+     * @return the binary frame of the batch
+     */
+    @Override
+    public Object encode(Session session, EncodedBatch batch) {
+        return batch.getBinary();
+    }
+
+    /**
+     * Ignores the request, as every frame is self-contained
+     *
+     * @param session web socket session
+     */
+    @Override
+    public void resync(Session session) {
+        // Intentionally empty.
+    }
+
+    /**
+     * @return false, as every frame is self-contained
+     */
+    @Override
+    public boolean isStateful() {
+        return false;
+    }
+}
@@ -0,0 +1,219 @@
+package ser516.project3.utilities;
+
+import ser516.project3.constants.ClientConstants;
+
+/**
+ * The ChannelHistory class keeps the latest values of a fixed set of graph
+ * channels in one primitive array per channel, plus a shared array of time
+ * stamps, used as a ring. The history is bounded by a number of samples and
+ * optionally by a number of seconds, so its memory use does not depend on the
+ * length of the session, and appending neither allocates nor boxes.
+ * <p>
+ * The ring holds twice the retained samples, rounded up to a power of two.
+ * The retained samples are read through a {@link Window} which does not copy
+ * them, while the other half of the ring takes the samples appended in the
+ * meantime, so a window stays intact until the writer has appended at least
+ * as many samples as are retained. The history is written by one thread only,
+ * and the index of the next sample is published after the sample itself, so
+ * any thread can read a window without locking.
+ *
+ * @author vsriva12
+ */
+public class ChannelHistory {
+
+    private final int channelCount;
+    private final int retentionSamples;
+    private final double retentionSeconds;
+    private final double[] timestamps;
+    private final double[][] values;
+    private final int mask;
+    private volatile long windowStart;
+    private volatile long nextIndex;
+
+    /**
+     * Creates a history keeping the passed number of samples
+     *
+     * @param channelCount     number of channels
+     * @param retentionSamples number of samples kept
+     */
+    public ChannelHistory(int channelCount, int retentionSamples) {
+        this(channelCount, retentionSamples, 0);
+    }
+
+    /**
+     * Creates a history keeping the samples of the passed number of seconds,
+     * up to the passed number of samples
+     *
+     * @param channelCount     number of channels
+     * @param retentionSamples maximum number of samples kept
+     * @param retentionSeconds number of seconds of samples kept, from the time
+     *                         stamp of the latest sample, or 0 to keep the
+     *                         samples whatever their time stamp
+     */
+    public ChannelHistory(int channelCount, int retentionSamples, double retentionSeconds) {
+        this.channelCount = channelCount;
+        this.retentionSamples = Math.max(1, retentionSamples);
+        this.retentionSeconds = retentionSeconds;
+        int capacity = Integer.highestOneBit(2 * this.retentionSamples - 1) << 1;
+        timestamps = new double[capacity];
+        values = new double[channelCount][capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Creates the history of a graph of the client, retaining the number of
+     * samples and of seconds given by the system properties
+     * {@value ClientConstants#HISTORY_SAMPLES_PROPERTY} and
+     * {@value ClientConstants#HISTORY_SECONDS_PROPERTY}, or by default
+     * {@value ClientConstants#DEFAULT_HISTORY_SAMPLES} samples and
+     * {@value ClientConstants#DEFAULT_HISTORY_SECONDS} seconds
+     *
+     * @param channelCount number of channels of the graph
+     * @return the history of the graph
+     */
+    public static ChannelHistory createGraphHistory(int channelCount) {
+        return new ChannelHistory(channelCount,
+                Integer.getInteger(ClientConstants.HISTORY_SAMPLES_PROPERTY, ClientConstants.DEFAULT_HISTORY_SAMPLES),
+                Integer.getInteger(ClientConstants.HISTORY_SECONDS_PROPERTY, ClientConstants.DEFAULT_HISTORY_SECONDS));
+    }
+
+    /**
+     * Method to append the values of every channel at a time stamp, called by
+     * the writer thread only. A time stamp earlier than the latest one starts
+     * a new session, and the samples of the previous session are dropped.
+     *
+     * @param timestamp     time stamp of the values, in seconds
+     * @param channelValues value of every channel, in the order of the channels
+     */
+    public void append(double timestamp, double[] channelValues) {
+        long index = nextIndex;
+        long start = windowStart;
+        if (index > start && timestamp < timestamps[(int) (index - 1) & mask]) {
+            start = index;
+        }
+        int slot = (int) index & mask;
+        timestamps[slot] = timestamp;
+        for (int channel = 0; channel < channelCount; channel++) {
+            values[channel][slot] = channelValues[channel];
+        }
+        start = Math.max(start, index + 1 - retentionSamples);
+        if (retentionSeconds > 0) {
+            double oldest = timestamp - retentionSeconds;
+            while (timestamps[(int) start & mask] < oldest) {
+                start++;
+            }
+        }
+        windowStart = start;
+        nextIndex = index + 1;
+    }
+
+    /**
+     * Method to drop every sample, called by the writer thread only
+     */
+    public void clear() {
+        windowStart = nextIndex;
+    }
+
+    /**
+     * Method to get a view of the retained samples, oldest first, without
+     * copying them. The start is read before the end, so that the samples
+     * appended in between are in the window rather than dropped from it.
+     *
+     * @return window over the retained samples
+     */
+    public Window window() {
+        long start = windowStart;
+        return new Window(start, nextIndex);
+    }
+
+    /**
+     * @return number of channels
+     */
+    public int getChannelCount() {
+        return channelCount;
+    }
+
+    /**
+     * @return maximum number of samples kept
+     */
+    public int getRetentionSamples() {
+        return retentionSamples;
+    }
+
+    /**
+     * @return number of seconds of samples kept, or 0 if the samples are kept
+     * whatever their time stamp
+     */
+    public double getRetentionSeconds() {
+        return retentionSeconds;
+    }
+
+    /**
+     * @return number of samples the ring holds, retained or not
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * The Window class is a view over the samples a history retained when the
+     * view was taken. The samples are read from the arrays of the history.
+     */
+    public final class Window {
+        private final long start;
+        private final int size;
+
+        private Window(long start, long end) {
+            this.start = start;
+            this.size = (int) (end - start);
+        }
+
+        /**
+         * @return number of samples in the window
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return number of channels
+         */
+        public int getChannelCount() {
+            return channelCount;
+        }
+
+        /**
+         * @param item position of the sample in the window, oldest first
+         * @return time stamp of the sample
+         */
+        public double getTimestamp(int item) {
+            return timestamps[(int) (start + item) & mask];
+        }
+
+        /**
+         * @param channel position of the channel
+         * @param item    position of the sample in the window, oldest first
+         * @return value of the channel in the sample
+         */
+        public double getValue(int channel, int item) {
+            return values[channel][(int) (start + item) & mask];
+        }
+
+        /**
+         * @return time stamp of the latest sample, or 0 if the window is empty
+         */
+        public double getLatestTimestamp() {
+            return size == 0 ? 0 : getTimestamp(size - 1);
+        }
+
+        /**
+         * Method to check that none of the samples of the window were
+         * overwritten since it was taken
+         *
+         * @return true if the window still reads the samples it was taken with
+         */
+        public boolean isIntact() {
+            return nextIndex - getCapacity() <= start;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package ser516.project3.utilities;
+
+import ser516.project3.model.ChannelModel;
+import ser516.project3.model.ChannelSchemaModel;
+
+import javax.json.JsonException;
+import javax.json.stream.JsonParser;
+import javax.websocket.DecodeException;
+import javax.websocket.Decoder;
+import javax.websocket.EndpointConfig;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The ChannelSchemaDecoder class implements the web-socket Decoder interface
+ * for the channel schema written by {@link ChannelSchemaEncoder}.
+ *
+ * @author vsriva12
+ */
+public class ChannelSchemaDecoder implements Decoder.Text<ChannelSchemaModel> {
+
+    /**
+     * Initialization method overridden from the interface
+     *
+     * @param config configuration for the decoding of the model
+     */
+    @Override
+    public void init(EndpointConfig config) {
+        // Intentionally empty.
+    }
+
+    /**
+     * Destroys the object, if exists. Overridden from the interface
+     */
+    @Override
+    public void destroy() {
+        // Intentionally empty.
+    }
+
+    /**
+     * Decodes the String to get the schema, in a single pass
+     *
+     * @param payload JSON string to be decoded
+     * @return Returns the ChannelSchemaModel object
+     * @throws DecodeException
+     */
+    @Override
+    public ChannelSchemaModel decode(String payload) throws DecodeException {
+        List<ChannelModel> channels = new ArrayList<ChannelModel>();
+        try (JsonParser parser = MessageDecoder.createParser(payload)) {
+            while (parser.hasNext()) {
+                if (parser.next() == JsonParser.Event.START_ARRAY) {
+                    break;
+                }
+            }
+            while (parser.next() == JsonParser.Event.START_OBJECT) {
+                channels.add(readChannel(parser));
+            }
+        } catch (JsonException | NoSuchElementException | NumberFormatException e) {
+            throw new DecodeException(payload, e.getMessage(), e);
+        }
+        return new ChannelSchemaModel(channels);
+    }
+
+    /**
+     * Reads one channel object
+     *
+     * @param parser parser positioned right after the start of the channel object
+     * @return Returns the ChannelModel object
+     */
+    private static ChannelModel readChannel(JsonParser parser) {
+        int id = -1;
+        String name = null;
+        String group = null;
+        String key = null;
+        JsonParser.Event event;
+        while ((event = parser.next()) != JsonParser.Event.END_OBJECT) {
+            if (event == JsonParser.Event.KEY_NAME) {
+                key = parser.getString();
+            } else if (ChannelSchemaEncoder.ID.equals(key)) {
+                id = Integer.parseInt(parser.getString());
+            } else if (ChannelSchemaEncoder.NAME.equals(key)) {
+                name = parser.getString();
+            } else if (ChannelSchemaEncoder.GROUP.equals(key)) {
+                group = parser.getString();
+            }
+        }
+        return new ChannelModel(id, name, group);
+    }
+
+    /**
+     * Returns a boolean indicating if a given string is a channel schema
+     *
+     * @param string string to check for decoding
+     */
+    @Override
+    public boolean willDecode(String string) {
+        return string.startsWith(ChannelSchemaEncoder.SCHEMA_PREFIX);
+    }
+}
@@ -0,0 +1,79 @@
+package ser516.project3.utilities;
+
+import ser516.project3.model.ChannelModel;
+import ser516.project3.model.ChannelSchemaModel;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonBuilderFactory;
+import javax.websocket.EncodeException;
+import javax.websocket.Encoder;
+import javax.websocket.EndpointConfig;
+import java.util.HashMap;
+
+/**
+ * The ChannelSchemaEncoder class implements the web-sockets Encoder interface
+ * for the channel schema the server announces to a client when it connects.
+ * The schema is sent as json text whatever the codec of the session is:
+ * <pre>
+ * {"Schema":[{"Id":0,"Name":"interest","Group":"emotion"}, ...]}
+ * </pre>
+ *
+ * @author vsriva12
+ */
+public class ChannelSchemaEncoder implements Encoder.Text<ChannelSchemaModel> {
+
+    public final static String SCHEMA = "Schema";
+    public final static String SCHEMA_PREFIX = "{\"" + SCHEMA + "\":[";
+    public final static String ID = "Id";
+    public final static String NAME = "Name";
+    public final static String GROUP = "Group";
+
+    private static final JsonBuilderFactory factory = Json.createBuilderFactory(new HashMap<String, Object>());
+
+    /**
+     * Initializer for the schema encoder. Empty as no initial configuration
+     * needs to be updated
+     *
+     * @param config The configuration of endpoint for the encoding
+     */
+    @Override
+    public void init(EndpointConfig config) {
+        // Intentionally empty.
+    }
+
+    /**
+     * Destroys the component if created
+     */
+    @Override
+    public void destroy() {
+        // Intentionally empty.
+    }
+
+    /**
+     * Encodes the schema to JSON format to be transmitted
+     *
+     * @param schema schema to be encoded
+     * @return returns the encoded schema
+     * @throws EncodeException
+     */
+    @Override
+    public String encode(ChannelSchemaModel schema) throws EncodeException {
+        return encodeSchema(schema);
+    }
+
+    /**
+     * Encodes the schema to JSON format
+     *
+     * @param schema schema to be encoded
+     * @return returns the encoded schema
+     */
+    public static String encodeSchema(ChannelSchemaModel schema) {
+        JsonArrayBuilder channelsBuilder = factory.createArrayBuilder();
+        for (ChannelModel channel : schema.getChannels()) {
+            channelsBuilder.add(factory.createObjectBuilder().add(ID, channel.getId())
+                    .add(NAME, channel.getName()).add(GROUP, channel.getGroup()));
+        }
+        return factory.createObjectBuilder().add(SCHEMA, channelsBuilder).build().toString();
+    }
+}
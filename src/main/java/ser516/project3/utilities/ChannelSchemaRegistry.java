@@ -0,0 +1,140 @@
+package ser516.project3.utilities;
+
+import org.apache.log4j.Logger;
+import ser516.project3.constants.ServerConstants;
+import ser516.project3.model.ChannelModel;
+import ser516.project3.model.ChannelSchemaModel;
+import ser516.project3.model.MessageModel;
+import ser516.project3.model.MessageModel.AbstractExpression;
+import ser516.project3.model.MessageModel.ConcreteExpression;
+import ser516.project3.model.MessageModel.Emotion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ChannelSchemaRegistry is a singleton class which assigns the compact
+ * integer ids the values of the channels are carried by. The channels of the
+ * {@link MessageModel} enums always come first, with the ids defined there.
+ * On the server, further channels are registered from the channels system
+ * property, as a comma separated list of names, each optionally followed by
+ * a colon and the name of its group, for example
+ * {@code battery,contactQuality.AF3:contactQuality}. On the client, the
+ * schema is replaced by the one announced by the server.
+ *
+ * @author vsriva12
+ */
+public class ChannelSchemaRegistry {
+    final static Logger logger = Logger.getLogger(ChannelSchemaRegistry.class);
+
+    private static ChannelSchemaRegistry instance = null;
+    private volatile ChannelSchemaModel schema;
+
+    /**
+     * Constructor to register the channels of the enums, and the channels set
+     * in the system property
+     */
+    protected ChannelSchemaRegistry() {
+        List<ChannelModel> channels = new ArrayList<ChannelModel>();
+        for (Emotion emotion : Emotion.values()) {
+            channels.add(new ChannelModel(MessageModel.EMOTION_CHANNEL_ID + emotion.ordinal(), emotion.name(),
+                    ServerConstants.EMOTION_GROUP));
+        }
+        for (AbstractExpression abstractExpression : AbstractExpression.values()) {
+            channels.add(new ChannelModel(MessageModel.ABSTRACT_EXPRESSION_CHANNEL_ID + abstractExpression.ordinal(),
+                    abstractExpression.name(), ServerConstants.ABSTRACT_EXPRESSION_GROUP));
+        }
+        for (ConcreteExpression concreteExpression : ConcreteExpression.values()) {
+            channels.add(new ChannelModel(MessageModel.CONCRETE_EXPRESSION_CHANNEL_ID + concreteExpression.ordinal(),
+                    concreteExpression.name(), ServerConstants.CONCRETE_EXPRESSION_GROUP));
+        }
+        schema = new ChannelSchemaModel(channels);
+        String extraChannels = System.getProperty(ServerConstants.CHANNELS_PROPERTY);
+        if (extraChannels != null) {
+            registerChannels(extraChannels);
+        }
+    }
+
+    /**
+     * The static function to get the instance of this class
+     *
+     * @return the instance of this class
+     */
+    public static synchronized ChannelSchemaRegistry getInstance() {
+        if (instance == null) {
+            instance = new ChannelSchemaRegistry();
+        }
+        return instance;
+    }
+
+    /**
+     * Method to get the current schema. The schema is immutable, so the
+     * returned instance stays consistent while channels are registered.
+     *
+     * @return the current schema
+     */
+    public ChannelSchemaModel getSchema() {
+        return schema;
+    }
+
+    /**
+     * Method to replace the schema, with the one announced by the server
+     *
+     * @param schema the schema to set
+     */
+    public synchronized void setSchema(ChannelSchemaModel schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * Method to register a channel, which gets the next free id. Registering
+     * an existing name returns the id it already has.
+     *
+     * @param name  name of the channel
+     * @param group name of the group of the channel
+     * @return id of the channel
+     */
+    public synchronized int register(String name, String group) {
+        ChannelModel channel = schema.getChannel(name);
+        if (channel != null) {
+            return channel.getId();
+        }
+        List<ChannelModel> channels = new ArrayList<ChannelModel>(schema.getChannels());
+        int id = MessageModel.FIRST_EXTRA_CHANNEL_ID;
+        for (ChannelModel existingChannel : channels) {
+            id = Math.max(id, existingChannel.getId() + 1);
+        }
+        channels.add(new ChannelModel(id, name, group));
+        schema = new ChannelSchemaModel(channels);
+        logger.info("Registered channel " + name + " with id " + id);
+        return id;
+    }
+
+    /**
+     * Method to register the channels of a comma separated list of names,
+     * each optionally followed by a colon and its group. The channels without
+     * a group are put in the device group.
+     *
+     * @param channels list of channels
+     */
+    public void registerChannels(String channels) {
+        for (String channel : channels.split(ServerConstants.CHANNEL_SEPARATOR)) {
+            String[] nameAndGroup = channel.trim().split(ServerConstants.CHANNEL_GROUP_SEPARATOR, 2);
+            if (!nameAndGroup[0].isEmpty()) {
+                register(nameAndGroup[0], nameAndGroup.length > 1 ? nameAndGroup[1].trim()
+                        : ServerConstants.DEVICE_GROUP);
+            }
+        }
+    }
+
+    /**
+     * Method to get the id of the channel with the passed name
+     *
+     * @param name name of the channel
+     * @return id of the channel, or -1 if there is no such channel
+     */
+    public int getChannelId(String name) {
+        ChannelModel channel = schema.getChannel(name);
+        return channel == null ? -1 : channel.getId();
+    }
+}
@@ -0,0 +1,78 @@
+package ser516.project3.utilities;
+
+import ser516.project3.constants.ServerConstants;
+import ser516.project3.interfaces.CodecInterface;
+
+import javax.websocket.Session;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The DeltaMessageCodec class sends the messages as keyframes and delta
+ * frames written by {@link MessageDeltaEncoder}, decoded on the client by
+ * {@link MessageDeltaDecoder}. The first frame sent to a session, and the
+ * first frame after it asks to be resynchronized, is a keyframe.
+ *
+ * @author vsriva12
+ */
+public class DeltaMessageCodec implements CodecInterface {
+
+    /**
+     * @return the name of the delta codec
+     */
+    @Override
+    public String getName() {
+        return ServerConstants.CODEC_DELTA;
+    }
+
+    /**
+     * Makes the first frame sent to the session a keyframe
+     *
+     * @param session web socket session
+     */
+    @Override
+    public void open(Session session) {
+        session.getUserProperties().put(ServerConstants.NEEDS_KEYFRAME, new AtomicBoolean(true));
+    }
+
+    /**
+     * Returns the batch as delta frames, starting with a keyframe if the
+     * session needs one
+     *
+     * @param session web socket session
+     * @param batch   batch to be sent
+     * @return the delta frame of the batch
+     */
+    @Override
+    public Object encode(Session session, EncodedBatch batch) {
+        return getNeedsKeyframe(session).getAndSet(false) ? batch.getDeltaWithKeyframe() : batch.getDelta();
+    }
+
+    /**
+     * Makes the next frame sent to the session a keyframe
+     *
+     * @param session web socket session
+     */
+    @Override
+    public void resync(Session session) {
+        getNeedsKeyframe(session).set(true);
+    }
+
+    /**
+     * @return true, as a delta frame is decoded against the previous frame
+     */
+    @Override
+    public boolean isStateful() {
+        return true;
+    }
+
+    /**
+     * Method to get the flag telling whether the next frame sent to the
+     * session has to start with a keyframe
+     *
+     * @param session web socket session
+     * @return keyframe flag of the session
+     */
+    private AtomicBoolean getNeedsKeyframe(Session session) {
+        return (AtomicBoolean) session.getUserProperties().get(ServerConstants.NEEDS_KEYFRAME);
+    }
+}
@@ -0,0 +1,169 @@
+package ser516.project3.utilities;
+
+import javax.websocket.EncodeException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+/**
+ * The EncodedBatch class holds consecutive {@link EncodedFrame}s which are
+ * sent to the sessions in a single web socket message. Like the frames, each
+ * representation of the batch is produced at most once, and shared by all
+ * the sessions. A batch of a single frame is sent as the plain frame.
+ *
+ * @author vsriva12
+ */
+public class EncodedBatch {
+
+    private final List<EncodedFrame> frames;
+    private volatile String text;
+    private volatile ByteBuffer binary;
+    private volatile ByteBuffer delta;
+
+    /**
+     * Creates a batch of the passed frames
+     *
+     * @param frames consecutive frames, oldest first
+     */
+    public EncodedBatch(List<EncodedFrame> frames) {
+        this.frames = frames;
+    }
+
+    /**
+     * @return the frames of the batch, oldest first
+     */
+    public List<EncodedFrame> getFrames() {
+        return frames;
+    }
+
+    /**
+     * Returns the text representation of the batch, encoding it on the first
+     * call
+     *
+     * @return the encoded json string
+     * @throws EncodeException if a message cannot be encoded
+     */
+    public String getText() throws EncodeException {
+        if (frames.size() == 1) {
+            return frames.get(0).getText();
+        }
+        String encodedText = text;
+        if (encodedText == null) {
+            synchronized (this) {
+                encodedText = text;
+                if (encodedText == null) {
+                    StringBuilder builder = new StringBuilder(MessageEncoder.BATCH_PREFIX);
+                    for (int i = 0; i < frames.size(); i++) {
+                        if (i > 0) {
+                            builder.append(',');
+                        }
+                        builder.append(frames.get(i).getText());
+                    }
+                    encodedText = builder.append(MessageEncoder.BATCH_SUFFIX).toString();
+                    text = encodedText;
+                }
+            }
+        }
+        return encodedText;
+    }
+
+    /**
+     * Returns the binary representation of the batch, encoding it on the
+     * first call
+     *
+     * @return read-only buffer positioned at the start of the batch
+     */
+    public ByteBuffer getBinary() {
+        if (frames.size() == 1) {
+            return frames.get(0).getBinary();
+        }
+        ByteBuffer encodedBinary = binary;
+        if (encodedBinary == null) {
+            synchronized (this) {
+                encodedBinary = binary;
+                if (encodedBinary == null) {
+                    ByteBuffer[] buffers = new ByteBuffer[frames.size()];
+                    for (int i = 0; i < buffers.length; i++) {
+                        buffers[i] = frames.get(i).getBinary();
+                    }
+                    encodedBinary = join(buffers);
+                    binary = encodedBinary;
+                }
+            }
+        }
+        return encodedBinary.slice();
+    }
+
+    /**
+     * Returns the delta mode representation of the batch, encoding it on the
+     * first call
+     *
+     * @return read-only buffer positioned at the start of the batch
+     */
+    public ByteBuffer getDelta() {
+        if (frames.size() == 1) {
+            return frames.get(0).getDelta();
+        }
+        ByteBuffer encodedDelta = delta;
+        if (encodedDelta == null) {
+            synchronized (this) {
+                encodedDelta = delta;
+                if (encodedDelta == null) {
+                    encodedDelta = encodeDelta(false);
+                    delta = encodedDelta;
+                }
+            }
+        }
+        return encodedDelta.slice();
+    }
+
+    /**
+     * Returns the delta mode representation of the batch starting with a
+     * keyframe, for a session which has just joined or asked to be
+     * resynchronized. Encoded on every call, as only few sessions need it.
+     *
+     * @return read-only buffer positioned at the start of the batch
+     */
+    public ByteBuffer getDeltaWithKeyframe() {
+        if (frames.size() == 1) {
+            return frames.get(0).getKeyframe();
+        }
+        return encodeDelta(true);
+    }
+
+    /**
+     * Encodes the delta mode frames of the batch
+     *
+     * @param startWithKeyframe true if the first frame has to be a keyframe
+     * @return read-only buffer with the batch
+     */
+    private ByteBuffer encodeDelta(boolean startWithKeyframe) {
+        ByteBuffer[] buffers = new ByteBuffer[frames.size()];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = i == 0 && startWithKeyframe ? frames.get(i).getKeyframe() : frames.get(i).getDelta();
+        }
+        return join(buffers);
+    }
+
+    /**
+     * Joins the passed frames into a binary batch
+     *
+     * @param buffers frames of the batch
+     * @return read-only buffer with the batch
+     */
+    private static ByteBuffer join(ByteBuffer[] buffers) {
+        int size = 1 + Integer.BYTES;
+        for (ByteBuffer buffer : buffers) {
+            size += Integer.BYTES + buffer.remaining();
+        }
+        ByteBuffer batch = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        batch.put(MessageBinaryEncoder.BATCH_FRAME);
+        batch.putInt(buffers.length);
+        for (ByteBuffer buffer : buffers) {
+            batch.putInt(buffer.remaining());
+            batch.put(buffer);
+        }
+        batch.flip();
+        return batch.asReadOnlyBuffer();
+    }
+}
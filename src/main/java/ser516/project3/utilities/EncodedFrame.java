@@ -0,0 +1,165 @@
+package ser516.project3.utilities;
+
+import ser516.project3.model.MessageModel;
+
+import javax.websocket.EncodeException;
+import java.nio.ByteBuffer;
+
+/**
+ * The EncodedFrame class holds one tick's {@link MessageModel} together with
+ * its wire representation. The representation is produced at most once per
+ * frame, on first request, and then shared by all the sessions the frame is
+ * sent to: text sessions get the same String instance, binary sessions get
+ * their own read-only view of the same bytes.
+ * <p>
+ * For the delta mode the frame also knows its sequence number and the
+ * message of the previous frame, and produces a keyframe and a delta frame
+ * the same way.
+ *
+ * @author vsriva12
+ */
+public class EncodedFrame {
+
+    private final long sequence;
+    private final MessageModel messageModel;
+    private final MessageModel previousMessage;
+    private volatile String text;
+    private volatile ByteBuffer binary;
+    private volatile ByteBuffer keyframe;
+    private volatile ByteBuffer delta;
+
+    /**
+     * Creates a frame for the passed message. The message must not be changed
+     * after the frame is created.
+     *
+     * @param messageModel message to be sent
+     */
+    public EncodedFrame(MessageModel messageModel) {
+        this(0, messageModel, null);
+    }
+
+    /**
+     * Creates a frame for the passed message, which follows the passed
+     * previous message. The messages must not be changed after the frame is
+     * created.
+     *
+     * @param sequence        sequence number of the frame
+     * @param messageModel    message to be sent
+     * @param previousMessage message of the frame with the previous sequence
+     *                        number, or null if this frame has to be a keyframe
+     */
+    public EncodedFrame(long sequence, MessageModel messageModel, MessageModel previousMessage) {
+        this.sequence = sequence;
+        this.messageModel = messageModel;
+        this.previousMessage = previousMessage;
+    }
+
+    /**
+     * @return the sequence number of this frame
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return true if the delta mode sends this frame as a keyframe to all sessions
+     */
+    public boolean isKeyframe() {
+        return previousMessage == null;
+    }
+
+    /**
+     * @return the message of this frame
+     */
+    public MessageModel getMessageModel() {
+        return messageModel;
+    }
+
+    /**
+     * Returns the text representation of the frame, encoding it on the first
+     * call
+     *
+     * @return the encoded json string
+     * @throws EncodeException if the message cannot be encoded
+     */
+    public String getText() throws EncodeException {
+        String encodedText = text;
+        if (encodedText == null) {
+            synchronized (this) {
+                encodedText = text;
+                if (encodedText == null) {
+                    encodedText = MessageEncoder.encodeMessage(messageModel);
+                    text = encodedText;
+                }
+            }
+        }
+        return encodedText;
+    }
+
+    /**
+     * Returns the binary representation of the frame, encoding it on the first
+     * call. Every caller gets a separate read-only buffer over the same bytes,
+     * so the position of one session's buffer does not affect the others.
+     *
+     * @return read-only buffer positioned at the start of the frame
+     */
+    public ByteBuffer getBinary() {
+        ByteBuffer encodedBinary = binary;
+        if (encodedBinary == null) {
+            synchronized (this) {
+                encodedBinary = binary;
+                if (encodedBinary == null) {
+                    encodedBinary = MessageBinaryEncoder.encodeMessage(messageModel).asReadOnlyBuffer();
+                    binary = encodedBinary;
+                }
+            }
+        }
+        return encodedBinary.slice();
+    }
+
+    /**
+     * Returns the delta mode keyframe of the frame, encoding it on the first
+     * call. Sent to all sessions on keyframe ticks, and to the sessions which
+     * have just joined or asked to be resynchronized.
+     *
+     * @return read-only buffer positioned at the start of the keyframe
+     */
+    public ByteBuffer getKeyframe() {
+        ByteBuffer encodedKeyframe = keyframe;
+        if (encodedKeyframe == null) {
+            synchronized (this) {
+                encodedKeyframe = keyframe;
+                if (encodedKeyframe == null) {
+                    encodedKeyframe = MessageDeltaEncoder.encodeKeyframe(sequence, messageModel).asReadOnlyBuffer();
+                    keyframe = encodedKeyframe;
+                }
+            }
+        }
+        return encodedKeyframe.slice();
+    }
+
+    /**
+     * Returns the delta mode frame, encoding it on the first call. This is the
+     * keyframe if the frame has no previous message, else the delta against
+     * the previous message.
+     *
+     * @return read-only buffer positioned at the start of the frame
+     */
+    public ByteBuffer getDelta() {
+        if (isKeyframe()) {
+            return getKeyframe();
+        }
+        ByteBuffer encodedDelta = delta;
+        if (encodedDelta == null) {
+            synchronized (this) {
+                encodedDelta = delta;
+                if (encodedDelta == null) {
+                    encodedDelta = MessageDeltaEncoder.encodeDelta(sequence, previousMessage, messageModel)
+                            .asReadOnlyBuffer();
+                    delta = encodedDelta;
+                }
+            }
+        }
+        return encodedDelta.slice();
+    }
+}
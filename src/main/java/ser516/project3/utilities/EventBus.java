@@ -0,0 +1,208 @@
+package ser516.project3.utilities;
+
+import org.apache.log4j.Logger;
+import ser516.project3.constants.ClientConstants;
+import ser516.project3.interfaces.EventListenerInterface;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The EventBus class delivers typed events to the listeners of their
+ * {@link EventTopic}. The events of an immediate topic are delivered while
+ * they are published; the events of a coalescing topic replace each other
+ * until {@link #flush()} delivers the latest one. A listener is called on
+ * the thread which publishes or flushes, or through the executor it was
+ * subscribed with.
+ * <p>
+ * The listeners of a topic are kept in a copy on write list, copied when a
+ * listener subscribes rather than when an event is published, and publishing
+ * on a topic without listeners costs a single map lookup, so that listeners
+ * of every message can be attached without slowing down the others.
+ *
+ * @author vsriva12
+ */
+public class EventBus {
+    final static Logger logger = Logger.getLogger(EventBus.class);
+
+    private static EventBus instance;
+
+    private final ConcurrentHashMap<EventTopic<?>, TopicState> topics = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<TopicState> pendingTopics = new ConcurrentLinkedQueue<>();
+    private volatile Runnable flushRequest;
+
+    /**
+     * Creates the singleton instance of the client. If exists, returns it,
+     * else creates it.
+     *
+     * @return instance of the EventBus
+     */
+    public static synchronized EventBus getInstance() {
+        if (instance == null) {
+            instance = new EventBus();
+        }
+        return instance;
+    }
+
+    /**
+     * Method to subscribe a listener called on the thread which publishes the
+     * events, or flushes them for a coalescing topic
+     *
+     * @param topic    topic of the events
+     * @param listener listener of the events
+     * @param <T>      type of the events
+     */
+    public <T> void subscribe(EventTopic<T> topic, EventListenerInterface<? super T> listener) {
+        subscribe(topic, listener, null);
+    }
+
+    /**
+     * Method to subscribe a listener called through the passed executor
+     *
+     * @param topic    topic of the events
+     * @param listener listener of the events
+     * @param executor executor running the listener, or null to call it on
+     *                 the thread which publishes or flushes the events
+     * @param <T>      type of the events
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void subscribe(EventTopic<T> topic, EventListenerInterface<? super T> listener, Executor executor) {
+        topics.computeIfAbsent(topic, TopicState::new).subscriptions
+                .add(new Subscription((EventListenerInterface<Object>) listener, executor));
+    }
+
+    /**
+     * Method to unsubscribe a listener from a topic
+     *
+     * @param topic    topic of the events
+     * @param listener listener to unsubscribe
+     * @return true if the listener was subscribed
+     */
+    public boolean unsubscribe(EventTopic<?> topic, EventListenerInterface<?> listener) {
+        TopicState state = topics.get(topic);
+        return state != null && state.subscriptions.removeIf(subscription -> subscription.listener == listener);
+    }
+
+    /**
+     * Method to check whether a topic has listeners, so that building an
+     * event nobody listens to can be avoided
+     *
+     * @param topic topic of the events
+     * @return true if at least one listener is subscribed to the topic
+     */
+    public boolean hasListeners(EventTopic<?> topic) {
+        TopicState state = topics.get(topic);
+        return state != null && !state.subscriptions.isEmpty();
+    }
+
+    /**
+     * Method to publish an event. The event of an immediate topic is
+     * delivered at once. The event of a coalescing topic replaces the event
+     * waiting for the next flush, and a flush is requested if none was
+     * waiting.
+     *
+     * @param topic topic of the event
+     * @param event event to publish, not null
+     * @param <T>   type of the event
+     */
+    public <T> void publish(EventTopic<T> topic, T event) {
+        Objects.requireNonNull(event);
+        TopicState state = topics.get(topic);
+        if (state == null || state.subscriptions.isEmpty()) {
+            return;
+        }
+        if (!topic.isCoalescing()) {
+            state.deliver(event);
+        } else if (state.pendingEvent.getAndSet(event) == null) {
+            pendingTopics.add(state);
+            Runnable request = flushRequest;
+            if (request != null) {
+                request.run();
+            }
+        }
+    }
+
+    /**
+     * Method to deliver the latest event of every coalescing topic which
+     * received one since the previous flush
+     */
+    public void flush() {
+        TopicState state;
+        while ((state = pendingTopics.poll()) != null) {
+            Object event = state.pendingEvent.getAndSet(null);
+            if (event != null) {
+                state.deliver(event);
+            }
+        }
+    }
+
+    /**
+     * Sets the action run when an event of a coalescing topic starts waiting
+     * for a flush, typically asking for the next display frame
+     *
+     * @param flushRequest action asking for a flush, or null
+     */
+    public void setFlushRequest(Runnable flushRequest) {
+        this.flushRequest = flushRequest;
+    }
+
+    /**
+     * The listeners and the event waiting for a flush of one topic
+     */
+    private static final class TopicState {
+        private final EventTopic<?> topic;
+        private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+        private final AtomicReference<Object> pendingEvent = new AtomicReference<>();
+
+        private TopicState(EventTopic<?> topic) {
+            this.topic = topic;
+        }
+
+        /**
+         * Delivers an event to every listener of the topic. A failing
+         * listener does not prevent the others from receiving the event.
+         *
+         * @param event event to deliver
+         */
+        private void deliver(Object event) {
+            for (Subscription subscription : subscriptions) {
+                if (subscription.executor != null) {
+                    subscription.executor.execute(() -> call(subscription, event));
+                } else {
+                    call(subscription, event);
+                }
+            }
+        }
+
+        /**
+         * Calls one listener with an event
+         *
+         * @param subscription subscription of the listener
+         * @param event        event to deliver
+         */
+        private void call(Subscription subscription, Object event) {
+            try {
+                subscription.listener.onEvent(event);
+            } catch (RuntimeException e) {
+                logger.error(ClientConstants.ERROR_EVENT_LISTENER + topic + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A listener and the executor it is called through
+     */
+    private static final class Subscription {
+        private final EventListenerInterface<Object> listener;
+        private final Executor executor;
+
+        private Subscription(EventListenerInterface<Object> listener, Executor executor) {
+            this.listener = listener;
+            this.executor = executor;
+        }
+    }
+}
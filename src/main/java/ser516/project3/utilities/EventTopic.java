@@ -0,0 +1,76 @@
+package ser516.project3.utilities;
+
+/**
+ * The EventTopic class names a topic of the {@link EventBus} and fixes the
+ * type of its events. The events of an immediate topic are delivered as they
+ * are published. The events of a coalescing topic are held until the bus is
+ * flushed, and only the latest one is delivered, so that many updates within
+ * a display frame collapse into one.
+ *
+ * @param <T> type of the events of the topic
+ * @author vsriva12
+ */
+public final class EventTopic<T> {
+
+    private final String name;
+    private final boolean coalescing;
+
+    /**
+     * Creates a topic
+     *
+     * @param name       name of the topic, for the logs
+     * @param coalescing true if only the latest event is delivered on flush
+     */
+    private EventTopic(String name, boolean coalescing) {
+        this.name = name;
+        this.coalescing = coalescing;
+    }
+
+    /**
+     * Method to create a topic whose events are delivered as they are
+     * published
+     *
+     * @param name name of the topic
+     * @param <T>  type of the events of the topic
+     * @return the topic
+     */
+    public static <T> EventTopic<T> immediate(String name) {
+        return new EventTopic<>(name, false);
+    }
+
+    /**
+     * Method to create a topic of which only the latest event is delivered
+     * when the bus is flushed
+     *
+     * @param name name of the topic
+     * @param <T>  type of the events of the topic
+     * @return the topic
+     */
+    public static <T> EventTopic<T> coalescing(String name) {
+        return new EventTopic<>(name, true);
+    }
+
+    /**
+     * @return the name of the topic
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return true if only the latest event is delivered on flush
+     */
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
+    /**
+     * Overridden method to convert the topic into string
+     *
+     * @return returns the name of the topic
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,195 @@
+package ser516.project3.utilities;
+
+import ser516.project3.model.MessageModel;
+
+import javax.json.Json;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import java.io.StringReader;
+import java.util.HashMap;
+
+/**
+ * The FrameStatistics class follows the frames received by a client from the
+ * sequence numbers and send times given to them by the server. It keeps the
+ * latency of every frame, from its send time to its arrival, and its jitter,
+ * the difference between the time separating two frames on arrival and the
+ * time separating them when sent. It counts the frames lost, received twice
+ * or received out of order from the gaps in the sequence numbers.
+ * <p>
+ * The latency and jitter histograms cover a window which is restarted after
+ * every report sent to the server, while the counters cover the whole
+ * connection. The latency is only meaningful when the wall clocks of the
+ * server and the client agree, e.g. when both run on the same machine. The
+ * statistics are updated by the thread of the session only.
+ *
+ * @author vsriva12
+ */
+public class FrameStatistics {
+
+    public final static String CLIENT_STATISTICS = "Client-Statistics";
+    public final static String FRAMES = "Frames";
+    public final static String LOST = "Lost";
+    public final static String DUPLICATED = "Duplicated";
+    public final static String REORDERED = "Reordered";
+    public final static String LATENCY_P50 = "Latency-P50";
+    public final static String LATENCY_P99 = "Latency-P99";
+    public final static String LATENCY_MAX = "Latency-Max";
+    public final static String JITTER_P50 = "Jitter-P50";
+    public final static String JITTER_P99 = "Jitter-P99";
+    private final static String REPORT_PREFIX = "{\"" + CLIENT_STATISTICS + "\"";
+
+    private static final JsonBuilderFactory factory = Json.createBuilderFactory(new HashMap<String, Object>());
+
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+    private final LatencyHistogram jitterHistogram = new LatencyHistogram();
+    private long frameCount;
+    private long lostFrameCount;
+    private long duplicatedFrameCount;
+    private long reorderedFrameCount;
+    private long highestSequence;
+    private long lastArrivalMicros;
+    private long lastSendTimeMicros;
+
+    /**
+     * Method to record a frame received from the server. The frames without
+     * a sequence number or a send time are counted but not measured.
+     *
+     * @param message       message of the frame
+     * @param arrivalMicros time of arrival of the frame, in microseconds since
+     *                      the epoch
+     */
+    public void record(MessageModel message, long arrivalMicros) {
+        frameCount++;
+        long sequence = message.getSequence();
+        long sendTimeMicros = message.getSendTimeMicros();
+        if (sendTimeMicros > 0) {
+            latencyHistogram.record(arrivalMicros - sendTimeMicros);
+        }
+        if (sequence <= 0) {
+            return;
+        }
+        if (highestSequence == 0 || sequence > highestSequence) {
+            if (highestSequence > 0) {
+                lostFrameCount += sequence - highestSequence - 1;
+                if (sendTimeMicros > 0 && lastSendTimeMicros > 0) {
+                    jitterHistogram.record(Math.abs((arrivalMicros - lastArrivalMicros)
+                            - (sendTimeMicros - lastSendTimeMicros)));
+                }
+            }
+            highestSequence = sequence;
+            lastArrivalMicros = arrivalMicros;
+            lastSendTimeMicros = sendTimeMicros;
+        } else if (sequence == highestSequence) {
+            duplicatedFrameCount++;
+        } else {
+            reorderedFrameCount++;
+            if (lostFrameCount > 0) {
+                lostFrameCount--;
+            }
+        }
+    }
+
+    /**
+     * Method to start a new window of the latency and jitter histograms
+     */
+    public void restartWindow() {
+        latencyHistogram.reset();
+        jitterHistogram.reset();
+    }
+
+    /**
+     * Method to forget everything recorded, when a new connection starts
+     */
+    public void reset() {
+        restartWindow();
+        frameCount = 0;
+        lostFrameCount = 0;
+        duplicatedFrameCount = 0;
+        reorderedFrameCount = 0;
+        highestSequence = 0;
+        lastArrivalMicros = 0;
+        lastSendTimeMicros = 0;
+    }
+
+    /**
+     * @return the latencies of the frames of the window, in microseconds
+     */
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    /**
+     * @return the jitter of the frames of the window, in microseconds
+     */
+    public LatencyHistogram getJitterHistogram() {
+        return jitterHistogram;
+    }
+
+    /**
+     * @return the number of frames received
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return the number of frames missing from the sequence
+     */
+    public long getLostFrameCount() {
+        return lostFrameCount;
+    }
+
+    /**
+     * @return the number of frames received more than once
+     */
+    public long getDuplicatedFrameCount() {
+        return duplicatedFrameCount;
+    }
+
+    /**
+     * @return the number of frames received after a later frame
+     */
+    public long getReorderedFrameCount() {
+        return reorderedFrameCount;
+    }
+
+    /**
+     * Method to write the report sent by a client to the server
+     *
+     * @return the json report, with the times in microseconds
+     */
+    public String toReport() {
+        JsonObject statistics = factory.createObjectBuilder()
+                .add(FRAMES, frameCount)
+                .add(LOST, lostFrameCount)
+                .add(DUPLICATED, duplicatedFrameCount)
+                .add(REORDERED, reorderedFrameCount)
+                .add(LATENCY_P50, latencyHistogram.getValueAtPercentile(50))
+                .add(LATENCY_P99, latencyHistogram.getValueAtPercentile(99))
+                .add(LATENCY_MAX, latencyHistogram.getMax())
+                .add(JITTER_P50, jitterHistogram.getValueAtPercentile(50))
+                .add(JITTER_P99, jitterHistogram.getValueAtPercentile(99))
+                .build();
+        return factory.createObjectBuilder().add(CLIENT_STATISTICS, statistics).build().toString();
+    }
+
+    /**
+     * Method to read the report sent by a client
+     *
+     * @param text text message received from the client
+     * @return the statistics of the report, or null if the message is not a
+     * valid report
+     */
+    public static JsonObject readReport(String text) {
+        if (text == null || !text.startsWith(REPORT_PREFIX)) {
+            return null;
+        }
+        try (JsonReader reader = Json.createReader(new StringReader(text))) {
+            return reader.readObject().getJsonObject(CLIENT_STATISTICS);
+        } catch (JsonException | ClassCastException e) {
+            return null;
+        }
+    }
+}
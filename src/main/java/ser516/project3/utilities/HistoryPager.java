@@ -0,0 +1,121 @@
+package ser516.project3.utilities;
+
+import ser516.project3.constants.ClientConstants;
+
+/**
+ * The HistoryPager class gives the windows of a graph which reach further
+ * back than the history kept in memory, by paging the older samples in from
+ * the store of the graph. The page is read from the store once for a window
+ * of time, reduced to the minimum and the maximum of every bucket of
+ * {@link ClientConstants#PAGE_BUCKETS} over the window, whose length is a
+ * power of two seconds as for the {@link MinMaxDownsampler}, so that the
+ * page holds about two samples per pixel of any graph and the peaks are
+ * kept, however long the session. The page then follows the history, so
+ * that the samples received since are appended to it rather than read
+ * again, and the samples before a window moving forward are dropped. A
+ * window lying within the page, with the same length of bucket, reuses it;
+ * the page is read again once as many samples as the history keeps have
+ * been appended to it. The windows are asked for by one thread only,
+ * typically the event dispatch thread.
+ *
+ * @author vsriva12
+ */
+public class HistoryPager {
+
+    private final ChannelHistory history;
+    private final SegmentStore store;
+    private final double[] values;
+    private ChannelHistory page;
+    private double pageFrom;
+    private double pageTo;
+    private double pageBucketSeconds;
+    private int appendedSamples;
+
+    /**
+     * Creates a pager over the passed history and store, which have the same
+     * channels and receive the same samples
+     *
+     * @param history history kept in memory
+     * @param store   store of the whole session, or null if there is none
+     */
+    public HistoryPager(ChannelHistory history, SegmentStore store) {
+        this.history = history;
+        this.store = store;
+        values = new double[history.getChannelCount()];
+    }
+
+    /**
+     * Method to get a window over the samples of a window of time. The
+     * window is taken from the history when it reaches far enough back, or
+     * when the store has nothing older, else from the page. The window of the
+     * history may hold samples outside the window of time.
+     *
+     * @param from time stamp of the start of the window
+     * @param to   time stamp of the end of the window
+     * @return window over the samples, oldest first
+     */
+    public ChannelHistory.Window window(double from, double to) {
+        ChannelHistory.Window historyWindow = history.window();
+        if (store == null || historyWindow.size() == 0) {
+            return historyWindow;
+        }
+        double oldestTimestamp = historyWindow.getTimestamp(0);
+        double latestTimestamp = historyWindow.getLatestTimestamp();
+        if (oldestTimestamp <= from || !(store.getFirstTimestamp() < oldestTimestamp)) {
+            page = null;
+            return historyWindow;
+        }
+        double end = Math.min(to, latestTimestamp);
+        double bucketSeconds = MinMaxDownsampler.getBucketSeconds(to - from, ClientConstants.PAGE_BUCKETS);
+        if (page == null || bucketSeconds != pageBucketSeconds || from < getPageStart()
+                || to - from > page.getRetentionSeconds() * (1 + ClientConstants.PAGE_LENGTH_TOLERANCE)
+                || pageTo > latestTimestamp || (pageTo < end && pageTo < oldestTimestamp)
+                || appendedSamples >= history.getRetentionSamples()) {
+            page = new ChannelHistory(history.getChannelCount(),
+                    2 * (ClientConstants.PAGE_BUCKETS + 1) + 2 * history.getRetentionSamples(), to - from);
+            store.readMinMax(from, end, bucketSeconds, page);
+            ChannelHistory.Window pageWindow = page.window();
+            pageTo = pageWindow.size() == 0 ? Math.nextDown(from) : pageWindow.getLatestTimestamp();
+            pageFrom = from;
+            pageBucketSeconds = bucketSeconds;
+            appendedSamples = 0;
+        }
+        if (pageTo < end) {
+            int item = historyWindow.size();
+            while (item > 0 && historyWindow.getTimestamp(item - 1) > pageTo) {
+                item--;
+            }
+            for (; item < historyWindow.size() && historyWindow.getTimestamp(item) <= end; item++) {
+                for (int channel = 0; channel < values.length; channel++) {
+                    values[channel] = historyWindow.getValue(channel, item);
+                }
+                page.append(historyWindow.getTimestamp(item), values);
+                appendedSamples++;
+            }
+            pageTo = end;
+        }
+        return page.window();
+    }
+
+    /**
+     * @return the time stamp from which the page holds the samples, after
+     * the samples before a window moving forward have been dropped
+     */
+    private double getPageStart() {
+        return Math.max(pageFrom, pageTo - page.getRetentionSeconds());
+    }
+
+    /**
+     * @return the history kept in memory
+     */
+    public ChannelHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * @return the store of the whole session, or null if there is none
+     */
+    public SegmentStore getStore() {
+        return store;
+    }
+}
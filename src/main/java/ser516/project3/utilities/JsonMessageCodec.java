@@ -0,0 +1,66 @@
+package ser516.project3.utilities;
+
+import ser516.project3.constants.ServerConstants;
+import ser516.project3.interfaces.CodecInterface;
+
+import javax.websocket.EncodeException;
+import javax.websocket.Session;
+
+/**
+ * The JsonMessageCodec class sends the messages as json text, decoded on the
+ * client by {@link MessageDecoder} and {@link MessageBatchDecoder}. It is the
+ * codec of the clients which do not ask for any.
+ *
+ * @author vsriva12
+ */
+public class JsonMessageCodec implements CodecInterface {
+
+    /**
+     * @return the name of the json codec
+     */
+    @Override
+    public String getName() {
+        return ServerConstants.CODEC_JSON;
+    }
+
+    /**
+     * Keeps no state for the session, as every frame is self-contained
+     *
+     * @param session web socket session
+     */
+    @Override
+    public void open(Session session) {
+        // Intentionally empty.
+    }
+
+    /**
+     * Returns the batch as json text
+     *
+     * @param session web socket session
+     * @param batch   batch to be sent
+     * @return the json text of the batch
+     * @throws EncodeException if the batch cannot be encoded
+     */
+    @Override
+    public Object encode(Session session, EncodedBatch batch) throws EncodeException {
+        return batch.getText();
+    }
+
+    /**
+     * Ignores the request, as every frame is self-contained
+     *
+     * @param session web socket session
+     */
+    @Override
+    public void resync(Session session) {
+        // Intentionally empty.
+    }
+
+    /**
+     * @return false, as every frame is self-contained
+     */
+    @Override
+    public boolean isStateful() {
+        return false;
+    }
+}
@@ -0,0 +1,145 @@
+package ser516.project3.utilities;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The LatencyHistogram class records positive values, such as latencies in
+ * microseconds, in the log-linear buckets of an HdrHistogram: the values up
+ * to 255 are counted exactly, and every larger power of two is split into
+ * 128 buckets, so any value and percentile is reported within 1% of the
+ * recorded values. Recording is lock free and may be done from any number
+ * of threads at once; the counts are fixed in size whatever the number of
+ * recorded values.
+ *
+ * @author vsriva12
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT_COUNT = SUB_BUCKET_COUNT * 2;
+    private static final int MAX_SHIFT = 40;
+    private static final long MAX_VALUE = (1L << (MAX_SHIFT + SUB_BUCKET_BITS + 1)) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(EXACT_COUNT + MAX_SHIFT * SUB_BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalValue = new AtomicLong();
+    private final AtomicLong minValue = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Method to record a value. Negative values are recorded as 0, and
+     * values beyond the range of the histogram as its largest value.
+     *
+     * @param value value to record
+     */
+    public void record(long value) {
+        value = Math.min(MAX_VALUE, Math.max(0, value));
+        counts.incrementAndGet(indexOf(value));
+        totalCount.incrementAndGet();
+        totalValue.addAndGet(value);
+        long min = minValue.get();
+        while (value < min && !minValue.compareAndSet(min, value)) {
+            min = minValue.get();
+        }
+        long max = maxValue.get();
+        while (value > max && !maxValue.compareAndSet(max, value)) {
+            max = maxValue.get();
+        }
+    }
+
+    /**
+     * Method to forget all the recorded values
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        totalValue.set(0);
+        minValue.set(Long.MAX_VALUE);
+        maxValue.set(0);
+    }
+
+    /**
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * @return the smallest recorded value, or 0 if there is none
+     */
+    public long getMin() {
+        return totalCount.get() == 0 ? 0 : minValue.get();
+    }
+
+    /**
+     * @return the largest recorded value
+     */
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    /**
+     * @return the mean of the recorded values, or 0 if there is none
+     */
+    public double getMean() {
+        long count = totalCount.get();
+        return count == 0 ? 0 : (double) totalValue.get() / count;
+    }
+
+    /**
+     * Returns the value below which the passed percentage of the recorded
+     * values fall, as the largest value of its bucket
+     *
+     * @param percentile percentage between 0 and 100
+     * @return the value, or 0 if there is none
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(getMax(), highestValueOf(i));
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Method to get the bucket of a value
+     *
+     * @param value value between 0 and the largest value of the histogram
+     * @return index of the bucket
+     */
+    private static int indexOf(long value) {
+        if (value < EXACT_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return EXACT_COUNT + (shift - 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+    }
+
+    /**
+     * Method to get the largest value counted in a bucket
+     *
+     * @param index index of the bucket
+     * @return the largest value of the bucket
+     */
+    private static long highestValueOf(int index) {
+        if (index < EXACT_COUNT) {
+            return index;
+        }
+        int shift = (index - EXACT_COUNT) / SUB_BUCKET_COUNT + 1;
+        long subBucket = (index - EXACT_COUNT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
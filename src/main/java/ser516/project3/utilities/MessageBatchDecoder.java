@@ -0,0 +1,75 @@
+package ser516.project3.utilities;
+
+import ser516.project3.model.MessageBatchModel;
+
+import javax.json.JsonException;
+import javax.json.stream.JsonParser;
+import javax.websocket.DecodeException;
+import javax.websocket.Decoder;
+import javax.websocket.EndpointConfig;
+import java.util.NoSuchElementException;
+
+/**
+ * The MessageBatchDecoder class implements the web-socket Decoder interface
+ * for a json batch, an object holding the array of consecutive messages
+ * written by {@link MessageEncoder} under the key {@link MessageEncoder#BATCH}.
+ *
+ * @author vsriva12
+ */
+public class MessageBatchDecoder implements Decoder.Text<MessageBatchModel> {
+
+    private static final int EXPECTED_BATCH_SIZE = 16;
+
+    /**
+     * Initialization method overridden from the interface
+     *
+     * @param config configuration for the decoding of the model
+     */
+    @Override
+    public void init(EndpointConfig config) {
+        // Intentionally empty.
+    }
+
+    /**
+     * Destroys the object, if exists. Overridden from the interface
+     */
+    @Override
+    public void destroy() {
+        // Intentionally empty.
+    }
+
+    /**
+     * Decodes the String to get the batch of messages, in a single pass
+     *
+     * @param payload JSON string to be decoded
+     * @return Returns the MessageBatchModel object
+     * @throws DecodeException
+     */
+    @Override
+    public MessageBatchModel decode(String payload) throws DecodeException {
+        MessageBatchModel batch = new MessageBatchModel(EXPECTED_BATCH_SIZE);
+        try (JsonParser parser = MessageDecoder.createParser(payload)) {
+            while (parser.hasNext()) {
+                if (parser.next() == JsonParser.Event.START_ARRAY) {
+                    break;
+                }
+            }
+            while (parser.next() == JsonParser.Event.START_OBJECT) {
+                batch.addMessage(MessageDecoder.readMessage(parser));
+            }
+        } catch (JsonException | NoSuchElementException | NumberFormatException e) {
+            throw new DecodeException(payload, e.getMessage(), e);
+        }
+        return batch;
+    }
+
+    /**
+     * Returns a boolean indicating if a given string is a batch
+     *
+     * @param string string to check for decoding
+     */
+    @Override
+    public boolean willDecode(String string) {
+        return string.startsWith(MessageEncoder.BATCH_PREFIX);
+    }
+}
@@ -0,0 +1,90 @@
+package ser516.project3.utilities;
+
+import ser516.project3.model.MessageBatchModel;
+
+import javax.websocket.DecodeException;
+import javax.websocket.Decoder;
+import javax.websocket.EndpointConfig;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The MessageBinaryBatchDecoder class implements the web-socket binary Decoder
+ * interface for a batch of binary message frames written by
+ * {@link MessageBinaryEncoder}.
+ *
+ * @author vsriva12
+ */
+public class MessageBinaryBatchDecoder implements Decoder.Binary<MessageBatchModel> {
+
+    /**
+     * Initialization method overridden from the interface
+     *
+     * @param config configuration for the decoding of the model
+     */
+    @Override
+    public void init(EndpointConfig config) {
+        // Intentionally empty.
+    }
+
+    /**
+     * Destroys the object, if exists. Overridden from the interface
+     */
+    @Override
+    public void destroy() {
+        // Intentionally empty.
+    }
+
+    /**
+     * Decodes the buffer to get the batch of messages
+     *
+     * @param buffer binary batch to be decoded
+     * @return Returns the MessageBatchModel object
+     * @throws DecodeException
+     */
+    @Override
+    public MessageBatchModel decode(ByteBuffer buffer) throws DecodeException {
+        ByteBuffer batchBuffer = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        batchBuffer.get();
+        int count = batchBuffer.getInt();
+        MessageBatchModel batch = new MessageBatchModel(count);
+        for (int i = 0; i < count; i++) {
+            int length = batchBuffer.getInt();
+            int nextFrame = batchBuffer.position() + length;
+            if (length < MessageBinaryEncoder.MESSAGE_FRAME_SIZE
+                    || batchBuffer.get(batchBuffer.position()) != MessageBinaryEncoder.MESSAGE_FRAME) {
+                throw new DecodeException(buffer, "Not a binary message frame");
+            }
+            batch.addMessage(MessageBinaryDecoder.readMessage(batchBuffer));
+            batchBuffer.position(nextFrame);
+        }
+        return batch;
+    }
+
+    /**
+     * Returns a boolean indicating if a given buffer holds a batch of binary
+     * message frames
+     *
+     * @param buffer buffer to check for decoding
+     */
+    @Override
+    public boolean willDecode(ByteBuffer buffer) {
+        return isBatchOf(buffer, MessageBinaryEncoder.MESSAGE_FRAME);
+    }
+
+    /**
+     * Returns true if the buffer holds a batch whose first frame is of the
+     * passed type
+     *
+     * @param buffer    buffer to check
+     * @param frameType type of the first frame of the batch
+     * @return true if the buffer holds such a batch
+     */
+    static boolean isBatchOf(ByteBuffer buffer, byte frameType) {
+        int position = buffer.position();
+        int firstFrame = position + 1 + 2 * Integer.BYTES;
+        return buffer.limit() > firstFrame
+                && buffer.get(position) == MessageBinaryEncoder.BATCH_FRAME
+                && buffer.get(firstFrame) == frameType;
+    }
+}
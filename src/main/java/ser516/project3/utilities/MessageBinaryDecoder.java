@@ -0,0 +1,130 @@
+package ser516.project3.utilities;
+
+import ser516.project3.model.MessageModel;
+import ser516.project3.model.MessageModel.AbstractExpression;
+import ser516.project3.model.MessageModel.ConcreteExpression;
+import ser516.project3.model.MessageModel.Emotion;
+import ser516.project3.model.MessageModel.SelectedCriteria;
+
+import javax.websocket.DecodeException;
+import javax.websocket.Decoder;
+import javax.websocket.EndpointConfig;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The MessageBinaryDecoder class implements the web-socket binary Decoder
+ * interface. This class handles the unmarshalling of the layout written by
+ * {@link MessageBinaryEncoder} into message class object.
+ *
+ * @author vsriva12
+ */
+public class MessageBinaryDecoder implements Decoder.Binary<MessageModel> {
+
+    /**
+     * Initialization method overridden from the interface
+     *
+     * @param config configuration for the decoding of the model
+     */
+    @Override
+    public void init(EndpointConfig config) {
+        // Intentionally empty.
+    }
+
+    /**
+     * Destroys the object, if exists. Overridden from the interface
+     */
+    @Override
+    public void destroy() {
+        // Intentionally empty.
+    }
+
+    /**
+     * Decodes the buffer to get a messageModel object
+     *
+     * @param buffer binary frame to be decoded
+     * @return Returns the MessageModel object
+     * @throws DecodeException
+     */
+    @Override
+    public MessageModel decode(ByteBuffer buffer) throws DecodeException {
+        if (!willDecode(buffer)) {
+            throw new DecodeException(buffer, "Not a binary message frame");
+        }
+        return readMessage(buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    /**
+     * Returns a boolean indicating if a given buffer holds a binary message
+     * frame
+     *
+     * @param buffer buffer to check for decoding
+     */
+    @Override
+    public boolean willDecode(ByteBuffer buffer) {
+        return buffer.remaining() >= MessageBinaryEncoder.MESSAGE_FRAME_SIZE
+                && buffer.get(buffer.position()) == MessageBinaryEncoder.MESSAGE_FRAME;
+    }
+
+    /**
+     * Reads one message from the passed little-endian buffer at its current
+     * position, and advances the position past it
+     *
+     * @param buffer buffer positioned at the frame type byte of a message
+     * @return Returns the MessageModel object
+     */
+    public static MessageModel readMessage(ByteBuffer buffer) {
+        MessageModel messageModel = new MessageModel();
+        buffer.get();
+        messageModel.setInterval(buffer.getDouble());
+        messageModel.setTimeStamp(buffer.getDouble());
+        messageModel.setSequence(buffer.getLong());
+        messageModel.setSendTimeMicros(buffer.getLong());
+
+        AbstractExpression[] abstractExpressions = AbstractExpression.values();
+        ConcreteExpression[] concreteExpressions = ConcreteExpression.values();
+        messageModel.setSelectionFlag(SelectedCriteria.upperFace, selectionName(buffer.get(), abstractExpressions));
+        messageModel.setSelectionFlag(SelectedCriteria.lowerFace, selectionName(buffer.get(), abstractExpressions));
+        messageModel.setSelectionFlag(SelectedCriteria.eye, selectionName(buffer.get(), concreteExpressions));
+
+        for (AbstractExpression abstractExpression : abstractExpressions) {
+            messageModel.setAbstractExpression(abstractExpression, buffer.getDouble());
+        }
+        for (Emotion emotion : Emotion.values()) {
+            messageModel.setEmotion(emotion, buffer.getDouble());
+        }
+        messageModel.setConcreteExpressionBits(buffer.get() & ((1 << concreteExpressions.length) - 1));
+        readChannels(buffer, messageModel);
+        return messageModel;
+    }
+
+    /**
+     * Reads the channels following the channels of the enums into the model.
+     * Channel ids which belong to the enums are skipped.
+     *
+     * @param buffer       little-endian buffer positioned at the channel count
+     * @param messageModel model being decoded
+     */
+    static void readChannels(ByteBuffer buffer, MessageModel messageModel) {
+        int count = buffer.getShort() & 0xFFFF;
+        for (int i = 0; i < count; i++) {
+            int channelId = buffer.getShort() & 0xFFFF;
+            double value = buffer.getDouble();
+            if (channelId >= MessageModel.FIRST_EXTRA_CHANNEL_ID) {
+                messageModel.setChannelValue(channelId, value);
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the enum constant with the passed ordinal
+     *
+     * @param ordinal ordinal read from the frame
+     * @param values  constants of the enum the ordinal belongs to
+     * @return the name, or an empty string if nothing is selected
+     */
+    static String selectionName(byte ordinal, Enum<?>[] values) {
+        int index = ordinal & 0xFF;
+        return index < values.length ? values[index].name() : "";
+    }
+}
@@ -0,0 +1,181 @@
+package ser516.project3.utilities;
+
+import ser516.project3.model.MessageModel;
+import ser516.project3.model.MessageModel.AbstractExpression;
+import ser516.project3.model.MessageModel.ConcreteExpression;
+import ser516.project3.model.MessageModel.Emotion;
+import ser516.project3.model.MessageModel.SelectedCriteria;
+
+import javax.websocket.EncodeException;
+import javax.websocket.Encoder;
+import javax.websocket.EndpointConfig;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The MessageBinaryEncoder class implements the web-sockets binary Encoder
+ * interface. This class marshals the MessageModel class object into a fixed
+ * little-endian layout:
+ * <pre>
+ * byte      frame type ({@link #MESSAGE_FRAME})
+ * double    interval
+ * double    time stamp
+ * long      sequence number
+ * long      send time, in microseconds since the epoch
+ * byte[3]   selection flags as enum ordinals, in SelectedCriteria order
+ *           (upper and lower face: AbstractExpression, eye: ConcreteExpression,
+ *           {@link #NO_SELECTION} if not set)
+ * double[7] abstract expressions, in AbstractExpression order
+ * double[6] emotions, in Emotion order
+ * byte      concrete expressions as a bitmask, bit i is ConcreteExpression i
+ * short     number of channels following the channels of the enums
+ * channels  each one as a short channel id followed by its double value
+ * </pre>
+ * Several frames can be sent in one web socket message as a batch:
+ * <pre>
+ * byte      frame type ({@link #BATCH_FRAME})
+ * int       number of frames
+ * frames    each one as an int length followed by the frame
+ * </pre>
+ *
+ * @author vsriva12
+ */
+public class MessageBinaryEncoder implements Encoder.Binary<MessageModel> {
+
+    public final static byte MESSAGE_FRAME = 0x01;
+    public final static byte BATCH_FRAME = 0x04;
+    public final static byte NO_SELECTION = (byte) 0xFF;
+    public final static int MESSAGE_FRAME_SIZE = 1 + 2 * Double.BYTES + 2 * Long.BYTES
+            + SelectedCriteria.values().length
+            + (AbstractExpression.values().length + Emotion.values().length) * Double.BYTES + 1 + Short.BYTES;
+    public final static int CHANNEL_SIZE = Short.BYTES + Double.BYTES;
+
+    /**
+     * Initializer for the Message encoder. Empty as no initial configuration
+     * needs to be updated
+     *
+     * @param config The configuration of endpoint for the encoding
+     */
+    @Override
+    public void init(EndpointConfig config) {
+        // Intentionally empty.
+    }
+
+    /**
+     * Destroys the component if created
+     */
+    @Override
+    public void destroy() {
+        // Intentionally empty.
+    }
+
+    /**
+     * Encodes the model to the binary format to be transmitted
+     *
+     * @param messageModel model to be encoded
+     * @return returns the encoded buffer
+     * @throws EncodeException
+     */
+    @Override
+    public ByteBuffer encode(MessageModel messageModel) throws EncodeException {
+        return encodeMessage(messageModel);
+    }
+
+    /**
+     * Encodes the model to the binary format. Shared by the encoder instances
+     * of all the sessions and by {@link EncodedFrame}.
+     *
+     * @param messageModel model to be encoded
+     * @return returns the encoded buffer, positioned at its start
+     */
+    public static ByteBuffer encodeMessage(MessageModel messageModel) {
+        ByteBuffer buffer = ByteBuffer.allocate(messageFrameSize(messageModel)).order(ByteOrder.LITTLE_ENDIAN);
+        writeMessage(buffer, messageModel);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Writes the model into the passed little-endian buffer at its current
+     * position
+     *
+     * @param buffer       buffer with at least {@link #messageFrameSize} bytes remaining
+     * @param messageModel model to be written
+     */
+    public static void writeMessage(ByteBuffer buffer, MessageModel messageModel) {
+        buffer.put(MESSAGE_FRAME);
+        buffer.putDouble(messageModel.getInterval());
+        buffer.putDouble(messageModel.getTimeStamp());
+        buffer.putLong(messageModel.getSequence());
+        buffer.putLong(messageModel.getSendTimeMicros());
+
+        buffer.put(abstractOrdinal(messageModel.getSelectionFlag(SelectedCriteria.upperFace)));
+        buffer.put(abstractOrdinal(messageModel.getSelectionFlag(SelectedCriteria.lowerFace)));
+        buffer.put(concreteOrdinal(messageModel.getSelectionFlag(SelectedCriteria.eye)));
+
+        for (AbstractExpression abstractExpression : AbstractExpression.values()) {
+            buffer.putDouble(messageModel.getAbstractExpression(abstractExpression));
+        }
+        for (Emotion emotion : Emotion.values()) {
+            buffer.putDouble(messageModel.getEmotion(emotion));
+        }
+        buffer.put((byte) messageModel.getConcreteExpressionBits());
+        writeChannels(buffer, messageModel);
+    }
+
+    /**
+     * Writes the channels of the model following the channels of the enums,
+     * as their count followed by the id and value of each channel
+     *
+     * @param buffer       little-endian buffer to write to
+     * @param messageModel model to be written
+     */
+    static void writeChannels(ByteBuffer buffer, MessageModel messageModel) {
+        buffer.putShort((short) messageModel.getExtraChannelCount());
+        for (int i = 0; i < messageModel.getExtraChannelCount(); i++) {
+            int channelId = MessageModel.FIRST_EXTRA_CHANNEL_ID + i;
+            buffer.putShort((short) channelId);
+            buffer.putDouble(messageModel.getChannelValue(channelId));
+        }
+    }
+
+    /**
+     * Returns the size of the binary frame of the passed model
+     *
+     * @param messageModel model to be written
+     * @return size of the frame in bytes
+     */
+    public static int messageFrameSize(MessageModel messageModel) {
+        return MESSAGE_FRAME_SIZE + messageModel.getExtraChannelCount() * CHANNEL_SIZE;
+    }
+
+    /**
+     * Returns the ordinal of the abstract expression with the passed name
+     *
+     * @param name name of the abstract expression
+     * @return the ordinal, or {@link #NO_SELECTION} if there is no such expression
+     */
+    static byte abstractOrdinal(String name) {
+        for (AbstractExpression abstractExpression : AbstractExpression.values()) {
+            if (abstractExpression.name().equals(name)) {
+                return (byte) abstractExpression.ordinal();
+            }
+        }
+        return NO_SELECTION;
+    }
+
+    /**
+     * Returns the ordinal of the concrete expression with the passed name
+     *
+     * @param name name of the concrete expression
+     * @return the ordinal, or {@link #NO_SELECTION} if there is no such expression
+     */
+    static byte concreteOrdinal(String name) {
+        for (ConcreteExpression concreteExpression : ConcreteExpression.values()) {
+            if (concreteExpression.name().equals(name)) {
+                return (byte) concreteExpression.ordinal();
+            }
+        }
+        return NO_SELECTION;
+    }
+}
@@ -0,0 +1,112 @@
+package ser516.project3.utilities;
+
+import ser516.project3.constants.ServerConstants;
+import ser516.project3.interfaces.CodecInterface;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The MessageCodecRegistry is a singleton class which holds the codecs the
+ * server can send its messages with, by name. During the handshake the
+ * server picks the first codec the client asks for in its
+ * Sec-WebSocket-Protocol header which is registered here. A client which
+ * asks for none of them, like the clients written before the codecs were
+ * negotiated, falls back to the json codec.
+ *
+ * @author vsriva12
+ */
+public class MessageCodecRegistry {
+
+    private static MessageCodecRegistry instance = null;
+    private final Map<String, CodecInterface> codecs = new ConcurrentHashMap<>();
+    private final List<String> codecNames = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers the built in codecs
+     */
+    protected MessageCodecRegistry() {
+        register(new JsonMessageCodec());
+        register(new BinaryMessageCodec());
+        register(new DeltaMessageCodec());
+    }
+
+    /**
+     * The static function to get the instance of this class
+     *
+     * @return the instance of this class
+     */
+    public static synchronized MessageCodecRegistry getInstance() {
+        if (instance == null) {
+            instance = new MessageCodecRegistry();
+        }
+        return instance;
+    }
+
+    /**
+     * Method to register a codec, replacing the codec registered under the
+     * same name if any
+     *
+     * @param codec codec to be registered
+     */
+    public void register(CodecInterface codec) {
+        if (codecs.put(codec.getName(), codec) == null) {
+            codecNames.add(codec.getName());
+        }
+    }
+
+    /**
+     * Method to get the codec registered under the passed name
+     *
+     * @param name name of the codec
+     * @return the codec, or the json codec if no codec has that name
+     */
+    public CodecInterface getCodec(String name) {
+        CodecInterface codec = name == null ? null : codecs.get(name);
+        return codec == null ? getDefaultCodec() : codec;
+    }
+
+    /**
+     * Method to get the codec of the clients which do not ask for any
+     *
+     * @return the json codec
+     */
+    public CodecInterface getDefaultCodec() {
+        return codecs.get(ServerConstants.CODEC_JSON);
+    }
+
+    /**
+     * Method to get the names of the registered codecs, in the order they
+     * were registered
+     *
+     * @return list of codec names
+     */
+    public List<String> getCodecNames() {
+        return new ArrayList<>(codecNames);
+    }
+
+    /**
+     * Method to pick the codec of a session out of the subprotocols requested
+     * by the client, in order of preference. Each value may hold several
+     * comma separated subprotocols, as sent in the header.
+     *
+     * @param requested subprotocols requested by the client, may be null
+     * @return name of the first registered codec requested, or an empty
+     * string if there is none, in which case no subprotocol is negotiated
+     */
+    public String negotiate(List<String> requested) {
+        if (requested != null) {
+            for (String value : requested) {
+                for (String subprotocol : value.split(ServerConstants.SUBPROTOCOL_SEPARATOR)) {
+                    if (codecs.containsKey(subprotocol.trim())) {
+                        return subprotocol.trim();
+                    }
+                }
+            }
+        }
+        return "";
+    }
+}
@@ -1,17 +1,17 @@
 package ser516.project3.utilities;
 
 import ser516.project3.model.MessageModel;
-import ser516.project3.model.MessageModel.AbstractExpression;
-import ser516.project3.model.MessageModel.ConcreteExpression;
-import ser516.project3.model.MessageModel.Emotion;
-import ser516.project3.model.MessageModel.SelectedCriteria;
 
 import javax.json.Json;
-import javax.json.JsonObject;
+import javax.json.JsonException;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParserFactory;
 import javax.websocket.DecodeException;
 import javax.websocket.Decoder;
 import javax.websocket.EndpointConfig;
 import java.io.StringReader;
+import java.util.HashMap;
+import java.util.NoSuchElementException;
 
 /**
  * The MessageDecoder class implements the web-socket Decoder interface. This
@@ -21,6 +21,16 @@ import java.io.StringReader;
  */
 public class MessageDecoder implements Decoder.Text<MessageModel> {
 
+    private static final String TIME_ATTRIBUTES = "Time-Attributes";
+    private static final String SELECTION_FLAGS = "Selection-Flags";
+    private static final String EXPRESSION = "Expression";
+    private static final String EMOTION = "Emotion";
+    private static final String INTERVAL = "Interval";
+    private static final String TIME_STAMP = "TimeStamp";
+    private static final String SEQUENCE = "Sequence";
+    private static final String SEND_TIME = "SendTime";
+    private static final JsonParserFactory parserFactory = Json.createParserFactory(new HashMap<String, Object>());
+
     /**
      * Initialization method overridden from the interface
      *
@@ -40,7 +50,9 @@ public class MessageDecoder implements Decoder.Text<MessageModel> {
     }
 
     /**
-     * Decodes the Strings to get a messageModel object
+     * Decodes the Strings to get a messageModel object. The payload is read
+     * in a single pass with a pull parser, filling the model as the values
+     * arrive, without building an intermediate json tree.
      *
      * @param payload JSON string to be decoded
      * @return Returns the MessageModel object
@@ -48,43 +60,106 @@ public class MessageDecoder implements Decoder.Text<MessageModel> {
      */
     @Override
     public MessageModel decode(String payload) throws DecodeException {
+        try (JsonParser parser = createParser(payload)) {
+            if (parser.next() != JsonParser.Event.START_OBJECT) {
+                throw new DecodeException(payload, "Not a json message");
+            }
+            return readMessage(parser);
+        } catch (JsonException | NoSuchElementException | NumberFormatException e) {
+            throw new DecodeException(payload, e.getMessage(), e);
+        }
+    }
 
-        MessageModel messageModel = new MessageModel();
-
-        // Read the payload.
-        JsonObject root = Json.createReader(new StringReader(payload)).readObject();
-        JsonObject timeAttributes = root.getJsonObject("Time-Attributes");
-        JsonObject selectionAttributes = root.getJsonObject("Selection-Flags");
-        JsonObject expressionAttributes = root.getJsonObject("Expression");
-        JsonObject emotionAttributes = root.getJsonObject("Emotion");
+    /**
+     * Creates a pull parser over the passed payload
+     *
+     * @param payload JSON string to be parsed
+     * @return the parser
+     */
+    static JsonParser createParser(String payload) {
+        return parserFactory.createParser(new StringReader(payload));
+    }
 
-        // Unmarshal the time attributes
-        messageModel.setInterval(timeAttributes.getJsonNumber("Interval").doubleValue());
-        messageModel.setTimeStamp(timeAttributes.getJsonNumber("TimeStamp").doubleValue());
+    /**
+     * Reads one message object, filling the model as the values arrive
+     *
+     * @param parser parser positioned right after the start of the message object
+     * @return Returns the MessageModel object
+     */
+    static MessageModel readMessage(JsonParser parser) {
+        MessageModel messageModel = new MessageModel();
+        String section = null;
+        String key = null;
 
-        // Unmarshal the selection flag attributes.
-        for (SelectedCriteria selectionFlag : SelectedCriteria.values()) {
-            messageModel.setSelectionFlag(selectionFlag.name(),
-                    selectionAttributes.getJsonString(selectionFlag.name()).toString());
+        while (true) {
+            JsonParser.Event event = parser.next();
+            switch (event) {
+                case KEY_NAME:
+                    key = parser.getString();
+                    break;
+                case START_OBJECT:
+                    section = key;
+                    break;
+                case END_OBJECT:
+                    if (section == null) {
+                        return messageModel;
+                    }
+                    section = null;
+                    break;
+                case VALUE_STRING:
+                    if (SELECTION_FLAGS.equals(section)) {
+                        messageModel.setSelectionFlag(key, parser.getString());
+                    }
+                    break;
+                case VALUE_NUMBER:
+                    if (TIME_ATTRIBUTES.equals(section) && SEQUENCE.equals(key)) {
+                        messageModel.setSequence(parser.getLong());
+                    } else if (TIME_ATTRIBUTES.equals(section) && SEND_TIME.equals(key)) {
+                        messageModel.setSendTimeMicros(parser.getLong());
+                    } else {
+                        decodeNumber(messageModel, section, key, Double.parseDouble(parser.getString()));
+                    }
+                    break;
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                    if (EXPRESSION.equals(section)) {
+                        messageModel.setConcreteExpression(key, event == JsonParser.Event.VALUE_TRUE);
+                    }
+                    break;
+                default:
+                    break;
+            }
         }
+    }
 
-		// Unmarshal the expression attributes.
-		for (AbstractExpression abstractExpression : AbstractExpression.values()) {
-			messageModel.setAbstractExpression(abstractExpression.name(),
-					expressionAttributes.getJsonNumber(abstractExpression.name()).doubleValue());
-		}
-		for (ConcreteExpression concreteExpression : ConcreteExpression.values()) {
-			messageModel.setConcreteExpression(concreteExpression.name(), 
-					expressionAttributes.getBoolean(concreteExpression.name()));
-		}
-		// Unmarshal the emotion attributes.
-		for (Emotion emotion : Emotion.values()) {
-			messageModel.setEmotion(emotion.name(), emotionAttributes.getJsonNumber(emotion.name()).doubleValue());
-		}
+    /**
+     * Sets a numeric value of the payload on the model, based on the object
+     * it was read from
+     *
+     * @param messageModel model being decoded
+     * @param section      name of the enclosing json object
+     * @param key          name of the value
+     * @param value        the value read
+     */
+    private static void decodeNumber(MessageModel messageModel, String section, String key, double value) {
+        if (TIME_ATTRIBUTES.equals(section)) {
+            if (INTERVAL.equals(key)) {
+                messageModel.setInterval(value);
+            } else if (TIME_STAMP.equals(key)) {
+                messageModel.setTimeStamp(value);
+            }
+        } else if (EXPRESSION.equals(section)) {
+            messageModel.setAbstractExpression(key, value);
+        } else if (EMOTION.equals(section)) {
+            messageModel.setEmotion(key, value);
+        } else if (MessageEncoder.CHANNELS.equals(section)) {
+            int channelId = Integer.parseInt(key);
+            if (channelId >= MessageModel.FIRST_EXTRA_CHANNEL_ID) {
+                messageModel.setChannelValue(channelId, value);
+            }
+        }
+    }
 
-		return messageModel;
-	}
-	
 	/**
 	 * Returns a boolean indicating if a given string 
 	 * will be decoded or not
@@ -0,0 +1,185 @@
+package ser516.project3.utilities;
+
+import ser516.project3.constants.ServerConstants;
+import ser516.project3.interfaces.FrameInterface;
+import ser516.project3.model.MessageBatchModel;
+import ser516.project3.model.MessageModel;
+import ser516.project3.model.MessageModel.AbstractExpression;
+import ser516.project3.model.MessageModel.ConcreteExpression;
+import ser516.project3.model.MessageModel.Emotion;
+import ser516.project3.model.MessageModel.SelectedCriteria;
+
+import javax.websocket.DecodeException;
+import javax.websocket.Decoder;
+import javax.websocket.EndpointConfig;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The MessageDeltaDecoder class implements the web-socket binary Decoder
+ * interface for the frames written by {@link MessageDeltaEncoder}. It keeps
+ * the last message of its session, and applies every delta frame on top of a
+ * copy of it. If a frame is missing, or no keyframe has been received yet, the
+ * delta frames cannot be applied and are rejected until the next keyframe. The
+ * first rejected frame raises a {@link DecodeException} with the message
+ * {@link ServerConstants#RESYNC_REQUEST}, so that the endpoint can ask the
+ * server for a keyframe. Batches of keyframes and delta frames are decoded
+ * by this class as well, so that all the frames of the session share its
+ * last message.
+ *
+ * @author vsriva12
+ */
+public class MessageDeltaDecoder implements Decoder.Binary<FrameInterface> {
+
+    private MessageModel lastMessage;
+    private long lastSequence;
+    private boolean resyncRequested;
+
+    /**
+     * Initialization method overridden from the interface
+     *
+     * @param config configuration for the decoding of the model
+     */
+    @Override
+    public void init(EndpointConfig config) {
+        // Intentionally empty.
+    }
+
+    /**
+     * Destroys the object, if exists. Overridden from the interface
+     */
+    @Override
+    public void destroy() {
+        lastMessage = null;
+    }
+
+    /**
+     * Decodes a keyframe or applies a delta frame to the last message. A batch
+     * is decoded frame by frame; the frames which cannot be applied are left
+     * out of it, and the next frame or batch raises the resync request.
+     *
+     * @param buffer binary frame or batch to be decoded
+     * @return Returns the MessageModel or MessageBatchModel object
+     * @throws DecodeException if the frame cannot be applied to the last message
+     */
+    @Override
+    public FrameInterface decode(ByteBuffer buffer) throws DecodeException {
+        ByteBuffer frame = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (frame.get(frame.position()) == MessageBinaryEncoder.BATCH_FRAME) {
+            frame.get();
+            int count = frame.getInt();
+            MessageBatchModel batch = new MessageBatchModel(count);
+            for (int i = 0; i < count; i++) {
+                int length = frame.getInt();
+                int nextFrame = frame.position() + length;
+                MessageModel messageModel = decodeFrame(frame);
+                if (messageModel != null) {
+                    batch.addMessage(messageModel);
+                }
+                frame.position(nextFrame);
+            }
+            if (!batch.getMessages().isEmpty()) {
+                return batch;
+            }
+        } else {
+            MessageModel messageModel = decodeFrame(frame);
+            if (messageModel != null) {
+                return messageModel;
+            }
+        }
+        if (resyncRequested) {
+            throw new DecodeException(buffer, ServerConstants.DELTA_FRAME_SKIPPED + lastSequence);
+        }
+        resyncRequested = true;
+        throw new DecodeException(buffer, ServerConstants.RESYNC_REQUEST);
+    }
+
+    /**
+     * Returns a boolean indicating if a given buffer holds a keyframe, a delta
+     * frame or a batch of them
+     *
+     * @param buffer buffer to check for decoding
+     */
+    @Override
+    public boolean willDecode(ByteBuffer buffer) {
+        if (buffer.remaining() < MessageDeltaEncoder.HEADER_SIZE) {
+            return false;
+        }
+        byte frameType = buffer.get(buffer.position());
+        return frameType == MessageDeltaEncoder.KEYFRAME || frameType == MessageDeltaEncoder.DELTA_FRAME
+                || MessageBinaryBatchDecoder.isBatchOf(buffer, MessageDeltaEncoder.KEYFRAME)
+                || MessageBinaryBatchDecoder.isBatchOf(buffer, MessageDeltaEncoder.DELTA_FRAME);
+    }
+
+    /**
+     * Decodes a keyframe or applies a delta frame to the last message
+     *
+     * @param frame buffer positioned at the frame type byte of a keyframe or delta frame
+     * @return the message, or null if the delta frame cannot be applied
+     */
+    private MessageModel decodeFrame(ByteBuffer frame) {
+        byte frameType = frame.get();
+        long sequence = frame.getLong();
+        if (frameType == MessageDeltaEncoder.KEYFRAME) {
+            lastMessage = MessageBinaryDecoder.readMessage(frame);
+        } else if (lastMessage != null && sequence == lastSequence + 1) {
+            lastMessage = readDelta(frame, new MessageModel(lastMessage));
+            lastMessage.setSequence(sequence);
+        } else {
+            lastMessage = null;
+            return null;
+        }
+        lastSequence = sequence;
+        resyncRequested = false;
+        return lastMessage;
+    }
+
+    /**
+     * Applies the fields present in a delta frame to the passed message
+     *
+     * @param frame        buffer positioned at the time stamp of a delta frame
+     * @param messageModel copy of the previous message
+     * @return the updated message
+     */
+    private static MessageModel readDelta(ByteBuffer frame, MessageModel messageModel) {
+        messageModel.setTimeStamp(frame.getDouble());
+        messageModel.setSendTimeMicros(frame.getLong());
+        int presence = frame.getInt();
+        if (isPresent(presence, MessageDeltaEncoder.INTERVAL_BIT)) {
+            messageModel.setInterval(frame.getDouble());
+        }
+        for (SelectedCriteria selectedCriteria : SelectedCriteria.values()) {
+            if (isPresent(presence, MessageDeltaEncoder.SELECTION_BIT + selectedCriteria.ordinal())) {
+                messageModel.setSelectionFlag(selectedCriteria, MessageBinaryDecoder.selectionName(frame.get(),
+                        selectedCriteria == SelectedCriteria.eye
+                                ? ConcreteExpression.values() : AbstractExpression.values()));
+            }
+        }
+        for (AbstractExpression abstractExpression : AbstractExpression.values()) {
+            if (isPresent(presence, MessageDeltaEncoder.ABSTRACT_EXPRESSION_BIT + abstractExpression.ordinal())) {
+                messageModel.setAbstractExpression(abstractExpression, frame.getDouble());
+            }
+        }
+        for (Emotion emotion : Emotion.values()) {
+            if (isPresent(presence, MessageDeltaEncoder.EMOTION_BIT + emotion.ordinal())) {
+                messageModel.setEmotion(emotion, frame.getDouble());
+            }
+        }
+        if (isPresent(presence, MessageDeltaEncoder.CONCRETE_EXPRESSION_BIT)) {
+            messageModel.setConcreteExpressionBits(frame.get() & ((1 << ConcreteExpression.values().length) - 1));
+        }
+        if (isPresent(presence, MessageDeltaEncoder.CHANNEL_BIT)) {
+            MessageBinaryDecoder.readChannels(frame, messageModel);
+        }
+        return messageModel;
+    }
+
+    /**
+     * @param presence presence bitmap of a delta frame
+     * @param bit      bit of the field
+     * @return true if the field is present in the frame
+     */
+    private static boolean isPresent(int presence, int bit) {
+        return (presence & (1 << bit)) != 0;
+    }
+}
@@ -0,0 +1,166 @@
+package ser516.project3.utilities;
+
+import ser516.project3.model.MessageModel;
+import ser516.project3.model.MessageModel.AbstractExpression;
+import ser516.project3.model.MessageModel.Emotion;
+import ser516.project3.model.MessageModel.SelectedCriteria;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The MessageDeltaEncoder class marshals the frames of the delta mode. Every
+ * frame carries the sequence number of its tick. A keyframe carries the whole
+ * message, a delta frame only the time stamps and the fields which changed
+ * since the previous tick, marked in a presence bitmap. All values are little
+ * endian.
+ * <pre>
+ * keyframe: byte {@link #KEYFRAME}, long sequence, binary message frame
+ * delta:    byte {@link #DELTA_FRAME}, long sequence, double time stamp,
+ *           long send time, int presence bitmap, present fields in bit order
+ * </pre>
+ * Bit 0 of the bitmap is the interval, followed by the selection flags, the
+ * abstract expressions and the emotions in enum order, then the concrete
+ * expressions bitmask, and finally the channels following the channels of
+ * the enums, of which only the changed ones are written. The fields use the
+ * same representation as in {@link MessageBinaryEncoder}.
+ *
+ * @author vsriva12
+ */
+public class MessageDeltaEncoder {
+
+    public final static byte KEYFRAME = 0x02;
+    public final static byte DELTA_FRAME = 0x03;
+    public final static int HEADER_SIZE = 1 + Long.BYTES;
+    public final static int INTERVAL_BIT = 0;
+    public final static int SELECTION_BIT = INTERVAL_BIT + 1;
+    public final static int ABSTRACT_EXPRESSION_BIT = SELECTION_BIT + SelectedCriteria.values().length;
+    public final static int EMOTION_BIT = ABSTRACT_EXPRESSION_BIT + AbstractExpression.values().length;
+    public final static int CONCRETE_EXPRESSION_BIT = EMOTION_BIT + Emotion.values().length;
+    public final static int CHANNEL_BIT = CONCRETE_EXPRESSION_BIT + 1;
+
+    /**
+     * Private constructor as the class only has static methods
+     */
+    private MessageDeltaEncoder() {
+    }
+
+    /**
+     * Encodes a keyframe carrying the whole message
+     *
+     * @param sequence     sequence number of the tick
+     * @param messageModel message of the tick
+     * @return returns the encoded buffer, positioned at its start
+     */
+    public static ByteBuffer encodeKeyframe(long sequence, MessageModel messageModel) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + MessageBinaryEncoder.messageFrameSize(messageModel))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(KEYFRAME);
+        buffer.putLong(sequence);
+        MessageBinaryEncoder.writeMessage(buffer, messageModel);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Encodes a delta frame carrying the time stamp and the fields of the
+     * message which differ from the previous one
+     *
+     * @param sequence        sequence number of the tick, one more than the previous tick's
+     * @param previousMessage message of the previous tick
+     * @param messageModel    message of the tick
+     * @return returns the encoded buffer, positioned at its start
+     */
+    public static ByteBuffer encodeDelta(long sequence, MessageModel previousMessage, MessageModel messageModel) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + Double.BYTES + Long.BYTES + Integer.BYTES
+                + MessageBinaryEncoder.messageFrameSize(messageModel)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(DELTA_FRAME);
+        buffer.putLong(sequence);
+        buffer.putDouble(messageModel.getTimeStamp());
+        buffer.putLong(messageModel.getSendTimeMicros());
+        int presenceIndex = buffer.position();
+        buffer.putInt(0);
+
+        int presence = 0;
+        if (changed(previousMessage.getInterval(), messageModel.getInterval())) {
+            presence |= 1 << INTERVAL_BIT;
+            buffer.putDouble(messageModel.getInterval());
+        }
+        for (SelectedCriteria selectedCriteria : SelectedCriteria.values()) {
+            String selection = messageModel.getSelectionFlag(selectedCriteria);
+            if (!selection.equals(previousMessage.getSelectionFlag(selectedCriteria))) {
+                presence |= 1 << (SELECTION_BIT + selectedCriteria.ordinal());
+                buffer.put(selectedCriteria == SelectedCriteria.eye
+                        ? MessageBinaryEncoder.concreteOrdinal(selection)
+                        : MessageBinaryEncoder.abstractOrdinal(selection));
+            }
+        }
+        for (AbstractExpression abstractExpression : AbstractExpression.values()) {
+            double value = messageModel.getAbstractExpression(abstractExpression);
+            if (changed(previousMessage.getAbstractExpression(abstractExpression), value)) {
+                presence |= 1 << (ABSTRACT_EXPRESSION_BIT + abstractExpression.ordinal());
+                buffer.putDouble(value);
+            }
+        }
+        for (Emotion emotion : Emotion.values()) {
+            double value = messageModel.getEmotion(emotion);
+            if (changed(previousMessage.getEmotion(emotion), value)) {
+                presence |= 1 << (EMOTION_BIT + emotion.ordinal());
+                buffer.putDouble(value);
+            }
+        }
+        if (previousMessage.getConcreteExpressionBits() != messageModel.getConcreteExpressionBits()) {
+            presence |= 1 << CONCRETE_EXPRESSION_BIT;
+            buffer.put((byte) messageModel.getConcreteExpressionBits());
+        }
+        if (writeChangedChannels(buffer, previousMessage, messageModel)) {
+            presence |= 1 << CHANNEL_BIT;
+        }
+        buffer.putInt(presenceIndex, presence);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Writes the channels following the channels of the enums which differ
+     * from the previous message, as their count followed by the id and value
+     * of each channel. Nothing is written if none has changed.
+     *
+     * @param buffer          little-endian buffer to write to
+     * @param previousMessage message of the previous tick
+     * @param messageModel    message of the tick
+     * @return true if channels have been written
+     */
+    private static boolean writeChangedChannels(ByteBuffer buffer, MessageModel previousMessage,
+                                                MessageModel messageModel) {
+        int countIndex = buffer.position();
+        short count = 0;
+        buffer.putShort(count);
+        for (int i = 0; i < messageModel.getExtraChannelCount(); i++) {
+            int channelId = MessageModel.FIRST_EXTRA_CHANNEL_ID + i;
+            double value = messageModel.getChannelValue(channelId);
+            if (changed(previousMessage.getChannelValue(channelId), value)) {
+                buffer.putShort((short) channelId);
+                buffer.putDouble(value);
+                count++;
+            }
+        }
+        if (count == 0) {
+            buffer.position(countIndex);
+            return false;
+        }
+        buffer.putShort(countIndex, count);
+        return true;
+    }
+
+    /**
+     * Returns true if the value differs from the previous one, bit by bit
+     *
+     * @param previousValue value of the previous tick
+     * @param value         value of the tick
+     * @return true if the value has changed
+     */
+    private static boolean changed(double previousValue, double value) {
+        return Double.doubleToLongBits(previousValue) != Double.doubleToLongBits(value);
+    }
+}
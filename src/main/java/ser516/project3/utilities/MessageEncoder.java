@@ -14,7 +14,6 @@ import javax.websocket.EncodeException;
 import javax.websocket.Encoder;
 import javax.websocket.EndpointConfig;
 import java.util.HashMap;
-import java.util.Map;
 
 /**
  * The MessageEncoder class implements the web-sockets Encoder interface. This
@@ -24,6 +23,13 @@ import java.util.Map;
  */
 public class MessageEncoder implements Encoder.Text<MessageModel> {
 
+    public final static String BATCH = "Batch";
+    public final static String BATCH_PREFIX = "{\"" + BATCH + "\":[";
+    public final static String BATCH_SUFFIX = "]}";
+    public final static String CHANNELS = "Channels";
+
+    private static final JsonBuilderFactory factory = Json.createBuilderFactory(new HashMap<String, Object>());
+
     /**
      * Initializer for the Message encoder. Empty as no initial configuration
      * needs to be updated
@@ -52,35 +58,55 @@ public class MessageEncoder implements Encoder.Text<MessageModel> {
      */
     @Override
     public String encode(MessageModel messageModel) throws EncodeException {
-        Map<String, Object> config = new HashMap<String, Object>();
-        JsonBuilderFactory factory = Json.createBuilderFactory(config);
+        return encodeMessage(messageModel);
+    }
 
+    /**
+     * Encodes the model to JSON format. Shared by the encoder instances of all
+     * the sessions and by {@link EncodedFrame}, which encodes a frame once for
+     * all the sessions.
+     *
+     * @param messageModel model to be encoded
+     * @return returns the encoded
+     */
+    public static String encodeMessage(MessageModel messageModel) {
         // Build Time attributes
         JsonObject timeAttributes = factory.createObjectBuilder().add("Interval", messageModel.getInterval())
-                .add("TimeStamp", messageModel.getTimeStamp()).build();
+                .add("TimeStamp", messageModel.getTimeStamp()).add("Sequence", messageModel.getSequence())
+                .add("SendTime", messageModel.getSendTimeMicros()).build();
 
         // Build selection flag attributes
         JsonObjectBuilder selectionFlagBuilder = factory.createObjectBuilder();
         for (SelectedCriteria selectionFlag : SelectedCriteria.values()) {
-            selectionFlagBuilder.add(selectionFlag.name(), messageModel.getSelectionFlag(selectionFlag.name()));
+            selectionFlagBuilder.add(selectionFlag.name(), messageModel.getSelectionFlag(selectionFlag));
         }
 
         // Build "Expression" object.
         JsonObjectBuilder expressionBuilder = factory.createObjectBuilder();
         for (AbstractExpression aex : AbstractExpression.values()) {
-            expressionBuilder.add(aex.name(), messageModel.getAbstractExpression(aex.name()));
+            expressionBuilder.add(aex.name(), messageModel.getAbstractExpression(aex));
         }
         for (ConcreteExpression cex : ConcreteExpression.values()) {
-            expressionBuilder.add(cex.name(), messageModel.getConcreteExpression(cex.name()));
+            expressionBuilder.add(cex.name(), messageModel.getConcreteExpression(cex));
         }
         // Build "Emotion" object.
         JsonObjectBuilder emotionBuilder = factory.createObjectBuilder();
         for (Emotion em : Emotion.values()) {
-            emotionBuilder.add(em.name(), messageModel.getEmotion(em.name()));
+            emotionBuilder.add(em.name(), messageModel.getEmotion(em));
         }
-        return Json.createObjectBuilder().add("Time-Attributes", timeAttributes)
+        JsonObjectBuilder messageBuilder = factory.createObjectBuilder().add("Time-Attributes", timeAttributes)
                 .add("Selection-Flags", selectionFlagBuilder.build()).add("Expression", expressionBuilder.build())
-                .add("Emotion", emotionBuilder.build()).build().toString();
+                .add("Emotion", emotionBuilder.build());
+        // Build "Channels" object, keyed by channel id, only if there are channels beyond the enums.
+        if (messageModel.getExtraChannelCount() > 0) {
+            JsonObjectBuilder channelBuilder = factory.createObjectBuilder();
+            for (int i = 0; i < messageModel.getExtraChannelCount(); i++) {
+                int channelId = MessageModel.FIRST_EXTRA_CHANNEL_ID + i;
+                channelBuilder.add(Integer.toString(channelId), messageModel.getChannelValue(channelId));
+            }
+            messageBuilder.add(CHANNELS, channelBuilder.build());
+        }
+        return messageBuilder.build().toString();
     }
 
 }
\ No newline at end of file
@@ -1,16 +1,17 @@
 package ser516.project3.utilities;
 
-import ser516.project3.model.CoordinatesModel;
+import ser516.project3.constants.ServerConstants;
+import ser516.project3.model.ChannelModel;
+import ser516.project3.model.ChannelSchemaModel;
 import ser516.project3.model.MessageModel;
-import ser516.project3.model.MessageModel.AbstractExpression;
-import ser516.project3.model.MessageModel.ConcreteExpression;
-import ser516.project3.model.MessageModel.Emotion;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * This class converts message bean in to a format that can be understood by
- * various UI elements like graph
+ * various UI elements like graph. The channels plotted by each graph are
+ * taken from the groups of the channel schema.
  *
  * @author Manish Tandon
  */
@@ -18,47 +19,70 @@ public class MessageFormatConverter {
 
 
 	/**
-	 * 
-	 * Converts message bean into list of coordinate object with time stamp and
-	 * emotion attributes
-	 * 
-	 * @param messageModelObject
-	 * @return ArrayList of coordinates for populating performance metrics graph
+	 * Writes the emotion attributes of a message bean, in the order of
+	 * {@link #getPerformanceMetricChannels}, for populating the performance
+	 * metrics graph
+	 *
+	 * @param messageModelObject message received from the server
+	 * @param values             array receiving one value per channel
+	 * @return the number of values written
 	 */
-	public static ArrayList<CoordinatesModel> convertMessageToPeformanceMetrics(MessageModel messageModelObject) {
-		ArrayList<CoordinatesModel> resultCoordinateModel = new ArrayList<CoordinatesModel>();
-
-		for(Emotion emotions : Emotion.values()) {
-			CoordinatesModel currentCoordModel = new CoordinatesModel(messageModelObject.getTimeStamp(),
-				messageModelObject.getEmotion(emotions.name()));
-			resultCoordinateModel.add(currentCoordModel);
+	public static int convertMessageToPeformanceMetrics(MessageModel messageModelObject, double[] values) {
+		List<ChannelModel> emotionChannels = getPerformanceMetricChannels();
+		int channel = 0;
+		for(ChannelModel emotionChannel : emotionChannels) {
+			values[channel++] = messageModelObject.getChannelValue(emotionChannel.getId());
 		}
-		return resultCoordinateModel;
-
+		return channel;
 	}
 
 	/**
-	 * Converts message bean into list of coordinate object with time stamp and
-	 * expressions
-	 * 
-	 * @param messageModel
-	 * @return ArrayList of coordinates for populating expressions graph
+	 * Writes the expressions of a message bean, in the order of
+	 * {@link #getExpressionsChannels}, for populating the expressions graph.
+	 * Every expression is offset to its own line of the graph.
+	 *
+	 * @param messageModel message received from the server
+	 * @param values       array receiving one value per channel
+	 * @return the number of values written
 	 */
-	public static ArrayList<CoordinatesModel> convertMessageToExpressionsData(MessageModel messageModel) {
-		ArrayList<CoordinatesModel> resultExpressionsCoordinateModel = new ArrayList<CoordinatesModel>();
-		int yAxis = 24;
-		for(ConcreteExpression concreteExpression : ConcreteExpression.values()) {
-			CoordinatesModel coordinatesModel = new CoordinatesModel(messageModel.getTimeStamp(),
-					(messageModel.getConcreteExpression(concreteExpression.name()) ? yAxis : yAxis - 1));
-			resultExpressionsCoordinateModel.add(coordinatesModel);
+	public static int convertMessageToExpressionsData(MessageModel messageModel, double[] values) {
+		ChannelSchemaModel schema = ChannelSchemaRegistry.getInstance().getSchema();
+		List<ChannelModel> concreteChannels = schema.getChannels(ServerConstants.CONCRETE_EXPRESSION_GROUP);
+		List<ChannelModel> abstractChannels = schema.getChannels(ServerConstants.ABSTRACT_EXPRESSION_GROUP);
+		int yAxis = 2 * (concreteChannels.size() + abstractChannels.size());
+		int channel = 0;
+		for(ChannelModel concreteChannel : concreteChannels) {
+			values[channel++] = messageModel.getChannelValue(concreteChannel.getId()) != 0 ? yAxis : yAxis - 1;
 			yAxis = yAxis - 2;
 		}
-		for(AbstractExpression abstractExpression : AbstractExpression.values()) {
-			CoordinatesModel coordinatesModel = new CoordinatesModel(messageModel.getTimeStamp(),
-					messageModel.getAbstractExpression(abstractExpression.name()) + yAxis - 1);
-			resultExpressionsCoordinateModel.add(coordinatesModel);
+		for(ChannelModel abstractChannel : abstractChannels) {
+			values[channel++] = messageModel.getChannelValue(abstractChannel.getId()) + yAxis - 1;
 			yAxis = yAxis - 2;
 		}
-		return resultExpressionsCoordinateModel;
+		return channel;
+	}
+
+	/**
+	 * Returns the channels plotted by the performance metrics graph
+	 *
+	 * @return channels of the emotion group
+	 */
+	public static List<ChannelModel> getPerformanceMetricChannels() {
+		return ChannelSchemaRegistry.getInstance().getSchema().getChannels(ServerConstants.EMOTION_GROUP);
+	}
+
+	/**
+	 * Returns the channels plotted by the expressions graph, in the order of
+	 * the coordinates of {@link #convertMessageToExpressionsData}
+	 *
+	 * @return channels of the concrete expression group followed by the
+	 * channels of the abstract expression group
+	 */
+	public static List<ChannelModel> getExpressionsChannels() {
+		ChannelSchemaModel schema = ChannelSchemaRegistry.getInstance().getSchema();
+		List<ChannelModel> channels = new ArrayList<ChannelModel>(
+				schema.getChannels(ServerConstants.CONCRETE_EXPRESSION_GROUP));
+		channels.addAll(schema.getChannels(ServerConstants.ABSTRACT_EXPRESSION_GROUP));
+		return channels;
 	}
 }
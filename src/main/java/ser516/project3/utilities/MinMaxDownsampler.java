@@ -0,0 +1,202 @@
+package ser516.project3.utilities;
+
+/**
+ * The MinMaxDownsampler class reduces the samples of a graph within its
+ * visible window of time to at most two points per pixel and channel: the
+ * minimum and the maximum of every bucket of time, in the order they were
+ * received, so that the peaks of the signal are drawn however many samples
+ * a pixel covers.
+ * <p>
+ * The length of a bucket is the length of time a pixel covers rounded up to
+ * a power of two seconds, so that it only changes, and the buckets are only
+ * computed again, when the visible length of time or the width of the graph
+ * changes enough. The buckets are aligned on multiples of their length, so
+ * the samples received since the previous update are added to the latest
+ * bucket or to new ones, and the buckets leaving the window are dropped,
+ * without going over the other samples again.
+ *
+ * @author vsriva12
+ */
+public class MinMaxDownsampler {
+
+    private int channelCount;
+    private int pixels;
+    private double bucketSeconds;
+    private double coveredFrom;
+    private double coveredTo;
+    private double lastTimestamp;
+    private long[] bucketIds = new long[0];
+    private double[][] minimums = new double[0][];
+    private double[][] maximums = new double[0][];
+    private double[][] minimumTimestamps = new double[0][];
+    private double[][] maximumTimestamps = new double[0][];
+    private int mask;
+    private long firstBucket;
+    private long nextBucket;
+
+    /**
+     * Method to bring the buckets up to date with the samples of a window
+     * within a window of time
+     *
+     * @param window window over the samples, oldest first, or null if there
+     *               are none
+     * @param from   time stamp of the start of the visible window
+     * @param to     time stamp of the end of the visible window
+     * @param pixels width of the graph, in pixels
+     */
+    public void update(ChannelHistory.Window window, double from, double to, int pixels) {
+        if (window == null || window.size() == 0) {
+            lastTimestamp = Double.NEGATIVE_INFINITY;
+            firstBucket = nextBucket;
+            return;
+        }
+        pixels = Math.max(1, pixels);
+        double bucket = getBucketSeconds(to - from, pixels);
+        if (window.getChannelCount() != channelCount || pixels != this.pixels || bucket != bucketSeconds
+                || from < coveredFrom || (to > coveredTo && lastTimestamp > coveredTo)
+                || window.getLatestTimestamp() < lastTimestamp) {
+            reset(window.getChannelCount(), pixels, bucket);
+        }
+        int item = window.size();
+        while (item > 0 && window.getTimestamp(item - 1) > lastTimestamp) {
+            item--;
+        }
+        for (; item < window.size(); item++) {
+            double timestamp = window.getTimestamp(item);
+            lastTimestamp = timestamp;
+            if (timestamp >= from && timestamp <= to) {
+                add(window, item, timestamp);
+            }
+        }
+        long fromBucket = (long) Math.floor(from / bucketSeconds);
+        while (firstBucket < nextBucket && bucketIds[(int) firstBucket & mask] < fromBucket) {
+            firstBucket++;
+        }
+        coveredFrom = from;
+        coveredTo = to;
+    }
+
+    /**
+     * Returns the length of a bucket for a length of time and a width
+     *
+     * @param seconds length of time of the window
+     * @param pixels  width of the graph, in pixels
+     * @return the length of time a pixel covers, rounded up to a power of two
+     */
+    static double getBucketSeconds(double seconds, int pixels) {
+        double pixelSeconds = Math.max(seconds, Double.MIN_NORMAL) / pixels;
+        double bucket = Math.scalb(1.0, Math.getExponent(pixelSeconds));
+        return bucket < pixelSeconds ? bucket * 2 : bucket;
+    }
+
+    /**
+     * Drops every bucket and sets the parameters they are computed with
+     *
+     * @param channelCount number of channels
+     * @param pixels       width of the graph, in pixels
+     * @param bucket       length of time of a bucket
+     */
+    private void reset(int channelCount, int pixels, double bucket) {
+        if (channelCount != this.channelCount || pixels != this.pixels) {
+            int capacity = Integer.highestOneBit(pixels + 1) << 1;
+            bucketIds = new long[capacity];
+            minimums = new double[channelCount][capacity];
+            maximums = new double[channelCount][capacity];
+            minimumTimestamps = new double[channelCount][capacity];
+            maximumTimestamps = new double[channelCount][capacity];
+            mask = capacity - 1;
+        }
+        this.channelCount = channelCount;
+        this.pixels = pixels;
+        bucketSeconds = bucket;
+        coveredFrom = Double.NEGATIVE_INFINITY;
+        coveredTo = Double.NEGATIVE_INFINITY;
+        lastTimestamp = Double.NEGATIVE_INFINITY;
+        firstBucket = 0;
+        nextBucket = 0;
+    }
+
+    /**
+     * Adds a sample to its bucket, which is the latest bucket or a new one
+     *
+     * @param window    window over the samples
+     * @param item      position of the sample in the window
+     * @param timestamp time stamp of the sample
+     */
+    private void add(ChannelHistory.Window window, int item, double timestamp) {
+        long bucketId = (long) Math.floor(timestamp / bucketSeconds);
+        if (firstBucket < nextBucket && bucketIds[(int) (nextBucket - 1) & mask] == bucketId) {
+            int slot = (int) (nextBucket - 1) & mask;
+            for (int channel = 0; channel < channelCount; channel++) {
+                double value = window.getValue(channel, item);
+                if (value < minimums[channel][slot]) {
+                    minimums[channel][slot] = value;
+                    minimumTimestamps[channel][slot] = timestamp;
+                }
+                if (value > maximums[channel][slot]) {
+                    maximums[channel][slot] = value;
+                    maximumTimestamps[channel][slot] = timestamp;
+                }
+            }
+            return;
+        }
+        if (nextBucket - firstBucket == bucketIds.length) {
+            firstBucket++;
+        }
+        int slot = (int) nextBucket & mask;
+        bucketIds[slot] = bucketId;
+        for (int channel = 0; channel < channelCount; channel++) {
+            double value = window.getValue(channel, item);
+            minimums[channel][slot] = value;
+            maximums[channel][slot] = value;
+            minimumTimestamps[channel][slot] = timestamp;
+            maximumTimestamps[channel][slot] = timestamp;
+        }
+        nextBucket++;
+    }
+
+    /**
+     * @return number of points of every channel, two per bucket
+     */
+    public int getPointCount() {
+        return (int) (nextBucket - firstBucket) * 2;
+    }
+
+    /**
+     * @return number of channels of the points
+     */
+    public int getChannelCount() {
+        return channelCount;
+    }
+
+    /**
+     * @return length of time of a bucket, in seconds
+     */
+    public double getBucketSeconds() {
+        return bucketSeconds;
+    }
+
+    /**
+     * @param channel position of the channel
+     * @param point   position of the point, oldest first
+     * @return time stamp of the point
+     */
+    public double getTimestamp(int channel, int point) {
+        int slot = (int) (firstBucket + point / 2) & mask;
+        double minimumTimestamp = minimumTimestamps[channel][slot];
+        double maximumTimestamp = maximumTimestamps[channel][slot];
+        boolean minimumFirst = minimumTimestamp <= maximumTimestamp;
+        return (point % 2 == 0) == minimumFirst ? minimumTimestamp : maximumTimestamp;
+    }
+
+    /**
+     * @param channel position of the channel
+     * @param point   position of the point, oldest first
+     * @return value of the point
+     */
+    public double getValue(int channel, int point) {
+        int slot = (int) (firstBucket + point / 2) & mask;
+        boolean minimumFirst = minimumTimestamps[channel][slot] <= maximumTimestamps[channel][slot];
+        return (point % 2 == 0) == minimumFirst ? minimums[channel][slot] : maximums[channel][slot];
+    }
+}
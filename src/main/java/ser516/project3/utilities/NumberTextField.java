@@ -14,6 +14,8 @@ import static java.awt.event.KeyEvent.*;
 public class NumberTextField extends JTextField {
     private static final long serialVersionUID = 1L;
     private boolean isDouble = false;
+    private int maxLength = DEFAULT_MAX_LENGTH;
+    private static final int DEFAULT_MAX_LENGTH = 4;
 
 	/**
 	 * constructor to construct the textfield with input string and if it can be double value
@@ -26,6 +28,19 @@ public class NumberTextField extends JTextField {
 		setText(input);
 	}
 
+	/**
+	 * constructor to construct the textfield with input string, if it can be double value and
+	 * the maximum number of characters
+	 *
+	 * @param input	The string entered in the textfield
+	 * @param isDouble	True if the textfield supports double value
+	 * @param maxLength	The maximum number of characters of the textfield
+	 */
+	public NumberTextField(String input, boolean isDouble, int maxLength) {
+		this(input, isDouble);
+		this.maxLength = maxLength;
+	}
+
 	/**
 	 * prevents the processing of keys except the ones specified
 	 *
@@ -36,9 +51,9 @@ public class NumberTextField extends JTextField {
 		if ((keyEvent.getKeyChar() == VK_BACK_SPACE || keyEvent.getKeyChar() == VK_DELETE
 				|| keyEvent.getKeyChar() == VK_ENTER || keyEvent.getKeyCode() == VK_LEFT
 				|| keyEvent.getKeyCode() == VK_RIGHT)
-				|| (getText().length() < 4 && (Character.isDigit(keyEvent.getKeyChar())))) {
+				|| (getText().length() < maxLength && (Character.isDigit(keyEvent.getKeyChar())))) {
 			super.processKeyEvent(keyEvent);
-		} else if(getText().length() < 4 && isDouble && keyEvent.getKeyChar() == VK_PERIOD) {
+		} else if(getText().length() < maxLength && isDouble && keyEvent.getKeyChar() == VK_PERIOD) {
 			super.processKeyEvent(keyEvent);
 		}
 		keyEvent.consume();
@@ -0,0 +1,75 @@
+package ser516.project3.utilities;
+
+import ser516.project3.model.SampleBlockModel;
+
+import javax.websocket.DecodeException;
+import javax.websocket.Decoder;
+import javax.websocket.EndpointConfig;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The SampleBlockDecoder class implements the web-socket binary Decoder
+ * interface for the blocks of raw samples written by
+ * {@link SampleBlockEncoder}.
+ *
+ * @author vsriva12
+ */
+public class SampleBlockDecoder implements Decoder.Binary<SampleBlockModel> {
+
+    /**
+     * Initialization method overridden from the interface
+     *
+     * @param config configuration for the decoding of the model
+     */
+    @Override
+    public void init(EndpointConfig config) {
+        // Intentionally empty.
+    }
+
+    /**
+     * Destroys the object, if exists. Overridden from the interface
+     */
+    @Override
+    public void destroy() {
+        // Intentionally empty.
+    }
+
+    /**
+     * Decodes the buffer to get a block of samples
+     *
+     * @param buffer binary frame to be decoded
+     * @return Returns the SampleBlockModel object
+     * @throws DecodeException
+     */
+    @Override
+    public SampleBlockModel decode(ByteBuffer buffer) throws DecodeException {
+        ByteBuffer frame = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            frame.get();
+            long firstSampleIndex = frame.getLong();
+            int sampleRate = frame.getShort() & 0xFFFF;
+            int[] channelIds = new int[frame.getShort() & 0xFFFF];
+            for (int i = 0; i < channelIds.length; i++) {
+                channelIds[i] = frame.getShort() & 0xFFFF;
+            }
+            float[] samples = new float[(frame.getShort() & 0xFFFF) * channelIds.length];
+            frame.asFloatBuffer().get(samples);
+            return new SampleBlockModel(firstSampleIndex, sampleRate, channelIds, samples);
+        } catch (BufferUnderflowException e) {
+            throw new DecodeException(buffer, "Truncated sample block", e);
+        }
+    }
+
+    /**
+     * Returns a boolean indicating if a given buffer holds a block of samples
+     *
+     * @param buffer buffer to check for decoding
+     */
+    @Override
+    public boolean willDecode(ByteBuffer buffer) {
+        return buffer.remaining() >= SampleBlockEncoder.HEADER_SIZE
+                && buffer.get(buffer.position()) == SampleBlockEncoder.SAMPLE_BLOCK_FRAME;
+    }
+}
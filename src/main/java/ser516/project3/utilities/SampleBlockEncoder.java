@@ -0,0 +1,112 @@
+package ser516.project3.utilities;
+
+import ser516.project3.model.SampleBlockModel;
+
+import javax.websocket.EncodeException;
+import javax.websocket.Encoder;
+import javax.websocket.EndpointConfig;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The SampleBlockEncoder class implements the web-sockets binary Encoder
+ * interface for a block of raw samples. The samples are sent as floats, in
+ * the following little-endian layout:
+ * <pre>
+ * byte      frame type ({@link #SAMPLE_BLOCK_FRAME})
+ * long      index of the first sample in the stream
+ * short     sample rate in samples per second
+ * short     number of channels
+ * short[]   channel ids
+ * short     number of samples per channel
+ * float[]   samples, interleaved: all the channels of a sample, sample after sample
+ * </pre>
+ * The sample rate, the number of channels, the channel ids and the number of
+ * samples per channel are unsigned shorts, from 0 to {@value #MAX_FIELD_VALUE}.
+ * Larger values are clamped to {@value #MAX_FIELD_VALUE}, so a block of more
+ * samples per channel only carries its first {@value #MAX_FIELD_VALUE}
+ * samples, rather than wrapping around.
+ *
+ * @author vsriva12
+ */
+public class SampleBlockEncoder implements Encoder.Binary<SampleBlockModel> {
+
+    public final static byte SAMPLE_BLOCK_FRAME = 0x05;
+    public final static int HEADER_SIZE = 1 + Long.BYTES + 3 * Short.BYTES;
+    public final static int MAX_FIELD_VALUE = 0xFFFF;
+
+    /**
+     * Initializer for the sample block encoder. Empty as no initial
+     * configuration needs to be updated
+     *
+     * @param config The configuration of endpoint for the encoding
+     */
+    @Override
+    public void init(EndpointConfig config) {
+        // Intentionally empty.
+    }
+
+    /**
+     * Destroys the component if created
+     */
+    @Override
+    public void destroy() {
+        // Intentionally empty.
+    }
+
+    /**
+     * Encodes the block to the binary format to be transmitted
+     *
+     * @param sampleBlock block to be encoded
+     * @return returns the encoded buffer
+     * @throws EncodeException
+     */
+    @Override
+    public ByteBuffer encode(SampleBlockModel sampleBlock) throws EncodeException {
+        return encodeBlock(sampleBlock);
+    }
+
+    /**
+     * Encodes the block to the binary format, once for all the sessions
+     *
+     * @param sampleBlock block to be encoded
+     * @return returns the encoded read-only buffer, positioned at its start
+     */
+    public static ByteBuffer encodeBlock(SampleBlockModel sampleBlock) {
+        int[] channelIds = sampleBlock.getChannelIds();
+        float[] samples = sampleBlock.getSamples();
+        int channelCount = clamp(channelIds.length);
+        int sampleCount = clamp(sampleBlock.getSampleCount());
+        int size = HEADER_SIZE + channelCount * Short.BYTES + sampleCount * channelCount * Float.BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(SAMPLE_BLOCK_FRAME);
+        buffer.putLong(sampleBlock.getFirstSampleIndex());
+        buffer.putShort((short) clamp(sampleBlock.getSampleRate()));
+        buffer.putShort((short) channelCount);
+        for (int i = 0; i < channelCount; i++) {
+            buffer.putShort((short) clamp(channelIds[i]));
+        }
+        buffer.putShort((short) sampleCount);
+        if (channelCount == channelIds.length) {
+            buffer.asFloatBuffer().put(samples, 0, sampleCount * channelCount);
+        } else {
+            for (int sample = 0; sample < sampleCount; sample++) {
+                for (int channel = 0; channel < channelCount; channel++) {
+                    buffer.putFloat(samples[sample * channelIds.length + channel]);
+                }
+            }
+        }
+        buffer.position(0);
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * Method to clamp a field to the range of an unsigned short
+     *
+     * @param value value of the field
+     * @return the value, between 0 and {@value #MAX_FIELD_VALUE}
+     */
+    static int clamp(int value) {
+        return Math.max(0, Math.min(MAX_FIELD_VALUE, value));
+    }
+}
@@ -0,0 +1,142 @@
+package ser516.project3.utilities;
+
+import ser516.project3.model.SampleBlockModel;
+
+import java.util.Arrays;
+
+/**
+ * The SampleRingBuffer class keeps the latest raw samples of a fixed set of
+ * channels in one primitive array per channel, so that a high sample rate
+ * neither allocates nor boxes once the buffer is created. The capacity is a
+ * power of two, so the position of a sample is its index masked by the
+ * capacity. Samples missing from the stream are stored as NaN and counted.
+ *
+ * @author vsriva12
+ */
+public class SampleRingBuffer {
+
+    private final int[] channelIds;
+    private final int sampleRate;
+    private final float[][] samples;
+    private final int mask;
+    private long firstSampleIndex = -1;
+    private long nextSampleIndex = -1;
+    private long missingSampleCount;
+
+    /**
+     * Creates a buffer holding at least the passed number of seconds of
+     * samples of every channel
+     *
+     * @param channelIds ids of the channels, in the order of the sample blocks
+     * @param sampleRate number of samples per second
+     * @param seconds    number of seconds to keep
+     */
+    public SampleRingBuffer(int[] channelIds, int sampleRate, int seconds) {
+        this.channelIds = channelIds.clone();
+        this.sampleRate = sampleRate;
+        int capacity = Integer.highestOneBit(Math.max(1, sampleRate * seconds - 1)) << 1;
+        samples = new float[channelIds.length][capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Method to write the samples of a block. The samples the stream skipped
+     * since the previous block are filled with NaN, and the samples which are
+     * already in the buffer are ignored.
+     *
+     * @param block block of samples with the channels of this buffer
+     */
+    public synchronized void write(SampleBlockModel block) {
+        float[] blockSamples = block.getSamples();
+        int channelCount = channelIds.length;
+        int sampleCount = block.getSampleCount();
+        long sampleIndex = block.getFirstSampleIndex();
+        int first = 0;
+        if (nextSampleIndex < 0) {
+            firstSampleIndex = sampleIndex;
+        } else {
+            if (sampleIndex > nextSampleIndex) {
+                long missing = sampleIndex - nextSampleIndex;
+                missingSampleCount += missing;
+                long fillFrom = Math.max(nextSampleIndex, sampleIndex - getCapacity());
+                for (long index = fillFrom; index < sampleIndex; index++) {
+                    for (int channel = 0; channel < channelCount; channel++) {
+                        samples[channel][(int) (index & mask)] = Float.NaN;
+                    }
+                }
+            } else {
+                first = (int) Math.min(sampleCount, nextSampleIndex - sampleIndex);
+            }
+        }
+        for (int sample = first; sample < sampleCount; sample++) {
+            int position = (int) ((sampleIndex + sample) & mask);
+            int offset = sample * channelCount;
+            for (int channel = 0; channel < channelCount; channel++) {
+                samples[channel][position] = blockSamples[offset + channel];
+            }
+        }
+        nextSampleIndex = Math.max(nextSampleIndex, sampleIndex + sampleCount);
+    }
+
+    /**
+     * Method to copy the latest samples of a channel, oldest first. When the
+     * buffer holds fewer samples than asked for, the beginning of the
+     * destination is filled with NaN.
+     *
+     * @param channel position of the channel in the buffer
+     * @param dest    array to copy the samples to
+     * @param count   number of samples to copy, at most the capacity
+     */
+    public synchronized void copyLatest(int channel, float[] dest, int count) {
+        count = Math.min(count, getCapacity());
+        long available = nextSampleIndex < 0 ? 0 : Math.min(nextSampleIndex - firstSampleIndex, getCapacity());
+        int missing = (int) Math.max(0, count - available);
+        Arrays.fill(dest, 0, missing, Float.NaN);
+        long index = nextSampleIndex - count + missing;
+        for (int i = missing; i < count; i++, index++) {
+            dest[i] = samples[channel][(int) (index & mask)];
+        }
+    }
+
+    /**
+     * @return index of the latest sample written, or -1 if there is none
+     */
+    public synchronized long getLatestSampleIndex() {
+        return nextSampleIndex - 1;
+    }
+
+    /**
+     * @return number of samples the stream skipped
+     */
+    public synchronized long getMissingSampleCount() {
+        return missingSampleCount;
+    }
+
+    /**
+     * @return number of samples of every channel the buffer holds
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return number of channels
+     */
+    public int getChannelCount() {
+        return channelIds.length;
+    }
+
+    /**
+     * @return ids of the channels, in the order of the sample blocks
+     */
+    public int[] getChannelIds() {
+        return channelIds.clone();
+    }
+
+    /**
+     * @return number of samples per second
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+}
@@ -0,0 +1,561 @@
+package ser516.project3.utilities;
+
+import org.apache.log4j.Logger;
+import ser516.project3.constants.ClientConstants;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The SegmentStore class keeps the whole history of a fixed set of graph
+ * channels on disk, in append only segment files of a fixed size which are
+ * mapped in memory. A segment holds a header, a sparse index with the time
+ * stamp of every {@value #INDEX_STRIDE}th sample, the column of the time
+ * stamps and one column per channel, so that a window of time is found
+ * without reading the whole segment and a window is read without loading
+ * the whole session.
+ * <p>
+ * The samples are written sequentially by one thread, and become visible to
+ * the readers, in memory and in the header of the segment, when the batch
+ * they belong to is committed. The mapped segments are forced to the disk
+ * by a thread of their own, off the path of the messages. A time stamp
+ * earlier than the latest one starts a new session in a new segment, and
+ * only the latest session is read.
+ * <p>
+ * Only the segment being written stays mapped. A segment which is full, or
+ * belongs to an earlier session, is forced a last time and released by the
+ * thread of the flusher, and is mapped again, read only, for as long as a
+ * read needs it.
+ *
+ * @author vsriva12
+ */
+public class SegmentStore {
+    final static Logger logger = Logger.getLogger(SegmentStore.class);
+
+    final static int INDEX_STRIDE = 256;
+    private final static int MAGIC = 0x53353136;
+    private final static int VERSION = 1;
+    private final static int HEADER_BYTES = 64;
+    private final static int CHANNEL_COUNT_OFFSET = 8;
+    private final static int CAPACITY_OFFSET = 12;
+    private final static int SESSION_OFFSET = 16;
+    private final static int SAMPLE_COUNT_OFFSET = 24;
+    private final static int FIRST_TIMESTAMP_OFFSET = 32;
+    private final static int LAST_TIMESTAMP_OFFSET = 40;
+    private final static String SEGMENT_FILE = "segment-%06d.dat";
+
+    private static ScheduledExecutorService flusher;
+    private static Path runDirectory;
+
+    private final File directory;
+    private final int channelCount;
+    private final int segmentSamples;
+    private final int timestampOffset;
+    private final CopyOnWriteArrayList<Segment> segments = new CopyOnWriteArrayList<>();
+    private final ScheduledFuture<?> forceTask;
+    private Segment current;
+    private long session;
+    private double lastTimestamp = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Creates a store writing its segments to the passed directory
+     *
+     * @param directory      directory of the segments, created if needed
+     * @param channelCount   number of channels
+     * @param segmentSamples number of samples of a segment, rounded up to a
+     *                       multiple of the stride of the index
+     * @throws IOException if the directory cannot be created
+     */
+    public SegmentStore(File directory, int channelCount, int segmentSamples) throws IOException {
+        Files.createDirectories(directory.toPath());
+        this.directory = directory;
+        this.channelCount = channelCount;
+        this.segmentSamples = (Math.max(1, segmentSamples) + INDEX_STRIDE - 1) / INDEX_STRIDE * INDEX_STRIDE;
+        timestampOffset = HEADER_BYTES + this.segmentSamples / INDEX_STRIDE * Double.BYTES;
+        forceTask = getFlusher().scheduleWithFixedDelay(this::force, ClientConstants.STORE_FORCE_PERIOD_MILLIS,
+                ClientConstants.STORE_FORCE_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates the store of a graph of the client, in a directory of its own
+     * under the directory of this run of the client. The stores are only
+     * created when the system property
+     * {@value ClientConstants#STORE_DIRECTORY_PROPERTY} gives the directory of
+     * the runs, since nothing removes them once written.
+     *
+     * @param name         name of the graph
+     * @param channelCount number of channels of the graph
+     * @return the store of the graph, or null if there is none
+     */
+    public static SegmentStore createGraphStore(String name, int channelCount) {
+        String baseDirectory = System.getProperty(ClientConstants.STORE_DIRECTORY_PROPERTY, "");
+        if (baseDirectory.isEmpty()) {
+            return null;
+        }
+        try {
+            Path graphDirectory = Files.createTempDirectory(getRunDirectory(Paths.get(baseDirectory)), name + "-");
+            return new SegmentStore(graphDirectory.toFile(), channelCount, ClientConstants.STORE_SEGMENT_SAMPLES);
+        } catch (IOException e) {
+            logger.error(ClientConstants.ERROR_STORE + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the directory of this run of the client, created the first
+     * time it is asked for
+     *
+     * @param baseDirectory directory of the runs
+     * @return the directory of this run
+     * @throws IOException if the directory cannot be created
+     */
+    private static synchronized Path getRunDirectory(Path baseDirectory) throws IOException {
+        if (runDirectory == null || !runDirectory.startsWith(baseDirectory)) {
+            Files.createDirectories(baseDirectory);
+            String run = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+            runDirectory = Files.createTempDirectory(baseDirectory, run + "-");
+        }
+        return runDirectory;
+    }
+
+    /**
+     * Returns the thread forcing the segments of every store to the disk
+     *
+     * @return the executor of the thread
+     */
+    private static synchronized ScheduledExecutorService getFlusher() {
+        if (flusher == null) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, ClientConstants.STORE_FLUSHER_THREAD);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return flusher;
+    }
+
+    /**
+     * Method to append the values of every channel at a time stamp, called by
+     * the writer thread only. The sample is read once its batch is committed.
+     *
+     * @param timestamp     time stamp of the values, in seconds
+     * @param channelValues value of every channel, in the order of the channels
+     * @throws IOException if a new segment cannot be created
+     */
+    public void append(double timestamp, double[] channelValues) throws IOException {
+        if (timestamp < lastTimestamp) {
+            retireCurrent();
+            session++;
+        }
+        if (current == null || current.written == segmentSamples) {
+            retireCurrent();
+            current = createSegment(timestamp);
+        }
+        MappedByteBuffer buffer = current.buffer;
+        int position = current.written++;
+        int offset = position * Double.BYTES;
+        if (position % INDEX_STRIDE == 0) {
+            buffer.putDouble(HEADER_BYTES + position / INDEX_STRIDE * Double.BYTES, timestamp);
+        }
+        buffer.putDouble(timestampOffset + offset, timestamp);
+        for (int channel = 0; channel < channelCount; channel++) {
+            buffer.putDouble(getChannelOffset(channel) + offset, channelValues[channel]);
+        }
+        lastTimestamp = timestamp;
+    }
+
+    /**
+     * Method to make the samples appended since the previous commit visible
+     * to the readers and to the header of their segment, called by the writer
+     * thread at the end of every batch
+     */
+    public void commit() {
+        Segment segment = current;
+        if (segment == null || segment.written == segment.sampleCount) {
+            return;
+        }
+        segment.buffer.putDouble(LAST_TIMESTAMP_OFFSET, lastTimestamp);
+        segment.buffer.putInt(SAMPLE_COUNT_OFFSET, segment.written);
+        segment.lastTimestamp = lastTimestamp;
+        segment.sampleCount = segment.written;
+        segment.dirty = true;
+    }
+
+    /**
+     * Method to commit the segment being written, and hand it over to the
+     * flusher to be released, called by the writer thread when it stops
+     * writing to the segment
+     */
+    private void retireCurrent() {
+        if (current != null) {
+            commit();
+            current.retired = true;
+            current = null;
+        }
+    }
+
+    /**
+     * Method to force the segments written since the previous force to the
+     * disk, called by the thread of the flusher. The segments which are no
+     * longer written are released once forced.
+     */
+    public void force() {
+        for (Segment segment : segments) {
+            MappedByteBuffer buffer = segment.buffer;
+            if (buffer == null) {
+                continue;
+            }
+            boolean retired = segment.retired;
+            if (segment.dirty) {
+                segment.dirty = false;
+                buffer.force();
+            }
+            if (retired) {
+                segment.buffer = null;
+            }
+        }
+    }
+
+    /**
+     * Method to stop forcing the segments to the disk, after forcing and
+     * releasing them a last time, called by the writer thread. The segments
+     * can still be read.
+     */
+    public void close() {
+        forceTask.cancel(false);
+        retireCurrent();
+        force();
+    }
+
+    /**
+     * Method to count the samples of the latest session within a window of
+     * time
+     *
+     * @param from time stamp of the start of the window
+     * @param to   time stamp of the end of the window
+     * @return the number of committed samples in the window
+     */
+    public int count(double from, double to) {
+        int count = 0;
+        for (Segment segment : getSessionSegments()) {
+            int sampleCount = segment.sampleCount;
+            if (sampleCount == 0 || segment.lastTimestamp < from || segment.firstTimestamp > to) {
+                continue;
+            }
+            ByteBuffer buffer = segment.map();
+            if (buffer != null) {
+                count += find(buffer, Math.nextUp(to), sampleCount) - find(buffer, from, sampleCount);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Method to read the samples of the latest session within a window of
+     * time, oldest first, into a history
+     *
+     * @param from    time stamp of the start of the window
+     * @param to      time stamp of the end of the window
+     * @param history history receiving the samples, with the channels of this
+     *                store
+     * @return the number of samples read
+     */
+    public int read(double from, double to, ChannelHistory history) {
+        double[] values = new double[channelCount];
+        int count = 0;
+        for (Segment segment : getSessionSegments()) {
+            int sampleCount = segment.sampleCount;
+            if (sampleCount == 0 || segment.lastTimestamp < from || segment.firstTimestamp > to) {
+                continue;
+            }
+            ByteBuffer buffer = segment.map();
+            if (buffer == null) {
+                continue;
+            }
+            for (int position = find(buffer, from, sampleCount); position < sampleCount; position++) {
+                int offset = position * Double.BYTES;
+                double timestamp = buffer.getDouble(timestampOffset + offset);
+                if (timestamp > to) {
+                    break;
+                }
+                for (int channel = 0; channel < channelCount; channel++) {
+                    values[channel] = buffer.getDouble(getChannelOffset(channel) + offset);
+                }
+                history.append(timestamp, values);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Method to read the samples of the latest session within a window of
+     * time into a history, reduced to the minimum and the maximum of every
+     * channel within every bucket of time, aligned on multiples of its
+     * length. A bucket is appended as its minimums at the time stamp of its
+     * first sample and its maximums at the time stamp of its last one, or as
+     * its only sample, so that the history holds at most two samples per
+     * bucket however many samples the window has.
+     *
+     * @param from          time stamp of the start of the window
+     * @param to            time stamp of the end of the window
+     * @param bucketSeconds length of a bucket
+     * @param history       history receiving the samples, with the channels of
+     *                      this store
+     * @return the number of samples appended
+     */
+    public int readMinMax(double from, double to, double bucketSeconds, ChannelHistory history) {
+        double[] minimums = new double[channelCount];
+        double[] maximums = new double[channelCount];
+        long bucket = Long.MIN_VALUE;
+        double firstTimestamp = 0;
+        double lastTimestamp = 0;
+        int bucketSamples = 0;
+        int count = 0;
+        for (Segment segment : getSessionSegments()) {
+            int sampleCount = segment.sampleCount;
+            if (sampleCount == 0 || segment.lastTimestamp < from || segment.firstTimestamp > to) {
+                continue;
+            }
+            ByteBuffer buffer = segment.map();
+            if (buffer == null) {
+                continue;
+            }
+            for (int position = find(buffer, from, sampleCount); position < sampleCount; position++) {
+                int offset = position * Double.BYTES;
+                double timestamp = buffer.getDouble(timestampOffset + offset);
+                if (timestamp > to) {
+                    break;
+                }
+                long sampleBucket = (long) Math.floor(timestamp / bucketSeconds);
+                if (sampleBucket != bucket) {
+                    count += appendBucket(history, firstTimestamp, lastTimestamp, bucketSamples, minimums, maximums);
+                    bucket = sampleBucket;
+                    firstTimestamp = timestamp;
+                    bucketSamples = 0;
+                }
+                for (int channel = 0; channel < channelCount; channel++) {
+                    double value = buffer.getDouble(getChannelOffset(channel) + offset);
+                    minimums[channel] = bucketSamples == 0 ? value : Math.min(minimums[channel], value);
+                    maximums[channel] = bucketSamples == 0 ? value : Math.max(maximums[channel], value);
+                }
+                lastTimestamp = timestamp;
+                bucketSamples++;
+            }
+        }
+        return count + appendBucket(history, firstTimestamp, lastTimestamp, bucketSamples, minimums, maximums);
+    }
+
+    /**
+     * Method to append the samples of one bucket of a reduced read
+     *
+     * @param history        history receiving the samples
+     * @param firstTimestamp time stamp of the first sample of the bucket
+     * @param lastTimestamp  time stamp of the last sample of the bucket
+     * @param bucketSamples  number of samples of the bucket
+     * @param minimums       minimum of every channel within the bucket
+     * @param maximums       maximum of every channel within the bucket
+     * @return the number of samples appended
+     */
+    private static int appendBucket(ChannelHistory history, double firstTimestamp, double lastTimestamp,
+                                    int bucketSamples, double[] minimums, double[] maximums) {
+        if (bucketSamples == 0) {
+            return 0;
+        }
+        history.append(firstTimestamp, minimums);
+        if (bucketSamples == 1) {
+            return 1;
+        }
+        history.append(lastTimestamp, maximums);
+        return 2;
+    }
+
+    /**
+     * @return the time stamp of the first sample of the latest session, or
+     * NaN if no sample of the session was committed
+     */
+    public double getFirstTimestamp() {
+        for (Segment segment : getSessionSegments()) {
+            if (segment.sampleCount > 0) {
+                return segment.firstTimestamp;
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * @return number of channels
+     */
+    public int getChannelCount() {
+        return channelCount;
+    }
+
+    /**
+     * @return number of samples of a segment
+     */
+    public int getSegmentSamples() {
+        return segmentSamples;
+    }
+
+    /**
+     * @return number of segment files created
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * @return number of segments still mapped for writing
+     */
+    int getMappedSegmentCount() {
+        int mappedSegmentCount = 0;
+        for (Segment segment : segments) {
+            if (segment.buffer != null) {
+                mappedSegmentCount++;
+            }
+        }
+        return mappedSegmentCount;
+    }
+
+    /**
+     * @return directory of the segments
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the segments of the latest session, oldest first
+     *
+     * @return the segments of the session
+     */
+    private List<Segment> getSessionSegments() {
+        Segment[] allSegments = segments.toArray(new Segment[0]);
+        int first = allSegments.length;
+        while (first > 0 && allSegments[first - 1].session == allSegments[allSegments.length - 1].session) {
+            first--;
+        }
+        return Arrays.asList(allSegments).subList(first, allSegments.length);
+    }
+
+    /**
+     * Creates the next segment file, mapped in memory, and writes its header
+     *
+     * @param firstTimestamp time stamp of the first sample of the segment
+     * @return the segment
+     * @throws IOException if the file cannot be created or mapped
+     */
+    private Segment createSegment(double firstTimestamp) throws IOException {
+        File file = new File(directory, String.format(SEGMENT_FILE, segments.size()));
+        long size = getChannelOffset(channelCount);
+        MappedByteBuffer buffer;
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(Integer.BYTES, VERSION);
+        buffer.putInt(CHANNEL_COUNT_OFFSET, channelCount);
+        buffer.putInt(CAPACITY_OFFSET, segmentSamples);
+        buffer.putLong(SESSION_OFFSET, session);
+        buffer.putDouble(FIRST_TIMESTAMP_OFFSET, firstTimestamp);
+        Segment segment = new Segment(file, buffer, session, firstTimestamp);
+        segments.add(segment);
+        return segment;
+    }
+
+    /**
+     * @param channel position of the channel, or the number of channels for
+     *                the end of the segment
+     * @return the offset of the column of the channel in a segment
+     */
+    private int getChannelOffset(int channel) {
+        return timestampOffset + (channel + 1) * segmentSamples * Double.BYTES;
+    }
+
+    /**
+     * Finds the first sample of a segment at or after a time stamp, from the
+     * sparse index and then from the time stamps of one stride
+     *
+     * @param buffer      content of the segment
+     * @param timestamp   time stamp to look for
+     * @param sampleCount number of committed samples of the segment
+     * @return the position of the sample, or the number of samples if every
+     * sample is earlier
+     */
+    private int find(ByteBuffer buffer, double timestamp, int sampleCount) {
+        int low = 0;
+        int high = (sampleCount - 1) / INDEX_STRIDE;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (buffer.getDouble(HEADER_BYTES + middle * Double.BYTES) < timestamp) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        int position = low * INDEX_STRIDE;
+        while (position < sampleCount && buffer.getDouble(timestampOffset + position * Double.BYTES) < timestamp) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * One segment file, mapped in memory while it is written
+     */
+    private final class Segment {
+        private final File file;
+        private final long session;
+        private final double firstTimestamp;
+        private volatile MappedByteBuffer buffer;
+        private int written;
+        private volatile double lastTimestamp;
+        private volatile int sampleCount;
+        private volatile boolean dirty;
+        private volatile boolean retired;
+
+        private Segment(File file, MappedByteBuffer buffer, long session, double firstTimestamp) {
+            this.file = file;
+            this.buffer = buffer;
+            this.session = session;
+            this.firstTimestamp = firstTimestamp;
+        }
+
+        /**
+         * Returns the content of the segment, from its mapping while it is
+         * written, or else from a read only mapping released with the
+         * returned buffer
+         *
+         * @return the content of the segment, or null if the file cannot be
+         * mapped
+         */
+        private ByteBuffer map() {
+            MappedByteBuffer mapped = buffer;
+            if (mapped != null) {
+                return mapped;
+            }
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+                return randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+            } catch (IOException e) {
+                logger.error(ClientConstants.ERROR_STORE_READ + e.getMessage());
+                return null;
+            }
+        }
+    }
+}
@@ -2,16 +2,26 @@ package ser516.project3.utilities;
 
 import ser516.project3.model.MessageModel;
 
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
 /**
  * The ServerCommonData is a singleton class which contains the user defined
  * values of server configurations, which needs to be transmitted to client
+ * <p>
+ * The message is published as a frozen snapshot which is never modified
+ * afterwards. Writers copy the current snapshot, apply all their changes to
+ * the copy and publish it atomically, so the broadcaster always reads a
+ * consistent message without locking, and a selection flag is never sent
+ * with the value of another expression.
  *
  * @author vsriva12
  */
 public class ServerCommonData {
 
-    private static ServerCommonData instance = null;
-    private static MessageModel messageModel;
+    private static final ServerCommonData instance = new ServerCommonData();
+    private static final AtomicReference<MessageModel> messageModel =
+            new AtomicReference<>(new MessageModel().freeze());
 
     /**
      * Empty constructor to allow only single instance of the class
@@ -21,33 +31,54 @@ public class ServerCommonData {
     }
 
     /**
-     * The static function to get the instance of this class
+     * The static function to get the instance of this class, which is
+     * created when the class is loaded so that no lock is needed to read it
      *
      * @return the instance of this class
      */
     public static ServerCommonData getInstance() {
-        if (instance == null) {
-            instance = new ServerCommonData();
-            messageModel = new MessageModel();
-        }
         return instance;
     }
 
     /**
-     * The setter function of MessageModel class
+     * The setter function of MessageModel class, which publishes a frozen
+     * copy of the passed message
      *
      * @param messageModel the messageModel to set
      */
     public static void setMessageModel(MessageModel messageModel) {
-        ServerCommonData.messageModel = messageModel;
+        ServerCommonData.messageModel.set(new MessageModel(messageModel).freeze());
     }
 
     /**
-     * The getter function of MessageModel
+     * The getter function of MessageModel. The returned snapshot is frozen,
+     * changes go through {@link #updateMessage(Consumer)}.
      *
      * @return the messageModel to get
      */
     public MessageModel getMessage() {
-        return messageModel;
+        return messageModel.get();
+    }
+
+    /**
+     * Method to change the message. The changes are applied to a copy of the
+     * current snapshot, which then replaces it in one step. If another writer
+     * has published in the meantime, the changes are applied again to its
+     * snapshot, so the update may run more than once and must not have other
+     * side effects.
+     *
+     * @param update changes to apply to the message
+     * @return the published snapshot
+     */
+    public MessageModel updateMessage(Consumer<MessageModel> update) {
+        while (true) {
+            MessageModel current = messageModel.get();
+            MessageModel next = new MessageModel(current);
+            update.accept(next);
+            next.freeze();
+            if (messageModel.compareAndSet(current, next)) {
+                return next;
+            }
+        }
     }
 }
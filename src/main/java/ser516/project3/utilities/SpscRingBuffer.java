@@ -0,0 +1,91 @@
+package ser516.project3.utilities;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The SpscRingBuffer class is a bounded queue for exactly one producer thread
+ * and one consumer thread, which neither locks nor allocates once created.
+ * The capacity is a power of two, so the slot of an element is its index
+ * masked by the capacity. The producer publishes an element by an ordered
+ * write of the tail index after writing the slot, and the consumer frees the
+ * slot by an ordered write of the head index after reading it, so each index
+ * is only written by one of the two threads.
+ *
+ * @param <E> type of the elements
+ * @author vsriva12
+ */
+public class SpscRingBuffer<E> {
+
+    private final Object[] elements;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Creates a buffer holding at least the passed number of elements
+     *
+     * @param capacity minimum number of elements, rounded up to a power of two
+     */
+    public SpscRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        elements = new Object[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Method to add an element at the tail, called by the producer thread only
+     *
+     * @param element element to add, not null
+     * @return false if the buffer is full
+     */
+    public boolean offer(E element) {
+        long index = tail.get();
+        if (index - head.get() == elements.length) {
+            return false;
+        }
+        elements[(int) index & mask] = element;
+        tail.lazySet(index + 1);
+        return true;
+    }
+
+    /**
+     * Method to remove the element at the head, called by the consumer thread
+     * only
+     *
+     * @return the element, or null if the buffer is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long index = head.get();
+        if (index == tail.get()) {
+            return null;
+        }
+        int slot = (int) index & mask;
+        E element = (E) elements[slot];
+        elements[slot] = null;
+        head.lazySet(index + 1);
+        return element;
+    }
+
+    /**
+     * @return the number of elements in the buffer, which may already be out
+     * of date when read by a third thread
+     */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /**
+     * @return true if the buffer holds no element
+     */
+    public boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+
+    /**
+     * @return the number of elements the buffer can hold
+     */
+    public int getCapacity() {
+        return elements.length;
+    }
+}
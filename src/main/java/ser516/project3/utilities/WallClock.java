@@ -0,0 +1,31 @@
+package ser516.project3.utilities;
+
+/**
+ * The WallClock class gives the time since the epoch in microseconds, read
+ * from the monotonic clock and anchored to the system clock once, when the
+ * class is loaded. It is precise enough to time a frame from the tick that
+ * built it to the client that received it: exactly within one JVM, and
+ * within the millisecond the anchors of two JVMs can differ by across
+ * processes of one machine.
+ *
+ * @author vsriva12
+ */
+public class WallClock {
+
+    private static final long ORIGIN_MICROS = System.currentTimeMillis() * 1000;
+    private static final long ORIGIN_NANOS = System.nanoTime();
+
+    /**
+     * Empty constructor, the class only has static methods
+     */
+    private WallClock() {
+
+    }
+
+    /**
+     * @return the time since the epoch in microseconds
+     */
+    public static long currentTimeMicros() {
+        return ORIGIN_MICROS + (System.nanoTime() - ORIGIN_NANOS) / 1000;
+    }
+}
@@ -0,0 +1,86 @@
+package ser516.project3.client.helper;
+
+import org.junit.jupiter.api.Test;
+import ser516.project3.utilities.EventBus;
+import ser516.project3.utilities.EventTopic;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RenderSchedulerTest {
+
+	private static final EventTopic<Integer> TOPIC = EventTopic.coalescing("test");
+
+	@Test
+	void testRendersAreCoalescedIntoDisplayFrames() {
+		long[] now = { 0 };
+		List<long[]> dueTimes = new ArrayList<>();
+		List<Runnable> renders = new ArrayList<>();
+		EventBus eventBus = new EventBus();
+		AtomicInteger notifications = new AtomicInteger();
+		AtomicInteger latest = new AtomicInteger(-1);
+		eventBus.subscribe(TOPIC, event -> {
+			notifications.incrementAndGet();
+			latest.set(event);
+		});
+		RenderScheduler scheduler = new RenderScheduler(20, eventBus, () -> now[0], (render, delayNanos) -> {
+			dueTimes.add(new long[] { now[0] + Math.max(0, delayNanos) });
+			renders.add(render);
+		});
+		eventBus.setFlushRequest(scheduler::requestRender);
+
+		for (int event = 0; event < 300; event++) {
+			now[0] = TimeUnit.MILLISECONDS.toNanos(event);
+			for (int i = renders.size() - 1; i >= 0; i--) {
+				if (dueTimes.get(i)[0] <= now[0]) {
+					dueTimes.remove(i);
+					renders.remove(i).run();
+				}
+			}
+			eventBus.publish(TOPIC, event);
+		}
+		assertEquals(6, scheduler.getRenderCount());
+		assertEquals(6, notifications.get());
+		assertEquals(250, latest.get());
+		assertEquals(1, renders.size());
+		assertEquals(TimeUnit.MILLISECONDS.toNanos(251 + 50), dueTimes.get(0)[0]);
+
+		now[0] = dueTimes.get(0)[0];
+		renders.remove(0).run();
+		assertEquals(7, scheduler.getRenderCount());
+		assertEquals(299, latest.get());
+	}
+
+	@Test
+	void testRendersRunOnTheEventDispatchThread() throws Exception {
+		EventBus eventBus = new EventBus();
+		AtomicInteger notifications = new AtomicInteger();
+		AtomicInteger offEdt = new AtomicInteger();
+		AtomicInteger latest = new AtomicInteger(-1);
+		eventBus.subscribe(TOPIC, event -> {
+			notifications.incrementAndGet();
+			latest.set(event);
+			if (!SwingUtilities.isEventDispatchThread()) {
+				offEdt.incrementAndGet();
+			}
+		});
+		RenderScheduler scheduler = new RenderScheduler(20, eventBus);
+		eventBus.setFlushRequest(scheduler::requestRender);
+		SwingUtilities.invokeAndWait(() -> {
+			for (int event = 0; event < 100; event++) {
+				eventBus.publish(TOPIC, event);
+			}
+		});
+		SwingUtilities.invokeAndWait(() -> { });
+
+		assertEquals(1, scheduler.getRenderCount());
+		assertEquals(1, notifications.get());
+		assertEquals(99, latest.get());
+		assertEquals(0, offEdt.get());
+	}
+}
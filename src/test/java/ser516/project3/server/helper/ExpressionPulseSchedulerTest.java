@@ -0,0 +1,37 @@
+package ser516.project3.server.helper;
+
+import org.junit.jupiter.api.Test;
+
+import ser516.project3.model.MessageModel;
+import ser516.project3.model.MessageModel.ConcreteExpression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpressionPulseSchedulerTest {
+
+	@Test
+	void testPulseIsInExactNumberOfFrames() {
+		ExpressionPulseScheduler scheduler = new ExpressionPulseScheduler();
+		MessageModel message = new MessageModel();
+		assertFalse(scheduler.isActive());
+		scheduler.pulse(ConcreteExpression.blink, 3);
+		scheduler.pulse(ConcreteExpression.lookingLeft, 1);
+		int blinkFrames = 0;
+		int lookingLeftFrames = 0;
+		for (int frame = 0; frame < 10; frame++) {
+			scheduler.advance();
+			scheduler.applyTo(message);
+			scheduler.applyTo(message);
+			blinkFrames += message.getConcreteExpression(ConcreteExpression.blink) ? 1 : 0;
+			lookingLeftFrames += message.getConcreteExpression(ConcreteExpression.lookingLeft) ? 1 : 0;
+			if (frame == 0) {
+				assertTrue(message.getConcreteExpression(ConcreteExpression.blink));
+			}
+		}
+		assertEquals(3, blinkFrames);
+		assertEquals(1, lookingLeftFrames);
+		assertFalse(scheduler.isActive());
+	}
+}
@@ -0,0 +1,85 @@
+package ser516.project3.server.helper;
+
+import org.junit.jupiter.api.Test;
+
+import ser516.project3.model.ExpressionTimelineModel;
+import ser516.project3.model.MessageModel;
+import ser516.project3.utilities.ChannelSchemaRegistry;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpressionTimelinePlayerTest {
+
+	@Test
+	void testRampPulseAndLoop() {
+		ExpressionTimelineModel timeline = parse("loop 4", "at 0 smile ramp 1 2", "at 1 lookingLeft pulse 0.5 # glance");
+		ExpressionTimelinePlayer player = new ExpressionTimelinePlayer(timeline);
+		MessageModel message = new MessageModel();
+		double[] smile = new double[8];
+		boolean[] lookingLeft = new boolean[8];
+		for (int tick = 0; tick < 8; tick++) {
+			player.advance(500_000, message);
+			player.applyTo(message);
+			smile[tick] = message.getAbstractExpression(MessageModel.AbstractExpression.smile);
+			lookingLeft[tick] = message.getConcreteExpression(MessageModel.ConcreteExpression.lookingLeft);
+		}
+		assertEquals(0.25, smile[0], 1e-9);
+		assertEquals(1.0, smile[3], 1e-9);
+		assertEquals(1.0, smile[6], 1e-9);
+		assertTrue(lookingLeft[1]);
+		assertFalse(lookingLeft[2]);
+		assertEquals("smile", message.getSelectionFlag(MessageModel.SelectedCriteria.lowerFace));
+
+		player.advance(500_000, message);
+		player.applyTo(message);
+		assertEquals(1.0, message.getAbstractExpression(MessageModel.AbstractExpression.smile), 1e-9);
+		assertEquals(4_000_000, timeline.getLoopMicros());
+	}
+
+	@Test
+	void testRepeatedKeyframesAreSeededAndSorted() {
+		ExpressionTimelineModel first = parse("loop 60", "seed 7", "every 3..5 blink pulse 0.15");
+		ExpressionTimelineModel second = parse("loop 60", "seed 7", "every 3..5 blink pulse 0.15");
+		assertTrue(first.getKeyframeCount() >= 2 * 60 / 5);
+		for (int i = 0; i < first.getKeyframeCount(); i++) {
+			assertEquals(first.getTime(i), second.getTime(i));
+			if (i > 0) {
+				assertTrue(first.getTime(i) >= first.getTime(i - 1));
+			}
+		}
+		assertThrows(IllegalArgumentException.class, () -> parse("at 1 frown set 1"));
+		assertThrows(IllegalArgumentException.class, () -> parse("at 1 smile wiggle 1"));
+		assertThrows(IllegalArgumentException.class, () -> parse("every 5..3 blink pulse 0.1", "loop 10"));
+	}
+
+	@Test
+	void testShortLoopsAreRejectedOrClamped() {
+		assertThrows(IllegalArgumentException.class, () -> parse("loop 0.01", "at 0 smile set 1"));
+		assertEquals(100_000, parse("at 0 smile set 1").getLoopMicros());
+		assertEquals(100_000, parse().getLoopMicros());
+		assertThrows(IllegalArgumentException.class, () -> parse("every 1 blink pulse 0.1"));
+	}
+
+	@Test
+	void testLongTickWrapsTheLoopOnce() {
+		ExpressionTimelineModel timeline = parse("loop 1", "at 0 smile set 1", "at 0.5 smile set 0");
+		ExpressionTimelinePlayer player = new ExpressionTimelinePlayer(timeline);
+		MessageModel message = new MessageModel();
+		player.advance(10_250_000, message);
+		player.applyTo(message);
+		assertEquals(1.0, message.getAbstractExpression(MessageModel.AbstractExpression.smile), 1e-9);
+		player.advance(500_000, message);
+		player.applyTo(message);
+		assertEquals(0.0, message.getAbstractExpression(MessageModel.AbstractExpression.smile), 1e-9);
+	}
+
+	private static ExpressionTimelineModel parse(String... lines) {
+		return ExpressionTimelineModel.parse("test", Arrays.asList(lines),
+				ChannelSchemaRegistry.getInstance()::getChannelId);
+	}
+}
@@ -0,0 +1,52 @@
+package ser516.project3.server.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HeadlessServerConfigurationTest {
+
+	@Test
+	void testArgumentsOverrideFile() throws Exception {
+		Path file = Files.createTempFile("headless", ".properties");
+		try {
+			Files.write(file, Arrays.asList("ser516.server.host=0.0.0.0", "ser516.server.port=2000",
+					"ser516.server.maxSessions=50", "ser516.server.queue.capacity=8"), StandardCharsets.ISO_8859_1);
+			HeadlessServerConfiguration configuration = HeadlessServerConfiguration.fromArguments(new String[]{
+					"--config", file.toString(), "--port=3000", "--interval", "0.01", "--profile", "static"});
+			assertEquals("0.0.0.0", configuration.getBindAddress());
+			assertEquals(3000, configuration.getPort());
+			assertEquals(0.01, configuration.getInterval());
+			assertEquals("static", configuration.getProfile());
+			assertEquals(50, configuration.getMaxSessions());
+			assertEquals("8", configuration.getSystemProperties().getProperty("ser516.server.queue.capacity"));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	void testDefaultsAndInvalidArguments() throws Exception {
+		HeadlessServerConfiguration configuration = HeadlessServerConfiguration.fromArguments(new String[0]);
+		assertEquals("localhost", configuration.getBindAddress());
+		assertEquals(1516, configuration.getPort());
+		assertEquals("eeg", configuration.getProfile());
+		assertEquals(0, configuration.getMaxSessions());
+		assertThrows(IllegalArgumentException.class,
+				() -> HeadlessServerConfiguration.fromArguments(new String[]{"--port", "70000"}));
+		assertThrows(IllegalArgumentException.class,
+				() -> HeadlessServerConfiguration.fromArguments(new String[]{"--interval", "0"}));
+		assertThrows(IllegalArgumentException.class,
+				() -> HeadlessServerConfiguration.fromArguments(new String[]{"--profile", "fractal"}));
+		assertThrows(IllegalArgumentException.class,
+				() -> HeadlessServerConfiguration.fromArguments(new String[]{"--unknown", "1"}));
+		assertThrows(IllegalArgumentException.class,
+				() -> HeadlessServerConfiguration.fromArguments(new String[]{"--port"}));
+	}
+}
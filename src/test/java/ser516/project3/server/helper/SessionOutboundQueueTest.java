@@ -0,0 +1,202 @@
+package ser516.project3.server.helper;
+
+import org.junit.jupiter.api.Test;
+
+import ser516.project3.constants.ServerConstants;
+import ser516.project3.server.helper.SessionOutboundQueue.OverflowPolicy;
+import ser516.project3.utilities.DeltaMessageCodec;
+
+import javax.websocket.CloseReason;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionOutboundQueueTest {
+
+	/**
+	 * Session whose writes only complete when the test says so, like a
+	 * client which has stopped reading
+	 */
+	private static class StalledSession {
+		final List<Object> written = new ArrayList<>();
+		final List<SendHandler> pending = new ArrayList<>();
+		final Map<String, Object> userProperties = new HashMap<>();
+		CloseReason closeReason;
+		final Session session;
+
+		StalledSession() {
+			RemoteEndpoint.Async async = (RemoteEndpoint.Async) Proxy.newProxyInstance(getClass().getClassLoader(),
+					new Class<?>[]{RemoteEndpoint.Async.class}, (proxy, method, args) -> {
+						written.add(args[0]);
+						pending.add((SendHandler) args[1]);
+						return null;
+					});
+			session = (Session) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Session.class},
+					(proxy, method, args) -> {
+						switch (method.getName()) {
+							case "getAsyncRemote":
+								return async;
+							case "getUserProperties":
+								return userProperties;
+							case "getId":
+								return "stalled";
+							case "close":
+								closeReason = (CloseReason) args[0];
+								return null;
+							default:
+								return null;
+						}
+					});
+		}
+
+		void completeOne() {
+			pending.remove(0).onResult(new SendResult());
+		}
+	}
+
+	@Test
+	void testDropOldestKeepsLatestMessages() {
+		StalledSession stalled = new StalledSession();
+		SessionOutboundQueue queue = new SessionOutboundQueue(stalled.session, 3, OverflowPolicy.DROP_OLDEST, 1);
+		for (int i = 0; i < 10; i++) {
+			queue.offer("m" + i);
+		}
+		assertEquals(1, stalled.written.size());
+		assertEquals(3, queue.getDepth());
+		assertEquals(6, queue.getDroppedMessageCount());
+		for (int i = 0; i < 3; i++) {
+			stalled.completeOne();
+		}
+		assertEquals("[m0, m7, m8, m9]", stalled.written.toString());
+		assertNull(stalled.closeReason);
+	}
+
+	@Test
+	void testConflateKeepsOnlyLatestMessage() {
+		StalledSession stalled = new StalledSession();
+		SessionOutboundQueue queue = new SessionOutboundQueue(stalled.session, 2, OverflowPolicy.CONFLATE, 1);
+		for (int i = 0; i < 4; i++) {
+			queue.offer("m" + i);
+		}
+		assertEquals(1, queue.getDepth());
+		stalled.completeOne();
+		stalled.completeOne();
+		assertEquals("[m0, m3]", stalled.written.toString());
+	}
+
+	@Test
+	void testDisconnectAfterMaxOverflows() {
+		StalledSession stalled = new StalledSession();
+		SessionOutboundQueue queue = new SessionOutboundQueue(stalled.session, 2, OverflowPolicy.DISCONNECT, 3);
+		for (int i = 0; i < 5; i++) {
+			queue.offer("m" + i);
+		}
+		assertNull(stalled.closeReason);
+		queue.offer("m5");
+		assertNotNull(stalled.closeReason);
+		assertEquals(CloseReason.CloseCodes.TRY_AGAIN_LATER, stalled.closeReason.getCloseCode());
+		queue.offer("m6");
+		assertEquals(0, queue.getDepth());
+	}
+
+	@Test
+	void testLosslessMessagesAreNeverDropped() {
+		StalledSession stalled = new StalledSession();
+		SessionOutboundQueue queue = new SessionOutboundQueue(stalled.session, 3, OverflowPolicy.CONFLATE, 1);
+		queue.offerLossless("schema");
+		queue.offer("m0");
+		queue.offerLossless("s0");
+		queue.offer("m1");
+		queue.offerLossless("s1");
+		queue.offer("m2");
+		assertEquals(3, queue.getDepth());
+		for (int i = 0; i < 3; i++) {
+			stalled.completeOne();
+		}
+		assertEquals("[schema, s0, s1, m2]", stalled.written.toString());
+		assertNull(stalled.closeReason);
+	}
+
+	@Test
+	void testQueueFullOfLosslessMessagesIsClosed() {
+		StalledSession stalled = new StalledSession();
+		SessionOutboundQueue queue = new SessionOutboundQueue(stalled.session, 2, OverflowPolicy.DROP_OLDEST, 1);
+		for (int i = 0; i < 3; i++) {
+			queue.offerLossless("s" + i);
+		}
+		queue.offer("m0");
+		assertEquals(1, queue.getDroppedMessageCount());
+		assertNull(stalled.closeReason);
+		queue.offerLossless("s3");
+		assertNotNull(stalled.closeReason);
+	}
+
+	@Test
+	void testStatefulCodecDropsQueuedFramesOnResync() {
+		StalledSession stalled = new StalledSession();
+		DeltaMessageCodec codec = new DeltaMessageCodec();
+		stalled.userProperties.put(ServerConstants.CODEC_PARAMETER, codec);
+		codec.open(stalled.session);
+		AtomicBoolean needsKeyframe = (AtomicBoolean) stalled.userProperties.get(ServerConstants.NEEDS_KEYFRAME);
+		needsKeyframe.set(false);
+		SessionOutboundQueue queue = new SessionOutboundQueue(stalled.session, 3, OverflowPolicy.DROP_OLDEST, 1);
+		queue.offer("k0");
+		queue.offer("d1");
+		queue.offerLossless("s0");
+		queue.offer("d2");
+		queue.offer("d3");
+		assertTrue(needsKeyframe.get());
+		assertEquals(1, queue.getDepth());
+		assertEquals(3, queue.getDroppedMessageCount());
+
+		needsKeyframe.set(false);
+		queue.offer("k4");
+		queue.offer("d5");
+		queue.resync();
+		assertTrue(needsKeyframe.get());
+		queue.offer("k6");
+		for (int i = 0; i < 2; i++) {
+			stalled.completeOne();
+		}
+		assertEquals("[k0, s0, k6]", stalled.written.toString());
+	}
+
+	@Test
+	void testOverflowsAreCountedOverWindow() {
+		StalledSession stalled = new StalledSession();
+		long[] now = { 0 };
+		SessionOutboundQueue queue = new SessionOutboundQueue(stalled.session, 1, OverflowPolicy.DISCONNECT, 3,
+				1000, () -> now[0]);
+		queue.offer("m0");
+		queue.offer("m1");
+		for (int i = 2; i < 10; i++) {
+			now[0] += 600;
+			queue.offer("m" + i);
+		}
+		queue.offer("m10");
+		assertNull(stalled.closeReason);
+		assertEquals(9, queue.getOverflowCount());
+		queue.offer("m11");
+		assertNotNull(stalled.closeReason);
+	}
+
+	@Test
+	void testPolicyNames() {
+		assertEquals(OverflowPolicy.DROP_OLDEST, OverflowPolicy.fromName("drop-oldest"));
+		assertEquals(OverflowPolicy.CONFLATE, OverflowPolicy.fromName("conflate"));
+		assertEquals(OverflowPolicy.DISCONNECT, OverflowPolicy.fromName("DISCONNECT"));
+		assertEquals(OverflowPolicy.DROP_OLDEST, OverflowPolicy.fromName("unknown"));
+	}
+}
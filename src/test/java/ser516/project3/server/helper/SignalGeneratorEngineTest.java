@@ -0,0 +1,81 @@
+package ser516.project3.server.helper;
+
+import org.junit.jupiter.api.Test;
+
+import ser516.project3.model.SignalGeneratorModel;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SignalGeneratorEngineTest {
+
+	private static final String[] SPECS = {"manual", "sine:frequency=2", "walk:step=0.5", "pink", "steps",
+			"markov:rate=5"};
+
+	@Test
+	void testSameSeedProducesSameValues() {
+		SignalGeneratorEngine first = createEngine(4, 516);
+		SignalGeneratorEngine second = createEngine(4, 516);
+		SignalGeneratorEngine otherSeed = createEngine(4, 517);
+		double[] firstValues = new double[SPECS.length];
+		double[] secondValues = new double[SPECS.length];
+		double[] otherValues = new double[SPECS.length];
+		boolean differs = false;
+		for (int tick = 0; tick < 2000; tick++) {
+			first.advance(10_000);
+			second.advance(10_000);
+			otherSeed.advance(10_000);
+			for (int subject = 0; subject < 4; subject++) {
+				first.copyValues(subject, firstValues);
+				second.copyValues(subject, secondValues);
+				otherSeed.copyValues(subject, otherValues);
+				assertArrayEquals(firstValues, secondValues);
+				differs |= firstValues[2] != otherValues[2];
+				assertTrue(Double.isNaN(firstValues[0]));
+				for (int channel = 1; channel < SPECS.length; channel++) {
+					assertTrue(firstValues[channel] >= 0 && firstValues[channel] <= 1, SPECS[channel]);
+				}
+			}
+		}
+		assertTrue(differs);
+	}
+
+	@Test
+	void testStepsAndMarkovLevels() {
+		SignalGeneratorEngine engine = new SignalGeneratorEngine(1, 2, 1);
+		engine.configure(0, SignalGeneratorModel.parse("steps:levels=0.1/0.9,duration=1"));
+		engine.configure(1, SignalGeneratorModel.parse("markov:levels=0.3/0.7,rate=1000,noise=0,smoothing=0"));
+		assertTrue(engine.isGenerating());
+		engine.advance(500_000);
+		assertEquals(0.1, engine.getValue(0, 0));
+		engine.advance(500_000);
+		assertEquals(0.9, engine.getValue(0, 0));
+		double markov = engine.getValue(0, 1);
+		assertTrue(markov == 0.3 || markov == 0.7);
+		engine.configure(0, SignalGeneratorModel.MANUAL);
+		engine.configure(1, SignalGeneratorModel.MANUAL);
+		assertFalse(engine.isGenerating());
+	}
+
+	@Test
+	void testGeneratorSpecRoundTrip() {
+		SignalGeneratorModel generator = SignalGeneratorModel.parse(" markov : levels=0.1/0.4, rate=2");
+		assertEquals(SignalGeneratorModel.Type.MARKOV, generator.getType());
+		assertArrayEquals(new double[]{0.1, 0.4}, generator.getLevels());
+		assertEquals(generator, SignalGeneratorModel.parse(generator.toString()));
+		assertThrows(IllegalArgumentException.class, () -> SignalGeneratorModel.parse("square"));
+		assertThrows(IllegalArgumentException.class, () -> SignalGeneratorModel.parse("sine:speed=2"));
+		assertThrows(IllegalArgumentException.class, () -> SignalGeneratorModel.parse("steps:duration=0"));
+	}
+
+	private static SignalGeneratorEngine createEngine(int subjectCount, long seed) {
+		SignalGeneratorEngine engine = new SignalGeneratorEngine(subjectCount, SPECS.length, seed);
+		for (int channel = 0; channel < SPECS.length; channel++) {
+			engine.configure(channel, SignalGeneratorModel.parse(SPECS[channel]));
+		}
+		return engine;
+	}
+}
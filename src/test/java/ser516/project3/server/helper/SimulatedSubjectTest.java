@@ -0,0 +1,50 @@
+package ser516.project3.server.helper;
+
+import org.junit.jupiter.api.Test;
+
+import ser516.project3.model.MessageModel;
+import ser516.project3.model.MessageModel.Emotion;
+import ser516.project3.model.SignalGeneratorModel;
+import ser516.project3.utilities.EncodedFrame;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimulatedSubjectTest {
+
+	@Test
+	void testSubjectsHaveTheirOwnEmotionsAndTimeStamps() {
+		SignalGeneratorEngine engine = new SignalGeneratorEngine(3, Emotion.values().length, 516);
+		engine.configure(Emotion.interest.ordinal(), SignalGeneratorModel.parse("walk"));
+		MessageModel reference = new MessageModel();
+		reference.setInterval(0.5);
+		reference.setEmotion(Emotion.stress, 0.75);
+		reference.freeze();
+		SimulatedSubject first = new SimulatedSubject(1, 3, reference);
+		SimulatedSubject second = new SimulatedSubject(2, 3, reference);
+		double[] emotions = new double[3 * Emotion.values().length];
+
+		for (int tick = 0; tick < 4; tick++) {
+			engine.advance(reference.getIntervalMicros());
+			engine.copyValues(emotions);
+			EncodedFrame frame = first.nextFrame(reference, emotions, null, 3);
+			second.nextFrame(reference, emotions, null, 3);
+			assertEquals(tick + 1, frame.getSequence());
+			assertEquals(tick == 0 || (tick + 1) % 3 == 0, frame.isKeyframe());
+			assertEquals(tick * 500_000L, frame.getMessageModel().getTimeStampMicros());
+		}
+		assertEquals(engine.getValue(1, Emotion.interest.ordinal()), first.getMessage().getEmotion(Emotion.interest));
+		assertEquals(engine.getValue(2, Emotion.interest.ordinal()), second.getMessage().getEmotion(Emotion.interest));
+		assertNotEquals(first.getMessage().getEmotion(Emotion.interest),
+				second.getMessage().getEmotion(Emotion.interest));
+		assertEquals(0.75, first.getMessage().getEmotion(Emotion.stress));
+		assertTrue(first.getMessage().isFrozen());
+
+		first.flush();
+		assertEquals(4, first.getBatch().getFrames().size());
+		first.flush();
+		assertNull(first.getBatch());
+	}
+}
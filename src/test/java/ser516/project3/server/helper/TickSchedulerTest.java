@@ -0,0 +1,72 @@
+package ser516.project3.server.helper;
+
+import org.junit.jupiter.api.Test;
+
+import ser516.project3.model.MessageModel;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TickSchedulerTest {
+
+	private static final long PERIOD = TimeUnit.MILLISECONDS.toNanos(1);
+
+	@Test
+	void testFixedRateDoesNotDriftWithSlowTask() {
+		long[] now = { 0 };
+		TickScheduler scheduler = new TickScheduler("test-tick", () -> PERIOD, () -> now[0] += 300000,
+				() -> now[0]);
+		long start = scheduler.startTicks();
+		long deadline = start;
+		for (int i = 0; i < 1000; i++) {
+			now[0] = deadline + 20000;
+			deadline = scheduler.runTick(deadline);
+			assertEquals(start + (i + 1) * PERIOD, deadline);
+		}
+		assertEquals(1000, scheduler.getTickCount());
+		assertEquals(0, scheduler.getMissedTickCount());
+		assertEquals(20.0, scheduler.getMeanJitterMicros());
+		assertEquals(20.0, scheduler.getMaxJitterMicros());
+	}
+
+	@Test
+	void testOverrunSkipsMissedTicks() {
+		long[] now = { 0 };
+		TickScheduler scheduler = new TickScheduler("test-tick", () -> PERIOD, () -> now[0] += 3500000,
+				() -> now[0]);
+		long deadline = scheduler.startTicks();
+		now[0] = deadline;
+		long next = scheduler.runTick(deadline);
+		assertEquals(2, scheduler.getMissedTickCount());
+		assertEquals(deadline + 3 * PERIOD, next);
+		assertTrue(now[0] - next < PERIOD);
+	}
+
+	@Test
+	void testNoTickRunsAfterStop() throws Exception {
+		AtomicLong ticks = new AtomicLong();
+		TickScheduler scheduler = new TickScheduler("test-tick", () -> PERIOD, ticks::incrementAndGet);
+		scheduler.start();
+		while (ticks.get() < 5) {
+			Thread.sleep(1);
+		}
+		scheduler.stop();
+		long stopped = ticks.get();
+		assertEquals(stopped, scheduler.getTickCount());
+		Thread.sleep(20);
+		assertEquals(stopped, ticks.get());
+	}
+
+	@Test
+	void testTimeStampDoesNotAccumulateErrors() {
+		MessageModel message = new MessageModel();
+		message.setInterval(0.1);
+		for (int i = 0; i < 1000000; i++) {
+			message.setTimeStampMicros(message.getTimeStampMicros() + message.getIntervalMicros());
+		}
+		assertEquals(100000.0, message.getTimeStamp());
+	}
+}
@@ -0,0 +1,79 @@
+package ser516.project3.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChannelHistoryTest {
+
+	private static void append(ChannelHistory history, double timestamp) {
+		history.append(timestamp, new double[] { timestamp * 10, timestamp * 100 });
+	}
+
+	@Test
+	void testRetentionBySamples() {
+		ChannelHistory history = new ChannelHistory(2, 5);
+		assertEquals(16, history.getCapacity());
+		assertEquals(0, history.window().size());
+		for (int timestamp = 1; timestamp <= 100; timestamp++) {
+			append(history, timestamp);
+		}
+		ChannelHistory.Window window = history.window();
+		assertEquals(5, window.size());
+		assertEquals(2, window.getChannelCount());
+		assertEquals(96, window.getTimestamp(0));
+		assertEquals(960, window.getValue(0, 0));
+		assertEquals(10000, window.getValue(1, 4));
+		assertEquals(100, window.getLatestTimestamp());
+		assertEquals(16, history.getCapacity());
+	}
+
+	@Test
+	void testRetentionBySeconds() {
+		ChannelHistory history = new ChannelHistory(2, 1000, 2.5);
+		for (int i = 0; i <= 100; i++) {
+			append(history, i * 0.5);
+		}
+		ChannelHistory.Window window = history.window();
+		assertEquals(6, window.size());
+		assertEquals(47.5, window.getTimestamp(0));
+		assertEquals(50, window.getLatestTimestamp());
+	}
+
+	@Test
+	void testEarlierTimestampStartsNewSession() {
+		ChannelHistory history = new ChannelHistory(2, 10);
+		for (int timestamp = 1; timestamp <= 5; timestamp++) {
+			append(history, timestamp);
+		}
+		append(history, 0);
+		append(history, 1);
+		ChannelHistory.Window window = history.window();
+		assertEquals(2, window.size());
+		assertEquals(0, window.getTimestamp(0));
+
+		history.clear();
+		assertEquals(0, history.window().size());
+	}
+
+	@Test
+	void testWindowIsIntactUntilRetentionIsOverwritten() {
+		ChannelHistory history = new ChannelHistory(2, 8);
+		for (int timestamp = 1; timestamp <= 8; timestamp++) {
+			append(history, timestamp);
+		}
+		ChannelHistory.Window window = history.window();
+		for (int timestamp = 9; timestamp <= 16; timestamp++) {
+			append(history, timestamp);
+		}
+		assertTrue(window.isIntact());
+		assertEquals(1, window.getTimestamp(0));
+		assertEquals(80, window.getValue(0, 7));
+
+		append(history, 17);
+		assertFalse(window.isIntact());
+		assertEquals(8, history.window().size());
+	}
+}
@@ -0,0 +1,68 @@
+package ser516.project3.utilities;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ser516.project3.constants.ServerConstants;
+import ser516.project3.model.ChannelSchemaModel;
+import ser516.project3.model.MessageModel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChannelSchemaTest {
+
+	private ChannelSchemaModel savedSchema;
+
+	@BeforeEach
+	void setUp() {
+		savedSchema = ChannelSchemaRegistry.getInstance().getSchema();
+	}
+
+	@AfterEach
+	void tearDown() {
+		ChannelSchemaRegistry.getInstance().setSchema(savedSchema);
+	}
+
+	@Test
+	void testSchemaRoundTrip() throws Exception {
+		ChannelSchemaRegistry registry = ChannelSchemaRegistry.getInstance();
+		registry.registerChannels("battery, contactQuality.AF3:contactQuality");
+		int battery = registry.getChannelId("battery");
+		assertTrue(battery >= MessageModel.FIRST_EXTRA_CHANNEL_ID);
+		assertEquals(battery, registry.register("battery", ServerConstants.DEVICE_GROUP));
+		assertEquals(MessageModel.CONCRETE_EXPRESSION_CHANNEL_ID, registry.getChannelId("blink"));
+
+		String payload = ChannelSchemaEncoder.encodeSchema(registry.getSchema());
+		ChannelSchemaDecoder decoder = new ChannelSchemaDecoder();
+		assertTrue(decoder.willDecode(payload));
+		ChannelSchemaModel schema = decoder.decode(payload);
+		assertEquals(registry.getSchema().getChannels().toString(), schema.getChannels().toString());
+		assertEquals(ServerConstants.DEVICE_GROUP, schema.getChannel(battery).getGroup());
+		assertEquals(1, schema.getChannels("contactQuality").size());
+		assertEquals(6, schema.getChannels(ServerConstants.EMOTION_GROUP).size());
+	}
+
+	@Test
+	void testExtraChannelsInEveryCodec() throws Exception {
+		int quality = ChannelSchemaRegistry.getInstance().register("contactQuality.F3", ServerConstants.DEVICE_GROUP);
+		MessageModel first = new MessageModel();
+		first.setEmotion("focus", 0.3);
+		first.setChannelValue(quality, 0.75);
+		first.setSequence(1);
+		MessageModel second = new MessageModel(first);
+		second.setTimeStamp(0.5);
+		second.setSequence(2);
+		second.setChannelValue(quality, 0.5);
+
+		assertEquals(0.3, first.getChannelValue(MessageModel.EMOTION_CHANNEL_ID + MessageModel.Emotion.focus.ordinal()));
+		assertEquals(first.toString(), new MessageDecoder().decode(MessageEncoder.encodeMessage(first)).toString());
+		assertEquals(first.toString(), new MessageBinaryDecoder().decode(new EncodedFrame(first).getBinary()).toString());
+
+		MessageDeltaDecoder deltaDecoder = new MessageDeltaDecoder();
+		assertEquals(first.toString(), deltaDecoder.decode(new EncodedFrame(1, first, null).getDelta()).toString());
+		assertEquals(second.toString(), deltaDecoder.decode(new EncodedFrame(2, second, first).getDelta()).toString());
+	}
+
+}
@@ -0,0 +1,43 @@
+package ser516.project3.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import ser516.project3.model.MessageBatchModel;
+import ser516.project3.model.MessageModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EncodedBatchTest {
+
+	@Test
+	void testBatchRoundTrip() throws Exception {
+		List<EncodedFrame> frames = new ArrayList<EncodedFrame>();
+		for (int i = 0; i < 3; i++) {
+			MessageModel messageModel = new MessageModel();
+			messageModel.setTimeStamp(i);
+			messageModel.setEmotion("relaxation", i / 10.0);
+			frames.add(new EncodedFrame(messageModel));
+		}
+		EncodedBatch batch = new EncodedBatch(frames);
+
+		MessageBatchDecoder textDecoder = new MessageBatchDecoder();
+		assertTrue(textDecoder.willDecode(batch.getText()));
+		MessageBatchModel textBatch = textDecoder.decode(batch.getText());
+
+		MessageBinaryBatchDecoder binaryDecoder = new MessageBinaryBatchDecoder();
+		assertTrue(binaryDecoder.willDecode(batch.getBinary()));
+		MessageBatchModel binaryBatch = binaryDecoder.decode(batch.getBinary());
+
+		assertEquals(3, textBatch.getMessages().size());
+		assertEquals(3, binaryBatch.getMessages().size());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(frames.get(i).getMessageModel().toString(), textBatch.getMessages().get(i).toString());
+			assertEquals(frames.get(i).getMessageModel().toString(), binaryBatch.getMessages().get(i).toString());
+		}
+	}
+
+}
@@ -0,0 +1,131 @@
+package ser516.project3.utilities;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ser516.project3.model.MessageModel;
+import ser516.project3.model.MessageModel.AbstractExpression;
+import ser516.project3.model.MessageModel.ConcreteExpression;
+import ser516.project3.model.MessageModel.Emotion;
+import ser516.project3.model.MessageModel.SelectedCriteria;
+
+import javax.json.Json;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.websocket.EncodeException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of one broadcast tick when every session encodes the
+ * message itself, as sendObject did with the former {@link MessageEncoder},
+ * against encoding it once into an {@link EncodedFrame} shared by all the
+ * sessions. Run with the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodedFrameBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int sessions;
+
+    private MessageModel messageModel;
+
+    @Setup
+    public void setup() {
+        messageModel = new MessageModel();
+        messageModel.setInterval(0.5);
+        messageModel.setTimeStamp(12.5);
+        for (SelectedCriteria selectedCriteria : SelectedCriteria.values()) {
+            messageModel.setSelectionFlag(selectedCriteria.name(), "");
+        }
+        for (Emotion emotion : Emotion.values()) {
+            messageModel.setEmotion(emotion.name(), 0.25);
+        }
+        for (AbstractExpression abstractExpression : AbstractExpression.values()) {
+            messageModel.setAbstractExpression(abstractExpression.name(), 0.5);
+        }
+        for (ConcreteExpression concreteExpression : ConcreteExpression.values()) {
+            messageModel.setConcreteExpression(concreteExpression.name(), true);
+        }
+    }
+
+    /**
+     * Encodes the model the way MessageEncoder did before the frames were
+     * shared, creating a builder factory and looking every value up by name
+     * for each session
+     *
+     * @param messageModel model to be encoded
+     * @return the encoded model
+     */
+    private static String encodeForSession(MessageModel messageModel) {
+        Map<String, Object> config = new HashMap<String, Object>();
+        JsonBuilderFactory factory = Json.createBuilderFactory(config);
+
+        JsonObject timeAttributes = factory.createObjectBuilder().add("Interval", messageModel.getInterval())
+                .add("TimeStamp", messageModel.getTimeStamp()).build();
+        JsonObjectBuilder selectionFlagBuilder = factory.createObjectBuilder();
+        for (SelectedCriteria selectionFlag : SelectedCriteria.values()) {
+            selectionFlagBuilder.add(selectionFlag.name(), messageModel.getSelectionFlag(selectionFlag.name()));
+        }
+        JsonObjectBuilder expressionBuilder = factory.createObjectBuilder();
+        for (AbstractExpression aex : AbstractExpression.values()) {
+            expressionBuilder.add(aex.name(), messageModel.getAbstractExpression(aex.name()));
+        }
+        for (ConcreteExpression cex : ConcreteExpression.values()) {
+            expressionBuilder.add(cex.name(), messageModel.getConcreteExpression(cex.name()));
+        }
+        JsonObjectBuilder emotionBuilder = factory.createObjectBuilder();
+        for (Emotion em : Emotion.values()) {
+            emotionBuilder.add(em.name(), messageModel.getEmotion(em.name()));
+        }
+        return Json.createObjectBuilder().add("Time-Attributes", timeAttributes)
+                .add("Selection-Flags", selectionFlagBuilder.build()).add("Expression", expressionBuilder.build())
+                .add("Emotion", emotionBuilder.build()).build().toString();
+    }
+
+    @Benchmark
+    public void encodePerSession(Blackhole blackhole) {
+        for (int i = 0; i < sessions; i++) {
+            blackhole.consume(encodeForSession(messageModel));
+        }
+    }
+
+    @Benchmark
+    public void encodeOnceText(Blackhole blackhole) throws EncodeException {
+        EncodedFrame frame = new EncodedFrame(messageModel);
+        for (int i = 0; i < sessions; i++) {
+            blackhole.consume(frame.getText());
+        }
+    }
+
+    @Benchmark
+    public void encodeOnceBinary(Blackhole blackhole) throws EncodeException {
+        EncodedFrame frame = new EncodedFrame(messageModel);
+        for (int i = 0; i < sessions; i++) {
+            blackhole.consume(frame.getBinary());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EncodedFrameBenchmark.class.getSimpleName()).build()).run();
+    }
+}
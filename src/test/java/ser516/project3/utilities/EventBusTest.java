@@ -0,0 +1,96 @@
+package ser516.project3.utilities;
+
+import org.junit.jupiter.api.Test;
+import ser516.project3.interfaces.EventListenerInterface;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventBusTest {
+
+	private static final EventTopic<String> IMMEDIATE = EventTopic.immediate("immediate");
+	private static final EventTopic<String> COALESCING = EventTopic.coalescing("coalescing");
+
+	@Test
+	void testImmediateEventsAreDeliveredWhenPublished() {
+		EventBus eventBus = new EventBus();
+		List<String> received = new ArrayList<>();
+		eventBus.subscribe(IMMEDIATE, received::add);
+		eventBus.publish(IMMEDIATE, "a");
+		eventBus.publish(IMMEDIATE, "b");
+		assertEquals(2, received.size());
+		assertEquals("b", received.get(1));
+	}
+
+	@Test
+	void testCoalescingEventsDeliverTheLatestOnFlush() {
+		EventBus eventBus = new EventBus();
+		AtomicInteger flushRequests = new AtomicInteger();
+		eventBus.setFlushRequest(flushRequests::incrementAndGet);
+		List<String> received = new ArrayList<>();
+		eventBus.subscribe(COALESCING, received::add);
+		eventBus.publish(COALESCING, "a");
+		eventBus.publish(COALESCING, "b");
+		eventBus.publish(COALESCING, "c");
+		assertTrue(received.isEmpty());
+		assertEquals(1, flushRequests.get());
+
+		eventBus.flush();
+		assertEquals(1, received.size());
+		assertEquals("c", received.get(0));
+
+		eventBus.flush();
+		assertEquals(1, received.size());
+		eventBus.publish(COALESCING, "d");
+		assertEquals(2, flushRequests.get());
+	}
+
+	@Test
+	void testListenerIsCalledThroughItsExecutor() {
+		EventBus eventBus = new EventBus();
+		List<Runnable> tasks = new ArrayList<>();
+		List<String> received = new ArrayList<>();
+		eventBus.subscribe(IMMEDIATE, received::add, tasks::add);
+		eventBus.publish(IMMEDIATE, "a");
+		assertTrue(received.isEmpty());
+		assertEquals(1, tasks.size());
+		tasks.get(0).run();
+		assertEquals("a", received.get(0));
+	}
+
+	@Test
+	void testFailingListenerDoesNotStopTheOthers() {
+		EventBus eventBus = new EventBus();
+		List<String> received = new ArrayList<>();
+		eventBus.subscribe(IMMEDIATE, event -> {
+			throw new IllegalStateException(event);
+		});
+		eventBus.subscribe(IMMEDIATE, received::add);
+		eventBus.publish(IMMEDIATE, "a");
+		assertEquals(1, received.size());
+	}
+
+	@Test
+	void testUnsubscribedListenerReceivesNothing() {
+		EventBus eventBus = new EventBus();
+		AtomicInteger flushRequests = new AtomicInteger();
+		eventBus.setFlushRequest(flushRequests::incrementAndGet);
+		List<String> received = new ArrayList<>();
+		EventListenerInterface<String> listener = received::add;
+		assertFalse(eventBus.hasListeners(COALESCING));
+		eventBus.subscribe(COALESCING, listener);
+		assertTrue(eventBus.hasListeners(COALESCING));
+		assertTrue(eventBus.unsubscribe(COALESCING, listener));
+		assertFalse(eventBus.unsubscribe(COALESCING, listener));
+
+		eventBus.publish(COALESCING, "a");
+		eventBus.flush();
+		assertTrue(received.isEmpty());
+		assertEquals(0, flushRequests.get());
+	}
+}
@@ -0,0 +1,58 @@
+package ser516.project3.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import ser516.project3.constants.ServerConstants;
+import ser516.project3.model.MessageModel;
+
+import javax.json.JsonObject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FrameStatisticsTest {
+
+	private static MessageModel frame(long sequence, long sendTimeMicros) {
+		MessageModel message = new MessageModel();
+		message.setSequence(sequence);
+		message.setSendTimeMicros(sendTimeMicros);
+		return message;
+	}
+
+	@Test
+	void testGapsLatencyAndJitter() {
+		FrameStatistics statistics = new FrameStatistics();
+		statistics.record(frame(1, 1_000_000), 1_002_000);
+		statistics.record(frame(2, 1_010_000), 1_012_000);
+		statistics.record(frame(5, 1_040_000), 1_045_000);
+		statistics.record(frame(4, 1_030_000), 1_046_000);
+		statistics.record(frame(5, 1_040_000), 1_047_000);
+
+		assertEquals(5, statistics.getFrameCount());
+		assertEquals(1, statistics.getLostFrameCount());
+		assertEquals(1, statistics.getReorderedFrameCount());
+		assertEquals(1, statistics.getDuplicatedFrameCount());
+		assertEquals(2_000, statistics.getLatencyHistogram().getMin());
+		assertEquals(16_000, statistics.getLatencyHistogram().getMax());
+		assertEquals(2, statistics.getJitterHistogram().getCount());
+		assertEquals(3_000, statistics.getJitterHistogram().getMax());
+	}
+
+	@Test
+	void testReportRoundTrip() {
+		FrameStatistics statistics = new FrameStatistics();
+		statistics.record(frame(1, 1_000_000), 1_001_500);
+		statistics.record(frame(3, 1_020_000), 1_021_500);
+
+		JsonObject report = FrameStatistics.readReport(statistics.toReport());
+		assertEquals(2, report.getJsonNumber(FrameStatistics.FRAMES).longValue());
+		assertEquals(1, report.getJsonNumber(FrameStatistics.LOST).longValue());
+		assertEquals(1_500, report.getJsonNumber(FrameStatistics.LATENCY_P50).longValue());
+		assertNull(FrameStatistics.readReport(ServerConstants.RESYNC_REQUEST));
+		assertNull(FrameStatistics.readReport("{\"Client-Statistics\":"));
+
+		statistics.restartWindow();
+		assertEquals(0, statistics.getLatencyHistogram().getCount());
+		assertEquals(1, statistics.getLostFrameCount());
+	}
+}
@@ -0,0 +1,41 @@
+package ser516.project3.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+	@Test
+	void testPercentilesAreWithinOnePercent() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long value = 1; value <= 100_000; value++) {
+			histogram.record(value);
+		}
+		assertEquals(100_000, histogram.getCount());
+		assertEquals(1, histogram.getMin());
+		assertEquals(100_000, histogram.getMax());
+		assertEquals(50_000.5, histogram.getMean(), 1e-9);
+		for (double percentile : new double[]{1, 50, 90, 99, 99.9}) {
+			double expected = percentile * 1000;
+			long value = histogram.getValueAtPercentile(percentile);
+			assertTrue(Math.abs(value - expected) <= expected / 100, percentile + ": " + value);
+		}
+		assertEquals(100_000, histogram.getValueAtPercentile(100));
+	}
+
+	@Test
+	void testSmallValuesAreExact() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(-5);
+		histogram.record(3);
+		histogram.record(200);
+		assertEquals(0, histogram.getValueAtPercentile(10));
+		assertEquals(3, histogram.getValueAtPercentile(50));
+		assertEquals(200, histogram.getValueAtPercentile(100));
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getValueAtPercentile(50));
+	}
+}
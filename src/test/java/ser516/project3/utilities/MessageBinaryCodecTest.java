@@ -0,0 +1,44 @@
+package ser516.project3.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import ser516.project3.model.MessageModel;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageBinaryCodecTest {
+
+	@Test
+	void testEncodeDecodeRoundTrip() throws Exception {
+		MessageModel messageModel = new MessageModel();
+		messageModel.setInterval(0.005);
+		messageModel.setTimeStamp(42.5);
+		messageModel.setSequence(7);
+		messageModel.setSendTimeMicros(1_700_000_000_123_456L);
+		messageModel.setSelectionFlag("upperFace", "furrowBrow");
+		messageModel.setSelectionFlag("lowerFace", "laugh");
+		messageModel.setSelectionFlag("eye", "lookingLeft");
+		messageModel.setAbstractExpression("furrowBrow", 0.7);
+		messageModel.setAbstractExpression("laugh", 0.3);
+		messageModel.setEmotion("Stress", 0.9);
+		messageModel.setConcreteExpression("lookingLeft", true);
+
+		ByteBuffer buffer = new MessageBinaryEncoder().encode(messageModel);
+		assertEquals(MessageBinaryEncoder.MESSAGE_FRAME_SIZE, buffer.remaining());
+
+		MessageBinaryDecoder decoder = new MessageBinaryDecoder();
+		assertTrue(decoder.willDecode(buffer));
+		MessageModel decoded = decoder.decode(buffer);
+		MessageModel decodedJson = new MessageDecoder().decode(new MessageEncoder().encode(messageModel));
+		assertEquals(decodedJson.toString(), decoded.toString());
+		assertEquals(0.9, decoded.getEmotion("stress"));
+		assertEquals(7, decoded.getSequence());
+		assertEquals(1_700_000_000_123_456L, decodedJson.getSendTimeMicros());
+		assertEquals(true, decoded.getConcreteExpression("lookingLeft"));
+		assertEquals(false, decoded.getConcreteExpression("blink"));
+	}
+
+}
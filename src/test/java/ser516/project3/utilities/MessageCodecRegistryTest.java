@@ -0,0 +1,33 @@
+package ser516.project3.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import ser516.project3.constants.ServerConstants;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MessageCodecRegistryTest {
+
+	@Test
+	void testNegotiateFirstRegisteredCodec() {
+		MessageCodecRegistry registry = MessageCodecRegistry.getInstance();
+		assertEquals(ServerConstants.CODEC_DELTA,
+				registry.negotiate(Collections.singletonList("bin-v9, bin-delta-v2, json-v1")));
+		assertEquals(ServerConstants.CODEC_BINARY, registry.negotiate(Arrays.asList("bin-v2", "json-v1")));
+		assertEquals(ServerConstants.CODEC_JSON, registry.negotiate(Arrays.asList("bin-delta-v1", "bin-v1", "json-v1")));
+		assertEquals("", registry.negotiate(Collections.singletonList("xml-v1")));
+		assertEquals("", registry.negotiate(null));
+	}
+
+	@Test
+	void testFallbackToJson() {
+		MessageCodecRegistry registry = MessageCodecRegistry.getInstance();
+		assertEquals(ServerConstants.CODEC_JSON, registry.getCodec("").getName());
+		assertEquals(ServerConstants.CODEC_JSON, registry.getCodec(null).getName());
+		assertEquals(ServerConstants.CODEC_DELTA, registry.getCodec(ServerConstants.CODEC_DELTA).getName());
+	}
+
+}
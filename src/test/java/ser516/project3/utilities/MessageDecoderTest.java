@@ -0,0 +1,37 @@
+package ser516.project3.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import ser516.project3.model.MessageModel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MessageDecoderTest {
+
+	@Test
+	void testDecodeEncodedMessage() throws Exception {
+		MessageModel messageModel = new MessageModel();
+		messageModel.setInterval(1.5);
+		messageModel.setTimeStamp(3.0);
+		messageModel.setSelectionFlag("upperFace", "raiseBrow");
+		messageModel.setSelectionFlag("lowerFace", "smile");
+		messageModel.setSelectionFlag("eye", "blink");
+		messageModel.setAbstractExpression("smile", 0.4);
+		messageModel.setEmotion("Focus", 0.8);
+		messageModel.setConcreteExpression("blink", true);
+
+		MessageModel decoded = new MessageDecoder().decode(new MessageEncoder().encode(messageModel));
+
+		assertEquals(1.5, decoded.getInterval());
+		assertEquals(3.0, decoded.getTimeStamp());
+		assertEquals("raiseBrow", decoded.getSelectionFlag("upperFace"));
+		assertEquals("smile", decoded.getSelectionFlag("lowerFace"));
+		assertEquals("blink", decoded.getSelectionFlag("eye"));
+		assertEquals(0.4, decoded.getAbstractExpression("smile"));
+		assertEquals(0.0, decoded.getAbstractExpression("laugh"));
+		assertEquals(0.8, decoded.getEmotion("focus"));
+		assertEquals(true, decoded.getConcreteExpression("blink"));
+		assertEquals(false, decoded.getConcreteExpression("leftWink"));
+	}
+
+}
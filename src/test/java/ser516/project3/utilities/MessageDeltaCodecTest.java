@@ -0,0 +1,46 @@
+package ser516.project3.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import ser516.project3.constants.ServerConstants;
+import ser516.project3.model.MessageModel;
+
+import javax.websocket.DecodeException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MessageDeltaCodecTest {
+
+	@Test
+	void testDeltaFramesRebuildMessageAndResync() throws Exception {
+		MessageModel first = new MessageModel();
+		first.setInterval(0.01);
+		first.setSelectionFlag("lowerFace", "smile");
+		first.setAbstractExpression("smile", 0.5);
+		first.setEmotion("interest", 0.2);
+		first.setSequence(1);
+		first.setSendTimeMicros(1_000_000);
+		MessageModel second = new MessageModel(first);
+		second.setTimeStamp(0.01);
+		second.setSequence(2);
+		second.setSendTimeMicros(1_010_250);
+		second.setEmotion("interest", 0.6);
+		second.setConcreteExpression("blink", true);
+		MessageModel third = new MessageModel(second);
+		third.setTimeStamp(0.02);
+		third.setSequence(3);
+		third.setSendTimeMicros(1_020_000);
+
+		MessageDeltaDecoder decoder = new MessageDeltaDecoder();
+		assertEquals(first.toString(), decoder.decode(new EncodedFrame(1, first, null).getDelta()).toString());
+		assertEquals(second.toString(), decoder.decode(new EncodedFrame(2, second, first).getDelta()).toString());
+
+		MessageDeltaDecoder lateDecoder = new MessageDeltaDecoder();
+		DecodeException resync = assertThrows(DecodeException.class,
+				() -> lateDecoder.decode(new EncodedFrame(3, third, second).getDelta()));
+		assertEquals(ServerConstants.RESYNC_REQUEST, resync.getMessage());
+		assertEquals(third.toString(), lateDecoder.decode(new EncodedFrame(3, third, second).getKeyframe()).toString());
+	}
+
+}
@@ -0,0 +1,106 @@
+package ser516.project3.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinMaxDownsamplerTest {
+
+	private static ChannelHistory createHistory(int sampleCount) {
+		ChannelHistory history = new ChannelHistory(2, sampleCount);
+		for (int i = 0; i < sampleCount; i++) {
+			append(history, i);
+		}
+		return history;
+	}
+
+	private static void append(ChannelHistory history, int i) {
+		double value = i == 5000 ? 100 : i == 7000 ? -100 : Math.sin(i * 0.01);
+		history.append(i * 0.001, new double[] { value, i });
+	}
+
+	@Test
+	void testBucketSecondsArePowersOfTwo() {
+		assertEquals(0.125, MinMaxDownsampler.getBucketSeconds(10, 100));
+		assertEquals(1.0, MinMaxDownsampler.getBucketSeconds(8, 8));
+		assertEquals(2.0, MinMaxDownsampler.getBucketSeconds(8.5, 8));
+	}
+
+	@Test
+	void testKeepsMinimumAndMaximumOfEveryBucket() {
+		ChannelHistory history = createHistory(10000);
+		MinMaxDownsampler downsampler = new MinMaxDownsampler();
+		downsampler.update(history.window(), 0, 10, 10);
+		assertEquals(1.0, downsampler.getBucketSeconds());
+		assertEquals(20, downsampler.getPointCount());
+		assertEquals(2, downsampler.getChannelCount());
+
+		double minimum = Double.POSITIVE_INFINITY;
+		double maximum = Double.NEGATIVE_INFINITY;
+		double previousTimestamp = Double.NEGATIVE_INFINITY;
+		for (int point = 0; point < downsampler.getPointCount(); point++) {
+			minimum = Math.min(minimum, downsampler.getValue(0, point));
+			maximum = Math.max(maximum, downsampler.getValue(0, point));
+			assertTrue(downsampler.getTimestamp(0, point) >= previousTimestamp);
+			previousTimestamp = downsampler.getTimestamp(0, point);
+		}
+		assertEquals(-100, minimum);
+		assertEquals(100, maximum);
+		assertEquals(0, downsampler.getValue(1, 0));
+		assertEquals(9999, downsampler.getValue(1, 19));
+		assertEquals(9.999, downsampler.getTimestamp(1, 19));
+	}
+
+	@Test
+	void testIncrementalUpdatesMatchOneUpdate() {
+		ChannelHistory history = new ChannelHistory(2, 10000);
+		MinMaxDownsampler incremental = new MinMaxDownsampler();
+		for (int i = 0; i < 10000; i++) {
+			append(history, i);
+			if (i % 97 == 0) {
+				incremental.update(history.window(), 0, 10, 300);
+			}
+		}
+		incremental.update(history.window(), 0, 10, 300);
+		MinMaxDownsampler once = new MinMaxDownsampler();
+		once.update(history.window(), 0, 10, 300);
+
+		assertEquals(once.getPointCount(), incremental.getPointCount());
+		for (int point = 0; point < once.getPointCount(); point++) {
+			assertEquals(once.getTimestamp(0, point), incremental.getTimestamp(0, point));
+			assertEquals(once.getValue(0, point), incremental.getValue(0, point));
+		}
+	}
+
+	@Test
+	void testMovingWindowDropsOlderBuckets() {
+		ChannelHistory history = new ChannelHistory(2, 10000);
+		MinMaxDownsampler downsampler = new MinMaxDownsampler();
+		for (int i = 0; i < 10000; i++) {
+			append(history, i);
+			double latest = i * 0.001;
+			downsampler.update(history.window(), Math.max(0, latest - 2), Math.max(2, latest), 16);
+			assertTrue(downsampler.getPointCount() <= 2 * (16 + 1));
+		}
+		assertEquals(0.125, downsampler.getBucketSeconds());
+		assertTrue(downsampler.getTimestamp(0, 0) >= 7.875);
+		assertEquals(9.999, downsampler.getTimestamp(1, downsampler.getPointCount() - 1));
+	}
+
+	@Test
+	void testLevelChangesWithLengthOfWindow() {
+		ChannelHistory history = createHistory(10000);
+		MinMaxDownsampler downsampler = new MinMaxDownsampler();
+		downsampler.update(history.window(), 0, 10, 10);
+		assertEquals(1.0, downsampler.getBucketSeconds());
+		downsampler.update(history.window(), 0, 20, 10);
+		assertEquals(2.0, downsampler.getBucketSeconds());
+		assertEquals(10, downsampler.getPointCount());
+		downsampler.update(history.window(), 5, 10, 10);
+		assertEquals(0.5, downsampler.getBucketSeconds());
+		assertEquals(20, downsampler.getPointCount());
+		downsampler.update(null, 5, 10, 10);
+		assertEquals(0, downsampler.getPointCount());
+	}
+}
@@ -0,0 +1,74 @@
+package ser516.project3.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import ser516.project3.model.SampleBlockModel;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SampleRingBufferTest {
+
+	private static final int[] CHANNEL_IDS = {18, 19};
+
+	private static SampleBlockModel block(long firstSampleIndex, int sampleCount) {
+		float[] samples = new float[sampleCount * CHANNEL_IDS.length];
+		for (int sample = 0; sample < sampleCount; sample++) {
+			samples[sample * 2] = firstSampleIndex + sample;
+			samples[sample * 2 + 1] = -(firstSampleIndex + sample);
+		}
+		return new SampleBlockModel(firstSampleIndex, 4, CHANNEL_IDS, samples);
+	}
+
+	@Test
+	void testSampleBlockRoundTrip() throws Exception {
+		SampleBlockModel block = block(1000, 3);
+		ByteBuffer encoded = SampleBlockEncoder.encodeBlock(block);
+		SampleBlockDecoder decoder = new SampleBlockDecoder();
+		assertTrue(decoder.willDecode(encoded));
+		assertFalse(new MessageBinaryDecoder().willDecode(encoded));
+		SampleBlockModel decoded = decoder.decode(encoded);
+		assertEquals(1000, decoded.getFirstSampleIndex());
+		assertEquals(4, decoded.getSampleRate());
+		assertArrayEquals(CHANNEL_IDS, decoded.getChannelIds());
+		assertArrayEquals(block.getSamples(), decoded.getSamples());
+	}
+
+	@Test
+	void testSampleBlockFieldsAreClamped() throws Exception {
+		SampleBlockModel block = new SampleBlockModel(0, 100000, CHANNEL_IDS, new float[] { 1, 2 });
+		SampleBlockModel decoded = new SampleBlockDecoder().decode(SampleBlockEncoder.encodeBlock(block));
+		assertEquals(SampleBlockEncoder.MAX_FIELD_VALUE, decoded.getSampleRate());
+		assertArrayEquals(block.getSamples(), decoded.getSamples());
+		assertEquals(0, SampleBlockEncoder.clamp(-1));
+	}
+
+	@Test
+	void testWrapAround() {
+		SampleRingBuffer buffer = new SampleRingBuffer(CHANNEL_IDS, 4, 2);
+		assertEquals(8, buffer.getCapacity());
+		for (long index = 0; index < 20; index += 3) {
+			buffer.write(block(index, 3));
+		}
+		assertEquals(20, buffer.getLatestSampleIndex());
+		float[] latest = new float[8];
+		buffer.copyLatest(1, latest, 8);
+		assertArrayEquals(new float[]{-13, -14, -15, -16, -17, -18, -19, -20}, latest);
+	}
+
+	@Test
+	void testGapIsFilledWithNaN() {
+		SampleRingBuffer buffer = new SampleRingBuffer(CHANNEL_IDS, 4, 2);
+		buffer.write(block(100, 2));
+		buffer.write(block(104, 2));
+		buffer.write(block(103, 2));
+		assertEquals(2, buffer.getMissingSampleCount());
+		float[] latest = new float[8];
+		buffer.copyLatest(0, latest, 8);
+		assertArrayEquals(new float[]{Float.NaN, Float.NaN, 100, 101, Float.NaN, Float.NaN, 104, 105}, latest);
+	}
+}
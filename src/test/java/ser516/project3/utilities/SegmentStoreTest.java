@@ -0,0 +1,191 @@
+package ser516.project3.utilities;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ser516.project3.constants.ClientConstants;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SegmentStoreTest {
+
+	private File directory;
+	private SegmentStore store;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		directory = Files.createTempDirectory("segment-store").toFile();
+		store = new SegmentStore(directory, 2, 1000);
+	}
+
+	@AfterEach
+	void tearDown() {
+		store.close();
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	private void append(int from, int to) throws IOException {
+		for (int i = from; i < to; i++) {
+			store.append(i * 0.5, new double[] { i, -i });
+		}
+		store.commit();
+	}
+
+	@Test
+	void testSamplesAreReadAcrossSegments() throws IOException {
+		assertEquals(1024, store.getSegmentSamples());
+		assertEquals(directory, store.getDirectory());
+		append(0, 3000);
+		assertEquals(3, store.getSegmentCount());
+		assertEquals(3, directory.listFiles().length);
+		long segmentLength = directory.listFiles()[0].length();
+		for (File file : directory.listFiles()) {
+			assertEquals(segmentLength, file.length());
+		}
+
+		assertEquals(1001, store.count(500, 1000));
+		ChannelHistory history = new ChannelHistory(2, 2000);
+		assertEquals(1001, store.read(500, 1000, history));
+		ChannelHistory.Window window = history.window();
+		assertEquals(1001, window.size());
+		assertEquals(500, window.getTimestamp(0));
+		assertEquals(1000, window.getValue(0, 0));
+		assertEquals(-2000, window.getValue(1, 1000));
+		assertEquals(0, store.getFirstTimestamp());
+	}
+
+	@Test
+	void testOnlyTheCurrentSegmentStaysMapped() throws IOException {
+		append(0, 3000);
+		store.force();
+		assertEquals(1, store.getMappedSegmentCount());
+		assertEquals(1001, store.count(500, 1000));
+		ChannelHistory history = new ChannelHistory(2, 2000);
+		assertEquals(1001, store.read(500, 1000, history));
+		assertEquals(-2000, history.window().getValue(1, 1000));
+
+		append(0, 10);
+		store.force();
+		assertEquals(1, store.getMappedSegmentCount());
+		store.close();
+		assertEquals(0, store.getMappedSegmentCount());
+		assertEquals(10, store.count(0, 100));
+	}
+
+	@Test
+	void testStoreIsOnlyCreatedWithItsDirectory() {
+		String property = System.clearProperty(ClientConstants.STORE_DIRECTORY_PROPERTY);
+		try {
+			assertNull(SegmentStore.createGraphStore("test", 2));
+		} finally {
+			if (property != null) {
+				System.setProperty(ClientConstants.STORE_DIRECTORY_PROPERTY, property);
+			}
+		}
+	}
+
+	@Test
+	void testUncommittedSamplesAreNotRead() throws IOException {
+		append(0, 10);
+		store.append(5, new double[] { 10, -10 });
+		assertEquals(10, store.count(0, 100));
+		store.commit();
+		assertEquals(11, store.count(0, 100));
+	}
+
+	@Test
+	void testEarlierTimestampStartsNewSession() throws IOException {
+		append(0, 100);
+		append(10, 20);
+		assertEquals(2, store.getSegmentCount());
+		assertEquals(5, store.getFirstTimestamp());
+		assertEquals(10, store.count(0, 100));
+	}
+
+	@Test
+	void testPagerReadsOlderSamplesFromStore() throws IOException {
+		ChannelHistory history = new ChannelHistory(2, 100);
+		HistoryPager pager = new HistoryPager(history, store);
+		double[] values = new double[2];
+		for (int i = 0; i < 2000; i++) {
+			values[0] = i;
+			values[1] = -i;
+			history.append(i * 0.5, values);
+			store.append(i * 0.5, values);
+		}
+		store.commit();
+
+		assertEquals(100, pager.window(990, 1000).size());
+		ChannelHistory.Window window = pager.window(799.5, 999.5);
+		assertEquals(401, window.size());
+		assertEquals(799.5, window.getTimestamp(0));
+		assertEquals(1599, window.getValue(0, 0));
+
+		for (int i = 2000; i < 2010; i++) {
+			values[0] = i;
+			values[1] = -i;
+			history.append(i * 0.5, values);
+		}
+		window = pager.window(804.5, 1004.5);
+		assertEquals(401, window.size());
+		assertEquals(1004.5, window.getLatestTimestamp());
+		assertTrue(window.isIntact());
+	}
+
+	@Test
+	void testPageOfLongWindowKeepsTwoSamplesPerBucket() throws IOException {
+		ChannelHistory history = new ChannelHistory(2, 100);
+		HistoryPager pager = new HistoryPager(history, store);
+		double[] values = new double[2];
+		for (int i = 0; i < 100000; i++) {
+			values[0] = i % 1000 == 500 ? 1e6 : i;
+			values[1] = -i;
+			history.append(i * 0.01, values);
+			store.append(i * 0.01, values);
+		}
+		store.commit();
+
+		ChannelHistory.Window window = pager.window(0, 1000);
+		assertTrue(window.size() <= 2 * (ClientConstants.PAGE_BUCKETS + 1) + history.getRetentionSamples(),
+				"page of " + window.size() + " samples");
+		int peaks = 0;
+		double minimum = 0;
+		for (int item = 0; item < window.size(); item++) {
+			if (window.getValue(0, item) == 1e6) {
+				peaks++;
+			}
+			minimum = Math.min(minimum, window.getValue(1, item));
+		}
+		assertEquals(100, peaks);
+		assertEquals(-99999, minimum);
+		assertEquals(0, window.getTimestamp(0));
+		assertEquals(999.99, window.getLatestTimestamp());
+	}
+
+	@Test
+	void testStoreReadIsReducedToMinimumAndMaximum() throws IOException {
+		append(0, 16);
+		ChannelHistory history = new ChannelHistory(2, 100);
+		assertEquals(4, store.readMinMax(0, 7.5, 4, history));
+		ChannelHistory.Window window = history.window();
+		assertEquals(0, window.getTimestamp(0));
+		assertEquals(0, window.getValue(0, 0));
+		assertEquals(-7, window.getValue(1, 0));
+		assertEquals(3.5, window.getTimestamp(1));
+		assertEquals(7, window.getValue(0, 1));
+		assertEquals(0, window.getValue(1, 1));
+		assertEquals(15, window.getValue(0, 3));
+	}
+}
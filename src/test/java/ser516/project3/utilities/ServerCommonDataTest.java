@@ -0,0 +1,112 @@
+package ser516.project3.utilities;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import ser516.project3.model.MessageModel;
+import ser516.project3.model.MessageModel.AbstractExpression;
+import ser516.project3.model.MessageModel.Emotion;
+import ser516.project3.model.MessageModel.SelectedCriteria;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerCommonDataTest {
+
+	private static final AbstractExpression[] LOWER_FACE = {AbstractExpression.smile, AbstractExpression.clench,
+			AbstractExpression.leftSmirk, AbstractExpression.rightSmirk, AbstractExpression.laugh};
+
+	@AfterEach
+	void resetMessage() {
+		ServerCommonData.setMessageModel(new MessageModel());
+	}
+
+	@Test
+	void testPublishedSnapshotIsReadOnly() {
+		MessageModel message = ServerCommonData.getInstance().getMessage();
+		assertThrows(IllegalStateException.class, () -> message.setInterval(2));
+		MessageModel updated = ServerCommonData.getInstance().updateMessage(next -> next.setInterval(2));
+		assertEquals(2, ServerCommonData.getInstance().getMessage().getInterval());
+		assertEquals(updated, ServerCommonData.getInstance().getMessage());
+	}
+
+	/**
+	 * Writers set every emotion to the same value and select one lower face
+	 * expression with that value, like the spinners and the lower face combo
+	 * box of the server, while readers check every snapshot at full speed
+	 */
+	@Test
+	void testNoTornReadsUnderConcurrentUpdates() throws Exception {
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicLong tornReads = new AtomicLong();
+		AtomicLong reads = new AtomicLong();
+		Thread[] writers = new Thread[2];
+		for (int w = 0; w < writers.length; w++) {
+			final int writer = w;
+			writers[w] = new Thread(() -> {
+				long update = 0;
+				while (running.get()) {
+					final double value = ++update * writers.length + writer;
+					final AbstractExpression selected = LOWER_FACE[(int) (update % LOWER_FACE.length)];
+					ServerCommonData.getInstance().updateMessage(message -> {
+						for (Emotion emotion : Emotion.values()) {
+							message.setEmotion(emotion, value);
+						}
+						for (AbstractExpression expression : LOWER_FACE) {
+							message.setAbstractExpression(expression, expression == selected ? value : 0.0);
+						}
+						message.setSelectionFlag(SelectedCriteria.lowerFace, selected.name());
+					});
+				}
+			});
+		}
+		Thread[] readers = new Thread[2];
+		for (int r = 0; r < readers.length; r++) {
+			readers[r] = new Thread(() -> {
+				while (running.get()) {
+					if (isTorn(ServerCommonData.getInstance().getMessage())) {
+						tornReads.incrementAndGet();
+					}
+					reads.incrementAndGet();
+				}
+			});
+		}
+		for (Thread thread : writers) {
+			thread.start();
+		}
+		for (Thread thread : readers) {
+			thread.start();
+		}
+		Thread.sleep(500);
+		running.set(false);
+		for (Thread thread : writers) {
+			thread.join();
+		}
+		for (Thread thread : readers) {
+			thread.join();
+		}
+		assertTrue(reads.get() > 1000, "only " + reads.get() + " reads");
+		assertEquals(0, tornReads.get(), tornReads.get() + " torn reads out of " + reads.get());
+	}
+
+	private static boolean isTorn(MessageModel message) {
+		double value = message.getEmotion(Emotion.interest);
+		for (Emotion emotion : Emotion.values()) {
+			if (message.getEmotion(emotion) != value) {
+				return true;
+			}
+		}
+		String selected = message.getSelectionFlag(SelectedCriteria.lowerFace);
+		for (AbstractExpression expression : LOWER_FACE) {
+			double expected = expression.name().equals(selected) ? value : 0.0;
+			if (value != 0 && message.getAbstractExpression(expression) != expected) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,53 @@
+package ser516.project3.utilities;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpscRingBufferTest {
+
+	@Test
+	void testFifoAndCapacity() {
+		SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(3);
+		assertEquals(4, buffer.getCapacity());
+		assertNull(buffer.poll());
+		for (int round = 0; round < 3; round++) {
+			for (int i = 0; i < 4; i++) {
+				assertTrue(buffer.offer(round * 10 + i));
+			}
+			assertFalse(buffer.offer(-1));
+			assertEquals(4, buffer.size());
+			for (int i = 0; i < 4; i++) {
+				assertEquals(round * 10 + i, buffer.poll().intValue());
+			}
+			assertTrue(buffer.isEmpty());
+		}
+	}
+
+	@Test
+	void testProducerAndConsumerThreads() throws Exception {
+		final int count = 1_000_000;
+		final SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(64);
+		Thread producer = new Thread(() -> {
+			for (int i = 0; i < count; i++) {
+				while (!buffer.offer(i)) {
+					Thread.yield();
+				}
+			}
+		});
+		producer.start();
+		for (int expected = 0; expected < count; ) {
+			Integer value = buffer.poll();
+			if (value == null) {
+				Thread.yield();
+			} else {
+				assertEquals(expected++, value.intValue());
+			}
+		}
+		producer.join();
+		assertTrue(buffer.isEmpty());
+	}
+}